@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Getter;
+
+/**
+ * Compteurs de la table agency_stats (une colonne compteur par statistique)
+ */
+@Getter
+public enum AgencyCounter {
+    TOTAL_PERSONNEL("total_personnel"),
+    ACTIVE_PERSONNEL("active_personnel"),
+    TOTAL_DRIVERS("total_drivers"),
+    ACTIVE_DRIVERS("active_drivers"),
+    ROLE_ASSIGNMENTS("role_assignments");
+
+    private final String column;
+
+    AgencyCounter(String column) {
+        this.column = column;
+    }
+}
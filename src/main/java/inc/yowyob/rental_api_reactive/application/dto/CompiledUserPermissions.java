@@ -0,0 +1,92 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Vue compilée et immuable des droits effectifs d'un utilisateur,
+ * calculée une fois à partir de ses rôles actifs puis servie depuis le cache.
+ */
+@Value
+@Builder
+public class CompiledUserPermissions {
+
+    UUID userId;
+
+    /**
+     * Union des masques de permissions des rôles actifs
+     */
+    @Builder.Default
+    PermissionSet permissionMask = PermissionSet.EMPTY;
+
+    @Singular
+    Set<RoleType> roleTypes;
+
+    /**
+     * Organisations dans lesquelles l'utilisateur possède un rôle ORGANIZATION_OWNER
+     */
+    @Singular
+    Set<UUID> ownedOrganizationIds;
+
+    /**
+     * Organisations rattachées aux rôles actifs de l'utilisateur
+     */
+    @Singular
+    Set<UUID> organizationIds;
+
+    /**
+     * Agences rattachées aux rôles actifs de l'utilisateur
+     */
+    @Singular
+    Set<UUID> agencyIds;
+
+    /**
+     * Au moins un rôle actif non restreint à une agence
+     */
+    boolean organizationWideRole;
+
+    /**
+     * Codes de permission effectifs
+     */
+    public Set<String> getPermissions() {
+        return permissionMask.toCodes();
+    }
+
+    public boolean hasPermission(String permissionCode) {
+        return permissionMask.contains(permissionCode);
+    }
+
+    public boolean hasAllPermissions(Collection<String> permissionCodes) {
+        return permissionMask.containsAll(PermissionSet.of(permissionCodes));
+    }
+
+    public boolean hasAnyPermission(Collection<String> permissionCodes) {
+        return permissionMask.containsAny(PermissionSet.of(permissionCodes));
+    }
+
+    public boolean isSuperAdmin() {
+        return roleTypes.contains(RoleType.SUPER_ADMIN);
+    }
+
+    /**
+     * Super admin partout, propriétaire dans son organisation, sinon permission explicite
+     */
+    public boolean hasHierarchicalPermission(String permissionCode, UUID targetOrganizationId) {
+        return isSuperAdmin()
+            || (targetOrganizationId != null && ownedOrganizationIds.contains(targetOrganizationId))
+            || hasPermission(permissionCode);
+    }
+
+    public boolean canAccessOrganization(UUID organizationId) {
+        return organizationIds.contains(organizationId);
+    }
+
+    public boolean canAccessAgency(UUID agencyId) {
+        return organizationWideRole || agencyIds.contains(agencyId);
+    }
+}
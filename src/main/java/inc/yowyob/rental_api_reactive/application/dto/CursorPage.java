@@ -0,0 +1,46 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
+import lombok.Value;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Page de résultats bornée avec le curseur opaque de la page suivante.
+ * Une page filtrée peut contenir moins d'éléments que demandé : seul un curseur null marque la fin.
+ */
+@Value
+public class CursorPage<T> {
+
+    List<T> items;
+
+    /**
+     * Taille de page demandée
+     */
+    int pageSize;
+
+    String nextCursor;
+
+    public static <T> CursorPage<T> of(Slice<T> slice) {
+        return new CursorPage<>(slice.getContent(), slice.getSize(), PagingCursor.nextCursor(slice));
+    }
+
+    public static <T> CursorPage<T> single(List<T> items, int pageSize) {
+        return new CursorPage<>(items, pageSize, null);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public CursorPage<T> filter(Predicate<? super T> predicate) {
+        return new CursorPage<>(items.stream().filter(predicate).toList(), pageSize, nextCursor);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), pageSize, nextCursor);
+    }
+}
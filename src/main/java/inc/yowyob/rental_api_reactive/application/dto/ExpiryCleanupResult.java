@@ -0,0 +1,19 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Bilan d'un passage du nettoyage des échéances
+ */
+@Value
+@Builder
+public class ExpiryCleanupResult {
+
+    int bucketsProcessed;
+    long rolesExpired;
+    long sessionsDeleted;
+    Duration duration;
+}
@@ -0,0 +1,46 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularités des agrégats de métriques d'agence (agency_metric_rollups, agency_leaderboards)
+ */
+public enum MetricGranularity {
+    HOUR,
+    DAY,
+    MONTH;
+
+    /**
+     * Début de la période contenant cet instant
+     */
+    public LocalDateTime periodOf(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Début de la période suivante
+     */
+    public LocalDateTime next(LocalDateTime periodStart) {
+        return switch (this) {
+            case HOUR -> periodStart.plusHours(1);
+            case DAY -> periodStart.plusDays(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+
+    /**
+     * Granularité dont les agrégats composent celle-ci (aucune pour l'heure, calculée sur les relevés)
+     */
+    public MetricGranularity finer() {
+        return switch (this) {
+            case HOUR -> null;
+            case DAY -> HOUR;
+            case MONTH -> DAY;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Étapes de la finalisation d'un onboarding, dans l'ordre
+ */
+public enum OnboardingSagaStep {
+    @JsonProperty("STARTED")
+    STARTED,
+
+    @JsonProperty("ENTITIES_WRITTEN")
+    ENTITIES_WRITTEN,
+
+    @JsonProperty("USAGE_RECORDED")
+    USAGE_RECORDED,
+
+    @JsonProperty("COMPLETED")
+    COMPLETED
+}
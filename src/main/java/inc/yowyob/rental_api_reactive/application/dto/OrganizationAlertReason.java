@@ -0,0 +1,11 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+/**
+ * Motifs pour lesquels une organisation active nécessite une attention
+ * (une partition de organization_alerts par motif)
+ */
+public enum OrganizationAlertReason {
+    UNVERIFIED,
+    SUBSCRIPTION_EXPIRING,
+    INACTIVE
+}
@@ -0,0 +1,24 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Getter;
+
+/**
+ * Compteurs de la table organization_stats (une colonne compteur par statistique)
+ */
+@Getter
+public enum OrganizationCounter {
+    TOTAL_AGENCIES("total_agencies"),
+    ACTIVE_AGENCIES("active_agencies"),
+    TOTAL_USERS("total_users"),
+    ACTIVE_USERS("active_users"),
+    PERSONNEL("personnel"),
+    CLIENTS("clients"),
+    DRIVERS("drivers"),
+    ROLE_ASSIGNMENTS("role_assignments");
+
+    private final String column;
+
+    OrganizationCounter(String column) {
+        this.column = column;
+    }
+}
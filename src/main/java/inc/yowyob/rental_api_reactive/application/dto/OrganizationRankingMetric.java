@@ -0,0 +1,9 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+/**
+ * Critères des classements d'organisations (une partition de organization_leaderboards par critère)
+ */
+public enum OrganizationRankingMetric {
+    MONTHLY_REVENUE,
+    VEHICLE_UTILIZATION
+}
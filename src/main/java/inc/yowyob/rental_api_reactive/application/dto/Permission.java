@@ -3,6 +3,14 @@ package inc.yowyob.rental_api_reactive.application.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Getter
 public enum Permission {
     // === PERMISSIONS VÉHICULES ===
@@ -156,34 +164,53 @@ public enum Permission {
         return this.resource.equalsIgnoreCase(resourceName);
     }
 
+    // Tables de correspondance précalculées (les valeurs de l'énumération sont immuables)
+    private static final Map<String, Permission> BY_CODE;
+    private static final Map<String, Permission[]> BY_RESOURCE;
+    private static final String[] RESOURCES;
+
+    static {
+        Map<String, Permission> byCode = new HashMap<>();
+        Map<String, List<Permission>> byResource = new LinkedHashMap<>();
+        for (Permission permission : values()) {
+            byCode.put(permission.code, permission);
+            byResource.computeIfAbsent(permission.resource.toUpperCase(Locale.ROOT), k -> new ArrayList<>())
+                .add(permission);
+        }
+
+        Map<String, Permission[]> resourceIndex = new HashMap<>();
+        byResource.forEach((resource, permissions) -> resourceIndex.put(resource, permissions.toArray(Permission[]::new)));
+
+        BY_CODE = Map.copyOf(byCode);
+        BY_RESOURCE = Map.copyOf(resourceIndex);
+        RESOURCES = Arrays.stream(values())
+            .map(Permission::getResource)
+            .distinct()
+            .toArray(String[]::new);
+    }
+
     /**
      * Obtient toutes les permissions pour une ressource
      */
     public static Permission[] getPermissionsForResource(String resourceName) {
-        return java.util.Arrays.stream(Permission.values())
-            .filter(permission -> permission.isForResource(resourceName))
-            .toArray(Permission[]::new);
+        if (resourceName == null) {
+            return new Permission[0];
+        }
+        Permission[] permissions = BY_RESOURCE.get(resourceName.toUpperCase(Locale.ROOT));
+        return permissions != null ? permissions.clone() : new Permission[0];
     }
 
     /**
      * Obtient toutes les ressources disponibles
      */
     public static String[] getAllResources() {
-        return java.util.Arrays.stream(Permission.values())
-            .map(Permission::getResource)
-            .distinct()
-            .toArray(String[]::new);
+        return RESOURCES.clone();
     }
 
     /**
      * Trouve une permission par son code
      */
     public static Permission fromCode(String code) {
-        for (Permission permission : Permission.values()) {
-            if (permission.getCode().equals(code)) {
-                return permission;
-            }
-        }
-        return null;
+        return code != null ? BY_CODE.get(code) : null;
     }
 }
@@ -0,0 +1,202 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ensemble immuable de permissions encodé en masque de bits (un bit par valeur de {@link Permission}).
+ * L'union, l'inclusion et l'intersection se réduisent à quelques opérations sur des mots de 64 bits.
+ * Les codes hors énumération (rôles personnalisés hérités) sont conservés à part.
+ */
+public final class PermissionSet {
+
+    private static final Permission[] VALUES = Permission.values();
+    private static final int WORDS = (VALUES.length + 63) >>> 6;
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[WORDS], Collections.emptySet());
+
+    private final long[] words;
+    private final Set<String> customCodes;
+    private final int size;
+
+    // Vue matérialisée des codes, calculée à la demande
+    private volatile Set<String> codes;
+
+    private PermissionSet(long[] words, Set<String> customCodes) {
+        this.words = words;
+        this.customCodes = customCodes;
+        int bits = 0;
+        for (long word : words) {
+            bits += Long.bitCount(word);
+        }
+        this.size = bits + customCodes.size();
+    }
+
+    /**
+     * Construit un ensemble à partir de codes de permission
+     */
+    public static PermissionSet of(Collection<String> permissionCodes) {
+        if (permissionCodes == null || permissionCodes.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] words = new long[WORDS];
+        Set<String> customCodes = null;
+        for (String code : permissionCodes) {
+            Permission permission = Permission.fromCode(code);
+            if (permission != null) {
+                words[permission.ordinal() >>> 6] |= 1L << permission.ordinal();
+            } else if (code != null) {
+                if (customCodes == null) {
+                    customCodes = new HashSet<>();
+                }
+                customCodes.add(code);
+            }
+        }
+        return new PermissionSet(words, customCodes == null ? Collections.emptySet() : Set.copyOf(customCodes));
+    }
+
+    /**
+     * Construit un ensemble à partir de valeurs de l'énumération
+     */
+    public static PermissionSet of(Permission... permissions) {
+        long[] words = new long[WORDS];
+        for (Permission permission : permissions) {
+            words[permission.ordinal() >>> 6] |= 1L << permission.ordinal();
+        }
+        return new PermissionSet(words, Collections.emptySet());
+    }
+
+    /**
+     * Union de deux ensembles
+     */
+    public PermissionSet union(PermissionSet other) {
+        if (other == null || other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        long[] merged = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            merged[i] = words[i] | other.words[i];
+        }
+
+        Set<String> mergedCustom = customCodes;
+        if (!other.customCodes.isEmpty()) {
+            Set<String> union = new HashSet<>(customCodes);
+            union.addAll(other.customCodes);
+            mergedCustom = Set.copyOf(union);
+        }
+        return new PermissionSet(merged, mergedCustom);
+    }
+
+    public boolean contains(Permission permission) {
+        return (words[permission.ordinal() >>> 6] & (1L << permission.ordinal())) != 0;
+    }
+
+    public boolean contains(String permissionCode) {
+        Permission permission = Permission.fromCode(permissionCode);
+        if (permission != null) {
+            return contains(permission);
+        }
+        return permissionCode != null && customCodes.contains(permissionCode);
+    }
+
+    /**
+     * Vérifie que toutes les permissions de l'autre ensemble sont présentes
+     */
+    public boolean containsAll(PermissionSet other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return other.customCodes.isEmpty() || customCodes.containsAll(other.customCodes);
+    }
+
+    /**
+     * Vérifie qu'au moins une permission de l'autre ensemble est présente
+     */
+    public boolean containsAny(PermissionSet other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & words[i]) != 0) {
+                return true;
+            }
+        }
+        for (String code : other.customCodes) {
+            if (customCodes.contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Valeurs de l'énumération présentes, dans l'ordre de déclaration
+     */
+    public Permission[] toPermissions() {
+        Permission[] result = new Permission[size - customCodes.size()];
+        int index = 0;
+        for (int w = 0; w < WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                result[index++] = VALUES[(w << 6) + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Codes hors énumération
+     */
+    public Set<String> getCustomCodes() {
+        return customCodes;
+    }
+
+    /**
+     * Codes de permission (vue immuable)
+     */
+    public Set<String> toCodes() {
+        Set<String> result = codes;
+        if (result == null) {
+            Set<String> materialized = new HashSet<>(customCodes);
+            for (Permission permission : toPermissions()) {
+                materialized.add(permission.getCode());
+            }
+            result = Collections.unmodifiableSet(materialized);
+            codes = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionSet other)) return false;
+        return Arrays.equals(words, other.words) && customCodes.equals(other.customCodes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(words) + customCodes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionSet" + toCodes();
+    }
+}
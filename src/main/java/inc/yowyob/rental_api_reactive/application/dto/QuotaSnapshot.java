@@ -0,0 +1,83 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Instantané immuable des quotas d'une organisation : limites du plan, consommation
+ * (tenant_usage) et échéance de l'abonnement. Les vérifications se font en mémoire.
+ */
+@Value
+public class QuotaSnapshot {
+
+    UUID organizationId;
+    UUID subscriptionPlanId;
+    LocalDateTime subscriptionExpiresAt;
+    Map<UsageResource, Integer> limits;
+    Map<UsageResource, Long> usage;
+
+    /**
+     * Construit l'instantané à partir de l'organisation et de ses compteurs
+     */
+    public static QuotaSnapshot of(Organization organization, TenantUsage tenantUsage) {
+        Map<UsageResource, Integer> limits = new EnumMap<>(UsageResource.class);
+        limits.put(UsageResource.AGENCIES, organization.getMaxAgencies());
+        limits.put(UsageResource.VEHICLES, organization.getMaxVehicles());
+        limits.put(UsageResource.DRIVERS, organization.getMaxDrivers());
+        limits.put(UsageResource.USERS, organization.getMaxUsers());
+
+        Map<UsageResource, Long> usage = new EnumMap<>(UsageResource.class);
+        for (UsageResource resource : UsageResource.values()) {
+            usage.put(resource, tenantUsage.get(resource));
+        }
+
+        return new QuotaSnapshot(organization.getId(), organization.getSubscriptionPlanId(),
+            organization.getSubscriptionExpiresAt(), limits, usage);
+    }
+
+    /**
+     * Limite de la ressource (0 si non définie)
+     */
+    public int getLimit(UsageResource resource) {
+        Integer limit = limits.get(resource);
+        return limit != null ? limit : 0;
+    }
+
+    /**
+     * Consommation courante de la ressource
+     */
+    public long getUsage(UsageResource resource) {
+        Long current = usage.get(resource);
+        return current != null ? current : 0L;
+    }
+
+    public long getRemaining(UsageResource resource) {
+        return Math.max(0L, getLimit(resource) - getUsage(resource));
+    }
+
+    public boolean isSubscriptionActive() {
+        return subscriptionExpiresAt != null && subscriptionExpiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Vérifie que delta unités de la ressource peuvent être ajoutées
+     */
+    public boolean allows(UsageResource resource, long delta) {
+        return isSubscriptionActive() && getUsage(resource) + delta <= getLimit(resource);
+    }
+
+    /**
+     * Copie avec la consommation d'une ressource ajustée de delta
+     */
+    public QuotaSnapshot withUsageDelta(UsageResource resource, long delta) {
+        Map<UsageResource, Long> adjusted = new EnumMap<>(usage);
+        adjusted.put(resource, getUsage(resource) + delta);
+        return new QuotaSnapshot(organizationId, subscriptionPlanId, subscriptionExpiresAt, limits, adjusted);
+    }
+}
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.Role;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Copie immuable d'un rôle telle que conservée dans le cache des rôles,
+ * avec son masque de permissions précalculé
+ */
+@Value
+@Builder
+public class RoleSnapshot {
+
+    UUID id;
+    String name;
+    RoleType roleType;
+    UUID organizationId;
+    boolean systemRole;
+    PermissionSet permissionMask;
+
+    public static RoleSnapshot from(Role role) {
+        return RoleSnapshot.builder()
+            .id(role.getId())
+            .name(role.getName())
+            .roleType(role.getRoleType())
+            .organizationId(role.getOrganizationId())
+            .systemRole(Boolean.TRUE.equals(role.getIsSystemRole()))
+            .permissionMask(PermissionSet.of(role.getPermissions()))
+            .build();
+    }
+}
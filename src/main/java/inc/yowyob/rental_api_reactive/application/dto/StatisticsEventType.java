@@ -0,0 +1,13 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+/**
+ * Nature d'un événement comptabilisé par l'agrégateur de statistiques
+ */
+public enum StatisticsEventType {
+    AGENCY_ADDED,
+    AGENCY_REMOVED,
+    USER_ADDED,
+    USER_REMOVED,
+    ROLE_ASSIGNED,
+    ROLE_REVOKED
+}
@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bilan d'un passage du balayage des abonnements
+ */
+@Value
+@Builder
+public class SubscriptionSweepResult {
+
+    LocalDateTime runStartedAt;
+    boolean resumed;
+    int rangesProcessed;
+    long scanned;
+    long expired;
+    long renewed;
+    Duration duration;
+}
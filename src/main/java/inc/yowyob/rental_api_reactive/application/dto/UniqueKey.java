@@ -0,0 +1,44 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Value;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Clé d'unicité : type et valeur normalisée (sans espaces superflus, en minuscules).
+ * Le nom d'agence n'est unique qu'au sein de son organisation.
+ */
+@Value
+public class UniqueKey {
+
+    UniqueKeyType type;
+    String value;
+
+    public static UniqueKey email(String email) {
+        return new UniqueKey(UniqueKeyType.USER_EMAIL, normalize(email));
+    }
+
+    public static UniqueKey organizationName(String name) {
+        return new UniqueKey(UniqueKeyType.ORGANIZATION_NAME, normalize(name));
+    }
+
+    public static UniqueKey registrationNumber(String registrationNumber) {
+        return new UniqueKey(UniqueKeyType.ORGANIZATION_REGISTRATION_NUMBER, normalize(registrationNumber));
+    }
+
+    public static UniqueKey taxNumber(String taxNumber) {
+        return new UniqueKey(UniqueKeyType.ORGANIZATION_TAX_NUMBER, normalize(taxNumber));
+    }
+
+    public static UniqueKey agencyName(UUID organizationId, String name) {
+        return new UniqueKey(UniqueKeyType.AGENCY_NAME, organizationId + "/" + normalize(name));
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Valeur unique manquante");
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Getter;
+
+/**
+ * Valeurs uniques protégées par la table uniqueness_reservations, avec le message de conflit associé
+ */
+@Getter
+public enum UniqueKeyType {
+    USER_EMAIL("Cet email est déjà utilisé"),
+    ORGANIZATION_NAME("Une organisation avec ce nom existe déjà"),
+    ORGANIZATION_REGISTRATION_NUMBER("Ce numéro d'enregistrement existe déjà"),
+    ORGANIZATION_TAX_NUMBER("Ce numéro fiscal existe déjà"),
+    AGENCY_NAME("Une agence avec ce nom existe déjà dans cette organisation");
+
+    private final String conflictMessage;
+
+    UniqueKeyType(String conflictMessage) {
+        this.conflictMessage = conflictMessage;
+    }
+}
@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import lombok.Getter;
+
+/**
+ * Ressources comptabilisées dans la table tenant_usage (une colonne compteur par ressource)
+ */
+@Getter
+public enum UsageResource {
+    AGENCIES("agencies", "agences"),
+    VEHICLES("vehicles", "véhicules"),
+    DRIVERS("drivers", "chauffeurs"),
+    USERS("users", "utilisateurs");
+
+    private final String column;
+    private final String label;
+
+    UsageResource(String column, String label) {
+        this.column = column;
+        this.label = label;
+    }
+}
@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'une agence est créée, modifiée, activée ou désactivée
+ */
+@Value
+public class AgencyChangedEvent {
+
+    UUID agencyId;
+}
@@ -0,0 +1,15 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'une organisation est créée, modifiée, vérifiée, activée ou désactivée,
+ * ou que son abonnement ou ses statistiques changent
+ */
+@Value
+public class OrganizationChangedEvent {
+
+    UUID organizationId;
+}
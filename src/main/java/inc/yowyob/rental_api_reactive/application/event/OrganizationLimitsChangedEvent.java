@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsque l'abonnement ou les limites d'une organisation changent
+ */
+@Value
+public class OrganizationLimitsChangedEvent {
+
+    UUID organizationId;
+}
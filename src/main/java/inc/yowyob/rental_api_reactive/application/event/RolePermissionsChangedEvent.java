@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsque la définition d'un rôle change (permissions, type, suppression)
+ */
+@Value
+public class RolePermissionsChangedEvent {
+
+    UUID roleId;
+}
@@ -0,0 +1,92 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import inc.yowyob.rental_api_reactive.application.dto.StatisticsEventType;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Publié pour chaque agence, utilisateur ou assignation de rôle qui entre dans les statistiques ou en sort.
+ * Une modification (statut, agence) est publiée comme le retrait de l'état précédent puis l'ajout du nouvel état.
+ */
+@Value
+public class StatisticsEvent {
+
+    StatisticsEventType type;
+
+    UUID organizationId;
+
+    UUID agencyId;
+
+    /**
+     * Type de l'utilisateur (événements utilisateur uniquement)
+     */
+    UserType userType;
+
+    /**
+     * État actif de l'agence, de l'utilisateur ou de l'assignation au moment de l'événement
+     */
+    boolean active;
+
+    public static StatisticsEvent agencyAdded(Agency agency) {
+        return agency(StatisticsEventType.AGENCY_ADDED, agency);
+    }
+
+    public static StatisticsEvent agencyRemoved(Agency agency) {
+        return agency(StatisticsEventType.AGENCY_REMOVED, agency);
+    }
+
+    public static StatisticsEvent userAdded(User user) {
+        return user(StatisticsEventType.USER_ADDED, user);
+    }
+
+    public static StatisticsEvent userRemoved(User user) {
+        return user(StatisticsEventType.USER_REMOVED, user);
+    }
+
+    public static StatisticsEvent roleAssigned(UserRole userRole) {
+        return new StatisticsEvent(StatisticsEventType.ROLE_ASSIGNED, userRole.getOrganizationId(), userRole.getAgencyId(), null, true);
+    }
+
+    public static StatisticsEvent roleRevoked(UserRole userRole) {
+        return new StatisticsEvent(StatisticsEventType.ROLE_REVOKED, userRole.getOrganizationId(), userRole.getAgencyId(), null, false);
+    }
+
+    /**
+     * Événements d'une modification d'agence à partir de son retrait capturé avant la modification ;
+     * aucun si rien de comptabilisé n'a changé
+     */
+    public static List<StatisticsEvent> agencyUpdated(StatisticsEvent previous, Agency current) {
+        return updated(previous, agencyAdded(current));
+    }
+
+    /**
+     * Événements d'une modification d'utilisateur à partir de son retrait capturé avant la modification ;
+     * aucun si rien de comptabilisé n'a changé
+     */
+    public static List<StatisticsEvent> userUpdated(StatisticsEvent previous, User current) {
+        return updated(previous, userAdded(current));
+    }
+
+    private static List<StatisticsEvent> updated(StatisticsEvent previous, StatisticsEvent added) {
+        boolean unchanged = Objects.equals(previous.organizationId, added.organizationId)
+            && Objects.equals(previous.agencyId, added.agencyId)
+            && previous.userType == added.userType
+            && previous.active == added.active;
+        return unchanged ? List.of() : List.of(previous, added);
+    }
+
+    private static StatisticsEvent agency(StatisticsEventType type, Agency agency) {
+        return new StatisticsEvent(type, agency.getOrganizationId(), agency.getId(), null, Boolean.TRUE.equals(agency.getIsActive()));
+    }
+
+    private static StatisticsEvent user(StatisticsEventType type, User user) {
+        return new StatisticsEvent(type, user.getOrganizationId(), user.getAgencyId(), user.getUserType(), Boolean.TRUE.equals(user.getIsActive()));
+    }
+}
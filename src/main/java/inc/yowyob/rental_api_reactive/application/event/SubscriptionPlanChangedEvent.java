@@ -0,0 +1,15 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'un plan d'abonnement est créé, modifié ou désactivé
+ * (planId nul : rechargement complet du catalogue)
+ */
+@Value
+public class SubscriptionPlanChangedEvent {
+
+    UUID planId;
+}
@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié après l'ajustement d'un compteur tenant_usage
+ */
+@Value
+public class TenantUsageChangedEvent {
+
+    UUID organizationId;
+    UsageResource resource;
+    long delta;
+}
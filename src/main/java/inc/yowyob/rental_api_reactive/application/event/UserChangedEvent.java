@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'un utilisateur est créé, modifié ou supprimé
+ */
+@Value
+public class UserChangedEvent {
+
+    UUID userId;
+}
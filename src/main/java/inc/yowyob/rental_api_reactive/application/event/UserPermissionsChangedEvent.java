@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.application.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsque les rôles d'un utilisateur changent (attribution, révocation, expiration)
+ */
+@Value
+public class UserPermissionsChangedEvent {
+
+    UUID userId;
+}
@@ -0,0 +1,278 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.event.AgencyChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByGeohash;
+import inc.yowyob.rental_api_reactive.persistence.geo.GeoHash;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Index spatial des agences en mémoire : grille de cellules géohash (précision 5, environ 5 km)
+ * chargée depuis agencies_by_geohash (depuis agencies tant que la migration lookup_tables n'est pas terminée).
+ * Rechargé au démarrage et périodiquement ; chaque modification
+ * d'agence faite par cette instance y est reportée aussitôt.
+ */
+@Service
+@Slf4j
+public class AgencyGeoIndexReactiveService {
+
+    static final int GRID_PRECISION = 5;
+
+    // Au-delà, une recherche parcourt toutes les entrées plutôt que d'énumérer les cellules
+    private static final long MAX_CELLS = 4_096;
+
+    // Demi-circonférence terrestre : aucune agence n'est plus loin
+    private static final double MAX_DISTANCE_KM = 20_038;
+
+    private final AgencyReactiveRepository agencyRepository;
+    private final int maxResults;
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean loaded;
+
+    public AgencyGeoIndexReactiveService(AgencyReactiveRepository agencyRepository, AppProperties appProperties) {
+        this.agencyRepository = agencyRepository;
+        this.maxResults = appProperties.getAgencyGeoIndex().getMaxResults();
+    }
+
+    /**
+     * Agences situées dans un rectangle (un minLng supérieur à maxLng traverse l'antiméridien)
+     */
+    public Mono<List<UUID>> findInBounds(double minLat, double maxLat, double minLng, double maxLng) {
+        if (!isLatitude(minLat) || !isLatitude(maxLat) || !isLongitude(minLng) || !isLongitude(maxLng) || minLat > maxLat) {
+            return Mono.error(new IllegalArgumentException("Zone géographique invalide"));
+        }
+        return currentGrid()
+            .map(current -> {
+                Stream<AgencyByGeohash> entries = minLng <= maxLng
+                    ? current.within(minLat, maxLat, minLng, maxLng)
+                    : Stream.concat(current.within(minLat, maxLat, minLng, 180), current.within(minLat, maxLat, -180, maxLng));
+                return entries
+                    .map(AgencyByGeohash::getAgencyId)
+                    .distinct()
+                    .limit(maxResults)
+                    .toList();
+            });
+    }
+
+    /**
+     * Les limit agences actives les plus proches d'un point, de la plus proche à la plus éloignée
+     */
+    public Mono<List<UUID>> findNearest(double latitude, double longitude, int limit) {
+        if (!isLatitude(latitude) || !isLongitude(longitude) || limit <= 0) {
+            return Mono.error(new IllegalArgumentException("Paramètres de recherche invalides"));
+        }
+        int count = Math.min(limit, maxResults);
+        return currentGrid()
+            .map(current -> {
+                // Rayon doublé jusqu'à trouver assez d'agences : seules les cellules proches sont lues
+                double radiusKm = GeoHash.latitudeSpan(GRID_PRECISION) * 111.32;
+                while (true) {
+                    List<UUID> nearest = current.withinRadius(latitude, longitude, radiusKm)
+                        .filter(entry -> Boolean.TRUE.equals(entry.getIsActive()))
+                        .sorted(Comparator.comparingDouble(entry -> distanceKm(entry, latitude, longitude)))
+                        .limit(count)
+                        .map(AgencyByGeohash::getAgencyId)
+                        .toList();
+                    if (nearest.size() >= count || radiusKm >= MAX_DISTANCE_KM) {
+                        return nearest;
+                    }
+                    radiusKm = Math.min(radiusKm * 2, MAX_DISTANCE_KM);
+                }
+            });
+    }
+
+    /**
+     * Agences actives à moins de radiusKm d'un point, de la plus proche à la plus éloignée.
+     * Sans rayon, agences dont la zone de géofencing (geofence_radius, en mètres) contient le point.
+     */
+    public Mono<List<UUID>> findWithinRadius(double latitude, double longitude, Double radiusKm) {
+        if (!isLatitude(latitude) || !isLongitude(longitude) || (radiusKm != null && radiusKm <= 0)) {
+            return Mono.error(new IllegalArgumentException("Paramètres de recherche invalides"));
+        }
+        return currentGrid()
+            .map(current -> {
+                double searchRadiusKm = radiusKm != null ? radiusKm : current.maxGeofenceRadiusKm;
+                return current.withinRadius(latitude, longitude, searchRadiusKm)
+                    .filter(entry -> Boolean.TRUE.equals(entry.getIsActive()))
+                    .filter(entry -> radiusKm != null || coversPoint(entry, latitude, longitude))
+                    .sorted(Comparator.comparingDouble(entry -> distanceKm(entry, latitude, longitude)))
+                    .limit(maxResults)
+                    .map(AgencyByGeohash::getAgencyId)
+                    .toList();
+            });
+    }
+
+    /**
+     * Recharge entièrement l'index depuis agencies_by_geohash (ou agencies avant la migration)
+     */
+    public Mono<Void> reload() {
+        return agencyRepository.findAllLocated()
+            .collectList()
+            .doOnNext(entries -> {
+                grid = Grid.of(entries);
+                loaded = true;
+                log.info("Loaded {} located agencies in geo index", entries.size());
+            })
+            .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload().subscribe(
+            unused -> { },
+            error -> log.error("Error loading agency geo index: {}", error.getMessage()));
+    }
+
+    /**
+     * Rechargement planifié : suit les modifications faites par d'autres instances
+     */
+    @Scheduled(initialDelayString = "${app.agency-geo-index.refresh-minutes:10}",
+        fixedDelayString = "${app.agency-geo-index.refresh-minutes:10}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledReload() {
+        return reload()
+            .onErrorResume(error -> {
+                log.error("Agency geo index reload failed, keeping the previous index", error);
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Report d'une création ou modification d'agence dans l'index
+     */
+    @EventListener
+    public void onAgencyChanged(AgencyChangedEvent event) {
+        agencyRepository.findById(event.getAgencyId())
+            .filter(Agency::hasLocation)
+            .map(AgencyByGeohash::from)
+            .doOnNext(entry -> grid.put(entry))
+            .switchIfEmpty(Mono.fromRunnable(() -> grid.remove(event.getAgencyId())))
+            .subscribe(
+                unused -> { },
+                error -> log.warn("Could not refresh agency {} in geo index: {}", event.getAgencyId(), error.getMessage()));
+    }
+
+    private Mono<Grid> currentGrid() {
+        if (loaded) {
+            return Mono.just(grid);
+        }
+        return reload().then(Mono.fromSupplier(() -> grid));
+    }
+
+    private static boolean coversPoint(AgencyByGeohash entry, double latitude, double longitude) {
+        return entry.getGeofenceRadius() != null && entry.getGeofenceRadius() > 0
+            && distanceKm(entry, latitude, longitude) * 1000 <= entry.getGeofenceRadius();
+    }
+
+    private static double distanceKm(AgencyByGeohash entry, double latitude, double longitude) {
+        return GeoHash.distanceKm(latitude, longitude, entry.getLatitude(), entry.getLongitude());
+    }
+
+    private static boolean isLatitude(double value) {
+        return value >= -90 && value <= 90;
+    }
+
+    private static boolean isLongitude(double value) {
+        return value >= -180 && value <= 180;
+    }
+
+    /**
+     * Entrées indexées par agence et par cellule
+     */
+    static final class Grid {
+
+        private final Map<UUID, AgencyByGeohash> byId = new ConcurrentHashMap<>();
+        private final Map<String, Map<UUID, AgencyByGeohash>> byCell = new ConcurrentHashMap<>();
+
+        // Plus grand rayon de géofencing (km) ; ne décroît qu'au rechargement complet
+        private volatile double maxGeofenceRadiusKm;
+
+        static Grid of(Collection<AgencyByGeohash> entries) {
+            Grid grid = new Grid();
+            entries.forEach(grid::put);
+            return grid;
+        }
+
+        synchronized void put(AgencyByGeohash entry) {
+            remove(entry.getAgencyId());
+            byId.put(entry.getAgencyId(), entry);
+            byCell.computeIfAbsent(cellOf(entry), cell -> new ConcurrentHashMap<>()).put(entry.getAgencyId(), entry);
+            if (entry.getGeofenceRadius() != null) {
+                maxGeofenceRadiusKm = Math.max(maxGeofenceRadiusKm, entry.getGeofenceRadius() / 1000);
+            }
+        }
+
+        synchronized void remove(UUID agencyId) {
+            AgencyByGeohash previous = byId.remove(agencyId);
+            if (previous != null) {
+                String cell = cellOf(previous);
+                Map<UUID, AgencyByGeohash> entries = byCell.get(cell);
+                if (entries != null) {
+                    entries.remove(agencyId);
+                    if (entries.isEmpty()) {
+                        byCell.remove(cell);
+                    }
+                }
+            }
+        }
+
+        Stream<AgencyByGeohash> within(double minLat, double maxLat, double minLng, double maxLng) {
+            Stream<AgencyByGeohash> candidates;
+            if (GeoHash.cellCount(minLat, maxLat, minLng, maxLng, GRID_PRECISION) > MAX_CELLS) {
+                candidates = byId.values().stream();
+            } else {
+                candidates = GeoHash.cellsCovering(minLat, maxLat, minLng, maxLng, GRID_PRECISION).stream()
+                    .map(byCell::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(entries -> entries.values().stream());
+            }
+            return candidates.filter(entry -> entry.getLatitude() >= minLat && entry.getLatitude() <= maxLat
+                && entry.getLongitude() >= minLng && entry.getLongitude() <= maxLng);
+        }
+
+        Stream<AgencyByGeohash> withinRadius(double latitude, double longitude, double radiusKm) {
+            double latDelta = GeoHash.latitudeDelta(radiusKm);
+            double lngDelta = GeoHash.longitudeDelta(latitude, radiusKm);
+            double minLat = Math.max(-90, latitude - latDelta);
+            double maxLat = Math.min(90, latitude + latDelta);
+
+            Stream<AgencyByGeohash> candidates;
+            if (lngDelta >= 180) {
+                candidates = within(minLat, maxLat, -180, 180);
+            } else if (longitude - lngDelta < -180) {
+                candidates = Stream.concat(within(minLat, maxLat, -180, longitude + lngDelta),
+                    within(minLat, maxLat, longitude - lngDelta + 360, 180));
+            } else if (longitude + lngDelta > 180) {
+                candidates = Stream.concat(within(minLat, maxLat, longitude - lngDelta, 180),
+                    within(minLat, maxLat, -180, longitude + lngDelta - 360));
+            } else {
+                candidates = within(minLat, maxLat, longitude - lngDelta, longitude + lngDelta);
+            }
+            return candidates
+                .distinct()
+                .filter(entry -> distanceKm(entry, latitude, longitude) <= radiusKm);
+        }
+
+        private static String cellOf(AgencyByGeohash entry) {
+            return GeoHash.encode(entry.getLatitude(), entry.getLongitude(), GRID_PRECISION);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricSample;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricUpdate;
+import inc.yowyob.rental_api_reactive.persistence.entity.ExpiryCleanupCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyLeaderboardReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricRollupReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricSampleReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricUpdateReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.ExpiryCleanupCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Historique des métriques d'agence : chaque mise à jour des statistiques ajoute un relevé à
+ * agency_metrics_by_day ; un passage planifié agrège les heures ayant reçu des relevés en agrégats
+ * horaires, journaliers et mensuels (agency_metric_rollups) puis recalcule les classements des
+ * organisations concernées (agency_leaderboards) et leur taux d'utilisation du parc (organization_leaderboards).
+ * Historique et top N se lisent sans parcourir ni trier les agences.
+ */
+@Service
+@Slf4j
+public class AgencyMetricsReactiveService {
+
+    public static final String ROLLUP_CHECKPOINT = "agency_metrics_rollup";
+
+    private static final List<MetricGranularity> LEADERBOARD_GRANULARITIES =
+        List.of(MetricGranularity.DAY, MetricGranularity.MONTH);
+
+    private static final Comparator<AgencyMetricRollup> BY_REVENUE_DESC =
+        Comparator.comparing((AgencyMetricRollup rollup) -> rollup.getMonthlyRevenue() != null ? rollup.getMonthlyRevenue() : 0.0)
+            .reversed()
+            .thenComparing(AgencyMetricRollup::getAgencyId);
+
+    private final AgencyReactiveRepository agencyRepository;
+    private final AgencyMetricSampleReactiveRepository sampleRepository;
+    private final AgencyMetricUpdateReactiveRepository updateRepository;
+    private final AgencyMetricRollupReactiveRepository rollupRepository;
+    private final AgencyLeaderboardReactiveRepository leaderboardRepository;
+    private final ExpiryCleanupCheckpointReactiveRepository checkpointRepository;
+    private final OrganizationRankingReactiveService rankingService;
+    private final AppProperties.AgencyMetrics properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AgencyMetricsReactiveService(AgencyReactiveRepository agencyRepository,
+                                        AgencyMetricSampleReactiveRepository sampleRepository,
+                                        AgencyMetricUpdateReactiveRepository updateRepository,
+                                        AgencyMetricRollupReactiveRepository rollupRepository,
+                                        AgencyLeaderboardReactiveRepository leaderboardRepository,
+                                        ExpiryCleanupCheckpointReactiveRepository checkpointRepository,
+                                        OrganizationRankingReactiveService rankingService,
+                                        AppProperties appProperties) {
+        this.agencyRepository = agencyRepository;
+        this.sampleRepository = sampleRepository;
+        this.updateRepository = updateRepository;
+        this.rollupRepository = rollupRepository;
+        this.leaderboardRepository = leaderboardRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.rankingService = rankingService;
+        this.properties = appProperties.getAgencyMetrics();
+    }
+
+    /**
+     * Ajoute un relevé des métriques courantes de l'agence ; un échec n'interrompt pas la mise à jour
+     */
+    public Mono<Void> recordSample(Agency agency) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return sampleRepository.record(AgencyMetricSample.of(agency, LocalDateTime.now()))
+            .onErrorResume(error -> {
+                log.warn("Could not record metrics sample of agency {}: {}", agency.getId(), error.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Agrégats d'une agence dont la période commence dans [from, to[, dans l'ordre chronologique
+     */
+    public Flux<AgencyMetricRollup> getHistory(UUID agencyId, MetricGranularity granularity,
+                                               LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Flux.error(new IllegalArgumentException("La date de début doit précéder la date de fin"));
+        }
+        return rollupRepository.findBetween(agencyId, granularity, granularity.periodOf(from), to);
+    }
+
+    /**
+     * Passage planifié (le suivant démarre rollupIntervalMinutes après la fin du précédent)
+     */
+    @Scheduled(initialDelayString = "${app.agency-metrics.rollup-interval-minutes:15}",
+        fixedDelayString = "${app.agency-metrics.rollup-interval-minutes:15}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledRollup() {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return rollup()
+            .doOnNext(buckets -> log.info("Agency metrics rollup finished: {} hours processed", buckets))
+            .onErrorResume(error -> {
+                log.error("Agency metrics rollup failed, it will resume from its checkpoint", error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Agrège les heures ayant reçu des relevés depuis le point de reprise ; le point de reprise
+     * n'avance qu'au-delà des heures écoulées (l'heure courante est réagrégée au passage suivant).
+     * Vide si un passage est déjà en cours.
+     */
+    public Mono<Integer> rollup() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.debug("Agency metrics rollup already running");
+                return Mono.empty();
+            }
+            LocalDateTime now = LocalDateTime.now();
+
+            return checkpointRepository.findById(ROLLUP_CHECKPOINT)
+                .map(ExpiryCleanupCheckpoint::getNextBucket)
+                .defaultIfEmpty(now.minusHours(properties.getInitialLookbackHours()))
+                .flatMapMany(from -> Flux.fromIterable(ExpiryBuckets.bucketsBetween(from, now)))
+                .concatMap(bucket -> rollupBucket(bucket)
+                    .then(Mono.defer(() -> {
+                        if (!ExpiryBuckets.isElapsed(bucket, now)) {
+                            return Mono.empty();
+                        }
+                        return checkpointRepository.save(new ExpiryCleanupCheckpoint(ROLLUP_CHECKPOINT,
+                            bucket.plus(ExpiryBuckets.BUCKET_SIZE), LocalDateTime.now())).then();
+                    }))
+                    .thenReturn(bucket))
+                .count()
+                .map(Long::intValue)
+                .doFinally(signal -> running.set(false));
+        });
+    }
+
+    // === MÉTHODES PRIVÉES ===
+
+    /**
+     * Agrège les agences d'une heure puis recalcule les classements de leurs organisations
+     */
+    private Mono<Void> rollupBucket(LocalDateTime bucket) {
+        return updateRepository.findByUpdateBucket(bucket)
+            .flatMap(update -> rollupAgency(update.getAgencyId(), bucket)
+                .thenReturn(update), properties.getConcurrency())
+            .map(AgencyMetricUpdate::getOrganizationId)
+            .collect(Collectors.toSet())
+            .flatMapMany(Flux::fromIterable)
+            .flatMap(organizationId -> Flux.fromIterable(LEADERBOARD_GRANULARITIES)
+                .concatMap(granularity -> refreshLeaderboard(organizationId, granularity, granularity.periodOf(bucket))),
+                properties.getConcurrency())
+            .then();
+    }
+
+    /**
+     * Recalcule l'agrégat horaire à partir des relevés, puis ceux du jour et du mois qui le contiennent ;
+     * chaque agrégat n'est relu qu'une fois le précédent enregistré
+     */
+    private Mono<Void> rollupAgency(UUID agencyId, LocalDateTime hour) {
+        return sampleRepository.findBetween(agencyId, AgencyMetricSample.monthOf(hour), hour, MetricGranularity.HOUR.next(hour))
+            .collectList()
+            .flatMap(samples -> saveIfPresent(AgencyMetricRollup.ofSamples(agencyId, hour, samples)))
+            .then(Mono.defer(() -> rollupPeriod(agencyId, MetricGranularity.DAY, MetricGranularity.DAY.periodOf(hour))))
+            .then(Mono.defer(() -> rollupPeriod(agencyId, MetricGranularity.MONTH, MetricGranularity.MONTH.periodOf(hour))));
+    }
+
+    private Mono<Void> rollupPeriod(UUID agencyId, MetricGranularity granularity, LocalDateTime periodStart) {
+        return rollupRepository.findBetween(agencyId, granularity.finer(), periodStart, granularity.next(periodStart))
+            .collectList()
+            .flatMap(parts -> saveIfPresent(AgencyMetricRollup.ofRollups(agencyId, granularity, periodStart, parts)));
+    }
+
+    private Mono<Void> saveIfPresent(AgencyMetricRollup rollup) {
+        return rollup == null ? Mono.empty() : rollupRepository.save(rollup).then();
+    }
+
+    /**
+     * Classement complet des agences actives ayant un agrégat sur la période, par revenu mensuel décroissant ;
+     * le classement du mois en cours donne aussi le taux d'utilisation du parc de l'organisation
+     */
+    private Mono<Void> refreshLeaderboard(UUID organizationId, MetricGranularity granularity, LocalDateTime periodStart) {
+        return agencyRepository.findActiveByOrganizationId(organizationId)
+            .flatMap(agency -> rollupRepository.findByPeriod(agency.getId(), granularity, periodStart), properties.getConcurrency())
+            .sort(BY_REVENUE_DESC)
+            .collectList()
+            .flatMap(rollups -> leaderboardRepository.replace(organizationId, granularity, periodStart,
+                    IntStream.range(0, rollups.size())
+                        .mapToObj(index -> AgencyLeaderboardEntry.of(rollups.get(index), index + 1))
+                        .toList())
+                .then(isCurrentMonth(granularity, periodStart) && !rollups.isEmpty()
+                    ? rankingService.updateUtilization(organizationId, utilizationOf(rollups))
+                    : Mono.empty()));
+    }
+
+    private static boolean isCurrentMonth(MetricGranularity granularity, LocalDateTime periodStart) {
+        return granularity == MetricGranularity.MONTH
+            && periodStart.equals(MetricGranularity.MONTH.periodOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Taux d'utilisation moyen des agences, pondéré par la taille de leur parc
+     */
+    static double utilizationOf(List<AgencyMetricRollup> rollups) {
+        double vehicles = 0;
+        double weighted = 0;
+        for (AgencyMetricRollup rollup : rollups) {
+            int fleet = rollup.getTotalVehicles() != null ? rollup.getTotalVehicles() : 0;
+            vehicles += fleet;
+            weighted += fleet * (rollup.getAvgUtilizationRate() != null ? rollup.getAvgUtilizationRate() : 0.0);
+        }
+        return vehicles > 0 ? weighted / vehicles : 0.0;
+    }
+}
@@ -1,19 +1,30 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.event.AgencyChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
-import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
 import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
-import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.mapper.AgencyMapper;
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service réactif pour la gestion des agences
@@ -24,10 +35,16 @@ import java.util.UUID;
 public class AgencyReactiveService {
 
     private final AgencyReactiveRepository agencyRepository;
-    private final OrganizationReactiveRepository organizationRepository;
     private final AgencyMapper agencyMapper;
     private final MultiTenantReactiveService multiTenantService;
-    private final SubscriptionValidationReactiveService subscriptionValidationService;
+    private final QuotaReactiveService quotaService;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final AgencyGeoIndexReactiveService geoIndexService;
+    private final StatisticsAggregatorReactiveService statisticsService;
+    private final AgencyMetricsReactiveService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
 
     /**
      * Crée une nouvelle agence
@@ -36,20 +53,19 @@ public class AgencyReactiveService {
         log.info("Creating agency: {} for organization: {}",
             createRequest.getName(), createRequest.getOrganizationId());
 
+        // Nom réservé dans l'organisation (IF NOT EXISTS) avant l'écriture, libéré si celle-ci échoue
         return validateAgencyCreation(createRequest.getOrganizationId())
-            .then(checkAgencyNameUniqueness(createRequest.getOrganizationId(), createRequest.getName()))
-            .then(organizationRepository.findById(createRequest.getOrganizationId()))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                Agency agency = createAgencyFromRequest(createRequest, createdBy);
-                return agencyRepository.save(agency)
-                    .flatMap(savedAgency -> {
-                        // Incrémenter le compteur d'agences de l'organisation
-                        organization.incrementAgencies();
-                        return organizationRepository.save(organization)
-                            .then(Mono.just(savedAgency));
-                    });
-            })
+            .then(Mono.fromSupplier(() -> createAgencyFromRequest(createRequest, createdBy)))
+            .flatMap(agency -> checkBaseTable(agency.getOrganizationId(), agency.getName())
+                .then(uniquenessService.withReservations(agency.getId(),
+                    List.of(UniqueKey.agencyName(agency.getOrganizationId(), agency.getName())),
+                    agencyRepository.save(agency)))
+                // Incrément atomique du compteur d'agences de l'organisation
+                .flatMap(savedAgency -> tenantUsageService
+                    .increment(savedAgency.getOrganizationId(), UsageResource.AGENCIES)
+                    .thenReturn(savedAgency)))
+            .doOnNext(savedAgency -> eventPublisher.publishEvent(StatisticsEvent.agencyAdded(savedAgency)))
+            .doOnNext(this::publishChanged)
             .map(agencyMapper::toResponse)
             .doOnSuccess(response -> log.info("Agency created successfully: {}", response.getId()))
             .doOnError(error -> log.error("Error creating agency: {}", error.getMessage()));
@@ -64,10 +80,15 @@ public class AgencyReactiveService {
         return multiTenantService.validateAgencyAccess(agencyId, updatedBy)
             .then(agencyRepository.findById(agencyId))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
-            .flatMap(agency -> {
-                updateAgencyFromRequest(agency, updateRequest, updatedBy);
-                return agencyRepository.save(agency);
-            })
+            // Un nouveau nom est réservé avant la mise à jour ; l'ancien est libéré après
+            .flatMap(current -> checkBaseTable(current, updateRequest)
+                .then(uniquenessService.withReplacedKeys(agencyId,
+                    List.of(UniqueKey.agencyName(current.getOrganizationId(), current.getName())),
+                    List.of(UniqueKey.agencyName(current.getOrganizationId(),
+                        updateRequest.getName() != null ? updateRequest.getName() : current.getName())),
+                    agencyRepository.update(agencyId, agency -> updateAgencyFromRequest(agency, updateRequest, updatedBy)))))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
+            .doOnNext(this::publishChanged)
             .map(agencyMapper::toResponse)
             .doOnSuccess(response -> log.info("Agency updated successfully: {}", response.getId()))
             .doOnError(error -> log.error("Error updating agency {}: {}", agencyId, error.getMessage()));
@@ -95,6 +116,20 @@ public class AgencyReactiveService {
             .doOnNext(agency -> log.debug("Found agency: {}", agency.getName()));
     }
 
+    /**
+     * Page des agences d'une organisation
+     */
+    public Mono<CursorPage<AgencyResponse>> findPageByOrganizationId(UUID organizationId, boolean activeOnly,
+                                                                      String cursor, Integer size) {
+        log.debug("Finding agencies page for organization: {}, activeOnly: {}", organizationId, activeOnly);
+
+        int pageSize = appProperties.getPagination().resolvePageSize(size);
+        return agencyRepository.findSliceByOrganizationId(organizationId, PagingCursor.toPageRequest(cursor, pageSize))
+            .map(slice -> CursorPage.of(slice)
+                .filter(agency -> !activeOnly || Boolean.TRUE.equals(agency.getIsActive()))
+                .map(agencyMapper::toResponse));
+    }
+
     /**
      * Trouve les agences actives d'une organisation
      */
@@ -134,25 +169,11 @@ public class AgencyReactiveService {
     public Mono<Void> deleteAgency(UUID agencyId, UUID deletedBy) {
         log.info("Deleting agency: {}", agencyId);
 
+        // Vérifier qu'aucun véhicule ou chauffeur n'est actif, puis soft delete de l'agence
         return multiTenantService.validateAgencyAccess(agencyId, deletedBy)
-            .then(agencyRepository.findById(agencyId))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
-            .flatMap(agency -> {
-                // Vérifier qu'aucun véhicule ou chauffeur n'est actif
-                return validateAgencyDeletion(agencyId)
-                    .then(organizationRepository.findById(agency.getOrganizationId()))
-                    .flatMap(organization -> {
-                        // Soft delete de l'agence
-                        agency.setIsActive(false);
-
-                        // Décrémenter le compteur d'agences de l'organisation
-                        organization.decrementAgencies();
-
-                        return agencyRepository.save(agency)
-                            .then(organizationRepository.save(organization))
-                            .then();
-                    });
-            })
+            .then(validateAgencyDeletion(agencyId))
+            .then(setAgencyActive(agencyId, false))
+            .then()
             .doOnSuccess(v -> log.info("Agency deleted successfully: {}", agencyId))
             .doOnError(error -> log.error("Error deleting agency {}: {}", agencyId, error.getMessage()));
     }
@@ -164,13 +185,7 @@ public class AgencyReactiveService {
         log.info("Toggling agency status: {} to {}", agencyId, isActive);
 
         return multiTenantService.validateAgencyAccess(agencyId, updatedBy)
-            .then(agencyRepository.findById(agencyId))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
-            .flatMap(agency -> {
-                agency.setIsActive(isActive);
-                agency.preUpdate();
-                return agencyRepository.save(agency);
-            })
+            .then(setAgencyActive(agencyId, isActive))
             .map(agencyMapper::toResponse)
             .doOnSuccess(response -> log.info("Agency status toggled: {} - {}",
                 response.getId(), response.getIsActive()));
@@ -184,13 +199,11 @@ public class AgencyReactiveService {
 
         return multiTenantService.validateAgencyAccess(agencyId, assignedBy)
             .then(multiTenantService.validateUserAccess(managerId, assignedBy))
-            .then(agencyRepository.findById(agencyId))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
-            .flatMap(agency -> {
+            .then(agencyRepository.update(agencyId, agency -> {
                 agency.setManagerId(managerId);
                 agency.preUpdate();
-                return agencyRepository.save(agency);
-            })
+            }))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
             .map(agencyMapper::toResponse)
             .doOnSuccess(response -> log.info("Manager assigned to agency: {}", response.getId()));
     }
@@ -201,9 +214,7 @@ public class AgencyReactiveService {
     public Mono<AgencyResponse> updateAgencyStatistics(UUID agencyId, AgencyStatisticsRequest statsRequest) {
         log.debug("Updating statistics for agency: {}", agencyId);
 
-        return agencyRepository.findById(agencyId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
-            .flatMap(agency -> {
+        return agencyRepository.update(agencyId, agency -> {
                 if (statsRequest.getVehicleStats() != null) {
                     agency.updateVehicleStats(
                         statsRequest.getVehicleStats().getTotal(),
@@ -211,27 +222,39 @@ public class AgencyReactiveService {
                     );
                 }
 
-                if (statsRequest.getDriverStats() != null) {
-                    agency.updateDriverStats(
-                        statsRequest.getDriverStats().getTotal(),
-                        statsRequest.getDriverStats().getActive()
-                    );
-                }
-
-                if (statsRequest.getPersonnelCount() != null) {
-                    agency.updatePersonnelCount(statsRequest.getPersonnelCount());
+                // Chauffeurs et personnel sont tenus par l'agrégateur de statistiques
+                if (statsRequest.getDriverStats() != null || statsRequest.getPersonnelCount() != null) {
+                    log.debug("Ignoring driver and personnel counts for agency {}: maintained from events", agencyId);
                 }
 
                 if (statsRequest.getMonthlyRevenue() != null) {
                     agency.updateMonthlyRevenue(statsRequest.getMonthlyRevenue());
                 }
-
-                return agencyRepository.save(agency);
             })
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
+            // Relevé ajouté à l'historique des métriques (agrégé par le passage planifié)
+            .flatMap(agency -> metricsService.recordSample(agency).thenReturn(agency))
             .map(agencyMapper::toResponse)
             .doOnSuccess(response -> log.debug("Statistics updated for agency: {}", response.getId()));
     }
 
+    /**
+     * Historique agrégé des métriques d'une agence entre from et to
+     */
+    public Flux<AgencyMetricsPointResponse> getAgencyMetricsHistory(UUID agencyId, MetricGranularity granularity,
+                                                                    LocalDateTime from, LocalDateTime to) {
+        return metricsService.getHistory(agencyId, granularity, from, to)
+            .map(this::buildMetricsPoint);
+    }
+
+    /**
+     * Trouve les agences les plus performantes d'une organisation sur le mois en cours
+     */
+    public Flux<AgencyResponse> findTopPerformingAgencies(UUID organizationId, int limit) {
+        return agencyRepository.findTopPerformingAgencies(organizationId, limit)
+            .map(agencyMapper::toResponse);
+    }
+
     /**
      * Compte les agences d'une organisation
      */
@@ -250,7 +273,7 @@ public class AgencyReactiveService {
      * Vérifie si une organisation peut créer une nouvelle agence
      */
     public Mono<Boolean> canCreateAgency(UUID organizationId) {
-        return subscriptionValidationService.validateAgencyCreationLimit(organizationId);
+        return quotaService.hasQuota(organizationId, UsageResource.AGENCIES, 1);
     }
 
     /**
@@ -262,10 +285,30 @@ public class AgencyReactiveService {
     }
 
     /**
-     * Trouve les agences dans une zone géographique
+     * Trouve les agences dans une zone géographique (index spatial en mémoire)
      */
     public Flux<AgencyResponse> findAgenciesInBounds(double minLat, double maxLat, double minLng, double maxLng) {
-        return agencyRepository.findAgenciesInBounds(minLat, maxLat, minLng, maxLng)
+        return geoIndexService.findInBounds(minLat, maxLat, minLng, maxLng)
+            .flatMapMany(agencyRepository::findByIds)
+            .map(agencyMapper::toResponse);
+    }
+
+    /**
+     * Trouve les agences actives les plus proches d'un point, de la plus proche à la plus éloignée
+     */
+    public Flux<AgencyResponse> findNearestAgencies(double latitude, double longitude, int limit) {
+        return geoIndexService.findNearest(latitude, longitude, limit)
+            .flatMapMany(agencyRepository::findByIds)
+            .map(agencyMapper::toResponse);
+    }
+
+    /**
+     * Trouve les agences actives à moins de radiusKm d'un point ; sans rayon,
+     * celles dont la zone de géofencing contient le point
+     */
+    public Flux<AgencyResponse> findAgenciesWithinRadius(double latitude, double longitude, Double radiusKm) {
+        return geoIndexService.findWithinRadius(latitude, longitude, radiusKm)
+            .flatMapMany(agencyRepository::findByIds)
             .map(agencyMapper::toResponse);
     }
 
@@ -275,37 +318,61 @@ public class AgencyReactiveService {
     public Mono<AgencyStatisticsResponse> getAgencyStatistics(UUID agencyId) {
         return agencyRepository.findById(agencyId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
+            .zipWith(statisticsService.getAgencyStats(agencyId), (agency, stats) -> {
+                agency.applyStatistics(stats);
+                return agency;
+            })
             .map(this::buildAgencyStatistics);
     }
 
     // === MÉTHODES PRIVÉES ===
 
     /**
-     * Valide la création d'une agence
+     * Valide la création d'une agence (quota vérifié en mémoire)
      */
     private Mono<Void> validateAgencyCreation(UUID organizationId) {
-        return subscriptionValidationService.validateAgencyCreationLimit(organizationId)
-            .flatMap(canCreate -> {
-                if (!canCreate) {
-                    return Mono.error(new IllegalArgumentException(
-                        "Limite d'agences atteinte pour cette organisation"));
-                }
-                return Mono.empty();
-            });
+        return quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1);
     }
 
     /**
-     * Vérifie l'unicité du nom d'agence dans l'organisation
+     * Nom d'agence sans réservation vérifié sur la table principale (agences antérieures à uniqueness_reservations)
      */
-    private Mono<Void> checkAgencyNameUniqueness(UUID organizationId, String name) {
-        return agencyRepository.countByOrganizationIdAndName(organizationId, name)
-            .flatMap(count -> {
-                if (count > 0) {
-                    return Mono.error(new IllegalArgumentException(
-                        "Une agence avec ce nom existe déjà dans cette organisation"));
-                }
-                return Mono.empty();
-            });
+    private Mono<Void> checkBaseTable(UUID organizationId, String name) {
+        return uniquenessService.checkBaseTable(UniqueKey.agencyName(organizationId, name),
+            agencyRepository.countByOrganizationIdAndName(organizationId, name));
+    }
+
+    /**
+     * Seul un nouveau nom est vérifié : l'agence porte déjà l'actuel
+     */
+    private Mono<Void> checkBaseTable(Agency current, UpdateAgencyRequest request) {
+        if (request.getName() == null || UniqueKey.agencyName(current.getOrganizationId(), request.getName())
+            .equals(UniqueKey.agencyName(current.getOrganizationId(), current.getName()))) {
+            return Mono.empty();
+        }
+        return checkBaseTable(current.getOrganizationId(), request.getName());
+    }
+
+    /**
+     * Change le statut d'une agence (UPDATE conditionnel sur la version)
+     * et ajuste le compteur d'agences actives et les statistiques selon l'état réellement remplacé
+     */
+    private Mono<Agency> setAgencyActive(UUID agencyId, boolean isActive) {
+        AtomicBoolean wasActive = new AtomicBoolean();
+        AtomicReference<StatisticsEvent> previous = new AtomicReference<>();
+        return agencyRepository.update(agencyId, agency -> {
+                wasActive.set(Boolean.TRUE.equals(agency.getIsActive()));
+                previous.set(StatisticsEvent.agencyRemoved(agency));
+                agency.setIsActive(isActive);
+                agency.preUpdate();
+            })
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Agence non trouvée")))
+            .flatMap(agency -> wasActive.get() == isActive
+                ? Mono.just(agency)
+                : tenantUsageService.adjust(agency.getOrganizationId(), UsageResource.AGENCIES, isActive ? 1 : -1)
+                    .thenReturn(agency))
+            .doOnNext(agency -> StatisticsEvent.agencyUpdated(previous.get(), agency).forEach(eventPublisher::publishEvent))
+            .doOnNext(this::publishChanged);
     }
 
     /**
@@ -443,4 +510,28 @@ public class AgencyReactiveService {
         // Utiliser ObjectMapper pour convertir en JSON
         return "{}"; // Placeholder
     }
+
+    // Position, géofencing ou statut ont pu changer : l'index spatial relit l'agence
+    private void publishChanged(Agency agency) {
+        eventPublisher.publishEvent(new AgencyChangedEvent(agency.getId()));
+    }
+
+    /**
+     * Construit un point de l'historique des métriques d'une agence
+     */
+    private AgencyMetricsPointResponse buildMetricsPoint(AgencyMetricRollup rollup) {
+        return AgencyMetricsPointResponse.builder()
+            .agencyId(rollup.getAgencyId())
+            .granularity(rollup.getGranularity())
+            .periodStart(rollup.getPeriodStart())
+            .sampleCount(rollup.getSampleCount())
+            .avgActiveVehicles(rollup.getAvgActiveVehicles())
+            .maxActiveVehicles(rollup.getMaxActiveVehicles())
+            .avgUtilizationRate(rollup.getAvgUtilizationRate())
+            .totalVehicles(rollup.getTotalVehicles())
+            .totalRentals(rollup.getTotalRentals())
+            .monthlyRevenue(rollup.getMonthlyRevenue())
+            .lastRecordedAt(rollup.getLastRecordedAt())
+            .build();
+    }
 }
@@ -5,10 +5,13 @@ import inc.yowyob.rental_api_reactive.infrastructure.security.jwt.JwtReactiveTok
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.User;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -26,10 +29,13 @@ import java.util.UUID;
 public class AuthReactiveService {
 
     private final UserReactiveRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordReactiveService passwordService;
+    private final TenantUsageReactiveService tenantUsageService;
     private final JwtReactiveTokenProvider jwtTokenProvider;
     private final AppProperties appProperties;
     private final PersonnelReactiveService personnelService;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Types d'utilisateurs considérés comme personnel
     private static final List<UserType> PERSONNEL_TYPES = Arrays.asList(
@@ -43,36 +49,40 @@ public class AuthReactiveService {
     public Mono<AuthResponse> register(RegisterRequest registerRequest) {
         log.info("Registering new user: {}", registerRequest.getEmail());
 
-        return userRepository.countByEmail(registerRequest.getEmail())
-            .flatMap(count -> {
-                if (count > 0) {
-                    return Mono.error(new IllegalArgumentException("Email already exists"));
-                }
-
-                // Créer le nouvel utilisateur
-                User user = new User();
-                user.setId(UUID.randomUUID());
-                user.setEmail(registerRequest.getEmail());
-                user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-                user.setFirstName(registerRequest.getFirstName());
-                user.setLastName(registerRequest.getLastName());
-                user.setPhone(registerRequest.getPhone());
-                user.setUserType(registerRequest.getUserType());
-                user.setOrganizationId(registerRequest.getOrganizationId());
-                user.setAgencyId(registerRequest.getAgencyId());
-                user.setIsActive(true);
-                user.setIsEmailVerified(false);
-                user.setIsPhoneVerified(false);
-                user.setCreatedAt(LocalDateTime.now());
-                user.setUpdatedAt(LocalDateTime.now());
-
-                // Générer token de vérification email
-                user.setEmailVerificationToken(UUID.randomUUID().toString());
-
-                return userRepository.save(user)
-                    .flatMap(savedUser -> generateAuthResponse(savedUser))
-                    .doOnSuccess(response -> log.info("User registered successfully: {}", registerRequest.getEmail()));
+        // Créer le nouvel utilisateur
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(registerRequest.getEmail());
+        user.setFirstName(registerRequest.getFirstName());
+        user.setLastName(registerRequest.getLastName());
+        user.setPhone(registerRequest.getPhone());
+        user.setUserType(registerRequest.getUserType());
+        user.setOrganizationId(registerRequest.getOrganizationId());
+        user.setAgencyId(registerRequest.getAgencyId());
+        user.setIsActive(true);
+        user.setIsEmailVerified(false);
+        user.setIsPhoneVerified(false);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+
+        // Générer token de vérification email
+        user.setEmailVerificationToken(UUID.randomUUID().toString());
+
+        // L'email est réservé (IF NOT EXISTS) avant l'écriture et libéré si celle-ci échoue
+        Mono<User> createUser = passwordService.hashPassword(registerRequest.getEmail(), registerRequest.getPassword())
+            .flatMap(encodedPassword -> {
+                user.setPassword(encodedPassword);
+                return userRepository.save(user);
             });
+
+        UniqueKey email = UniqueKey.email(registerRequest.getEmail());
+        return uniquenessService.checkBaseTable(email, userRepository.countByEmail(registerRequest.getEmail()))
+            .then(uniquenessService.withReservations(user.getId(), List.of(email), createUser))
+            .flatMap(savedUser -> tenantUsageService.recordUserAdded(savedUser).thenReturn(savedUser))
+            .doOnNext(savedUser -> eventPublisher.publishEvent(StatisticsEvent.userAdded(savedUser)))
+            .doOnNext(savedUser -> eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId())))
+            .flatMap(savedUser -> generateAuthResponse(savedUser))
+            .doOnSuccess(response -> log.info("User registered successfully: {}", registerRequest.getEmail()));
     }
 
     /**
@@ -83,6 +93,10 @@ public class AuthReactiveService {
 
         return userRepository.findByEmail(loginRequest.getEmail())
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Invalid email or password")))
+            .flatMap(user -> passwordService.matches(loginRequest.getEmail(), loginRequest.getPassword(), user.getPassword())
+                .flatMap(matches -> matches
+                    ? Mono.just(user)
+                    : Mono.error(new IllegalArgumentException("Invalid email or password"))))
             .flatMap(user -> {
                 // Réinitialiser les tentatives échouées
                 user.setLastLoginAt(LocalDateTime.now());
@@ -174,23 +188,26 @@ public class AuthReactiveService {
 
         return userRepository.findById(userId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("User not found")))
-            .flatMap(user -> {
-                // Vérifier l'ancien mot de passe
-                if (!passwordEncoder.matches(changeRequest.getCurrentPassword(), user.getPassword())) {
-                    return Mono.error(new IllegalArgumentException("Current password is incorrect"));
-                }
-
-                // Mettre à jour avec le nouveau mot de passe
-                user.setPassword(passwordEncoder.encode(changeRequest.getNewPassword()));
-                user.setUpdatedAt(LocalDateTime.now());
-
-                return userRepository.save(user)
-                    .then(Mono.just(ApiResponse.<String>builder()
-                        .success(true)
-                        .message("Password changed successfully")
-                        .data("Password updated")
-                        .build()));
-            });
+            .flatMap(user -> passwordService.matches(user.getEmail(), changeRequest.getCurrentPassword(), user.getPassword())
+                .flatMap(matches -> {
+                    // Vérifier l'ancien mot de passe
+                    if (!matches) {
+                        return Mono.error(new IllegalArgumentException("Current password is incorrect"));
+                    }
+
+                    // Mettre à jour avec le nouveau mot de passe
+                    return passwordService.hashPassword(user.getEmail(), changeRequest.getNewPassword());
+                })
+                .flatMap(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    user.setUpdatedAt(LocalDateTime.now());
+                    return userRepository.save(user);
+                }))
+            .then(Mono.just(ApiResponse.<String>builder()
+                .success(true)
+                .message("Password changed successfully")
+                .data("Password updated")
+                .build()));
     }
 
     /**
@@ -231,11 +248,14 @@ public class AuthReactiveService {
             .flatMap(user -> {
 
                 // Mettre à jour le mot de passe
-                user.setPassword(passwordEncoder.encode(resetRequest.getNewPassword()));
                 user.setPasswordResetToken(null);
                 user.setUpdatedAt(LocalDateTime.now());
 
-                return userRepository.save(user)
+                return passwordService.hashPassword(user.getEmail(), resetRequest.getNewPassword())
+                    .flatMap(encodedPassword -> {
+                        user.setPassword(encodedPassword);
+                        return userRepository.save(user);
+                    })
                     .then(Mono.just(ApiResponse.<String>builder()
                         .success(true)
                         .message("Password reset successfully")
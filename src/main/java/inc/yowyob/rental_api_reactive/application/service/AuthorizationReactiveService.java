@@ -1,28 +1,27 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
-import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.dto.CompiledUserPermissions;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SecurityContext;
 import inc.yowyob.rental_api_reactive.persistence.entity.User;
-import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
-import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Service d'autorisation : toutes les vérifications sont résolues depuis
+ * les droits compilés mis en cache par PermissionCacheReactiveService
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthorizationReactiveService {
 
-    private final UserRoleReactiveRepository userRoleRepository;
-    private final RoleReactiveRepository roleRepository;
-    private final PermissionReactiveService permissionService;
+    private final PermissionCacheReactiveService permissionCacheService;
 
     /**
      * Vérifie si un utilisateur a une permission spécifique
@@ -31,7 +30,25 @@ public class AuthorizationReactiveService {
         String permission = resource + "_" + action;
         log.debug("Checking permission {}_{} for user: {}", resource, action, userId);
 
-        return permissionService.hasPermission(userId, permission);
+        return permissionCacheService.hasPermission(userId, permission);
+    }
+
+    /**
+     * Vérifie si un utilisateur a toutes les permissions spécifiées
+     */
+    public Mono<Boolean> hasAllPermissions(UUID userId, Set<String> permissionCodes) {
+        log.debug("Checking all permissions {} for user: {}", permissionCodes, userId);
+
+        return permissionCacheService.hasAllPermissions(userId, permissionCodes);
+    }
+
+    /**
+     * Vérifie si un utilisateur a au moins une des permissions spécifiées
+     */
+    public Mono<Boolean> hasAnyPermission(UUID userId, Set<String> permissionCodes) {
+        log.debug("Checking any permission {} for user: {}", permissionCodes, userId);
+
+        return permissionCacheService.hasAnyPermission(userId, permissionCodes);
     }
 
     /**
@@ -40,8 +57,9 @@ public class AuthorizationReactiveService {
     public Mono<Boolean> canAccessOrganization(UUID userId, UUID organizationId) {
         log.debug("Checking organization access for user {} to organization {}", userId, organizationId);
 
-        return userRoleRepository.findActiveByUserId(userId)
-            .any(userRole -> organizationId.equals(userRole.getOrganizationId()));
+        return compiled(userId)
+            .map(permissions -> permissions.canAccessOrganization(organizationId))
+            .defaultIfEmpty(false);
     }
 
     /**
@@ -50,8 +68,9 @@ public class AuthorizationReactiveService {
     public Mono<Boolean> canAccessAgency(UUID userId, UUID agencyId) {
         log.debug("Checking agency access for user {} to agency {}", userId, agencyId);
 
-        return userRoleRepository.findActiveByUserId(userId)
-            .any(userRole -> agencyId.equals(userRole.getAgencyId()) || userRole.getAgencyId() == null);
+        return compiled(userId)
+            .map(permissions -> permissions.canAccessAgency(agencyId))
+            .defaultIfEmpty(false);
     }
 
     /**
@@ -60,27 +79,27 @@ public class AuthorizationReactiveService {
     public Mono<SecurityContext> buildSecurityContext(User user) {
         log.debug("Building security context for user: {}", user.getId());
 
-        return Mono.zip(
-            getUserPermissions(user.getId()),
-            getUserRoles(user.getId()),
-            getUserOrganizations(user.getId())
-        ).map(tuple -> SecurityContext.builder()
-            .userId(user.getId())
-            .email(user.getEmail())
-            .organizationId(user.getOrganizationId())
-            .permissions(tuple.getT1())
-            .roles(tuple.getT2())
-            .organizations(tuple.getT3())
-            .isSuperAdmin(isSuperAdmin(tuple.getT2()))
-            .build());
+        return compiled(user.getId())
+            .map(permissions -> SecurityContext.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .organizationId(user.getOrganizationId())
+                .permissions(permissions.getPermissions())
+                .roles(permissions.getRoleTypes().stream()
+                    .map(Enum::name)
+                    .collect(Collectors.toSet()))
+                .organizations(permissions.getOrganizationIds())
+                .isSuperAdmin(permissions.isSuperAdmin())
+                .build());
     }
 
     /**
      * Vérifie si un utilisateur est super administrateur
      */
     public Mono<Boolean> isSuperAdmin(UUID userId) {
-        return getUserRoles(userId)
-            .map(this::isSuperAdmin);
+        return compiled(userId)
+            .map(CompiledUserPermissions::isSuperAdmin)
+            .defaultIfEmpty(false);
     }
 
     /**
@@ -90,54 +109,12 @@ public class AuthorizationReactiveService {
         log.debug("Checking hierarchical permission {} for user {} in organization {}",
             permission, userId, targetOrganizationId);
 
-        return userRoleRepository.findActiveByUserId(userId)
-            .flatMap(userRole -> roleRepository.findById(userRole.getRoleId()))
-            .filter(Objects::nonNull)
-            .any(role -> {
-                // Super admin a toutes les permissions
-                if (RoleType.SUPER_ADMIN.equals(role.getRoleType())) {
-                    return true;
-                }
-
-                // Organization owner peut tout faire dans son organisation
-                if (RoleType.ORGANIZATION_OWNER.equals(role.getRoleType()) &&
-                    targetOrganizationId.equals(role.getOrganizationId())) {
-                    return true;
-                }
-
-                // Vérifier la permission spécifique
-                return role.getPermissions() != null && role.getPermissions().contains(permission);
-            });
-    }
-
-    private Mono<Set<String>> getUserPermissions(UUID userId) {
-        return userRoleRepository.findActiveByUserId(userId)
-            .flatMap(userRole -> roleRepository.findById(userRole.getRoleId()))
-            .filter(Objects::nonNull)
-            .map(role -> role.getPermissions())
-            .reduce(new HashSet<>(), (acc, permissions) -> {
-                if (permissions != null) {
-                    acc.addAll(permissions);
-                }
-                return acc;
-            });
-    }
-
-    private Mono<Set<String>> getUserRoles(UUID userId) {
-        return userRoleRepository.findActiveByUserId(userId)
-            .flatMap(userRole -> roleRepository.findById(userRole.getRoleId()))
-            .filter(Objects::nonNull)
-            .map(role -> role.getRoleType().name())
-            .collect(HashSet::new, Set::add);
-    }
-
-    private Mono<Set<UUID>> getUserOrganizations(UUID userId) {
-        return userRoleRepository.findActiveByUserId(userId)
-            .map(userRole -> userRole.getOrganizationId())
-            .collect(HashSet::new, Set::add);
+        return compiled(userId)
+            .map(permissions -> permissions.hasHierarchicalPermission(permission, targetOrganizationId))
+            .defaultIfEmpty(false);
     }
 
-    private boolean isSuperAdmin(Set<String> roles) {
-        return roles.contains(RoleType.SUPER_ADMIN.name());
+    private Mono<CompiledUserPermissions> compiled(UUID userId) {
+        return permissionCacheService.getCompiledPermissions(userId);
     }
 }
@@ -0,0 +1,219 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.ExpiryCleanupResult;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.ExpiryCleanupCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import inc.yowyob.rental_api_reactive.persistence.repository.ExpiryCleanupCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSessionByExpiryBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSessionReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleByExpiryBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Nettoyage planifié des échéances : seules les partitions horaires échues des tables
+ * *_by_expiry_bucket sont lues, depuis la première heure pas encore entièrement traitée
+ * (expiry_cleanup_checkpoints). Les assignations de rôles échues sont désactivées ; les sessions
+ * d'onboarding abandonnées sont supprimées sans attendre leur TTL. Chaque traitement est
+ * idempotent : une heure relue ou traitée par deux instances ne produit aucun effet de plus.
+ */
+@Service
+@Slf4j
+public class ExpiryCleanupReactiveService {
+
+    public static final String USER_ROLES_CLEANUP = "user_role_expiry";
+    public static final String ONBOARDING_SESSIONS_CLEANUP = "onboarding_session_expiry";
+
+    private final UserRoleReactiveRepository userRoleRepository;
+    private final UserRoleByExpiryBucketReactiveRepository userRoleBucketRepository;
+    private final OnboardingSessionReactiveRepository onboardingRepository;
+    private final OnboardingSessionByExpiryBucketReactiveRepository onboardingBucketRepository;
+    private final ExpiryCleanupCheckpointReactiveRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties.ExpiryCleanup properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ExpiryCleanupReactiveService(UserRoleReactiveRepository userRoleRepository,
+                                        UserRoleByExpiryBucketReactiveRepository userRoleBucketRepository,
+                                        OnboardingSessionReactiveRepository onboardingRepository,
+                                        OnboardingSessionByExpiryBucketReactiveRepository onboardingBucketRepository,
+                                        ExpiryCleanupCheckpointReactiveRepository checkpointRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        AppProperties appProperties) {
+        this.userRoleRepository = userRoleRepository;
+        this.userRoleBucketRepository = userRoleBucketRepository;
+        this.onboardingRepository = onboardingRepository;
+        this.onboardingBucketRepository = onboardingBucketRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = appProperties.getExpiryCleanup();
+    }
+
+    /**
+     * Passage planifié (le suivant démarre intervalMinutes après la fin du précédent)
+     */
+    @Scheduled(initialDelayString = "${app.expiry-cleanup.interval-minutes:5}",
+        fixedDelayString = "${app.expiry-cleanup.interval-minutes:5}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledCleanup() {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return cleanup()
+            .doOnNext(result -> log.info("Expiry cleanup finished in {}: {} buckets, {} roles expired, {} onboarding sessions deleted",
+                result.getDuration(), result.getBucketsProcessed(), result.getRolesExpired(), result.getSessionsDeleted()))
+            .onErrorResume(error -> {
+                log.error("Expiry cleanup failed, it will resume from its checkpoints", error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Traite les partitions échues ; vide si un passage est déjà en cours
+     */
+    public Mono<ExpiryCleanupResult> cleanup() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.debug("Expiry cleanup already running");
+                return Mono.empty();
+            }
+            long startedNanos = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            CleanupCounters counters = new CleanupCounters();
+
+            return cleanupBuckets(USER_ROLES_CLEANUP, now, counters, bucket -> expireUserRoles(bucket, now, counters))
+                .then(cleanupBuckets(ONBOARDING_SESSIONS_CLEANUP, now, counters, bucket -> deleteOnboardingSessions(bucket, now, counters)))
+                .then(Mono.fromSupplier(() -> ExpiryCleanupResult.builder()
+                    .bucketsProcessed(counters.buckets.get())
+                    .rolesExpired(counters.rolesExpired.get())
+                    .sessionsDeleted(counters.sessionsDeleted.get())
+                    .duration(Duration.ofNanos(System.nanoTime() - startedNanos))
+                    .build()))
+                .doFinally(signal -> running.set(false));
+        });
+    }
+
+    /**
+     * Crée les entrées d'échéance des assignations temporaires et des sessions d'onboarding écrites
+     * avant les tables *_by_expiry_bucket. Celles déjà échues sont traitées aussitôt : leur heure
+     * peut précéder le point de reprise et ne serait plus relue par le nettoyage.
+     */
+    public Mono<ExpiryCleanupResult> backfill() {
+        return Mono.defer(() -> {
+            long startedNanos = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            CleanupCounters counters = new CleanupCounters();
+
+            Mono<Void> userRoles = userRoleRepository.findAll()
+                .filter(userRole -> Boolean.TRUE.equals(userRole.getIsActive()) && userRole.getExpiresAt() != null)
+                .flatMap(userRole -> isDue(userRole, now)
+                    ? expire(userRole, counters).then()
+                    : userRoleRepository.saveExpiryEntry(userRole), properties.getConcurrency())
+                .then();
+            Mono<Void> sessions = onboardingRepository.findAll()
+                .filter(session -> !Boolean.TRUE.equals(session.getIsCompleted()) && session.getExpiresAt() != null)
+                .flatMap(session -> session.getExpiresAt().isAfter(now)
+                    ? onboardingRepository.saveExpiryEntry(session)
+                    : onboardingRepository.delete(session)
+                        .doOnSuccess(unused -> counters.sessionsDeleted.incrementAndGet()), properties.getConcurrency())
+                .then();
+
+            return userRoles
+                .then(sessions)
+                .then(Mono.fromSupplier(() -> ExpiryCleanupResult.builder()
+                    .rolesExpired(counters.rolesExpired.get())
+                    .sessionsDeleted(counters.sessionsDeleted.get())
+                    .duration(Duration.ofNanos(System.nanoTime() - startedNanos))
+                    .build()));
+        });
+    }
+
+    // === MÉTHODES PRIVÉES ===
+
+    /**
+     * Parcourt les heures du point de reprise à l'heure courante ; le point de reprise n'avance
+     * qu'au-delà des heures entièrement échues (l'heure courante est relue au passage suivant)
+     */
+    private Mono<Void> cleanupBuckets(String cleanupName, LocalDateTime now, CleanupCounters counters,
+                                      Function<LocalDateTime, Mono<Void>> bucketCleanup) {
+        return checkpointRepository.findById(cleanupName)
+            .map(ExpiryCleanupCheckpoint::getNextBucket)
+            .defaultIfEmpty(now.minusHours(properties.getInitialLookbackHours()))
+            .flatMapMany(from -> Flux.fromIterable(ExpiryBuckets.bucketsBetween(from, now)))
+            .concatMap(bucket -> bucketCleanup.apply(bucket)
+                .then(Mono.defer(() -> {
+                    counters.buckets.incrementAndGet();
+                    if (!ExpiryBuckets.isElapsed(bucket, now)) {
+                        return Mono.empty();
+                    }
+                    return checkpointRepository.save(new ExpiryCleanupCheckpoint(cleanupName,
+                        bucket.plus(ExpiryBuckets.BUCKET_SIZE), LocalDateTime.now())).then();
+                })))
+            .then();
+    }
+
+    /**
+     * Désactive les assignations échues d'une heure ; les entrées périmées (échéance prolongée,
+     * rôle déjà révoqué) sont ignorées
+     */
+    private Mono<Void> expireUserRoles(LocalDateTime bucket, LocalDateTime now, CleanupCounters counters) {
+        return userRoleBucketRepository.findDue(bucket, now)
+            .flatMap(entry -> userRoleRepository.findById(entry.getUserRoleId())
+                .filter(userRole -> isDue(userRole, now))
+                .flatMap(userRole -> expire(userRole, counters)), properties.getConcurrency())
+            .then();
+    }
+
+    private Mono<UserRole> expire(UserRole userRole, CleanupCounters counters) {
+        userRole.setIsActive(false);
+        userRole.preUpdate();
+        return userRoleRepository.save(userRole)
+            .doOnNext(saved -> {
+                counters.rolesExpired.incrementAndGet();
+                eventPublisher.publishEvent(new UserPermissionsChangedEvent(saved.getUserId()));
+                eventPublisher.publishEvent(StatisticsEvent.roleRevoked(saved));
+            });
+    }
+
+    private static boolean isDue(UserRole userRole, LocalDateTime now) {
+        return Boolean.TRUE.equals(userRole.getIsActive())
+            && userRole.getExpiresAt() != null
+            && !userRole.getExpiresAt().isAfter(now);
+    }
+
+    /**
+     * Supprime les sessions d'onboarding échues et non finalisées d'une heure
+     */
+    private Mono<Void> deleteOnboardingSessions(LocalDateTime bucket, LocalDateTime now, CleanupCounters counters) {
+        return onboardingBucketRepository.findDue(bucket, now)
+            .flatMap(entry -> onboardingRepository.findById(entry.getSessionId())
+                .filter(session -> !Boolean.TRUE.equals(session.getIsCompleted()))
+                .flatMap(session -> onboardingRepository.delete(session)
+                    .doOnSuccess(unused -> counters.sessionsDeleted.incrementAndGet())), properties.getConcurrency())
+            .then();
+    }
+
+    private static final class CleanupCounters {
+        private final AtomicInteger buckets = new AtomicInteger();
+        private final AtomicLong rolesExpired = new AtomicLong();
+        private final AtomicLong sessionsDeleted = new AtomicLong();
+    }
+}
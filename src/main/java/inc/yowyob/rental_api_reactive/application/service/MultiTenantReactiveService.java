@@ -2,8 +2,6 @@ package inc.yowyob.rental_api_reactive.application.service;
 
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SecurityContext;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.TenantFilter;
-import inc.yowyob.rental_api_reactive.persistence.entity.User;
-import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
@@ -16,13 +14,15 @@ import java.util.UUID;
 
 /**
  * Service réactif pour la gestion multi-tenant
+ * Les vérifications s'appuient sur le contexte tenant résolu une fois par requête
+ * ({@link TenantContextReactiveService}) plutôt que de relire l'utilisateur à chaque appel.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MultiTenantReactiveService {
 
-    private final UserReactiveRepository userRepository;
+    private final TenantContextReactiveService tenantContextService;
     private final AgencyReactiveRepository agencyRepository;
     private final OrganizationReactiveRepository organizationRepository;
     private final AuthorizationReactiveService authorizationService;
@@ -33,7 +33,7 @@ public class MultiTenantReactiveService {
     public Mono<Void> validateOrganizationAccess(UUID organizationId, UUID userId) {
         log.debug("Validating organization access for user {} to organization {}", userId, organizationId);
 
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .flatMap(user -> {
                 // Super admin a accès à tout
@@ -59,7 +59,7 @@ public class MultiTenantReactiveService {
     public Mono<Void> validateAgencyAccess(UUID agencyId, UUID userId) {
         log.debug("Validating agency access for user {} to agency {}", userId, agencyId);
 
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .flatMap(user -> {
                 // Super admin a accès à tout
@@ -107,13 +107,13 @@ public class MultiTenantReactiveService {
     public Mono<Void> validateUserAccess(UUID targetUserId, UUID requesterId) {
         log.debug("Validating user access from {} to {}", requesterId, targetUserId);
 
-        return userRepository.findById(requesterId)
+        return tenantContextService.getSecurityContext(requesterId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur demandeur non trouvé")))
-            .zipWith(userRepository.findById(targetUserId)
+            .zipWith(tenantContextService.getSecurityContext(targetUserId)
                 .switchIfEmpty(Mono.error(new SecurityException("Utilisateur cible non trouvé"))))
             .flatMap(tuple -> {
-                User requester = tuple.getT1();
-                User target = tuple.getT2();
+                SecurityContext requester = tuple.getT1();
+                SecurityContext target = tuple.getT2();
 
                 // Super admin a accès à tout
                 if (requester.getUserType() == UserType.SUPER_ADMIN) {
@@ -155,9 +155,9 @@ public class MultiTenantReactiveService {
      * Obtient l'organisation d'un utilisateur
      */
     public Mono<UUID> getUserOrganizationId(UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
-            .map(User::getOrganizationId)
+            .map(SecurityContext::getOrganizationId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur sans organisation")));
     }
 
@@ -165,9 +165,9 @@ public class MultiTenantReactiveService {
      * Obtient l'agence d'un utilisateur
      */
     public Mono<UUID> getUserAgencyId(UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
-            .map(User::getAgencyId)
+            .map(SecurityContext::getAgencyId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur sans agence")));
     }
 
@@ -175,7 +175,7 @@ public class MultiTenantReactiveService {
      * Vérifie si un utilisateur peut créer une agence
      */
     public Mono<Boolean> canCreateAgency(UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .map(user -> user.getUserType() == UserType.SUPER_ADMIN ||
                 user.getUserType() == UserType.ORGANIZATION_OWNER);
@@ -185,7 +185,7 @@ public class MultiTenantReactiveService {
      * Vérifie si un utilisateur peut modifier une organisation
      */
     public Mono<Boolean> canModifyOrganization(UUID organizationId, UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .map(user -> {
                 if (user.getUserType() == UserType.SUPER_ADMIN) {
@@ -201,7 +201,7 @@ public class MultiTenantReactiveService {
      * Vérifie si un utilisateur peut supprimer une agence
      */
     public Mono<Boolean> canDeleteAgency(UUID agencyId, UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .flatMap(user -> {
                 if (user.getUserType() == UserType.SUPER_ADMIN) {
@@ -220,17 +220,17 @@ public class MultiTenantReactiveService {
 
     /**
      * Filtre les données selon l'organisation de l'utilisateur
+     * (vide pour un super admin : pas de filtre)
      */
     public Mono<UUID> getFilterOrganizationId(UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
-            .map(user -> {
-                // Super admin peut voir toutes les organisations (retourne null pour pas de filtre)
+            .flatMap(user -> {
                 if (user.getUserType() == UserType.SUPER_ADMIN) {
-                    return null;
+                    return Mono.empty();
                 }
 
-                return user.getOrganizationId();
+                return Mono.justOrEmpty(user.getOrganizationId());
             });
     }
 
@@ -264,29 +264,19 @@ public class MultiTenantReactiveService {
      * Obtient le contexte de sécurité pour un utilisateur
      */
     public Mono<SecurityContext> getSecurityContext(UUID userId) {
-        return userRepository.findById(userId)
-            .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
-            .map(user -> SecurityContext.builder()
-                .userId(user.getId())
-                .userType(user.getUserType())
-                .organizationId(user.getOrganizationId())
-                .agencyId(user.getAgencyId())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .isActive(user.getIsActive())
-                .isEmailVerified(user.getIsEmailVerified())
-                .build());
+        return tenantContextService.getSecurityContext(userId)
+            .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")));
     }
 
     /**
      * Applique les filtres multi-tenant pour les requêtes
      */
     public Mono<TenantFilter> getTenantFilter(UUID userId) {
-        return userRepository.findById(userId)
+        return tenantContextService.getSecurityContext(userId)
             .switchIfEmpty(Mono.error(new SecurityException("Utilisateur non trouvé")))
             .map(user -> {
                 TenantFilter.TenantFilterBuilder builder = TenantFilter.builder()
-                    .userId(user.getId())
+                    .userId(user.getUserId())
                     .userType(user.getUserType());
 
                 // Super admin voit tout
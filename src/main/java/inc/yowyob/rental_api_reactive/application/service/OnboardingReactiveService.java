@@ -3,20 +3,29 @@ package inc.yowyob.rental_api_reactive.application.service;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.*;
 import inc.yowyob.rental_api_reactive.persistence.repository.*;
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 /**
- * Service d'onboarding
+ * Service d'onboarding. Chaque étape est une écriture conditionnelle de la session
+ * (IF current_step = ?) ; la (dé)sérialisation JSON des étapes se fait hors de la boucle d'événements.
  */
 @Slf4j
 @Service
@@ -26,9 +35,13 @@ public class OnboardingReactiveService {
     private final OnboardingSessionReactiveRepository onboardingRepository;
     private final UserReactiveRepository userRepository;
     private final OrganizationReactiveRepository organizationRepository;
-    private final SubscriptionPlanReactiveRepository subscriptionPlanRepository;
     private final OrganizationSubscriptionReactiveRepository orgSubscriptionRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final OnboardingSagaReactiveRepository sagaRepository;
+    private final SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog;
+    private final PasswordReactiveService passwordService;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
 
     /**
@@ -50,36 +63,11 @@ public class OnboardingReactiveService {
     public Mono<OnboardingResponse> saveOwnerInfo(String sessionToken, OnboardingOwnerRequest ownerRequest) {
         log.info("Saving owner info for session: {}", sessionToken);
 
-        return findSessionByToken(sessionToken)
-            .flatMap(session -> {
-                try {
-                    // Valider que c'est la bonne étape
-                    if (session.getCurrentStep() != 1) {
-                        return Mono.error(new IllegalStateException("Étape d'onboarding incorrecte"));
-                    }
-
-                    // Vérifier que l'email n'existe pas déjà
-                    return userRepository.countByEmail(ownerRequest.getEmail())
-                        .flatMap(count -> {
-                            if (count > 0) {
-                                return Mono.error(new IllegalArgumentException("Cet email est déjà utilisé"));
-                            }
-
-                            Mono.fromCallable(() -> {
-                                String ownerInfoJson = objectMapper.writeValueAsString(ownerRequest);
-
-                                session.setOwnerInfo(ownerInfoJson);
-                                session.nextStep();
-
-                                return session;
-                            });
-
-                            return onboardingRepository.save(session);
-                        });
-                } catch (Exception e) {
-                    return Mono.error(new RuntimeException("Erreur lors de la sérialisation", e));
-                }
-            })
+        // Lecture de la session, vérification de l'email et sérialisation menées en parallèle
+        return Mono.zip(
+                findSessionAtStep(sessionToken, 1),
+                ensureEmailAvailable(ownerRequest.getEmail()).then(serialize(ownerRequest)))
+            .flatMap(tuple -> saveStep(tuple.getT1(), 1, tuple.getT2(), OnboardingSession::updateOwnerInfo))
             .map(this::mapToResponse)
             .doOnSuccess(response -> log.info("Owner info saved for session: {}", sessionToken));
     }
@@ -90,36 +78,10 @@ public class OnboardingReactiveService {
     public Mono<OnboardingResponse> saveOrganizationInfo(String sessionToken, OnboardingOrganizationRequest orgRequest) {
         log.info("Saving organization info for session: {}", sessionToken);
 
-        return findSessionByToken(sessionToken)
-            .flatMap(session -> {
-                try {
-                    // Valider que c'est la bonne étape
-                    if (session.getCurrentStep() != 2) {
-                        return Mono.error(new IllegalStateException("Étape d'onboarding incorrecte"));
-                    }
-
-                    // Vérifier que le nom d'organisation n'existe pas
-                    return organizationRepository.existsByName(orgRequest.getName())
-                        .flatMap(exists -> {
-                            if (exists) {
-                                return Mono.error(new IllegalArgumentException("Ce nom d'organisation existe déjà"));
-                            }
-
-                             Mono.fromCallable(() -> {
-                                String orgInfoJson = objectMapper.writeValueAsString(orgRequest);
-
-                                session.setOrganizationInfo(orgInfoJson);
-                                session.nextStep();
-
-                                return session;
-                            });
-
-                            return onboardingRepository.save(session);
-                        });
-                } catch (Exception e) {
-                    return Mono.error(new RuntimeException("Erreur lors de la sérialisation", e));
-                }
-            })
+        return Mono.zip(
+                findSessionAtStep(sessionToken, 2),
+                ensureNameAvailable(orgRequest.getName()).then(serialize(orgRequest)))
+            .flatMap(tuple -> saveStep(tuple.getT1(), 2, tuple.getT2(), OnboardingSession::updateOrganizationInfo))
             .map(this::mapToResponse)
             .doOnSuccess(response -> log.info("Organization info saved for session: {}", sessionToken));
     }
@@ -130,83 +92,38 @@ public class OnboardingReactiveService {
     public Mono<OnboardingResponse> saveSubscriptionInfo(String sessionToken, OnboardingSubscriptionRequest subscriptionRequest) {
         log.info("Saving subscription info for session: {}", sessionToken);
 
-        return findSessionByToken(sessionToken)
-            .flatMap(session -> {
-                try {
-                    // Valider que c'est la bonne étape
-                    if (session.getCurrentStep() != 3) {
-                        return Mono.error(new IllegalStateException("Étape d'onboarding incorrecte"));
-                    }
-
-                    // Vérifier que le plan d'abonnement existe
-                    return subscriptionPlanRepository.findById(subscriptionRequest.getSubscriptionPlanId())
-                        .switchIfEmpty(Mono.error(new IllegalArgumentException("Plan d'abonnement non trouvé")))
-                        .flatMap(plan -> {
-
-                            Mono.fromCallable(() -> {
-                                String subscriptionInfoJson = objectMapper.writeValueAsString(subscriptionRequest);
-
-                                session.setSubscriptionInfo(subscriptionInfoJson);
-                                session.nextStep();
-
-                                return session;
-                            });
-
-                            return onboardingRepository.save(session);
-                        });
-                } catch (Exception e) {
-                    return Mono.error(new RuntimeException("Erreur lors de la sérialisation", e));
-                }
-            })
+        return Mono.zip(
+                findSessionAtStep(sessionToken, 3),
+                findPlan(subscriptionRequest.getSubscriptionPlanId()).then(serialize(subscriptionRequest)))
+            .flatMap(tuple -> saveStep(tuple.getT1(), 3, tuple.getT2(), OnboardingSession::updateSubscriptionInfo))
             .map(this::mapToResponse)
             .doOnSuccess(response -> log.info("Subscription info saved for session: {}", sessionToken));
     }
 
     /**
-     * Finalise l'onboarding en créant l'utilisateur et l'organisation
+     * Finalise l'onboarding. Idempotent : le journal de la session (onboarding_sagas) fixe les
+     * identifiants des entités et enregistre chaque étape terminée ; un nouvel appel reprend
+     * à la dernière étape, ou renvoie le résultat si la finalisation est déjà faite.
      */
-    @Transactional
     public Mono<OnboardingCompletionResponse> completeOnboarding(String sessionToken) {
         log.info("Completing onboarding for session: {}", sessionToken);
 
-        return findSessionByToken(sessionToken)
-            .flatMap(session -> {
-                try {
-                    // Vérifier que toutes les étapes sont complétées
-                    if (session.getCurrentStep() != 3 || session.getOwnerInfo() == null ||
-                        session.getOrganizationInfo() == null || session.getSubscriptionInfo() == null) {
-                        return Mono.error(new IllegalStateException("Toutes les étapes doivent être complétées"));
-                    }
-
-                    // Désérialiser les informations
-                    OnboardingOwnerRequest ownerInfo = objectMapper.readValue(session.getOwnerInfo(), OnboardingOwnerRequest.class);
-                    OnboardingOrganizationRequest orgInfo = objectMapper.readValue(session.getOrganizationInfo(), OnboardingOrganizationRequest.class);
-                    OnboardingSubscriptionRequest subscriptionInfo = objectMapper.readValue(session.getSubscriptionInfo(), OnboardingSubscriptionRequest.class);
-
-                    // Étape 1: Créer l'organisation
-                    return createOrganization(orgInfo, subscriptionInfo)
-                        .flatMap(organization ->
-                            // Étape 2: Créer l'utilisateur propriétaire
-                            createOwnerUser(ownerInfo, organization.getId())
-                                .flatMap(user ->
-                                    // Étape 3: Créer l'abonnement
-                                    createOrganizationSubscription(organization.getId(), subscriptionInfo)
-                                        .flatMap(subscription ->
-                                            // Étape 4: Finaliser la session
-                                            completeSession(session, user.getId(), organization.getId())
-                                                .map(completedSession -> buildCompletionResponse(user, organization, subscription))
-                                        )
-                                )
-                        );
-
-                } catch (Exception e) {
-                    return Mono.error(new RuntimeException("Erreur lors de la finalisation", e));
-                }
-            })
+        return sagaRepository.findById(sessionToken)
+            .switchIfEmpty(Mono.defer(() -> startSaga(sessionToken)))
+            .flatMap(this::runSaga)
+            .flatMap(this::loadCompletionResponse)
             .doOnSuccess(response -> log.info("Onboarding completed successfully for organization: {}", response.getOrganization().getId()))
             .doOnError(error -> log.error("Error completing onboarding for session {}: {}", sessionToken, error.getMessage()));
     }
 
+    /**
+     * Reprend une finalisation inachevée à sa dernière étape terminée
+     */
+    public Mono<Void> resumeSaga(OnboardingSaga saga) {
+        log.info("Resuming onboarding completion for session {} after step {}", saga.getSessionToken(), saga.getStep());
+        return runSaga(saga).then();
+    }
+
     /**
      * Récupère l'état d'une session d'onboarding
      */
@@ -232,133 +149,287 @@ public class OnboardingReactiveService {
     }
 
     /**
-     * Crée l'organisation
+     * Trouve une session par token et vérifie qu'elle est à l'étape attendue
+     */
+    private Mono<OnboardingSession> findSessionAtStep(String sessionToken, int step) {
+        return findSessionByToken(sessionToken)
+            .flatMap(session -> {
+                if (Boolean.TRUE.equals(session.getIsCompleted()) || session.getCurrentStep() != step) {
+                    return Mono.error(new IllegalStateException("Étape d'onboarding incorrecte"));
+                }
+                return Mono.just(session);
+            });
+    }
+
+    /**
+     * Enregistre le contenu d'une étape et passe à la suivante en une écriture conditionnelle
+     */
+    private Mono<OnboardingSession> saveStep(OnboardingSession session, int step, String payload,
+                                             BiConsumer<OnboardingSession, String> stepUpdate) {
+        stepUpdate.accept(session, payload);
+        session.nextStep();
+
+        return onboardingRepository.saveStep(session, step)
+            .flatMap(applied -> applied
+                ? Mono.just(session)
+                : Mono.error(new IllegalStateException("Étape d'onboarding incorrecte")));
+    }
+
+    private Mono<Void> ensureEmailAvailable(String email) {
+        return userRepository.countByEmail(email)
+            .flatMap(count -> count > 0
+                ? Mono.error(new IllegalArgumentException("Cet email est déjà utilisé"))
+                : Mono.empty());
+    }
+
+    private Mono<Void> ensureNameAvailable(String name) {
+        return organizationRepository.existsByName(name)
+            .flatMap(exists -> exists
+                ? Mono.error(new IllegalArgumentException("Ce nom d'organisation existe déjà"))
+                : Mono.empty());
+    }
+
+    private Mono<SubscriptionPlan> findPlan(UUID planId) {
+        return subscriptionPlanCatalog.getPlan(planId)
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Plan d'abonnement non trouvé")));
+    }
+
+    private Mono<String> serialize(Object payload) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(payload))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorMap(JsonProcessingException.class, e -> new IllegalStateException("Erreur lors de la sérialisation", e));
+    }
+
+    private <T> Mono<T> deserialize(String payload, Class<T> type) {
+        return Mono.fromCallable(() -> objectMapper.readValue(payload, type))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorMap(JsonProcessingException.class, e -> new IllegalStateException("Erreur lors de la finalisation", e));
+    }
+
+    /**
+     * Vérifie la session puis crée son journal ; si une autre exécution l'a créé entre-temps, c'est le sien qui est repris
      */
-    private Mono<Organization> createOrganization(OnboardingOrganizationRequest orgInfo, OnboardingSubscriptionRequest subscriptionInfo) {
-        return subscriptionPlanRepository.findById(subscriptionInfo.getSubscriptionPlanId())
-            .flatMap(plan -> {
-                Organization organization = new Organization(
-                    orgInfo.getName(),
-                    orgInfo.getOrganizationType(),
-                    null // ownerId sera défini après la création de l'utilisateur
-                );
-
-                // Informations de base
-                organization.setDescription(orgInfo.getDescription());
-                organization.setAddress(orgInfo.getAddress());
-                organization.setCity(orgInfo.getCity());
-                organization.setCountry(orgInfo.getCountry() != null ? orgInfo.getCountry() : "CM");
-                organization.setPostalCode(orgInfo.getPostalCode());
-                organization.setRegion(orgInfo.getRegion());
-                organization.setPhone(orgInfo.getPhone());
-                organization.setEmail(orgInfo.getEmail());
-                organization.setWebsite(orgInfo.getWebsite());
-
-                // Informations légales
-                organization.setRegistrationNumber(orgInfo.getRegistrationNumber());
-                organization.setTaxNumber(orgInfo.getTaxNumber());
-                organization.setBusinessLicense(orgInfo.getBusinessLicense());
-
-                // Limites selon le plan d'abonnement
-                organization.setMaxAgencies(plan.getMaxAgencies());
-                organization.setMaxVehicles(plan.getMaxVehicles());
-                organization.setMaxDrivers(plan.getMaxDrivers());
-                organization.setMaxUsers(plan.getMaxUsers());
-
-                // Configuration par défaut
-                organization.setCurrency(orgInfo.getCurrency() != null ? orgInfo.getCurrency() : "XAF");
-                organization.setTimezone(orgInfo.getTimezone() != null ? orgInfo.getTimezone() : "Africa/Douala");
-                organization.setLanguage(orgInfo.getLanguage() != null ? orgInfo.getLanguage() : "fr");
-
-                // Branding
-                organization.setPrimaryColor(orgInfo.getPrimaryColor());
-                organization.setSecondaryColor(orgInfo.getSecondaryColor());
-
-                return organizationRepository.save(organization);
+    private Mono<OnboardingSaga> startSaga(String sessionToken) {
+        return findSessionByToken(sessionToken)
+            .flatMap(session -> {
+                // Vérifier que toutes les étapes sont complétées
+                if (Boolean.TRUE.equals(session.getIsCompleted())) {
+                    return Mono.error(new IllegalStateException("Session d'onboarding déjà finalisée"));
+                }
+                if (session.getCurrentStep() != 3 || session.getOwnerInfo() == null ||
+                    session.getOrganizationInfo() == null || session.getSubscriptionInfo() == null) {
+                    return Mono.error(new IllegalStateException("Toutes les étapes doivent être complétées"));
+                }
+
+                // Unicité revérifiée : l'email ou le nom ont pu être pris depuis leur étape
+                return Mono.zip(
+                        deserialize(session.getOwnerInfo(), OnboardingOwnerRequest.class),
+                        deserialize(session.getOrganizationInfo(), OnboardingOrganizationRequest.class))
+                    .flatMap(tuple -> ensureEmailAvailable(tuple.getT1().getEmail())
+                        .then(ensureNameAvailable(tuple.getT2().getName())))
+                    .then(Mono.defer(() -> {
+                        OnboardingSaga saga = OnboardingSaga.start(session);
+                        return sagaRepository.start(saga)
+                            .flatMap(created -> created ? Mono.just(saga) : reloadSaga(saga));
+                    }));
             });
     }
 
     /**
-     * Crée l'utilisateur propriétaire
+     * Exécute les étapes restantes du journal, dans l'ordre
+     */
+    private Mono<OnboardingSaga> runSaga(OnboardingSaga saga) {
+        return switch (saga.getStep()) {
+            // Données refusées (email ou nom pris, plan supprimé) : le journal est abandonné, aucune reprise n'aboutirait
+            case STARTED -> writeEntities(saga)
+                .onErrorResume(IllegalArgumentException.class, error -> sagaRepository.delete(saga).then(Mono.error(error)))
+                .then(Mono.defer(() -> advance(saga, OnboardingSagaStep.ENTITIES_WRITTEN)))
+                .flatMap(this::runSaga);
+            // Étape franchie avant l'incrément : le compteur n'est ajusté qu'une fois. Si l'incrément échoue,
+            // l'étape est rendue pour qu'un nouvel appel ou la reprise planifiée le rejoue
+            // (seul un arrêt de l'instance entre les deux écritures le perd)
+            case ENTITIES_WRITTEN -> sagaRepository.advance(saga, OnboardingSagaStep.USAGE_RECORDED)
+                .flatMap(advanced -> advanced
+                    ? recordOwnerUsage(saga)
+                        .onErrorResume(error -> sagaRepository.advance(saga, OnboardingSagaStep.ENTITIES_WRITTEN)
+                            .then(Mono.error(error)))
+                        .then(Mono.fromRunnable(() -> {
+                            eventPublisher.publishEvent(new UserChangedEvent(saga.getOwnerId()));
+                            eventPublisher.publishEvent(new OrganizationChangedEvent(saga.getOrganizationId()));
+                        }))
+                        .thenReturn(saga)
+                    : reloadSaga(saga))
+                .flatMap(this::runSaga);
+            case USAGE_RECORDED -> advance(saga, OnboardingSagaStep.COMPLETED);
+            case COMPLETED -> Mono.just(saga);
+        };
+    }
+
+    private Mono<OnboardingSaga> advance(OnboardingSaga saga, OnboardingSagaStep next) {
+        return sagaRepository.advance(saga, next)
+            .flatMap(advanced -> advanced ? Mono.just(saga) : reloadSaga(saga));
+    }
+
+    private Mono<OnboardingSaga> reloadSaga(OnboardingSaga saga) {
+        return sagaRepository.findById(saga.getSessionToken())
+            .switchIfEmpty(Mono.error(new IllegalStateException("Journal d'onboarding non trouvé")));
+    }
+
+    /**
+     * Construit organisation, propriétaire et abonnement avec les identifiants du journal puis les écrit,
+     * avec la session finalisée, dans un même batch LOGGED (réécriture à l'identique en cas de reprise).
+     * L'email et le nom sont réservés au nom des identifiants du journal : une reprise retrouve ses propres réservations.
+     */
+    private Mono<Void> writeEntities(OnboardingSaga saga) {
+        return onboardingRepository.findById(saga.getSessionId())
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Session d'onboarding expirée")))
+            .flatMap(session -> Mono.zip(
+                    deserialize(session.getOwnerInfo(), OnboardingOwnerRequest.class),
+                    deserialize(session.getOrganizationInfo(), OnboardingOrganizationRequest.class),
+                    deserialize(session.getSubscriptionInfo(), OnboardingSubscriptionRequest.class))
+                .flatMap(tuple -> {
+                    OnboardingOwnerRequest ownerInfo = tuple.getT1();
+                    OnboardingOrganizationRequest orgInfo = tuple.getT2();
+                    OnboardingSubscriptionRequest subscriptionInfo = tuple.getT3();
+
+                    Mono<Void> completion = findPlan(subscriptionInfo.getSubscriptionPlanId())
+                        .zipWhen(plan -> passwordService.hashPassword(ownerInfo.getEmail(), ownerInfo.getPassword()))
+                        .flatMap(planAndPassword -> {
+                            SubscriptionPlan plan = planAndPassword.getT1();
+                            Organization organization = buildOrganization(saga, orgInfo, plan);
+                            User owner = buildOwnerUser(saga, ownerInfo, planAndPassword.getT2());
+                            OrganizationSubscription subscription = buildOrganizationSubscription(saga, plan, subscriptionInfo);
+
+                            organization.updateSubscription(plan.getId(), subscription.getEndDate(), subscription.getAutoRenew());
+                            session.complete(organization.getId());
+                            session.setUserId(owner.getId());
+
+                            return onboardingRepository.saveCompletion(session, organization, owner, subscription);
+                        });
+
+                    UniqueKey email = UniqueKey.email(ownerInfo.getEmail());
+                    UniqueKey name = UniqueKey.organizationName(orgInfo.getName());
+                    Mono<Void> reservedCompletion = uniquenessService.withReservations(saga.getOrganizationId(), List.of(name), completion);
+                    return uniquenessService.withReservations(saga.getOwnerId(), List.of(email), reservedCompletion)
+                        // Journal abandonné : les réservations d'une tentative précédente sont aussi libérées
+                        .onErrorResume(IllegalArgumentException.class, error -> Mono.when(
+                                uniquenessService.release(email, saga.getOwnerId()),
+                                uniquenessService.release(name, saga.getOrganizationId()))
+                            .then(Mono.error(error)));
+                }));
+    }
+
+    /**
+     * Le propriétaire compte comme +1 utilisateur (compteur et statistiques, hors batch)
      */
-    private Mono<User> createOwnerUser(OnboardingOwnerRequest ownerInfo, UUID organizationId) {
+    private Mono<Void> recordOwnerUsage(OnboardingSaga saga) {
+        return userRepository.findById(saga.getOwnerId())
+            .flatMap(owner -> tenantUsageService.recordUserAdded(owner)
+                .doOnSuccess(v -> eventPublisher.publishEvent(StatisticsEvent.userAdded(owner))));
+    }
+
+    private Mono<OnboardingCompletionResponse> loadCompletionResponse(OnboardingSaga saga) {
+        return Mono.zip(
+                userRepository.findById(saga.getOwnerId()),
+                organizationRepository.findById(saga.getOrganizationId()),
+                orgSubscriptionRepository.findById(saga.getSubscriptionId()))
+            .map(tuple -> buildCompletionResponse(tuple.getT1(), tuple.getT2(), tuple.getT3()))
+            .switchIfEmpty(Mono.error(new IllegalStateException("Onboarding finalisé non trouvé")));
+    }
+
+    /**
+     * Construit l'organisation
+     */
+    private Organization buildOrganization(OnboardingSaga saga, OnboardingOrganizationRequest orgInfo, SubscriptionPlan plan) {
+        Organization organization = new Organization(
+            orgInfo.getName(),
+            orgInfo.getOrganizationType(),
+            saga.getOwnerId()
+        );
+        organization.setId(saga.getOrganizationId());
+        organization.setCreatedAt(saga.getStartedAt());
+        organization.setUpdatedAt(saga.getStartedAt());
+
+        // Informations de base
+        organization.setDescription(orgInfo.getDescription());
+        organization.setAddress(orgInfo.getAddress());
+        organization.setCity(orgInfo.getCity());
+        organization.setCountry(orgInfo.getCountry() != null ? orgInfo.getCountry() : "CM");
+        organization.setPostalCode(orgInfo.getPostalCode());
+        organization.setRegion(orgInfo.getRegion());
+        organization.setPhone(orgInfo.getPhone());
+        organization.setEmail(orgInfo.getEmail());
+        organization.setWebsite(orgInfo.getWebsite());
+
+        // Informations légales
+        organization.setRegistrationNumber(orgInfo.getRegistrationNumber());
+        organization.setTaxNumber(orgInfo.getTaxNumber());
+        organization.setBusinessLicense(orgInfo.getBusinessLicense());
+
+        // Limites selon le plan d'abonnement
+        organization.applyPlanLimits(plan);
+
+        // Configuration par défaut
+        organization.setCurrency(orgInfo.getCurrency() != null ? orgInfo.getCurrency() : "XAF");
+        organization.setTimezone(orgInfo.getTimezone() != null ? orgInfo.getTimezone() : "Africa/Douala");
+        organization.setLanguage(orgInfo.getLanguage() != null ? orgInfo.getLanguage() : "fr");
+
+        // Branding
+        organization.setPrimaryColor(orgInfo.getPrimaryColor());
+        organization.setSecondaryColor(orgInfo.getSecondaryColor());
+
+        return organization;
+    }
+
+    /**
+     * Construit l'utilisateur propriétaire
+     */
+    private User buildOwnerUser(OnboardingSaga saga, OnboardingOwnerRequest ownerInfo, String encodedPassword) {
         User owner = new User();
-        owner.setId(UUID.randomUUID());
+        owner.setId(saga.getOwnerId());
         owner.setEmail(ownerInfo.getEmail());
-        owner.setPassword(passwordEncoder.encode(ownerInfo.getPassword()));
+        owner.setPassword(encodedPassword);
         owner.setFirstName(ownerInfo.getFirstName());
         owner.setLastName(ownerInfo.getLastName());
         owner.setPhone(ownerInfo.getPhone());
         owner.setUserType(UserType.ORGANIZATION_OWNER);
-        owner.setOrganizationId(organizationId);
+        owner.setOrganizationId(saga.getOrganizationId());
         owner.setAddress(ownerInfo.getAddress());
         owner.setCity(ownerInfo.getCity());
         owner.setCountry(ownerInfo.getCountry() != null ? ownerInfo.getCountry() : "CM");
         owner.setIsActive(true);
         owner.setIsEmailVerified(false);
-        owner.setCreatedAt(LocalDateTime.now());
-        owner.setUpdatedAt(LocalDateTime.now());
-
-        return userRepository.save(owner)
-            .flatMap(savedUser -> {
-                // Mettre à jour l'organisation avec l'ID du propriétaire
-                return organizationRepository.findById(organizationId)
-                    .flatMap(organization -> {
-                        organization.setOwnerId(savedUser.getId());
-                        organization.incrementAgencies(); // L'utilisateur compte comme +1 utilisateur
-                        return organizationRepository.save(organization)
-                            .then(Mono.just(savedUser));
-                    });
-            });
-    }
-
-    /**
-     * Crée l'abonnement de l'organisation
-     */
-    private Mono<OrganizationSubscription> createOrganizationSubscription(UUID organizationId, OnboardingSubscriptionRequest subscriptionInfo) {
-        return subscriptionPlanRepository.findById(subscriptionInfo.getSubscriptionPlanId())
-            .flatMap(plan -> {
-                OrganizationSubscription subscription = new OrganizationSubscription(
-                    organizationId,
-                    plan.getId(),
-                    plan.getPrice(),
-                    subscriptionInfo.getPaymentMethod()
-                );
-
-                // Configuration des dates
-                LocalDateTime now = LocalDateTime.now();
-                subscription.setStartDate(now);
-                subscription.setEndDate(now.plusDays(plan.getDurationDays()));
-                subscription.setNextBillingDate(now.plusDays(plan.getDurationDays()));
-
-                // Informations de paiement
-                subscription.setPaymentReference(subscriptionInfo.getPaymentReference());
-                subscription.setAutoRenew(subscriptionInfo.getAutoRenew() != null ? subscriptionInfo.getAutoRenew() : true);
-
-                return orgSubscriptionRepository.save(subscription)
-                    .flatMap(savedSubscription -> {
-                        // Mettre à jour l'organisation avec les informations d'abonnement
-                        return organizationRepository.findById(organizationId)
-                            .flatMap(organization -> {
-                                organization.updateSubscription(
-                                    plan.getId(),
-                                    savedSubscription.getEndDate(),
-                                    savedSubscription.getAutoRenew()
-                                );
-                                return organizationRepository.save(organization)
-                                    .then(Mono.just(savedSubscription));
-                            });
-                    });
-            });
+        owner.setCreatedAt(saga.getStartedAt());
+        owner.setUpdatedAt(saga.getStartedAt());
+        return owner;
     }
 
     /**
-     * Finalise la session d'onboarding
+     * Construit l'abonnement de l'organisation
      */
-    private Mono<OnboardingSession> completeSession(OnboardingSession session, UUID userId, UUID organizationId) {
-        session.complete(organizationId);
-        session.setUserId(userId);
-        return onboardingRepository.save(session);
+    private OrganizationSubscription buildOrganizationSubscription(OnboardingSaga saga, SubscriptionPlan plan,
+                                                                   OnboardingSubscriptionRequest subscriptionInfo) {
+        OrganizationSubscription subscription = new OrganizationSubscription(
+            saga.getOrganizationId(),
+            plan.getId(),
+            plan.getPrice(),
+            subscriptionInfo.getPaymentMethod()
+        );
+        subscription.setId(saga.getSubscriptionId());
+        subscription.setCreatedAt(saga.getStartedAt());
+        subscription.setUpdatedAt(saga.getStartedAt());
+
+        // Configuration des dates (début de la finalisation : identiques d'une reprise à l'autre)
+        LocalDateTime now = saga.getStartedAt();
+        subscription.setStartDate(now);
+        subscription.setEndDate(now.plusDays(plan.getDurationDays()));
+        subscription.setNextBillingDate(now.plusDays(plan.getDurationDays()));
+
+        // Informations de paiement
+        subscription.setPaymentReference(subscriptionInfo.getPaymentReference());
+        subscription.setAutoRenew(subscriptionInfo.getAutoRenew() != null ? subscriptionInfo.getAutoRenew() : true);
+
+        return subscription;
     }
 
     /**
@@ -0,0 +1,100 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSagaByStartBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSagaReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reprise planifiée des finalisations d'onboarding interrompues (client parti, instance arrêtée) :
+ * les journaux démarrés pendant les dernières heures sont relus par partition horaire et ceux
+ * restés inachevés au-delà de staleAfterMinutes sont repris à leur dernière étape.
+ */
+@Service
+@Slf4j
+public class OnboardingSagaRecoveryReactiveService {
+
+    private final OnboardingSagaReactiveRepository sagaRepository;
+    private final OnboardingSagaByStartBucketReactiveRepository sagaBucketRepository;
+    private final OnboardingReactiveService onboardingService;
+    private final AppProperties.OnboardingSaga properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OnboardingSagaRecoveryReactiveService(OnboardingSagaReactiveRepository sagaRepository,
+                                                 OnboardingSagaByStartBucketReactiveRepository sagaBucketRepository,
+                                                 OnboardingReactiveService onboardingService,
+                                                 AppProperties appProperties) {
+        this.sagaRepository = sagaRepository;
+        this.sagaBucketRepository = sagaBucketRepository;
+        this.onboardingService = onboardingService;
+        this.properties = appProperties.getOnboardingSaga();
+    }
+
+    /**
+     * Passage planifié (le suivant démarre recoveryIntervalMinutes après la fin du précédent)
+     */
+    @Scheduled(initialDelayString = "${app.onboarding-saga.recovery-interval-minutes:5}",
+        fixedDelayString = "${app.onboarding-saga.recovery-interval-minutes:5}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledRecovery() {
+        if (!properties.isRecoveryEnabled()) {
+            return Mono.empty();
+        }
+        return recover()
+            .filter(resumed -> resumed > 0)
+            .doOnNext(resumed -> log.info("Resumed {} interrupted onboarding completions", resumed))
+            .onErrorResume(error -> {
+                log.error("Onboarding completion recovery failed", error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Reprend les finalisations inachevées ; renvoie le nombre de reprises abouties (vide si un passage est en cours)
+     */
+    public Mono<Long> recover() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.debug("Onboarding completion recovery already running");
+                return Mono.empty();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minusMinutes(properties.getStaleAfterMinutes());
+
+            return Flux.fromIterable(ExpiryBuckets.bucketsBetween(now.minusHours(properties.getRecoveryLookbackHours()), now))
+                .concatMap(sagaBucketRepository::findByStartBucket)
+                .flatMap(entry -> sagaRepository.findById(entry.getSessionToken())
+                    .filter(saga -> isStale(saga, staleBefore))
+                    .flatMap(this::resume), properties.getConcurrency())
+                .count()
+                .doFinally(signal -> running.set(false));
+        });
+    }
+
+    private static boolean isStale(OnboardingSaga saga, LocalDateTime staleBefore) {
+        return !saga.isCompleted()
+            && saga.getUpdatedAt() != null
+            && saga.getUpdatedAt().isBefore(staleBefore);
+    }
+
+    // Un échec (session expirée, plan supprimé) n'interrompt pas les autres reprises
+    private Mono<OnboardingSaga> resume(OnboardingSaga saga) {
+        return onboardingService.resumeSaga(saga)
+            .thenReturn(saga)
+            .onErrorResume(error -> {
+                log.warn("Could not resume onboarding completion for session {}: {}", saga.getSessionToken(), error.getMessage());
+                return Mono.empty();
+            });
+    }
+}
@@ -0,0 +1,370 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationRankingMetric;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationAlertReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationLeaderboardReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Classements et alertes d'organisations précalculés (organization_leaderboards, organization_alerts) :
+ * le tableau de bord d'administration lit quelques lignes au lieu de parcourir toutes les organisations.
+ * Chaque modification d'organisation fusionne sa note dans le classement borné (tas de capacity entrées,
+ * la plus faible évincée) et met à jour ses alertes. Une reconstruction périodique par parcours complet
+ * rattrape les organisations évincées remontées depuis et les alertes devenues vraies avec le temps
+ * (abonnement entrant dans ses 30 derniers jours, inactivité).
+ * Les écritures d'un même classement (lecture puis réécriture de toute la partition) passent une à une par sa file :
+ * deux modifications simultanées ne s'écrasent plus. La file est propre à l'instance ; entre instances,
+ * la reconstruction périodique rattrape une note perdue.
+ * Une reconstruction remplace le classement et les alertes par l'état lu pendant son parcours : les organisations
+ * modifiées entre-temps sur l'instance sont relues et reportées une fois le remplacement écrit.
+ */
+@Service
+@Slf4j
+public class OrganizationRankingReactiveService {
+
+    // Plus faible note en tête du tas : première évincée (à égalité, la dernière dans l'ordre de lecture)
+    static final Comparator<OrganizationLeaderboardEntry> BY_SCORE_ASC =
+        Comparator.comparingDouble((OrganizationLeaderboardEntry entry) -> scoreOf(entry))
+            .thenComparing(OrganizationLeaderboardEntry::getOrganizationId, Comparator.reverseOrder());
+
+    private final OrganizationReactiveRepository organizationRepository;
+    private final OrganizationLeaderboardReactiveRepository leaderboardRepository;
+    private final OrganizationAlertReactiveRepository alertRepository;
+    private final AppProperties.OrganizationRankings properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Organisations modifiées pendant la reconstruction en cours, reportées après le remplacement
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Une file par classement : chaque écriture attend la fin de la précédente
+    private final Map<OrganizationRankingMetric, Sinks.Many<LeaderboardWrite>> writeQueues =
+        new EnumMap<>(OrganizationRankingMetric.class);
+
+    public OrganizationRankingReactiveService(OrganizationReactiveRepository organizationRepository,
+                                              OrganizationLeaderboardReactiveRepository leaderboardRepository,
+                                              OrganizationAlertReactiveRepository alertRepository,
+                                              AppProperties appProperties) {
+        this.organizationRepository = organizationRepository;
+        this.leaderboardRepository = leaderboardRepository;
+        this.alertRepository = alertRepository;
+        this.properties = appProperties.getOrganizationRankings();
+        for (OrganizationRankingMetric metric : OrganizationRankingMetric.values()) {
+            Sinks.Many<LeaderboardWrite> queue = Sinks.many().unicast().onBackpressureBuffer();
+            queue.asFlux()
+                .concatMap(LeaderboardWrite::apply)
+                .subscribe();
+            writeQueues.put(metric, queue);
+        }
+    }
+
+    @EventListener
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        UUID organizationId = event.getOrganizationId();
+        if (running.get()) {
+            changedDuringRebuild.add(organizationId);
+        }
+        refresh(organizationId)
+            .subscribe(
+                unused -> { },
+                error -> log.warn("Could not refresh rankings of organization {}: {}", organizationId, error.getMessage()));
+    }
+
+    /**
+     * Reporte l'état d'une organisation dans les classements et alertes ; une organisation inactive en est retirée
+     */
+    public Mono<Void> sync(Organization organization) {
+        if (!Boolean.TRUE.equals(organization.getIsActive())) {
+            return withdraw(organization.getId());
+        }
+        double revenue = organization.getMonthlyRevenue() != null ? organization.getMonthlyRevenue() : 0.0;
+        return Mono.when(
+            offer(OrganizationRankingMetric.MONTHLY_REVENUE, organization.getId(), revenue),
+            syncAlerts(organization, LocalDateTime.now()));
+    }
+
+    /**
+     * Taux d'utilisation du parc d'une organisation sur le mois en cours (agrégats des agences)
+     */
+    public Mono<Void> updateUtilization(UUID organizationId, double utilizationRate) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return offer(OrganizationRankingMetric.VEHICLE_UTILIZATION, organizationId, utilizationRate);
+    }
+
+    /**
+     * Reconstruction planifiée (la suivante démarre rebuildIntervalMinutes après la fin de la précédente)
+     */
+    @Scheduled(initialDelayString = "${app.organization-rankings.rebuild-interval-minutes:60}",
+        fixedDelayString = "${app.organization-rankings.rebuild-interval-minutes:60}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledRebuild() {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return rebuild()
+            .doOnNext(count -> log.info("Organization rankings rebuilt from {} active organizations", count))
+            .onErrorResume(error -> {
+                log.error("Organization rankings rebuild failed", error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Premier démarrage : classements construits sans attendre la première reconstruction planifiée
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        leaderboardRepository.findByMetric(OrganizationRankingMetric.MONTHLY_REVENUE)
+            .hasElements()
+            .filter(hasEntries -> !hasEntries)
+            .flatMap(empty -> rebuild())
+            .subscribe(
+                count -> log.info("Organization rankings built from {} active organizations", count),
+                error -> log.error("Error building organization rankings: {}", error.getMessage()));
+    }
+
+    /**
+     * Reconstruit le classement par chiffre d'affaires et les alertes en un parcours des organisations
+     * (tas borné à capacity entrées) ; vide si une reconstruction est déjà en cours.
+     * Le classement par utilisation, issu des agrégats d'agence, n'est pas reconstruit.
+     */
+    public Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.debug("Organization rankings rebuild already running");
+                return Mono.empty();
+            }
+            changedDuringRebuild.clear();
+            LocalDateTime now = LocalDateTime.now();
+            int capacity = properties.getCapacity();
+            PriorityQueue<OrganizationLeaderboardEntry> top = new PriorityQueue<>(BY_SCORE_ASC);
+            Map<OrganizationAlertReason, Map<UUID, Duration>> alerts = new EnumMap<>(OrganizationAlertReason.class);
+            for (OrganizationAlertReason reason : OrganizationAlertReason.values()) {
+                alerts.put(reason, new HashMap<>());
+            }
+
+            return organizationRepository.findAll()
+                .filter(organization -> Boolean.TRUE.equals(organization.getIsActive()))
+                .doOnNext(organization -> {
+                    top.add(OrganizationLeaderboardEntry.of(OrganizationRankingMetric.MONTHLY_REVENUE, organization.getId(),
+                        organization.getMonthlyRevenue() != null ? organization.getMonthlyRevenue() : 0.0));
+                    if (top.size() > capacity) {
+                        top.poll();
+                    }
+                    organization.alertReasons(now).forEach(reason ->
+                        alerts.get(reason).put(organization.getId(), ttlOf(reason, organization, now)));
+                })
+                .count()
+                .flatMap(count -> replaceLeaderboard(OrganizationRankingMetric.MONTHLY_REVENUE, List.copyOf(top))
+                    .then(Flux.fromIterable(alerts.entrySet())
+                        .concatMap(entry -> replaceAlerts(entry.getKey(), entry.getValue(), now))
+                        .then())
+                    .then(refreshChangedDuringRebuild())
+                    .thenReturn(count))
+                .doFinally(signal -> running.set(false));
+        });
+    }
+
+    // === MÉTHODES PRIVÉES ===
+
+    /**
+     * Relit l'organisation et reporte son état (retrait si elle n'existe plus)
+     */
+    private Mono<Void> refresh(UUID organizationId) {
+        return organizationRepository.findById(organizationId)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(organization -> organization.map(this::sync).orElseGet(() -> withdraw(organizationId)));
+    }
+
+    /**
+     * Reporte les organisations modifiées pendant le parcours, que le remplacement a pu écraser ou retirer
+     */
+    private Mono<Void> refreshChangedDuringRebuild() {
+        return Mono.defer(() -> {
+            List<UUID> changed = List.copyOf(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            return Flux.fromIterable(changed)
+                .flatMap(this::refresh, properties.getConcurrency())
+                .then();
+        });
+    }
+
+    /**
+     * Fusionne la note d'une organisation dans le classement (note null : retrait)
+     */
+    private Mono<Void> offer(OrganizationRankingMetric metric, UUID organizationId, Double score) {
+        return serialize(metric, () -> leaderboardRepository.findByMetric(metric)
+            .collectList()
+            .flatMap(entries -> {
+                LeaderboardChange change = rank(entries, metric, organizationId, score, properties.getCapacity());
+                return Mono.when(
+                    Flux.fromIterable(change.saved()).flatMap(leaderboardRepository::save),
+                    Flux.fromIterable(change.evicted()).flatMap(leaderboardRepository::delete));
+            }));
+    }
+
+    /**
+     * Place une écriture dans la file du classement ; terminé quand l'écriture l'est
+     */
+    private Mono<Void> serialize(OrganizationRankingMetric metric, Supplier<Mono<Void>> operation) {
+        return Mono.defer(() -> {
+            LeaderboardWrite write = new LeaderboardWrite(operation, Sinks.empty());
+            Sinks.Many<LeaderboardWrite> queue = writeQueues.get(metric);
+            // Émissions concurrentes refusées par le sink : sérialisées ici, l'écriture elle-même attend son tour
+            synchronized (queue) {
+                queue.tryEmitNext(write).orThrow();
+            }
+            return write.done().asMono();
+        });
+    }
+
+    /**
+     * Classement borné après la nouvelle note : lignes à écrire et lignes évincées au-delà de capacity
+     */
+    static LeaderboardChange rank(List<OrganizationLeaderboardEntry> entries, OrganizationRankingMetric metric,
+                                  UUID organizationId, Double score, int capacity) {
+        PriorityQueue<OrganizationLeaderboardEntry> heap = new PriorityQueue<>(BY_SCORE_ASC);
+        List<OrganizationLeaderboardEntry> evicted = new ArrayList<>();
+        OrganizationLeaderboardEntry previous = null;
+        for (OrganizationLeaderboardEntry entry : entries) {
+            if (organizationId.equals(entry.getOrganizationId())) {
+                previous = entry;
+            } else {
+                heap.add(entry);
+            }
+        }
+
+        OrganizationLeaderboardEntry candidate = score != null
+            ? OrganizationLeaderboardEntry.of(metric, organizationId, score)
+            : null;
+        if (candidate != null) {
+            heap.add(candidate);
+        }
+        while (heap.size() > capacity) {
+            evicted.add(heap.poll());
+        }
+
+        boolean kept = candidate != null && !evicted.contains(candidate);
+        if (!kept) {
+            // Une organisation absente du classement n'y laisse aucune ligne à supprimer
+            evicted.remove(candidate);
+            if (previous != null) {
+                evicted.add(previous);
+            }
+            return new LeaderboardChange(List.of(), evicted);
+        }
+        boolean unchanged = previous != null && scoreOf(previous) == score;
+        return new LeaderboardChange(unchanged ? List.of() : List.of(candidate), evicted);
+    }
+
+    private Mono<Void> withdraw(UUID organizationId) {
+        return Mono.when(
+            Flux.fromArray(OrganizationRankingMetric.values())
+                .flatMap(metric -> offer(metric, organizationId, null)),
+            Flux.fromArray(OrganizationAlertReason.values())
+                .flatMap(reason -> alertRepository.delete(new OrganizationAlert(reason, organizationId, null))));
+    }
+
+    private Mono<Void> syncAlerts(Organization organization, LocalDateTime now) {
+        Set<OrganizationAlertReason> reasons = organization.alertReasons(now);
+        return Flux.fromArray(OrganizationAlertReason.values())
+            .flatMap(reason -> reasons.contains(reason)
+                ? alertRepository.raise(new OrganizationAlert(reason, organization.getId(), now), ttlOf(reason, organization, now)).then()
+                : alertRepository.delete(new OrganizationAlert(reason, organization.getId(), null)))
+            .then();
+    }
+
+    /**
+     * Écrit le nouveau classement puis supprime les organisations qui n'y figurent plus
+     */
+    private Mono<Void> replaceLeaderboard(OrganizationRankingMetric metric, List<OrganizationLeaderboardEntry> entries) {
+        Set<UUID> kept = entries.stream()
+            .map(OrganizationLeaderboardEntry::getOrganizationId)
+            .collect(Collectors.toSet());
+        return serialize(metric, () -> leaderboardRepository.saveAll(entries)
+            .thenMany(leaderboardRepository.findByMetric(metric))
+            .filter(entry -> !kept.contains(entry.getOrganizationId()))
+            .flatMap(leaderboardRepository::delete, properties.getConcurrency())
+            .then());
+    }
+
+    private Mono<Void> replaceAlerts(OrganizationAlertReason reason, Map<UUID, Duration> organizations, LocalDateTime now) {
+        return Flux.fromIterable(organizations.entrySet())
+            .flatMap(entry -> alertRepository.raise(new OrganizationAlert(reason, entry.getKey(), now), entry.getValue()),
+                properties.getConcurrency())
+            .thenMany(alertRepository.findByReason(reason))
+            .filter(alert -> !organizations.containsKey(alert.getOrganizationId()))
+            .flatMap(alertRepository::delete, properties.getConcurrency())
+            .then();
+    }
+
+    // L'alerte d'abonnement tombe d'elle-même à l'échéance
+    private static Duration ttlOf(OrganizationAlertReason reason, Organization organization, LocalDateTime now) {
+        return reason == OrganizationAlertReason.SUBSCRIPTION_EXPIRING
+            ? Duration.between(now, organization.getSubscriptionExpiresAt())
+            : null;
+    }
+
+    private static double scoreOf(OrganizationLeaderboardEntry entry) {
+        return entry.getScore() != null ? entry.getScore() : 0.0;
+    }
+
+    record LeaderboardChange(List<OrganizationLeaderboardEntry> saved, List<OrganizationLeaderboardEntry> evicted) {
+    }
+
+    /**
+     * Écriture en file : son issue est transmise à l'appelant, la file passe à la suivante même en cas d'échec
+     */
+    private record LeaderboardWrite(Supplier<Mono<Void>> operation, Sinks.Empty<Void> done) {
+
+        Mono<Void> apply() {
+            return Mono.defer(operation)
+                .doOnSuccess(v -> done.tryEmitEmpty())
+                .onErrorResume(error -> {
+                    done.tryEmitError(error);
+                    return Mono.empty();
+                });
+        }
+    }
+}
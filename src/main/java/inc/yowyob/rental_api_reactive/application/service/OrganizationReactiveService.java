@@ -1,19 +1,32 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationLimitsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
 import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.mapper.OrganizationMapper;
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
 import inc.yowyob.rental_api_reactive.application.dto.OrganizationType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Service réactif pour la gestion des organisations
@@ -28,6 +41,12 @@ public class OrganizationReactiveService {
     private final OrganizationMapper organizationMapper;
     private final MultiTenantReactiveService multiTenantService;
     private final SubscriptionValidationReactiveService subscriptionValidationService;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final StatisticsAggregatorReactiveService statisticsService;
+    private final SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
 
     /**
      * Crée une nouvelle organisation
@@ -35,9 +54,14 @@ public class OrganizationReactiveService {
     public Mono<OrganizationResponse> createOrganization(CreateOrganizationRequest createRequest, UUID createdBy) {
         log.info("Creating organization: {} for owner: {}", createRequest.getName(), createRequest.getOwnerId());
 
-        return validateOrganizationCreation(createRequest)
-            .then(createOrganizationFromRequest(createRequest, createdBy))
-            .flatMap(organizationRepository::save)
+        // Nom et numéros réservés (IF NOT EXISTS) avant l'écriture, libérés si celle-ci échoue
+        return createOrganizationFromRequest(createRequest, createdBy)
+            .flatMap(organization -> checkBaseTable(List.of(), organization.getName(),
+                    organization.getRegistrationNumber(), organization.getTaxNumber())
+                .then(uniquenessService.withReservations(organization.getId(),
+                    uniqueKeys(organization), organizationRepository.save(organization))))
+            .doOnNext(this::publishChanged)
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.info("Organization created successfully: {}", response.getId()))
             .doOnError(error -> log.error("Error creating organization: {}", error.getMessage()));
@@ -49,13 +73,19 @@ public class OrganizationReactiveService {
     public Mono<OrganizationResponse> updateOrganization(UUID organizationId, UpdateOrganizationRequest updateRequest, UUID updatedBy) {
         log.info("Updating organization: {}", organizationId);
 
+        // Un nouveau nom ou numéro est réservé avant la mise à jour ; l'ancien est libéré après
         return multiTenantService.validateOrganizationAccess(organizationId, updatedBy)
             .then(organizationRepository.findById(organizationId))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                updateOrganizationFromRequest(organization, updateRequest, updatedBy);
-                return organizationRepository.save(organization);
-            })
+            .flatMap(current -> checkBaseTable(uniqueKeys(current), updateRequest.getName(),
+                    updateRequest.getRegistrationNumber(), updateRequest.getTaxNumber())
+                .then(uniquenessService.withReplacedKeys(organizationId,
+                    uniqueKeys(current), uniqueKeys(current, updateRequest),
+                    organizationRepository.update(organizationId,
+                        organization -> updateOrganizationFromRequest(organization, updateRequest, updatedBy)))))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
+            .doOnNext(this::publishChanged)
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.info("Organization updated successfully: {}", response.getId()))
             .doOnError(error -> log.error("Error updating organization {}: {}", organizationId, error.getMessage()));
@@ -67,16 +97,18 @@ public class OrganizationReactiveService {
     public Flux<OrganizationResponse> findAll(UUID requesterId) {
         log.debug("Finding all organizations for user: {}", requesterId);
 
-        return multiTenantService.getFilterOrganizationId(requesterId)
-            .flatMapMany(orgFilter -> {
-                if (orgFilter == null) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
                     // Super admin voit toutes les organisations
                     return organizationRepository.findAll();
-                } else {
-                    // Utilisateur normal voit seulement son organisation
-                    return organizationRepository.findById(orgFilter).flux();
                 }
+                // Utilisateur normal voit seulement son organisation
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .flux();
             })
+            .flatMapSequential(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnNext(org -> log.debug("Found organization: {}", org.getName()));
     }
@@ -89,6 +121,7 @@ public class OrganizationReactiveService {
 
         return multiTenantService.validateOrganizationAccess(id, requesterId)
             .then(organizationRepository.findById(id))
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnNext(org -> log.debug("Found organization: {}", org.getName()));
     }
@@ -99,20 +132,49 @@ public class OrganizationReactiveService {
     public Flux<OrganizationResponse> findAllActive(UUID requesterId) {
         log.debug("Finding active organizations for user: {}", requesterId);
 
-        return multiTenantService.getFilterOrganizationId(requesterId)
-            .flatMapMany(orgFilter -> {
-                if (orgFilter == null) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
                     return organizationRepository.findAllActive();
-                } else {
-                    return organizationRepository.findById(orgFilter)
-                        .filter(org -> org.getIsActive())
-                        .flux();
                 }
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .filter(org -> Boolean.TRUE.equals(org.getIsActive()))
+                    .flux();
             })
+            .flatMapSequential(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnNext(org -> log.debug("Found active organization: {}", org.getName()));
     }
 
+    /**
+     * Page d'organisations (avec filtrage multi-tenant)
+     */
+    public Mono<CursorPage<OrganizationResponse>> findPage(UUID requesterId, boolean activeOnly, String cursor, Integer size) {
+        log.debug("Finding organizations page for user: {}, activeOnly: {}", requesterId, activeOnly);
+
+        int pageSize = appProperties.getPagination().resolvePageSize(size);
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMap(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
+                    // Super admin : parcours paginé de toutes les organisations
+                    return organizationRepository.findSlice(PagingCursor.toPageRequest(cursor, pageSize))
+                        .map(CursorPage::of);
+                }
+                // Utilisateur normal : une seule page contenant son organisation
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .map(organization -> CursorPage.single(List.of(organization), pageSize))
+                    .defaultIfEmpty(CursorPage.<Organization>single(List.of(), pageSize));
+            })
+            .flatMap(page -> Flux.fromIterable(page.getItems())
+                .filter(organization -> !activeOnly || Boolean.TRUE.equals(organization.getIsActive()))
+                .flatMapSequential(this::withUsage)
+                .map(organizationMapper::toResponse)
+                .collectList()
+                .map(items -> new CursorPage<>(items, page.getPageSize(), page.getNextCursor())));
+    }
+
     /**
      * Vérifie si un nom d'organisation existe
      */
@@ -127,14 +189,11 @@ public class OrganizationReactiveService {
         log.info("Deleting organization: {}", organizationId);
 
         return multiTenantService.validateOrganizationAccess(organizationId, deletedBy)
-            .then(organizationRepository.findById(organizationId))
+            .then(validateOrganizationDeletion(organizationId))
+            .then(organizationRepository.update(organizationId, organization -> organization.setIsActive(false)))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> validateOrganizationDeletion(organizationId)
-                .then(Mono.fromRunnable(() -> {
-                    organization.setIsActive(false);
-                }))
-                .then(organizationRepository.save(organization))
-                .then())
+            .doOnNext(this::publishChanged)
+            .then()
             .doOnSuccess(v -> log.info("Organization deleted successfully: {}", organizationId))
             .doOnError(error -> log.error("Error deleting organization {}: {}", organizationId, error.getMessage()));
     }
@@ -146,13 +205,13 @@ public class OrganizationReactiveService {
         log.info("Toggling organization status: {} to {}", organizationId, isActive);
 
         return multiTenantService.validateOrganizationAccess(organizationId, updatedBy)
-            .then(organizationRepository.findById(organizationId))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
+            .then(organizationRepository.update(organizationId, organization -> {
                 organization.setIsActive(isActive);
                 organization.preUpdate();
-                return organizationRepository.save(organization);
-            })
+            }))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
+            .doOnNext(this::publishChanged)
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.info("Organization status toggled: {} - {}",
                 response.getId(), response.getIsActive()));
@@ -164,33 +223,36 @@ public class OrganizationReactiveService {
     public Mono<OrganizationResponse> verifyOrganization(UUID organizationId, UUID verifiedBy) {
         log.info("Verifying organization: {}", organizationId);
 
-        return organizationRepository.findById(organizationId)
+        return organizationRepository.update(organizationId, organization -> organization.verify(verifiedBy))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                organization.verify(verifiedBy);
-                return organizationRepository.save(organization);
-            })
+            .doOnNext(this::publishChanged)
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.info("Organization verified: {}", response.getId()));
     }
 
     /**
-     * Met à jour l'abonnement d'une organisation
+     * Met à jour l'abonnement d'une organisation et applique les limites du nouveau plan
      */
     public Mono<OrganizationResponse> updateSubscription(UUID organizationId, UpdateSubscriptionRequest request, UUID updatedBy) {
         log.info("Updating subscription for organization: {}", organizationId);
 
         return multiTenantService.validateOrganizationAccess(organizationId, updatedBy)
-            .then(organizationRepository.findById(organizationId))
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
+            .then(subscriptionPlanCatalog.getPlan(request.getSubscriptionPlanId()))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Plan d'abonnement non trouvé")))
+            .flatMap(plan -> organizationRepository.update(organizationId, organization -> {
                 organization.updateSubscription(
-                    request.getSubscriptionPlanId(),
+                    plan.getId(),
                     request.getExpiresAt(),
                     request.getAutoRenew()
                 );
-                return organizationRepository.save(organization);
-            })
+                organization.applyPlanLimits(plan);
+            }))
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
+            // Les instantanés de quotas en cache portent l'ancien plan
+            .doOnNext(organization -> eventPublisher.publishEvent(new OrganizationLimitsChangedEvent(organizationId)))
+            .doOnNext(this::publishChanged)
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.info("Subscription updated for organization: {}", response.getId()));
     }
@@ -201,18 +263,7 @@ public class OrganizationReactiveService {
     public Mono<OrganizationResponse> updateOrganizationStatistics(UUID organizationId, OrganizationStatisticsRequest statsRequest) {
         log.debug("Updating statistics for organization: {}", organizationId);
 
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                if (statsRequest.getResourceCounters() != null) {
-                    organization.updateResourceCounters(
-                        statsRequest.getResourceCounters().getAgencies(),
-                        statsRequest.getResourceCounters().getVehicles(),
-                        statsRequest.getResourceCounters().getDrivers(),
-                        statsRequest.getResourceCounters().getUsers()
-                    );
-                }
-
+        return organizationRepository.update(organizationId, organization -> {
                 if (statsRequest.getFinancialStats() != null) {
                     organization.updateFinancialStats(
                         statsRequest.getFinancialStats().getMonthlyRevenue(),
@@ -220,9 +271,14 @@ public class OrganizationReactiveService {
                         statsRequest.getFinancialStats().getTotalRentals()
                     );
                 }
-
-                return organizationRepository.save(organization);
             })
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
+            // Chiffre d'affaires et activité : classements et alertes relisent l'organisation
+            .doOnNext(this::publishChanged)
+            // Les compteurs de ressources sont alignés dans tenant_usage, pas sur l'organisation
+            .flatMap(organization -> reconcileUsage(organizationId, statsRequest.getResourceCounters())
+                .thenReturn(organization))
+            .flatMap(this::withUsage)
             .map(organizationMapper::toResponse)
             .doOnSuccess(response -> log.debug("Statistics updated for organization: {}", response.getId()));
     }
@@ -231,16 +287,17 @@ public class OrganizationReactiveService {
      * Trouve les organisations par type
      */
     public Flux<OrganizationResponse> findByType(OrganizationType type, UUID requesterId) {
-        return multiTenantService.getFilterOrganizationId(requesterId)
-            .flatMapMany(orgFilter -> {
-                if (orgFilter == null) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
                     return organizationRepository.findByOrganizationType(type);
-                } else {
-                    return organizationRepository.findById(orgFilter)
-                        .filter(org -> org.getOrganizationType() == type)
-                        .flux();
                 }
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .filter(org -> org.getOrganizationType() == type)
+                    .flux();
             })
+            .flatMapSequential(this::withUsage)
             .map(organizationMapper::toResponse);
     }
 
@@ -248,16 +305,17 @@ public class OrganizationReactiveService {
      * Trouve les organisations par ville et pays
      */
     public Flux<OrganizationResponse> findByCityAndCountry(String city, String country, UUID requesterId) {
-        return multiTenantService.getFilterOrganizationId(requesterId)
-            .flatMapMany(orgFilter -> {
-                if (orgFilter == null) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
                     return organizationRepository.findByCityAndCountry(city, country);
-                } else {
-                    return organizationRepository.findById(orgFilter)
-                        .filter(org -> city.equals(org.getCity()) && country.equals(org.getCountry()))
-                        .flux();
                 }
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .filter(org -> city.equals(org.getCity()) && country.equals(org.getCountry()))
+                    .flux();
             })
+            .flatMapSequential(this::withUsage)
             .map(organizationMapper::toResponse);
     }
 
@@ -275,64 +333,131 @@ public class OrganizationReactiveService {
      * Trouve les organisations nécessitant une attention
      */
     public Flux<OrganizationResponse> findOrganizationsNeedingAttention(UUID requesterId) {
-        return multiTenantService.getFilterOrganizationId(requesterId)
-            .flatMapMany(orgFilter -> {
-                if (orgFilter == null) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
                     return organizationRepository.findOrganizationsNeedingAttention();
-                } else {
-                    return organizationRepository.findById(orgFilter)
-                        .filter(org -> !org.getIsVerified() || org.isSubscriptionExpiringSoon())
-                        .flux();
                 }
+                return Mono.justOrEmpty(tenantFilter.getOrganizationId())
+                    .flatMap(organizationRepository::findById)
+                    .filter(org -> Boolean.TRUE.equals(org.getIsActive()) && !org.alertReasons(LocalDateTime.now()).isEmpty())
+                    .flux();
             })
+            .flatMapSequential(this::withUsage)
             .map(organizationMapper::toResponse);
     }
 
+    /**
+     * Trouve les organisations actives au plus fort chiffre d'affaires mensuel
+     */
+    public Flux<OrganizationResponse> findTopPerformingOrganizations(int limit, UUID requesterId) {
+        return findRanked(requesterId, organizationRepository.findTopPerformingOrganizations(limit));
+    }
+
+    /**
+     * Trouve les organisations actives au plus fort taux d'utilisation du parc sur le mois en cours
+     */
+    public Flux<OrganizationResponse> findHighUtilizationOrganizations(int limit, UUID requesterId) {
+        return findRanked(requesterId, organizationRepository.findHighUtilizationOrganizations(limit));
+    }
+
     // === MÉTHODES PRIVÉES ===
 
     /**
-     * Valide la création d'une organisation
+     * Classement complet en accès global, sinon la seule organisation du demandeur si elle y figure
      */
-    private Mono<Void> validateOrganizationCreation(CreateOrganizationRequest request) {
-        return organizationRepository.existsByName(request.getName())
-            .flatMap(exists -> {
-                if (exists) {
-                    return Mono.error(new IllegalArgumentException("Une organisation avec ce nom existe déjà"));
+    private Flux<OrganizationResponse> findRanked(UUID requesterId, Flux<Organization> ranking) {
+        return multiTenantService.getTenantFilter(requesterId)
+            .flatMapMany(tenantFilter -> {
+                if (Boolean.TRUE.equals(tenantFilter.getIsGlobalAccess())) {
+                    return ranking;
                 }
-                return Mono.empty();
+                return ranking.filter(org -> org.getId().equals(tenantFilter.getOrganizationId()));
             })
-            .then(validateRegistrationNumber(request.getRegistrationNumber()))
-            .then(validateTaxNumber(request.getTaxNumber()));
+            .flatMapSequential(this::withUsage)
+            .map(organizationMapper::toResponse);
     }
 
     /**
-     * Valide le numéro d'enregistrement
+     * Renseigne les compteurs actuels de l'organisation depuis tenant_usage (lecture d'une partition)
      */
-    private Mono<Void> validateRegistrationNumber(String registrationNumber) {
-        if (registrationNumber == null) return Mono.empty();
-
-        return organizationRepository.existsByRegistrationNumber(registrationNumber)
-            .flatMap(exists -> {
-                if (exists) {
-                    return Mono.error(new IllegalArgumentException("Ce numéro d'enregistrement existe déjà"));
-                }
-                return Mono.empty();
+    private Mono<Organization> withUsage(Organization organization) {
+        return tenantUsageService.getUsage(organization.getId())
+            .map(usage -> {
+                organization.applyUsage(usage);
+                return organization;
             });
     }
 
     /**
-     * Valide le numéro fiscal
+     * Aligne les compteurs de tenant_usage sur des valeurs absolues (par incréments)
      */
-    private Mono<Void> validateTaxNumber(String taxNumber) {
-        if (taxNumber == null) return Mono.empty();
+    private Mono<Void> reconcileUsage(UUID organizationId, OrganizationStatisticsRequest.ResourceCounters counters) {
+        if (counters == null) {
+            return Mono.empty();
+        }
+        return tenantUsageService.getUsage(organizationId)
+            .flatMap(usage -> Mono.when(
+                adjustTo(usage, UsageResource.AGENCIES, counters.getAgencies()),
+                adjustTo(usage, UsageResource.VEHICLES, counters.getVehicles()),
+                adjustTo(usage, UsageResource.DRIVERS, counters.getDrivers()),
+                adjustTo(usage, UsageResource.USERS, counters.getUsers())
+            ));
+    }
 
-        return organizationRepository.existsByTaxNumber(taxNumber)
-            .flatMap(exists -> {
-                if (exists) {
-                    return Mono.error(new IllegalArgumentException("Ce numéro fiscal existe déjà"));
-                }
-                return Mono.empty();
-            });
+    private Mono<Void> adjustTo(TenantUsage usage, UsageResource resource, Integer target) {
+        if (target == null) {
+            return Mono.empty();
+        }
+        return tenantUsageService.adjust(usage.getOrganizationId(), resource, target - usage.get(resource));
+    }
+
+    /**
+     * Clés d'unicité d'une organisation : nom, et numéros d'enregistrement et fiscal s'ils sont renseignés
+     */
+    private static List<UniqueKey> uniqueKeys(Organization organization) {
+        return uniqueKeys(organization.getName(), organization.getRegistrationNumber(), organization.getTaxNumber());
+    }
+
+    /**
+     * Clés d'unicité d'une organisation après application de la requête de mise à jour
+     */
+    private static List<UniqueKey> uniqueKeys(Organization organization, UpdateOrganizationRequest request) {
+        return uniqueKeys(
+            request.getName() != null ? request.getName() : organization.getName(),
+            request.getRegistrationNumber() != null ? request.getRegistrationNumber() : organization.getRegistrationNumber(),
+            request.getTaxNumber() != null ? request.getTaxNumber() : organization.getTaxNumber());
+    }
+
+    private static List<UniqueKey> uniqueKeys(String name, String registrationNumber, String taxNumber) {
+        List<UniqueKey> keys = new ArrayList<>();
+        keys.add(UniqueKey.organizationName(name));
+        if (registrationNumber != null && !registrationNumber.isBlank()) keys.add(UniqueKey.registrationNumber(registrationNumber));
+        if (taxNumber != null && !taxNumber.isBlank()) keys.add(UniqueKey.taxNumber(taxNumber));
+        return keys;
+    }
+
+    /**
+     * Valeurs sans réservation vérifiées sur la table principale (organisations antérieures à uniqueness_reservations) ;
+     * les valeurs déjà portées par l'organisation sont ignorées
+     */
+    private Mono<Void> checkBaseTable(List<UniqueKey> currentKeys, String name, String registrationNumber, String taxNumber) {
+        return Mono.when(
+            checkBaseTable(currentKeys, name, UniqueKey::organizationName, organizationRepository::countByName),
+            checkBaseTable(currentKeys, registrationNumber, UniqueKey::registrationNumber, organizationRepository::countByRegistrationNumber),
+            checkBaseTable(currentKeys, taxNumber, UniqueKey::taxNumber, organizationRepository::countByTaxNumber));
+    }
+
+    private Mono<Void> checkBaseTable(List<UniqueKey> currentKeys, String value,
+                                      Function<String, UniqueKey> keyOf, Function<String, Mono<Long>> baseTableCount) {
+        if (value == null || value.isBlank()) {
+            return Mono.empty();
+        }
+        UniqueKey key = keyOf.apply(value);
+        if (currentKeys.contains(key)) {
+            return Mono.empty();
+        }
+        return uniquenessService.checkBaseTable(key, Mono.defer(() -> baseTableCount.apply(value)));
     }
 
     /**
@@ -455,12 +580,13 @@ public class OrganizationReactiveService {
      * Construit les statistiques complètes d'une organisation
      */
     private Mono<OrganizationStatisticsResponse> buildOrganizationStatistics(Organization organization) {
-        return agencyRepository.countByOrganizationId(organization.getId())
-            .zipWith(agencyRepository.countActiveByOrganizationId(organization.getId()))
+        // Agences lues dans organization_stats ; limites et consommation dans tenant_usage
+        return statisticsService.getOrganizationStats(organization.getId())
+            .zipWith(withUsage(organization))
             .map(tuple -> OrganizationStatisticsResponse.builder()
                 .organizationId(organization.getId())
-                .totalAgencies(tuple.getT1().intValue())
-                .activeAgencies(tuple.getT2().intValue())
+                .totalAgencies((int) tuple.getT1().get(OrganizationCounter.TOTAL_AGENCIES))
+                .activeAgencies((int) tuple.getT1().get(OrganizationCounter.ACTIVE_AGENCIES))
                 .maxAgencies(organization.getMaxAgencies())
                 .totalVehicles(organization.getCurrentVehicles())
                 .maxVehicles(organization.getMaxVehicles())
@@ -488,4 +614,9 @@ public class OrganizationReactiveService {
         // TODO: Implémenter la conversion JSON avec ObjectMapper
         return "{}"; // Placeholder
     }
+
+    // Statut, vérification, abonnement ou chiffre d'affaires ont pu changer : classements et alertes relisent l'organisation
+    private void publishChanged(Organization organization) {
+        eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
+    }
 }
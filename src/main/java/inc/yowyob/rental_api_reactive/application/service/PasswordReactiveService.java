@@ -1,27 +1,87 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
 import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
-import lombok.RequiredArgsConstructor;
+import inc.yowyob.rental_api_reactive.infrastructure.security.filter.ClientAddressWebFilter;
+import inc.yowyob.rental_api_reactive.infrastructure.web.exception.GlobalReactiveExceptionHandler.ServiceOverloadedException;
+import inc.yowyob.rental_api_reactive.infrastructure.web.exception.GlobalReactiveExceptionHandler.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 /**
- * Service réactif pour la gestion des mots de passe
+ * Service réactif pour la gestion des mots de passe.
+ * Les hachages BCrypt s'exécutent sur un scheduler dédié et borné, jamais sur les threads Netty ;
+ * au-delà de la capacité de la file, ou de la limite de concurrence par IP / par email,
+ * la demande est refusée immédiatement plutôt que mise en attente.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PasswordReactiveService {
 
     private final PasswordEncoder passwordEncoder;
     private final AppProperties appProperties;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    private final Scheduler hashScheduler;
+    private final int maxPendingHashes;
+    private final AtomicInteger pendingHashes = new AtomicInteger();
+    private final ConcurrentMap<String, Integer> inFlightByKey = new ConcurrentHashMap<>();
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedByQueue;
+    private final Counter rejectedByAddress;
+    private final Counter rejectedByEmail;
+
+    public PasswordReactiveService(PasswordEncoder passwordEncoder,
+                                   AppProperties appProperties,
+                                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.appProperties = appProperties;
+
+        AppProperties.PasswordHashing hashing = appProperties.getPasswordHashing();
+        int threads = hashing.resolveThreads();
+        this.hashScheduler = Schedulers.newParallel("password-hash", threads, true);
+        this.maxPendingHashes = threads + hashing.getQueueCapacity();
+
+        this.encodeTimer = Timer.builder("password.hash")
+            .description("Durée des hachages BCrypt")
+            .tag("operation", "encode")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+            .description("Durée des hachages BCrypt")
+            .tag("operation", "matches")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.rejectedByQueue = rejectionCounter(meterRegistry, "queue");
+        this.rejectedByAddress = rejectionCounter(meterRegistry, "ip");
+        this.rejectedByEmail = rejectionCounter(meterRegistry, "email");
+        meterRegistry.gauge("password.hash.pending", pendingHashes);
+
+        log.info("Password hashing scheduler started with {} threads, {} pending hashes max", threads, maxPendingHashes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashScheduler.dispose();
+    }
+
     // Pattern pour validation du mot de passe
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(
         "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$"
@@ -59,15 +119,113 @@ public class PasswordReactiveService {
                             "one digit, and one special character"));
                 }
 
-                return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword));
+                return hashPassword(null, rawPassword);
             });
     }
 
+    /**
+     * Hache un mot de passe sans contrôle de complexité, pour le compte d'un email
+     */
+    public Mono<String> hashPassword(String email, String rawPassword) {
+        return offload(email, encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
     /**
      * Vérifie si un mot de passe correspond au hash
      */
     public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
-        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        return matches(null, rawPassword, encodedPassword);
+    }
+
+    /**
+     * Vérifie si un mot de passe correspond au hash, pour le compte d'un email
+     */
+    public Mono<Boolean> matches(String email, String rawPassword, String encodedPassword) {
+        return offload(email, matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Nombre de hachages admis (en cours ou en file)
+     */
+    public int getPendingHashes() {
+        return pendingHashes.get();
+    }
+
+    /**
+     * Exécute un hachage sur le scheduler dédié après contrôle d'admission
+     */
+    private <T> Mono<T> offload(String email, Timer timer, Callable<T> task) {
+        return Mono.deferContextual(context -> {
+            String clientAddress = context.getOrDefault(ClientAddressWebFilter.CLIENT_ADDRESS_KEY, null);
+            Runnable release = admit(clientAddress, email);
+
+            return Mono.fromCallable(() -> timer.recordCallable(task))
+                .subscribeOn(hashScheduler)
+                .doFinally(signal -> release.run());
+        });
+    }
+
+    /**
+     * Réserve une place (par IP, par email, puis dans la file globale) ou refuse immédiatement
+     */
+    private Runnable admit(String clientAddress, String email) {
+        AppProperties.PasswordHashing hashing = appProperties.getPasswordHashing();
+        String addressKey = clientAddress != null ? "ip:" + clientAddress : null;
+        String emailKey = email != null ? "email:" + email.toLowerCase(Locale.ROOT) : null;
+
+        if (!tryAcquire(addressKey, hashing.getMaxConcurrentPerIp())) {
+            rejectedByAddress.increment();
+            throw new TooManyRequestsException("Too many concurrent password operations from this address");
+        }
+        if (!tryAcquire(emailKey, hashing.getMaxConcurrentPerEmail())) {
+            release(addressKey);
+            rejectedByEmail.increment();
+            throw new TooManyRequestsException("Too many concurrent password operations for this account");
+        }
+        if (pendingHashes.incrementAndGet() > maxPendingHashes) {
+            pendingHashes.decrementAndGet();
+            release(addressKey);
+            release(emailKey);
+            rejectedByQueue.increment();
+            log.warn("Password hashing queue full ({} pending), rejecting request", maxPendingHashes);
+            throw new ServiceOverloadedException("Password hashing capacity exceeded, please retry later");
+        }
+
+        return () -> {
+            pendingHashes.decrementAndGet();
+            release(addressKey);
+            release(emailKey);
+        };
+    }
+
+    private boolean tryAcquire(String key, int limit) {
+        if (key == null || limit <= 0) {
+            return true;
+        }
+
+        boolean[] acquired = {false};
+        inFlightByKey.compute(key, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(String key) {
+        if (key != null) {
+            inFlightByKey.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("password.hash.rejected")
+            .description("Hachages refusés par le contrôle d'admission")
+            .tag("reason", reason)
+            .register(meterRegistry);
     }
 
     /**
@@ -1,45 +1,70 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api_reactive.application.dto.CompiledUserPermissions;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.UserPermissionsResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.time.LocalDateTime;
 import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Cache des permissions utilisateur.
+ * Borné en poids (nombre de codes de permission), éviction W-TinyLFU, rafraîchissement
+ * anticipé avant expiration et chargement unique pour les accès concurrents à une même clé.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PermissionCacheReactiveService {
 
+    public static final String CACHE_NAME = "permissions";
+
     private final PermissionReactiveService permissionService;
-    private final ConcurrentMap<UUID, CacheEntry> permissionCache = new ConcurrentHashMap<>();
-    private static final Duration CACHE_DURATION = Duration.ofMinutes(15);
+    private final AsyncLoadingCache<UUID, CompiledUserPermissions> permissionCache;
+
+    public PermissionCacheReactiveService(PermissionReactiveService permissionService,
+                                          AppProperties appProperties,
+                                          MeterRegistry meterRegistry) {
+        this.permissionService = permissionService;
+
+        AppProperties.Cache cacheProperties = appProperties.getCache();
+        this.permissionCache = Caffeine.newBuilder()
+            .maximumWeight(cacheProperties.getPermissionMaxWeight())
+            .weigher((UUID userId, CompiledUserPermissions permissions) -> weigh(permissions))
+            .expireAfterWrite(Duration.ofMinutes(cacheProperties.getPermissionExpireMinutes()))
+            .refreshAfterWrite(Duration.ofMinutes(cacheProperties.getPermissionRefreshMinutes()))
+            .recordStats()
+            .buildAsync((userId, executor) -> loadPermissions(userId));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, permissionCache, CACHE_NAME);
+    }
 
     /**
-     * Récupère les permissions d'un utilisateur avec cache
+     * Récupère les droits compilés d'un utilisateur avec cache
      */
-    public Mono<UserPermissionsResponse> getUserPermissions(UUID userId) {
+    public Mono<CompiledUserPermissions> getCompiledPermissions(UUID userId) {
         log.debug("Getting cached permissions for user: {}", userId);
+        // suppressCancel : l'annulation d'un abonné ne doit pas annuler le chargement partagé
+        return Mono.fromFuture(() -> permissionCache.get(userId), true);
+    }
 
-        CacheEntry entry = permissionCache.get(userId);
-
-        if (entry != null && !entry.isExpired()) {
-            log.debug("Returning cached permissions for user: {}", userId);
-            return Mono.just(entry.getPermissions());
-        }
-
-        return permissionService.getUserPermissions(userId)
-            .doOnNext(permissions -> {
-                CacheEntry newEntry = new CacheEntry(permissions, LocalDateTime.now().plus(CACHE_DURATION));
-                permissionCache.put(userId, newEntry);
-                log.debug("Cached permissions for user: {}", userId);
-            });
+    /**
+     * Récupère les permissions d'un utilisateur avec cache
+     */
+    public Mono<UserPermissionsResponse> getUserPermissions(UUID userId) {
+        return getCompiledPermissions(userId)
+            .map(permissionService::toUserPermissionsResponse);
     }
 
     /**
@@ -47,7 +72,7 @@ public class PermissionCacheReactiveService {
      */
     public void evictUserPermissions(UUID userId) {
         log.debug("Evicting permissions cache for user: {}", userId);
-        permissionCache.remove(userId);
+        permissionCache.synchronous().invalidate(userId);
     }
 
     /**
@@ -55,40 +80,80 @@ public class PermissionCacheReactiveService {
      */
     public void evictAllPermissions() {
         log.debug("Evicting all permissions cache");
-        permissionCache.clear();
+        permissionCache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Invalidation sur changement des rôles d'un utilisateur
+     */
+    @EventListener
+    public void onUserPermissionsChanged(UserPermissionsChangedEvent event) {
+        evictUserPermissions(event.getUserId());
+    }
+
+    /**
+     * Invalidation sur modification d'un rôle : tous les utilisateurs porteurs sont concernés
+     */
+    @EventListener
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        log.debug("Role {} changed, evicting permissions cache", event.getRoleId());
+        evictAllPermissions();
     }
 
     /**
      * Vérifie si un utilisateur a une permission avec cache
      */
     public Mono<Boolean> hasPermission(UUID userId, String permissionCode) {
-        return getUserPermissions(userId)
-            .map(permissions -> permissions.getPermissions().contains(permissionCode));
+        return getCompiledPermissions(userId)
+            .map(permissions -> permissions.hasPermission(permissionCode))
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Vérifie si un utilisateur a toutes les permissions spécifiées avec cache
+     */
+    public Mono<Boolean> hasAllPermissions(UUID userId, Set<String> permissionCodes) {
+        if (permissionCodes == null || permissionCodes.isEmpty()) {
+            return Mono.just(true);
+        }
+        return getCompiledPermissions(userId)
+            .map(permissions -> permissions.hasAllPermissions(permissionCodes))
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Vérifie si un utilisateur a au moins une des permissions spécifiées avec cache
+     */
+    public Mono<Boolean> hasAnyPermission(UUID userId, Set<String> permissionCodes) {
+        if (permissionCodes == null || permissionCodes.isEmpty()) {
+            return Mono.just(false);
+        }
+        return getCompiledPermissions(userId)
+            .map(permissions -> permissions.hasAnyPermission(permissionCodes))
+            .defaultIfEmpty(false);
     }
 
     /**
-     * Nettoyage automatique des entrées expirées
+     * Nettoyage des entrées expirées (effectué aussi automatiquement par le cache)
      */
     public void cleanupExpiredEntries() {
         log.debug("Cleaning up expired permission cache entries");
-        permissionCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        permissionCache.synchronous().cleanUp();
     }
 
-    private static class CacheEntry {
-        private final UserPermissionsResponse permissions;
-        private final LocalDateTime expiresAt;
-
-        public CacheEntry(UserPermissionsResponse permissions, LocalDateTime expiresAt) {
-            this.permissions = permissions;
-            this.expiresAt = expiresAt;
-        }
+    /**
+     * Nombre approximatif d'entrées en cache
+     */
+    public long estimatedSize() {
+        return permissionCache.synchronous().estimatedSize();
+    }
 
-        public UserPermissionsResponse getPermissions() {
-            return permissions;
-        }
+    private CompletableFuture<CompiledUserPermissions> loadPermissions(UUID userId) {
+        log.debug("Loading permissions into cache for user: {}", userId);
+        return permissionService.compileUserPermissions(userId).toFuture();
+    }
 
-        public boolean isExpired() {
-            return LocalDateTime.now().isAfter(expiresAt);
-        }
+    private static int weigh(CompiledUserPermissions permissions) {
+        return 1 + permissions.getPermissions().size();
     }
 }
@@ -1,7 +1,12 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.CompiledUserPermissions;
 import inc.yowyob.rental_api_reactive.application.dto.Permission;
+import inc.yowyob.rental_api_reactive.application.dto.PermissionSet;
+import inc.yowyob.rental_api_reactive.application.dto.RoleSnapshot;
+import inc.yowyob.rental_api_reactive.application.dto.RoleType;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +25,16 @@ public class PermissionReactiveService {
 
     private final UserRoleReactiveRepository userRoleRepository;
     private final RoleReactiveRepository roleRepository;
+    private final RoleCacheReactiveService roleCacheService;
+
+    // Détails JSON précalculés, indexés par ordinal de Permission
+    private static final PermissionResponse[] DETAILS_BY_ORDINAL = Arrays.stream(Permission.values())
+        .map(permission -> PermissionResponse.builder()
+            .code(permission.getCode())
+            .description(permission.getDescription())
+            .resource(permission.getResource())
+            .build())
+        .toArray(PermissionResponse[]::new);
 
     /**
      * Récupère toutes les permissions disponibles
@@ -37,8 +52,7 @@ public class PermissionReactiveService {
     public Mono<ResourcePermissionsResponse> getPermissionsByResource(String resource) {
         log.debug("Getting permissions for resource: {}", resource);
 
-        Set<PermissionResponse> permissions = Arrays.stream(Permission.values())
-            .filter(permission -> permission.getResource().equalsIgnoreCase(resource))
+        Set<PermissionResponse> permissions = Arrays.stream(Permission.getPermissionsForResource(resource))
             .map(this::mapPermissionToResponse)
             .collect(Collectors.toSet());
 
@@ -55,9 +69,7 @@ public class PermissionReactiveService {
     public Flux<String> getAllResources() {
         log.debug("Getting all resources");
 
-        return Flux.fromArray(Permission.values())
-            .map(Permission::getResource)
-            .distinct();
+        return Flux.fromArray(Permission.getAllResources());
     }
 
     /**
@@ -66,24 +78,88 @@ public class PermissionReactiveService {
     public Mono<UserPermissionsResponse> getUserPermissions(UUID userId) {
         log.debug("Getting permissions for user: {}", userId);
 
-        return userRoleRepository.findActiveByUserId(userId)
-            .flatMap(userRole -> roleRepository.findById(userRole.getRoleId()))
-            .filter(Objects::nonNull)
-            .map(role -> role.getPermissions())
-            .filter(Objects::nonNull)
+        return findCurrentRoles(userId)
+            .map(UserRole::getRoleId)
+            .collect(Collectors.toSet())
+            .flatMapMany(roleCacheService::getRoles)
+            .map(RoleSnapshot::getPermissionMask)
+            .reduce(PermissionSet.EMPTY, PermissionSet::union)
+            .map(effectivePermissions -> UserPermissionsResponse.builder()
+                .userId(userId)
+                .permissions(effectivePermissions.toCodes())
+                .permissionDetails(mapMaskToDetails(effectivePermissions))
+                .totalCount(effectivePermissions.size())
+                .build());
+    }
+
+    /**
+     * Compile les droits effectifs d'un utilisateur (permissions, types de rôles, périmètre)
+     * en un seul parcours de ses rôles actifs
+     */
+    public Mono<CompiledUserPermissions> compileUserPermissions(UUID userId) {
+        log.debug("Compiling permissions for user: {}", userId);
+
+        // Une lecture de user_roles, puis les rôles en un lot depuis le cache des rôles
+        return findCurrentRoles(userId)
             .collectList()
-            .map(permissionsList -> {
-                Set<String> effectivePermissions = permissionsList.stream()
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
+            .flatMap(userRoles -> roleCacheService.getRoles(userRoles.stream()
+                    .map(UserRole::getRoleId)
+                    .collect(Collectors.toSet()))
+                .collectMap(RoleSnapshot::getId)
+                .map(rolesById -> compile(userId, userRoles, rolesById)));
+    }
+
+    // Une assignation échue mais pas encore désactivée par le nettoyage ne donne plus de droits
+    private Flux<UserRole> findCurrentRoles(UUID userId) {
+        return userRoleRepository.findActiveByUserId(userId)
+            .filter(userRole -> !userRole.isExpired());
+    }
+
+    private CompiledUserPermissions compile(UUID userId, List<UserRole> userRoles, Map<UUID, RoleSnapshot> rolesById) {
+        CompiledUserPermissions.CompiledUserPermissionsBuilder builder = CompiledUserPermissions.builder()
+            .userId(userId);
+        PermissionSet permissionMask = PermissionSet.EMPTY;
+        boolean organizationWideRole = false;
+
+        for (UserRole userRole : userRoles) {
+            RoleSnapshot role = rolesById.get(userRole.getRoleId());
+            if (role == null) {
+                continue;
+            }
+
+            permissionMask = permissionMask.union(role.getPermissionMask());
+            if (role.getRoleType() != null) {
+                builder.roleType(role.getRoleType());
+                if (RoleType.ORGANIZATION_OWNER.equals(role.getRoleType()) && role.getOrganizationId() != null) {
+                    builder.ownedOrganizationId(role.getOrganizationId());
+                }
+            }
+            if (userRole.getOrganizationId() != null) {
+                builder.organizationId(userRole.getOrganizationId());
+            }
+            if (userRole.getAgencyId() != null) {
+                builder.agencyId(userRole.getAgencyId());
+            } else {
+                organizationWideRole = true;
+            }
+        }
 
-                return UserPermissionsResponse.builder()
-                    .userId(userId)
-                    .permissions(effectivePermissions)
-                    .permissionDetails(mapPermissionsToDetails(effectivePermissions))
-                    .totalCount(effectivePermissions.size())
-                    .build();
-            });
+        return builder
+            .permissionMask(permissionMask)
+            .organizationWideRole(organizationWideRole)
+            .build();
+    }
+
+    /**
+     * Construit la réponse API à partir de droits compilés
+     */
+    public UserPermissionsResponse toUserPermissionsResponse(CompiledUserPermissions compiled) {
+        return UserPermissionsResponse.builder()
+            .userId(compiled.getUserId())
+            .permissions(compiled.getPermissions())
+            .permissionDetails(mapMaskToDetails(compiled.getPermissionMask()))
+            .totalCount(compiled.getPermissions().size())
+            .build();
     }
 
     /**
@@ -183,31 +259,28 @@ public class PermissionReactiveService {
     }
 
     private PermissionResponse mapPermissionToResponse(Permission permission) {
-        return PermissionResponse.builder()
-            .code(permission.getCode())
-            .description(permission.getDescription())
-            .resource(permission.getResource())
-            .build();
+        return DETAILS_BY_ORDINAL[permission.ordinal()];
     }
 
     private Set<PermissionResponse> mapPermissionsToDetails(Set<String> permissionCodes) {
         if (permissionCodes == null) {
             return new HashSet<>();
         }
+        return mapMaskToDetails(PermissionSet.of(permissionCodes));
+    }
 
-        return permissionCodes.stream()
-            .map(code -> {
-                for (Permission permission : Permission.values()) {
-                    if (permission.getCode().equals(code)) {
-                        return mapPermissionToResponse(permission);
-                    }
-                }
-                return PermissionResponse.builder()
-                    .code(code)
-                    .description("Unknown permission")
-                    .resource("UNKNOWN")
-                    .build();
-            })
-            .collect(Collectors.toSet());
+    private Set<PermissionResponse> mapMaskToDetails(PermissionSet permissionMask) {
+        Set<PermissionResponse> details = new HashSet<>();
+        for (Permission permission : permissionMask.toPermissions()) {
+            details.add(DETAILS_BY_ORDINAL[permission.ordinal()]);
+        }
+        for (String code : permissionMask.getCustomCodes()) {
+            details.add(PermissionResponse.builder()
+                .code(code)
+                .description("Unknown permission")
+                .resource("UNKNOWN")
+                .build());
+        }
+        return details;
     }
 }
@@ -1,12 +1,19 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -25,7 +32,14 @@ import java.util.UUID;
 public class PersonnelReactiveService {
 
     private final UserReactiveRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordReactiveService passwordService;
+    private final UserRevocationReactiveService revocationService;
+    private final TenantContextReactiveService tenantContextService;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final QuotaReactiveService quotaService;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
 
     // Types d'utilisateurs considérés comme personnel
     private static final List<UserType> PERSONNEL_TYPES = Arrays.asList(
@@ -46,17 +60,12 @@ public class PersonnelReactiveService {
                 "Type d'utilisateur invalide pour le personnel. Types autorisés: " + PERSONNEL_TYPES));
         }
 
-        return userRepository.countByEmail(createRequest.getEmail())
-            .flatMap(count -> {
-                if (count > 0) {
-                    return Mono.error(new IllegalArgumentException("Email déjà utilisé"));
-                }
-
+        return quotaService.checkQuota(createRequest.getOrganizationId(), UsageResource.USERS, 1)
+            .then(Mono.defer(() -> {
                 // Créer le nouvel utilisateur personnel
                 User personnel = new User();
                 personnel.setId(UUID.randomUUID());
                 personnel.setEmail(createRequest.getEmail());
-                personnel.setPassword(passwordEncoder.encode(createRequest.getTemporaryPassword()));
                 personnel.setFirstName(createRequest.getFirstName());
                 personnel.setLastName(createRequest.getLastName());
                 personnel.setPhone(createRequest.getPhone());
@@ -81,10 +90,22 @@ public class PersonnelReactiveService {
                 personnel.setUpdatedAt(LocalDateTime.now());
                 personnel.setCreatedBy(createdBy);
 
-                return userRepository.save(personnel)
+                // L'email est réservé avant l'écriture et libéré si celle-ci échoue
+                Mono<User> createPersonnel = passwordService.hashPassword(createRequest.getEmail(), createRequest.getTemporaryPassword())
+                    .flatMap(encodedPassword -> {
+                        personnel.setPassword(encodedPassword);
+                        return userRepository.save(personnel);
+                    });
+
+                UniqueKey email = UniqueKey.email(createRequest.getEmail());
+                return uniquenessService.checkBaseTable(email, userRepository.countByEmail(createRequest.getEmail()))
+                    .then(uniquenessService.withReservations(personnel.getId(), List.of(email), createPersonnel))
+                    .flatMap(saved -> tenantUsageService.recordUserAdded(saved).thenReturn(saved))
+                    .doOnNext(saved -> eventPublisher.publishEvent(StatisticsEvent.userAdded(saved)))
+                    .doOnNext(this::publishChanged)
                     .map(this::mapToPersonnelResponse)
                     .doOnSuccess(response -> log.info("Personnel created successfully: {}", createRequest.getEmail()));
-            });
+            }));
     }
 
     /**
@@ -103,6 +124,25 @@ public class PersonnelReactiveService {
             .map(this::mapToPersonnelResponse);
     }
 
+    /**
+     * Récupère une page du personnel selon les filtres
+     */
+    public Mono<CursorPage<PersonnelResponse>> getPersonnelPageByFilters(UUID organizationId, UUID agencyId,
+                                                                      UserType userType, Boolean isActive,
+                                                                      String cursor, Integer size) {
+        log.debug("Fetching personnel page for organization: {}, agency: {}, type: {}, active: {}",
+            organizationId, agencyId, userType, isActive);
+
+        int pageSize = appProperties.getPagination().resolvePageSize(size);
+        return userRepository.findSliceByOrganizationId(organizationId, PagingCursor.toPageRequest(cursor, pageSize))
+            .map(slice -> CursorPage.of(slice)
+                .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
+                .filter(user -> agencyId == null || agencyId.equals(user.getAgencyId()))
+                .filter(user -> userType == null || userType.equals(user.getUserType()))
+                .filter(user -> isActive == null || isActive.equals(user.getIsActive()))
+                .map(this::mapToPersonnelResponse));
+    }
+
     /**
      * Récupère un personnel par ID
      */
@@ -153,6 +193,15 @@ public class PersonnelReactiveService {
 
                 return userRepository.save(personnel);
             })
+            .doOnNext(personnel -> {
+                tenantContextService.evict(personnelId);
+                if (Boolean.TRUE.equals(personnel.getIsActive())) {
+                    revocationService.evictUser(personnelId);
+                } else {
+                    revocationService.revokeUser(personnelId);
+                }
+            })
+            .doOnNext(this::publishChanged)
             .map(this::mapToPersonnelResponse);
     }
 
@@ -167,12 +216,15 @@ public class PersonnelReactiveService {
             .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("L'utilisateur n'est pas un membre du personnel")))
             .flatMap(personnel -> {
+                StatisticsEvent previous = StatisticsEvent.userRemoved(personnel);
                 personnel.setAgencyId(agencyId);
                 personnel.setUpdatedAt(LocalDateTime.now());
                 personnel.setUpdatedBy(assignedBy);
 
-                return userRepository.save(personnel);
+                return userRepository.save(personnel)
+                    .doOnNext(saved -> publishStatistics(previous, saved));
             })
+            .doOnNext(personnel -> tenantContextService.evict(personnelId))
             .map(this::mapToPersonnelResponse);
     }
 
@@ -187,11 +239,21 @@ public class PersonnelReactiveService {
             .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("L'utilisateur n'est pas un membre du personnel")))
             .flatMap(personnel -> {
+                StatisticsEvent previous = StatisticsEvent.userRemoved(personnel);
                 personnel.setIsActive(isActive);
                 personnel.setUpdatedAt(LocalDateTime.now());
                 personnel.setUpdatedBy(updatedBy);
 
-                return userRepository.save(personnel);
+                return userRepository.save(personnel)
+                    .doOnNext(saved -> publishStatistics(previous, saved));
+            })
+            .doOnNext(personnel -> {
+                tenantContextService.evict(personnelId);
+                if (Boolean.TRUE.equals(personnel.getIsActive())) {
+                    revocationService.evictUser(personnelId);
+                } else {
+                    revocationService.revokeUser(personnelId);
+                }
             })
             .map(this::mapToPersonnelResponse);
     }
@@ -206,7 +268,15 @@ public class PersonnelReactiveService {
             .switchIfEmpty(Mono.error(new IllegalArgumentException("Personnel non trouvé")))
             .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
             .switchIfEmpty(Mono.error(new IllegalArgumentException("L'utilisateur n'est pas un membre du personnel")))
-            .flatMap(personnel -> userRepository.deleteById(personnelId));
+            .flatMap(personnel -> userRepository.deleteById(personnelId)
+                .then(tenantUsageService.recordUserRemoved(personnel))
+                .then(uniquenessService.release(UniqueKey.email(personnel.getEmail()), personnelId))
+                .doOnSuccess(v -> eventPublisher.publishEvent(StatisticsEvent.userRemoved(personnel))))
+            .doOnSuccess(v -> {
+                revocationService.revokeUser(personnelId);
+                tenantContextService.evict(personnelId);
+                eventPublisher.publishEvent(new UserChangedEvent(personnelId));
+            });
     }
 
     /**
@@ -215,13 +285,26 @@ public class PersonnelReactiveService {
     public Flux<PersonnelResponse> getPersonnelByAgency(UUID agencyId, UserType userType) {
         log.debug("Fetching personnel for agency: {}, type: {}", agencyId, userType);
 
-        return userRepository.findAll()
-            .filter(user -> agencyId.equals(user.getAgencyId()))
-            .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
+        return userRepository.findPersonnelByAgencyId(agencyId)
             .filter(user -> userType == null || userType.equals(user.getUserType()))
             .map(this::mapToPersonnelResponse);
     }
 
+    /**
+     * Récupère une page du personnel d'une agence
+     */
+    public Mono<CursorPage<PersonnelResponse>> getPersonnelPageByAgency(UUID agencyId, UserType userType,
+                                                                     String cursor, Integer size) {
+        log.debug("Fetching personnel page for agency: {}, type: {}", agencyId, userType);
+
+        int pageSize = appProperties.getPagination().resolvePageSize(size);
+        return userRepository.findSliceByAgencyId(agencyId, PagingCursor.toPageRequest(cursor, pageSize))
+            .map(slice -> CursorPage.of(slice)
+                .filter(user -> PERSONNEL_TYPES.contains(user.getUserType()))
+                .filter(user -> userType == null || userType.equals(user.getUserType()))
+                .map(this::mapToPersonnelResponse));
+    }
+
     /**
      * Vérifie si un utilisateur est du personnel
      */
@@ -254,6 +337,15 @@ public class PersonnelReactiveService {
             });
     }
 
+    private void publishChanged(User personnel) {
+        eventPublisher.publishEvent(new UserChangedEvent(personnel.getId()));
+    }
+
+    // Statut ou agence modifié : l'agrégateur retire l'état précédent et compte le nouveau
+    private void publishStatistics(StatisticsEvent previous, User personnel) {
+        StatisticsEvent.userUpdated(previous, personnel).forEach(eventPublisher::publishEvent);
+    }
+
     /**
      * Mappe une entité User vers PersonnelResponse
      */
@@ -0,0 +1,125 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api_reactive.application.dto.QuotaSnapshot;
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationLimitsChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.TenantUsageChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Moteur de quotas : un instantané par organisation (limites, consommation, échéance)
+ * chargé une fois puis servi depuis la mémoire. La consommation locale est reportée
+ * sur l'instantané à chaque ajustement de tenant_usage ; l'expiration courte borne
+ * la dérive due aux autres instances.
+ */
+@Service
+@Slf4j
+public class QuotaReactiveService {
+
+    public static final String CACHE_NAME = "quotaSnapshots";
+
+    private final OrganizationReactiveRepository organizationRepository;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final AsyncLoadingCache<UUID, QuotaSnapshot> snapshotCache;
+
+    public QuotaReactiveService(OrganizationReactiveRepository organizationRepository,
+                                TenantUsageReactiveService tenantUsageService,
+                                AppProperties appProperties,
+                                MeterRegistry meterRegistry) {
+        this.organizationRepository = organizationRepository;
+        this.tenantUsageService = tenantUsageService;
+
+        AppProperties.Cache cacheProperties = appProperties.getCache();
+        this.snapshotCache = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getQuotaSnapshotMaxSize())
+            .expireAfterWrite(Duration.ofSeconds(cacheProperties.getQuotaSnapshotExpireSeconds()))
+            .recordStats()
+            .buildAsync((organizationId, executor) -> loadSnapshot(organizationId).toFuture());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshotCache, CACHE_NAME);
+    }
+
+    /**
+     * Vérifie que delta unités de la ressource peuvent être ajoutées à l'organisation
+     */
+    public Mono<Void> checkQuota(UUID organizationId, UsageResource resource, long delta) {
+        return getSnapshot(organizationId)
+            .flatMap(snapshot -> {
+                if (!snapshot.isSubscriptionActive()) {
+                    log.warn("Organization {} has expired subscription", organizationId);
+                    return Mono.error(new IllegalArgumentException("Abonnement expiré pour cette organisation"));
+                }
+                if (!snapshot.allows(resource, delta)) {
+                    log.warn("Organization {} has reached {} limit", organizationId, resource);
+                    return Mono.error(new IllegalArgumentException(String.format(
+                        "Limite de %s atteinte pour cette organisation (%d/%d)",
+                        resource.getLabel(), snapshot.getUsage(resource), snapshot.getLimit(resource))));
+                }
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Indique si delta unités de la ressource peuvent être ajoutées, sans lever d'erreur de quota
+     */
+    public Mono<Boolean> hasQuota(UUID organizationId, UsageResource resource, long delta) {
+        return getSnapshot(organizationId)
+            .map(snapshot -> snapshot.allows(resource, delta))
+            .doOnNext(allowed -> log.debug("{} quota check for organization {}: {}", resource, organizationId, allowed));
+    }
+
+    /**
+     * Instantané des quotas d'une organisation
+     */
+    public Mono<QuotaSnapshot> getSnapshot(UUID organizationId) {
+        if (organizationId == null) {
+            return Mono.error(new IllegalArgumentException("Organisation non trouvée"));
+        }
+        // suppressCancel : l'annulation d'un abonné ne doit pas annuler le chargement partagé
+        return Mono.fromFuture(() -> snapshotCache.get(organizationId), true)
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")));
+    }
+
+    /**
+     * Invalide l'instantané d'une organisation
+     */
+    public void evict(UUID organizationId) {
+        log.debug("Evicting quota snapshot for organization: {}", organizationId);
+        snapshotCache.synchronous().invalidate(organizationId);
+    }
+
+    /**
+     * Report d'un ajustement de compteur sur l'instantané en cache
+     */
+    @EventListener
+    public void onTenantUsageChanged(TenantUsageChangedEvent event) {
+        snapshotCache.synchronous().asMap().computeIfPresent(event.getOrganizationId(),
+            (organizationId, snapshot) -> snapshot.withUsageDelta(event.getResource(), event.getDelta()));
+    }
+
+    /**
+     * Invalidation sur changement d'abonnement ou de limites
+     */
+    @EventListener
+    public void onOrganizationLimitsChanged(OrganizationLimitsChangedEvent event) {
+        evict(event.getOrganizationId());
+    }
+
+    private Mono<QuotaSnapshot> loadSnapshot(UUID organizationId) {
+        log.debug("Loading quota snapshot for organization: {}", organizationId);
+        return organizationRepository.findById(organizationId)
+            .zipWith(tenantUsageService.getUsage(organizationId), QuotaSnapshot::of);
+    }
+}
@@ -0,0 +1,146 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api_reactive.application.dto.RoleSnapshot;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache des rôles partagé par le processus.
+ * Les rôles système sont épinglés en mémoire ; les autres sont chargés par lot
+ * (une seule requête IN pour tous les identifiants manquants) et invalidés à la modification.
+ */
+@Service
+@Slf4j
+public class RoleCacheReactiveService {
+
+    public static final String CACHE_NAME = "roles";
+
+    private final RoleReactiveRepository roleRepository;
+    private final Cache<UUID, RoleSnapshot> roleCache;
+    private final ConcurrentMap<UUID, RoleSnapshot> pinnedSystemRoles = new ConcurrentHashMap<>();
+
+    public RoleCacheReactiveService(RoleReactiveRepository roleRepository,
+                                    AppProperties appProperties,
+                                    MeterRegistry meterRegistry) {
+        this.roleRepository = roleRepository;
+
+        AppProperties.Cache cacheProperties = appProperties.getCache();
+        this.roleCache = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getRoleMaxSize())
+            .expireAfterWrite(Duration.ofMinutes(cacheProperties.getRoleExpireMinutes()))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, roleCache, CACHE_NAME);
+    }
+
+    /**
+     * Récupère plusieurs rôles ; les absents du cache sont lus en une seule requête
+     */
+    public Flux<RoleSnapshot> getRoles(Collection<UUID> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<RoleSnapshot> cached = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID roleId : new LinkedHashSet<>(roleIds)) {
+            RoleSnapshot snapshot = lookup(roleId);
+            if (snapshot != null) {
+                cached.add(snapshot);
+            } else if (roleId != null) {
+                missing.add(roleId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Flux.fromIterable(cached);
+        }
+
+        log.debug("Loading {} roles missing from cache", missing.size());
+        return Flux.fromIterable(cached)
+            .concatWith(roleRepository.findByIdIn(missing)
+                .map(RoleSnapshot::from)
+                .doOnNext(this::store));
+    }
+
+    /**
+     * Récupère un rôle
+     */
+    public Mono<RoleSnapshot> getRole(UUID roleId) {
+        RoleSnapshot snapshot = lookup(roleId);
+        if (snapshot != null) {
+            return Mono.just(snapshot);
+        }
+        return roleRepository.findById(roleId)
+            .map(RoleSnapshot::from)
+            .doOnNext(this::store);
+    }
+
+    /**
+     * Charge et épingle les rôles système (appelé après leur initialisation)
+     */
+    public Mono<Void> pinSystemRoles() {
+        return roleRepository.findSystemRoles()
+            .map(RoleSnapshot::from)
+            .doOnNext(snapshot -> pinnedSystemRoles.put(snapshot.getId(), snapshot))
+            .count()
+            .doOnNext(count -> log.info("Pinned {} system roles in memory", count))
+            .then();
+    }
+
+    /**
+     * Invalide un rôle du cache
+     */
+    public void evictRole(UUID roleId) {
+        log.debug("Evicting role from cache: {}", roleId);
+        roleCache.invalidate(roleId);
+        pinnedSystemRoles.remove(roleId);
+    }
+
+    /**
+     * Invalidation sur modification d'un rôle (avant le cache des permissions qui en dépend)
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        evictRole(event.getRoleId());
+    }
+
+    private RoleSnapshot lookup(UUID roleId) {
+        if (roleId == null) {
+            return null;
+        }
+        RoleSnapshot pinned = pinnedSystemRoles.get(roleId);
+        return pinned != null ? pinned : roleCache.getIfPresent(roleId);
+    }
+
+    private void store(RoleSnapshot snapshot) {
+        if (snapshot.isSystemRole()) {
+            pinnedSystemRoles.put(snapshot.getId(), snapshot);
+        } else {
+            roleCache.put(snapshot.getId(), snapshot);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package inc.yowyob.rental_api_reactive.application.service;
 
 import inc.yowyob.rental_api_reactive.application.dto.Permission;
 import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.Role;
 import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
@@ -9,11 +10,11 @@ import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRep
 import inc.yowyob.rental_api_reactive.persistence.mapper.RoleMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,6 +27,7 @@ public class RoleReactiveService {
     private final RoleReactiveRepository roleRepository;
     private final UserRoleReactiveRepository userRoleRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Crée un nouveau rôle
@@ -78,14 +80,13 @@ public class RoleReactiveService {
             .map(role -> {
                 Set<PermissionResponse> permissionDetails = role.getPermissions().stream()
                     .map(permCode -> {
-                        for (Permission permission : Permission.values()) {
-                            if (permission.getCode().equals(permCode)) {
-                                return PermissionResponse.builder()
-                                    .code(permission.getCode())
-                                    .description(permission.getDescription())
-                                    .resource(permission.getResource())
-                                    .build();
-                            }
+                        Permission permission = Permission.fromCode(permCode);
+                        if (permission != null) {
+                            return PermissionResponse.builder()
+                                .code(permission.getCode())
+                                .description(permission.getDescription())
+                                .resource(permission.getResource())
+                                .build();
                         }
                         return PermissionResponse.builder()
                             .code(permCode)
@@ -137,6 +138,7 @@ public class RoleReactiveService {
                 return role;
             }))
             .flatMap(roleRepository::save)
+            .doOnNext(saved -> eventPublisher.publishEvent(new RolePermissionsChangedEvent(saved.getId())))
             .map(roleMapper::toResponse);
     }
 
@@ -164,7 +166,8 @@ public class RoleReactiveService {
                         }
                         return roleRepository.deleteById(roleId);
                     });
-            });
+            })
+            .doOnSuccess(v -> eventPublisher.publishEvent(new RolePermissionsChangedEvent(roleId)));
     }
 
     /**
@@ -216,12 +219,8 @@ public class RoleReactiveService {
             return Mono.empty();
         }
 
-        Set<String> validPermissions = Arrays.stream(Permission.values())
-            .map(Permission::getCode)
-            .collect(Collectors.toSet());
-
         for (String permission : permissions) {
-            if (!validPermissions.contains(permission)) {
+            if (Permission.fromCode(permission) == null) {
                 return Mono.error(new IllegalArgumentException("Invalid permission: " + permission));
             }
         }
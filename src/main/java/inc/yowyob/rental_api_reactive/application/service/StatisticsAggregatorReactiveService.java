@@ -0,0 +1,348 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import inc.yowyob.rental_api_reactive.application.dto.StatisticsEventType;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyStats;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationStats;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyStatsReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationStatsReactiveRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Agrégateur des statistiques d'organisation et d'agence : chaque StatisticsEvent ajuste des compteurs
+ * en mémoire, écrits périodiquement dans organization_stats et agency_stats (un UPDATE par ligne modifiée).
+ * Un tableau de bord lit alors une seule ligne au lieu de recompter agences et utilisateurs.
+ * Écriture au moins une fois : une ligne en échec est réécrite à l'écriture suivante, et un UPDATE de compteur
+ * n'est pas idempotent ; un échec apparent (délai dépassé alors que Cassandra a appliqué l'incrément) compte
+ * donc deux fois. StatisticsInitializer, relancé par app.persistence.seed-statistics-on-startup, corrige l'écart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsAggregatorReactiveService {
+
+    // Même découpage que l'ancien comptage countPersonnelByOrganizationId
+    private static final Set<UserType> PERSONNEL_TYPES =
+        EnumSet.of(UserType.AGENCY_MANAGER, UserType.RENTAL_AGENT, UserType.DRIVER);
+
+    private static final int CONCURRENCY = 8;
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final OrganizationStatsReactiveRepository organizationStatsRepository;
+    private final AgencyStatsReactiveRepository agencyStatsRepository;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    // Incréments pas encore écrits, remplacés par des tables vides à chaque écriture
+    private Deltas pending = new Deltas();
+
+    // Incréments en cours d'écriture : une ligne en sort quand son UPDATE aboutit ou échoue
+    private Deltas inFlight = new Deltas();
+
+    /**
+     * Statistiques d'une organisation, incréments en attente et en cours d'écriture compris
+     */
+    public Mono<OrganizationStats> getOrganizationStats(UUID organizationId) {
+        return organizationStatsRepository.findById(organizationId)
+            .defaultIfEmpty(OrganizationStats.empty(organizationId))
+            .map(stats -> {
+                synchronized (lock) {
+                    inFlight.organizations.getOrDefault(organizationId, Map.of()).forEach(stats::add);
+                    pending.organizations.getOrDefault(organizationId, Map.of()).forEach(stats::add);
+                }
+                return stats;
+            });
+    }
+
+    /**
+     * Statistiques d'une agence, incréments en attente et en cours d'écriture compris
+     */
+    public Mono<AgencyStats> getAgencyStats(UUID agencyId) {
+        return agencyStatsRepository.findById(agencyId)
+            .defaultIfEmpty(AgencyStats.empty(agencyId))
+            .map(stats -> {
+                synchronized (lock) {
+                    inFlight.agencies.getOrDefault(agencyId, Map.of()).forEach(stats::add);
+                    pending.agencies.getOrDefault(agencyId, Map.of()).forEach(stats::add);
+                }
+                return stats;
+            });
+    }
+
+    @EventListener
+    public void onStatisticsEvent(StatisticsEvent event) {
+        record(event);
+    }
+
+    /**
+     * Reporte un événement dans les compteurs en attente
+     */
+    public void record(StatisticsEvent event) {
+        synchronized (lock) {
+            pending.record(event);
+        }
+    }
+
+    /**
+     * Réaligne les compteurs d'une organisation et de ses agences sur son état courant (agences, utilisateurs
+     * et assignations actives, rejoués comme des ajouts) : l'écart avec les valeurs écrites, incréments en attente
+     * et en cours d'écriture compris, est mis en attente. Un événement ou une écriture qui aboutit entre la lecture
+     * de l'état et celle des compteurs peut laisser un écart, corrigé par la réconciliation suivante.
+     */
+    public Mono<Void> reconcile(UUID organizationId, Flux<StatisticsEvent> currentState) {
+        return currentState.collectList().flatMap(events -> {
+            Deltas actual = new Deltas();
+            Set<UUID> agencyIds = new HashSet<>();
+            events.forEach(event -> {
+                actual.record(event);
+                if (event.getType() == StatisticsEventType.AGENCY_ADDED && event.getAgencyId() != null) {
+                    agencyIds.add(event.getAgencyId());
+                }
+            });
+            agencyIds.addAll(actual.agencies.keySet());
+
+            Mono<Void> organization = organizationStatsRepository.findById(organizationId)
+                .defaultIfEmpty(OrganizationStats.empty(organizationId))
+                .doOnNext(stored -> {
+                    synchronized (lock) {
+                        for (OrganizationCounter counter : OrganizationCounter.values()) {
+                            long current = stored.stored(counter)
+                                + inFlight.organization(organizationId, counter)
+                                + pending.organization(organizationId, counter);
+                            long gap = actual.organization(organizationId, counter) - current;
+                            if (gap != 0) {
+                                pending.addOrganization(organizationId, counter, gap);
+                            }
+                        }
+                    }
+                })
+                .then();
+            Flux<AgencyStats> agencies = Flux.fromIterable(agencyIds)
+                .flatMap(agencyId -> agencyStatsRepository.findById(agencyId)
+                    .defaultIfEmpty(AgencyStats.empty(agencyId))
+                    .doOnNext(stored -> {
+                        synchronized (lock) {
+                            for (AgencyCounter counter : AgencyCounter.values()) {
+                                long current = stored.stored(counter)
+                                    + inFlight.agency(agencyId, counter)
+                                    + pending.agency(agencyId, counter);
+                                long gap = actual.agency(agencyId, counter) - current;
+                                if (gap != 0) {
+                                    pending.addAgency(agencyId, counter, gap);
+                                }
+                            }
+                        }
+                    }), CONCURRENCY);
+
+            return Mono.when(organization, agencies);
+        });
+    }
+
+    /**
+     * Écriture planifiée des compteurs accumulés
+     */
+    @Scheduled(initialDelayString = "${app.statistics.flush-seconds:10}",
+        fixedDelayString = "${app.statistics.flush-seconds:10}",
+        timeUnit = TimeUnit.SECONDS)
+    public Mono<Void> scheduledFlush() {
+        return flush();
+    }
+
+    /**
+     * Écrit les compteurs accumulés ; les lignes en échec sont remises en attente pour l'écriture suivante.
+     * Jusqu'à son acquittement, une ligne reste lisible dans les incréments en cours d'écriture.
+     * Les compteurs sont pris à la souscription, pas à l'assemblage.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(this::flushPending);
+    }
+
+    private Mono<Void> flushPending() {
+        if (!flushing.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        Deltas flushed;
+        Map<UUID, Map<OrganizationCounter, Long>> organizations;
+        Map<UUID, Map<AgencyCounter, Long>> agencies;
+        synchronized (lock) {
+            // Écriture précédente annulée : ses lignes non acquittées sont réécrites (au moins une fois)
+            pending.addAll(inFlight);
+            flushed = pending;
+            inFlight = flushed;
+            pending = new Deltas();
+            organizations = Map.copyOf(flushed.organizations);
+            agencies = Map.copyOf(flushed.agencies);
+        }
+        if (organizations.isEmpty() && agencies.isEmpty()) {
+            flushing.set(false);
+            return Mono.empty();
+        }
+
+        Flux<Void> organizationWrites = Flux.fromIterable(organizations.entrySet())
+            .flatMap(entry -> organizationStatsRepository.increment(entry.getKey(), entry.getValue())
+                .doOnSuccess(v -> {
+                    synchronized (lock) {
+                        flushed.organizations.remove(entry.getKey());
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Could not flush statistics of organization {}: {}", entry.getKey(), error.getMessage());
+                    synchronized (lock) {
+                        flushed.organizations.remove(entry.getKey());
+                        entry.getValue().forEach((counter, delta) -> pending.addOrganization(entry.getKey(), counter, delta));
+                    }
+                    return Mono.empty();
+                }), CONCURRENCY);
+        Flux<Void> agencyWrites = Flux.fromIterable(agencies.entrySet())
+            .flatMap(entry -> agencyStatsRepository.increment(entry.getKey(), entry.getValue())
+                .doOnSuccess(v -> {
+                    synchronized (lock) {
+                        flushed.agencies.remove(entry.getKey());
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Could not flush statistics of agency {}: {}", entry.getKey(), error.getMessage());
+                    synchronized (lock) {
+                        flushed.agencies.remove(entry.getKey());
+                        entry.getValue().forEach((counter, delta) -> pending.addAgency(entry.getKey(), counter, delta));
+                    }
+                    return Mono.empty();
+                }), CONCURRENCY);
+
+        return Flux.concat(organizationWrites, agencyWrites)
+            .then()
+            .doOnSuccess(v -> log.debug("Flushed statistics of {} organizations and {} agencies",
+                organizations.size(), agencies.size()))
+            .doFinally(signal -> flushing.set(false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Pending statistics lost on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isAddition(StatisticsEventType type) {
+        return type == StatisticsEventType.AGENCY_ADDED
+            || type == StatisticsEventType.USER_ADDED
+            || type == StatisticsEventType.ROLE_ASSIGNED;
+    }
+
+    /**
+     * Incréments par ligne d'organisation et d'agence, modifiés sous le verrou de l'agrégateur
+     */
+    private static final class Deltas {
+
+        private final Map<UUID, Map<OrganizationCounter, Long>> organizations = new HashMap<>();
+        private final Map<UUID, Map<AgencyCounter, Long>> agencies = new HashMap<>();
+
+        void record(StatisticsEvent event) {
+            if (event.getOrganizationId() == null) {
+                return;
+            }
+            long delta = isAddition(event.getType()) ? 1 : -1;
+            UUID organizationId = event.getOrganizationId();
+            UUID agencyId = event.getAgencyId();
+
+            switch (event.getType()) {
+                case AGENCY_ADDED, AGENCY_REMOVED -> {
+                    addOrganization(organizationId, OrganizationCounter.TOTAL_AGENCIES, delta);
+                    if (event.isActive()) {
+                        addOrganization(organizationId, OrganizationCounter.ACTIVE_AGENCIES, delta);
+                    }
+                }
+                case USER_ADDED, USER_REMOVED -> recordUser(event, delta);
+                case ROLE_ASSIGNED, ROLE_REVOKED -> {
+                    addOrganization(organizationId, OrganizationCounter.ROLE_ASSIGNMENTS, delta);
+                    if (agencyId != null) {
+                        addAgency(agencyId, AgencyCounter.ROLE_ASSIGNMENTS, delta);
+                    }
+                }
+            }
+        }
+
+        private void recordUser(StatisticsEvent event, long delta) {
+            UUID organizationId = event.getOrganizationId();
+            UserType userType = event.getUserType();
+            boolean personnel = PERSONNEL_TYPES.contains(userType);
+            boolean driver = UserType.DRIVER.equals(userType);
+
+            addOrganization(organizationId, OrganizationCounter.TOTAL_USERS, delta);
+            if (event.isActive()) {
+                addOrganization(organizationId, OrganizationCounter.ACTIVE_USERS, delta);
+            }
+            if (personnel) {
+                addOrganization(organizationId, OrganizationCounter.PERSONNEL, delta);
+            }
+            if (UserType.CLIENT.equals(userType)) {
+                addOrganization(organizationId, OrganizationCounter.CLIENTS, delta);
+            }
+            if (driver) {
+                addOrganization(organizationId, OrganizationCounter.DRIVERS, delta);
+            }
+
+            UUID agencyId = event.getAgencyId();
+            if (agencyId == null || !personnel) {
+                return;
+            }
+            addAgency(agencyId, AgencyCounter.TOTAL_PERSONNEL, delta);
+            if (event.isActive()) {
+                addAgency(agencyId, AgencyCounter.ACTIVE_PERSONNEL, delta);
+            }
+            if (driver) {
+                addAgency(agencyId, AgencyCounter.TOTAL_DRIVERS, delta);
+                if (event.isActive()) {
+                    addAgency(agencyId, AgencyCounter.ACTIVE_DRIVERS, delta);
+                }
+            }
+        }
+
+        void addOrganization(UUID organizationId, OrganizationCounter counter, long delta) {
+            organizations.computeIfAbsent(organizationId, id -> new EnumMap<>(OrganizationCounter.class))
+                .merge(counter, delta, Long::sum);
+        }
+
+        void addAgency(UUID agencyId, AgencyCounter counter, long delta) {
+            agencies.computeIfAbsent(agencyId, id -> new EnumMap<>(AgencyCounter.class))
+                .merge(counter, delta, Long::sum);
+        }
+
+        void addAll(Deltas other) {
+            other.organizations.forEach((id, deltas) -> deltas.forEach((counter, delta) -> addOrganization(id, counter, delta)));
+            other.agencies.forEach((id, deltas) -> deltas.forEach((counter, delta) -> addAgency(id, counter, delta)));
+        }
+
+        long organization(UUID organizationId, OrganizationCounter counter) {
+            return organizations.getOrDefault(organizationId, Map.of()).getOrDefault(counter, 0L);
+        }
+
+        long agency(UUID agencyId, AgencyCounter counter) {
+            return agencies.getOrDefault(agencyId, Map.of()).getOrDefault(counter, 0L);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.event.SubscriptionPlanChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import inc.yowyob.rental_api_reactive.persistence.repository.SubscriptionPlanReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Catalogue en mémoire des plans d'abonnement (quelques lignes, quasi immuables).
+ * Rechargé au démarrage, à chaque modification d'un plan et périodiquement
+ * pour suivre les modifications faites par d'autres instances.
+ */
+@Service
+@Slf4j
+public class SubscriptionPlanCatalogReactiveService {
+
+    private final SubscriptionPlanReactiveRepository subscriptionPlanRepository;
+    private final Duration refreshInterval;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    private volatile Map<UUID, SubscriptionPlan> plansById = Collections.emptyMap();
+    private volatile Instant loadedAt = Instant.EPOCH;
+
+    public SubscriptionPlanCatalogReactiveService(SubscriptionPlanReactiveRepository subscriptionPlanRepository,
+                                                  AppProperties appProperties) {
+        this.subscriptionPlanRepository = subscriptionPlanRepository;
+        this.refreshInterval = Duration.ofMinutes(appProperties.getCache().getPlanCatalogRefreshMinutes());
+    }
+
+    /**
+     * Plan du catalogue ; lu en base s'il n'y figure pas encore (catalogue non chargé ou plan récent)
+     */
+    public Mono<SubscriptionPlan> getPlan(UUID planId) {
+        if (planId == null) {
+            return Mono.empty();
+        }
+        refreshIfStale();
+        SubscriptionPlan plan = plansById.get(planId);
+        if (plan != null) {
+            return Mono.just(plan);
+        }
+        return subscriptionPlanRepository.findById(planId);
+    }
+
+    /**
+     * Recharge entièrement le catalogue
+     */
+    public Mono<Void> reload() {
+        return subscriptionPlanRepository.findAll()
+            .collectMap(SubscriptionPlan::getId)
+            .doOnNext(plans -> {
+                plansById = Collections.unmodifiableMap(plans);
+                loadedAt = Instant.now();
+                log.info("Loaded {} subscription plans in catalog", plans.size());
+            })
+            .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        triggerReload();
+    }
+
+    /**
+     * Rechargement sur création, modification ou désactivation d'un plan
+     */
+    @EventListener
+    public void onSubscriptionPlanChanged(SubscriptionPlanChangedEvent event) {
+        log.debug("Subscription plan changed: {}", event.getPlanId());
+        triggerReload();
+    }
+
+    private void refreshIfStale() {
+        if (!reloading.get() && loadedAt.plus(refreshInterval).isBefore(Instant.now())) {
+            triggerReload();
+        }
+    }
+
+    /**
+     * Lance un rechargement en arrière-plan (un seul à la fois ; une demande reçue
+     * pendant un rechargement en relance un autre à la fin)
+     */
+    private void triggerReload() {
+        reloadPending.set(true);
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+        reloadPending.set(false);
+        reload()
+            .doFinally(signal -> {
+                reloading.set(false);
+                if (reloadPending.get()) {
+                    triggerReload();
+                }
+            })
+            .subscribe(
+                unused -> { },
+                error -> log.error("Error reloading subscription plan catalog: {}", error.getMessage()));
+    }
+}
@@ -1,9 +1,11 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.event.SubscriptionPlanChangedEvent;
 import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
 import inc.yowyob.rental_api_reactive.persistence.repository.SubscriptionPlanReactiveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -17,6 +19,7 @@ import java.util.UUID;
 public class SubscriptionPlanReactiveService {
 
     private final SubscriptionPlanReactiveRepository subscriptionPlanRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les plans d'abonnement actifs
@@ -70,6 +73,7 @@ public class SubscriptionPlanReactiveService {
     public Mono<SubscriptionPlan> savePlan(SubscriptionPlan plan) {
         log.info("Saving subscription plan: {}", plan.getName());
         return subscriptionPlanRepository.save(plan)
+            .doOnNext(savedPlan -> eventPublisher.publishEvent(new SubscriptionPlanChangedEvent(savedPlan.getId())))
             .doOnSuccess(savedPlan -> log.info("Successfully saved plan: {}", savedPlan.getId()));
     }
 
@@ -96,6 +100,7 @@ public class SubscriptionPlanReactiveService {
                 return plan;
             })
             .flatMap(subscriptionPlanRepository::save)
+            .doOnNext(plan -> eventPublisher.publishEvent(new SubscriptionPlanChangedEvent(planId)))
             .doOnSuccess(plan -> log.info("Successfully deactivated plan: {}", planId));
     }
 }
@@ -0,0 +1,304 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.SubscriptionStatus;
+import inc.yowyob.rental_api_reactive.application.dto.SubscriptionSweepResult;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationLimitsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import inc.yowyob.rental_api_reactive.persistence.entity.SweepCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationSubscriptionReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.SweepCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenRange;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenizedRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Balayage planifié des abonnements : la table organizations est découpée en plages de jetons
+ * parcourues en parallèle (concurrence et taille de page bornées). Chaque passage traite les échéances
+ * de sa fenêtre ]début du passage précédent, début du passage] : renouvellement automatique par lots,
+ * sinon passage des abonnements à EXPIRED. L'avancement est enregistré par plage (sweep_checkpoints) :
+ * un passage interrompu reprend là où il s'est arrêté.
+ */
+@Service
+@Slf4j
+public class SubscriptionSweepReactiveService {
+
+    public static final String SWEEP_NAME = "subscription_expiry";
+
+    private final OrganizationReactiveRepository organizationRepository;
+    private final OrganizationSubscriptionReactiveRepository organizationSubscriptionRepository;
+    private final SweepCheckpointReactiveRepository checkpointRepository;
+    private final SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties.SubscriptionSweep properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SubscriptionSweepReactiveService(OrganizationReactiveRepository organizationRepository,
+                                            OrganizationSubscriptionReactiveRepository organizationSubscriptionRepository,
+                                            SweepCheckpointReactiveRepository checkpointRepository,
+                                            SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog,
+                                            ApplicationEventPublisher eventPublisher,
+                                            AppProperties appProperties) {
+        this.organizationRepository = organizationRepository;
+        this.organizationSubscriptionRepository = organizationSubscriptionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.subscriptionPlanCatalog = subscriptionPlanCatalog;
+        this.eventPublisher = eventPublisher;
+        this.properties = appProperties.getSubscriptionSweep();
+    }
+
+    /**
+     * Passage planifié (le suivant démarre intervalMinutes après la fin du précédent)
+     */
+    @Scheduled(initialDelayString = "${app.subscription-sweep.interval-minutes:15}",
+        fixedDelayString = "${app.subscription-sweep.interval-minutes:15}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledSweep() {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return sweep()
+            .doOnNext(result -> log.info("Subscription sweep finished in {}: {} scanned, {} expired, {} renewed",
+                result.getDuration(), result.getScanned(), result.getExpired(), result.getRenewed()))
+            .onErrorResume(error -> {
+                log.error("Subscription sweep failed, it will resume from its checkpoints", error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Exécute un passage complet (ou reprend le passage interrompu) ; vide si un passage est déjà en cours
+     */
+    public Mono<SubscriptionSweepResult> sweep() {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.debug("Subscription sweep already running");
+                return Mono.empty();
+            }
+            return prepareRun()
+                .flatMap(this::runSweep)
+                .doFinally(signal -> running.set(false));
+        });
+    }
+
+    // === MÉTHODES PRIVÉES ===
+
+    /**
+     * Reprend le dernier passage s'il reste des plages inachevées, sinon en démarre un nouveau
+     */
+    private Mono<SweepRun> prepareRun() {
+        return checkpointRepository.findBySweepName(SWEEP_NAME)
+            .collectList()
+            .flatMap(checkpoints -> {
+                Optional<LocalDateTime> lastRunStartedAt = checkpoints.stream()
+                    .map(SweepCheckpoint::getRunStartedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder());
+
+                if (lastRunStartedAt.isPresent()) {
+                    List<SweepCheckpoint> lastRun = checkpoints.stream()
+                        .filter(checkpoint -> lastRunStartedAt.get().equals(checkpoint.getRunStartedAt()))
+                        .toList();
+                    if (lastRun.stream().anyMatch(checkpoint -> !checkpoint.isCompleted())) {
+                        log.info("Resuming subscription sweep started at {}", lastRunStartedAt.get());
+                        return Mono.just(new SweepRun(lastRunStartedAt.get(), true, lastRun));
+                    }
+                }
+
+                return startRun(lastRunStartedAt.orElse(null));
+            });
+    }
+
+    private Mono<SweepRun> startRun(LocalDateTime windowStart) {
+        // Précision milliseconde : la valeur relue dans Cassandra doit rester égale
+        LocalDateTime runStartedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<SweepCheckpoint> checkpoints = TokenRange.split(properties.getTokenRanges()).stream()
+            .map(range -> SweepCheckpoint.start(SWEEP_NAME, range, runStartedAt, windowStart))
+            .toList();
+
+        log.info("Starting subscription sweep over {} token ranges (window after {})", checkpoints.size(), windowStart);
+        return checkpointRepository.saveAll(checkpoints)
+            .then(Mono.just(new SweepRun(runStartedAt, false, checkpoints)));
+    }
+
+    private Mono<SubscriptionSweepResult> runSweep(SweepRun run) {
+        long startedNanos = System.nanoTime();
+        SweepCounters counters = new SweepCounters();
+        List<SweepCheckpoint> pending = run.checkpoints().stream()
+            .filter(checkpoint -> !checkpoint.isCompleted())
+            .toList();
+
+        return Flux.fromIterable(pending)
+            .flatMap(checkpoint -> sweepRange(checkpoint, counters), properties.getConcurrency())
+            .then(Mono.fromSupplier(() -> SubscriptionSweepResult.builder()
+                .runStartedAt(run.startedAt())
+                .resumed(run.resumed())
+                .rangesProcessed(pending.size())
+                .scanned(counters.scanned.get())
+                .expired(counters.expired.get())
+                .renewed(counters.renewed.get())
+                .duration(Duration.ofNanos(System.nanoTime() - startedNanos))
+                .build()));
+    }
+
+    /**
+     * Parcourt une plage depuis son dernier jeton traité ; point de reprise tous les checkpointInterval lignes
+     */
+    private Mono<Void> sweepRange(SweepCheckpoint checkpoint, SweepCounters counters) {
+        return organizationRepository.scanSubscriptions(checkpoint.getLastToken(), checkpoint.getRangeEnd(), properties.getPageSize())
+            .buffer(properties.getCheckpointInterval())
+            .concatMap(chunk -> processChunk(chunk, checkpoint, counters)
+                .then(Mono.defer(() -> {
+                    checkpoint.setLastToken(chunk.get(chunk.size() - 1).getToken());
+                    checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    return checkpointRepository.save(checkpoint);
+                })))
+            .then(Mono.defer(() -> {
+                checkpoint.setCompleted(true);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                return checkpointRepository.save(checkpoint);
+            }))
+            .then();
+    }
+
+    /**
+     * Traite les échéances d'un lot de lignes : expirations, puis renouvellements par lots
+     */
+    private Mono<Void> processChunk(List<TokenizedRow<Organization>> chunk, SweepCheckpoint checkpoint, SweepCounters counters) {
+        counters.scanned.addAndGet(chunk.size());
+
+        Map<Boolean, List<Organization>> due = chunk.stream()
+            .map(TokenizedRow::getEntity)
+            .filter(organization -> isDue(organization, checkpoint.getWindowStart(), checkpoint.getRunStartedAt()))
+            .collect(Collectors.partitioningBy(organization -> Boolean.TRUE.equals(organization.getSubscriptionAutoRenew())));
+
+        if (due.get(true).isEmpty() && due.get(false).isEmpty()) {
+            return Mono.empty();
+        }
+
+        LocalDateTime windowEnd = checkpoint.getRunStartedAt();
+        return Flux.fromIterable(due.get(false))
+            .flatMap(organization -> expire(organization, windowEnd, counters), properties.getRenewalBatchSize())
+            .thenMany(Flux.fromIterable(due.get(true))
+                .buffer(properties.getRenewalBatchSize())
+                .concatMap(batch -> renewBatch(batch, windowEnd, counters)))
+            .then();
+    }
+
+    private static boolean isDue(Organization organization, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        LocalDateTime expiresAt = organization.getSubscriptionExpiresAt();
+        return expiresAt != null
+            && !expiresAt.isAfter(windowEnd)
+            && (windowStart == null || expiresAt.isAfter(windowStart));
+    }
+
+    /**
+     * Renouvelle un lot d'abonnements ; sans plan actif, l'abonnement expire
+     */
+    private Mono<Void> renewBatch(List<Organization> batch, LocalDateTime windowEnd, SweepCounters counters) {
+        return Flux.fromIterable(batch)
+            .flatMap(organization -> subscriptionPlanCatalog.getPlan(organization.getSubscriptionPlanId())
+                .filter(plan -> Boolean.TRUE.equals(plan.getIsActive())
+                    && plan.getDurationDays() != null && plan.getDurationDays() > 0)
+                .flatMap(plan -> renew(organization, plan, windowEnd, counters))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("No active plan to renew subscription of organization {}", organization.getId());
+                    return expire(organization, windowEnd, counters);
+                })), batch.size())
+            .then();
+    }
+
+    private Mono<Void> renew(Organization scanned, SubscriptionPlan plan, LocalDateTime windowEnd, SweepCounters counters) {
+        LocalDateTime now = LocalDateTime.now();
+        AtomicBoolean renewed = new AtomicBoolean();
+
+        // Mutation relue et réappliquée en cas de conflit : sans effet si un autre passage a déjà renouvelé
+        return organizationRepository.update(scanned.getId(), organization -> {
+                renewed.set(false);
+                LocalDateTime expiresAt = organization.getSubscriptionExpiresAt();
+                if (expiresAt == null || expiresAt.isAfter(windowEnd)
+                    || !Boolean.TRUE.equals(organization.getSubscriptionAutoRenew())) {
+                    return;
+                }
+                organization.updateSubscription(plan.getId(), nextExpiry(expiresAt, plan.getDurationDays(), now), true);
+                renewed.set(true);
+            })
+            .filter(organization -> renewed.get())
+            .flatMap(organization -> organizationSubscriptionRepository.findByOrganizationId(organization.getId())
+                .filter(subscription -> subscription.getStatus() == SubscriptionStatus.ACTIVE
+                    && subscription.getEndDate() != null
+                    && subscription.getEndDate().isBefore(organization.getSubscriptionExpiresAt()))
+                .flatMap(subscription -> {
+                    subscription.setEndDate(organization.getSubscriptionExpiresAt());
+                    subscription.setNextBillingDate(organization.getSubscriptionExpiresAt());
+                    subscription.preUpdate();
+                    return organizationSubscriptionRepository.save(subscription);
+                })
+                .then(Mono.fromRunnable(() -> {
+                    counters.renewed.incrementAndGet();
+                    // Les instantanés de quotas en cache portent l'ancienne échéance
+                    eventPublisher.publishEvent(new OrganizationLimitsChangedEvent(organization.getId()));
+                    eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
+                })))
+            .then();
+    }
+
+    /**
+     * Nouvelle échéance : prolonge la période en cours, ou repart de maintenant si elle est déjà dépassée d'une période
+     */
+    static LocalDateTime nextExpiry(LocalDateTime expiresAt, int durationDays, LocalDateTime now) {
+        LocalDateTime extended = expiresAt.plusDays(durationDays);
+        return extended.isAfter(now) ? extended : now.plusDays(durationDays);
+    }
+
+    private Mono<Void> expire(Organization organization, LocalDateTime windowEnd, SweepCounters counters) {
+        return organizationSubscriptionRepository.findByOrganizationId(organization.getId())
+            .filter(subscription -> subscription.getStatus() == SubscriptionStatus.ACTIVE
+                && subscription.getEndDate() != null
+                && !subscription.getEndDate().isAfter(windowEnd))
+            .flatMap(subscription -> {
+                subscription.setStatus(SubscriptionStatus.EXPIRED);
+                subscription.preUpdate();
+                return organizationSubscriptionRepository.save(subscription);
+            })
+            .count()
+            .doOnNext(count -> {
+                if (count > 0) {
+                    counters.expired.incrementAndGet();
+                }
+            })
+            .then();
+    }
+
+    private record SweepRun(LocalDateTime startedAt, boolean resumed, List<SweepCheckpoint> checkpoints) {
+    }
+
+    private static final class SweepCounters {
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong expired = new AtomicLong();
+        private final AtomicLong renewed = new AtomicLong();
+    }
+}
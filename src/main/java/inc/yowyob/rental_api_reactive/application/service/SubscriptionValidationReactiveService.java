@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.ResourceLimitInfo;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SubscriptionChangeValidation;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SubscriptionLimitsResponse;
@@ -7,8 +8,6 @@ import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SubscriptionValidat
 import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
 import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
 import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
-import inc.yowyob.rental_api_reactive.persistence.repository.SubscriptionPlanReactiveRepository;
-import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,114 +25,36 @@ import java.util.UUID;
 public class SubscriptionValidationReactiveService {
 
     private final OrganizationReactiveRepository organizationRepository;
-    private final SubscriptionPlanReactiveRepository subscriptionPlanRepository;
-    private final AgencyReactiveRepository agencyRepository;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final QuotaReactiveService quotaService;
+    private final SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog;
 
     /**
      * Valide si une organisation peut créer une nouvelle agence
      */
     public Mono<Boolean> validateAgencyCreationLimit(UUID organizationId) {
-        log.debug("Validating agency creation limit for organization: {}", organizationId);
-
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                // Vérifier que l'abonnement est actif
-                if (!organization.isSubscriptionActive()) {
-                    log.warn("Organization {} has expired subscription", organizationId);
-                    return Mono.just(false);
-                }
-
-                // Compter les agences actuelles
-                return agencyRepository.countActiveByOrganizationId(organizationId)
-                    .map(currentAgencies -> {
-                        boolean canCreate = currentAgencies < organization.getMaxAgencies();
-
-                        if (!canCreate) {
-                            log.warn("Organization {} has reached agency limit: {}/{}",
-                                organizationId, currentAgencies, organization.getMaxAgencies());
-                        }
-
-                        return canCreate;
-                    });
-            })
-            .doOnNext(canCreate -> log.debug("Agency creation validation result for organization {}: {}",
-                organizationId, canCreate));
+        return validateCreationLimit(organizationId, UsageResource.AGENCIES);
     }
 
     /**
      * Valide si une organisation peut ajouter un véhicule
      */
     public Mono<Boolean> validateVehicleCreationLimit(UUID organizationId) {
-        log.debug("Validating vehicle creation limit for organization: {}", organizationId);
-
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .map(organization -> {
-                if (!organization.isSubscriptionActive()) {
-                    log.warn("Organization {} has expired subscription", organizationId);
-                    return false;
-                }
-
-                boolean canCreate = organization.canAddVehicle();
-
-                if (!canCreate) {
-                    log.warn("Organization {} has reached vehicle limit: {}/{}",
-                        organizationId, organization.getCurrentVehicles(), organization.getMaxVehicles());
-                }
-
-                return canCreate;
-            });
+        return validateCreationLimit(organizationId, UsageResource.VEHICLES);
     }
 
     /**
      * Valide si une organisation peut ajouter un chauffeur
      */
     public Mono<Boolean> validateDriverCreationLimit(UUID organizationId) {
-        log.debug("Validating driver creation limit for organization: {}", organizationId);
-
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .map(organization -> {
-                if (!organization.isSubscriptionActive()) {
-                    log.warn("Organization {} has expired subscription", organizationId);
-                    return false;
-                }
-
-                boolean canCreate = organization.canAddDriver();
-
-                if (!canCreate) {
-                    log.warn("Organization {} has reached driver limit: {}/{}",
-                        organizationId, organization.getCurrentDrivers(), organization.getMaxDrivers());
-                }
-
-                return canCreate;
-            });
+        return validateCreationLimit(organizationId, UsageResource.DRIVERS);
     }
 
     /**
      * Valide si une organisation peut ajouter un utilisateur
      */
     public Mono<Boolean> validateUserCreationLimit(UUID organizationId) {
-        log.debug("Validating user creation limit for organization: {}", organizationId);
-
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .map(organization -> {
-                if (!organization.isSubscriptionActive()) {
-                    log.warn("Organization {} has expired subscription", organizationId);
-                    return false;
-                }
-
-                boolean canCreate = organization.canAddUser();
-
-                if (!canCreate) {
-                    log.warn("Organization {} has reached user limit: {}/{}",
-                        organizationId, organization.getCurrentUsers(), organization.getMaxUsers());
-                }
-
-                return canCreate;
-            });
+        return validateCreationLimit(organizationId, UsageResource.USERS);
     }
 
     /**
@@ -142,12 +63,8 @@ public class SubscriptionValidationReactiveService {
     public Mono<SubscriptionLimitsResponse> getOrganizationLimits(UUID organizationId) {
         log.debug("Getting subscription limits for organization: {}", organizationId);
 
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                return agencyRepository.countActiveByOrganizationId(organizationId)
-                    .map(activeAgencies -> buildLimitsResponse(organization, activeAgencies.intValue()));
-            });
+        return findOrganizationWithUsage(organizationId)
+            .map(this::buildLimitsResponse);
     }
 
     /**
@@ -156,18 +73,17 @@ public class SubscriptionValidationReactiveService {
     public Mono<Boolean> isFeatureAvailable(UUID organizationId, String featureName) {
         log.debug("Checking feature availability: {} for organization: {}", featureName, organizationId);
 
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                if (!organization.isSubscriptionActive()) {
+        return quotaService.getSnapshot(organizationId)
+            .flatMap(snapshot -> {
+                if (!snapshot.isSubscriptionActive()) {
                     return Mono.just(false);
                 }
 
-                if (organization.getSubscriptionPlanId() == null) {
+                if (snapshot.getSubscriptionPlanId() == null) {
                     return Mono.just(false);
                 }
 
-                return subscriptionPlanRepository.findById(organization.getSubscriptionPlanId())
+                return subscriptionPlanCatalog.getPlan(snapshot.getSubscriptionPlanId())
                     .map(plan -> isFeatureEnabledInPlan(plan, featureName))
                     .defaultIfEmpty(false);
             });
@@ -179,39 +95,35 @@ public class SubscriptionValidationReactiveService {
     public Mono<SubscriptionValidationResult> validateAllLimits(UUID organizationId) {
         log.debug("Validating all limits for organization: {}", organizationId);
 
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .flatMap(organization -> {
-                return agencyRepository.countActiveByOrganizationId(organizationId)
-                    .map(activeAgencies -> {
-                        SubscriptionValidationResult result = new SubscriptionValidationResult();
-                        result.setOrganizationId(organizationId);
-                        result.setSubscriptionActive(organization.isSubscriptionActive());
-
-                        // Vérification des limites
-                        result.setCanCreateAgency(activeAgencies < organization.getMaxAgencies());
-                        result.setCanAddVehicle(organization.canAddVehicle());
-                        result.setCanAddDriver(organization.canAddDriver());
-                        result.setCanAddUser(organization.canAddUser());
-
-                        // Calcul des pourcentages d'utilisation
-                        result.setAgencyUsagePercentage(organization.getAgencyUsagePercentage());
-                        result.setVehicleUsagePercentage(organization.getVehicleUsagePercentage());
-                        result.setDriverUsagePercentage(organization.getDriverUsagePercentage());
-                        result.setUserUsagePercentage(organization.getUserUsagePercentage());
-
-                        // Alertes
-                        result.setHasLimitWarnings(
-                            result.getAgencyUsagePercentage() > 80 ||
-                                result.getVehicleUsagePercentage() > 80 ||
-                                result.getDriverUsagePercentage() > 80 ||
-                                result.getUserUsagePercentage() > 80
-                        );
-
-                        result.setSubscriptionExpiringSoon(organization.isSubscriptionExpiringSoon());
-
-                        return result;
-                    });
+        return findOrganizationWithUsage(organizationId)
+            .map(organization -> {
+                SubscriptionValidationResult result = new SubscriptionValidationResult();
+                result.setOrganizationId(organizationId);
+                result.setSubscriptionActive(organization.isSubscriptionActive());
+
+                // Vérification des limites
+                result.setCanCreateAgency(organization.canCreateAgency());
+                result.setCanAddVehicle(organization.canAddVehicle());
+                result.setCanAddDriver(organization.canAddDriver());
+                result.setCanAddUser(organization.canAddUser());
+
+                // Calcul des pourcentages d'utilisation
+                result.setAgencyUsagePercentage(organization.getAgencyUsagePercentage());
+                result.setVehicleUsagePercentage(organization.getVehicleUsagePercentage());
+                result.setDriverUsagePercentage(organization.getDriverUsagePercentage());
+                result.setUserUsagePercentage(organization.getUserUsagePercentage());
+
+                // Alertes
+                result.setHasLimitWarnings(
+                    result.getAgencyUsagePercentage() > 80 ||
+                        result.getVehicleUsagePercentage() > 80 ||
+                        result.getDriverUsagePercentage() > 80 ||
+                        result.getUserUsagePercentage() > 80
+                );
+
+                result.setSubscriptionExpiringSoon(organization.isSubscriptionExpiringSoon());
+
+                return result;
             });
     }
 
@@ -221,49 +133,68 @@ public class SubscriptionValidationReactiveService {
     public Mono<SubscriptionChangeValidation> validateSubscriptionChange(UUID organizationId, UUID newPlanId) {
         log.debug("Validating subscription change for organization {} to plan {}", organizationId, newPlanId);
 
-        return organizationRepository.findById(organizationId)
-            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
-            .zipWith(subscriptionPlanRepository.findById(newPlanId)
+        return findOrganizationWithUsage(organizationId)
+            .zipWith(subscriptionPlanCatalog.getPlan(newPlanId)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Plan d'abonnement non trouvé"))))
-            .flatMap(tuple -> {
+            .map(tuple -> {
                 Organization organization = tuple.getT1();
                 SubscriptionPlan newPlan = tuple.getT2();
 
-                return agencyRepository.countActiveByOrganizationId(organizationId)
-                    .map(activeAgencies -> {
-                        SubscriptionChangeValidation validation = new SubscriptionChangeValidation();
-                        validation.setOrganizationId(organizationId);
-                        validation.setNewPlanId(newPlanId);
-                        validation.setIsUpgrade(newPlan.getPrice().compareTo(getCurrentPlanPrice(organization)) > 0);
-
-                        // Vérifier les contraintes du nouveau plan
-                        validation.setAgencyLimitSufficient(activeAgencies <= newPlan.getMaxAgencies());
-                        validation.setVehicleLimitSufficient(organization.getCurrentVehicles() <= newPlan.getMaxVehicles());
-                        validation.setDriverLimitSufficient(organization.getCurrentDrivers() <= newPlan.getMaxDrivers());
-                        validation.setUserLimitSufficient(organization.getCurrentUsers() <= newPlan.getMaxUsers());
-
-                        validation.setCanChange(
-                            validation.getAgencyLimitSufficient() &&
-                                validation.getVehicleLimitSufficient() &&
-                                validation.getDriverLimitSufficient() &&
-                                validation.getUserLimitSufficient()
-                        );
-
-                        if (!validation.getCanChange()) {
-                            validation.setBlockingReasons(buildBlockingReasons(validation, organization, newPlan));
-                        }
-
-                        return validation;
-                    });
+                SubscriptionChangeValidation validation = new SubscriptionChangeValidation();
+                validation.setOrganizationId(organizationId);
+                validation.setNewPlanId(newPlanId);
+                validation.setIsUpgrade(newPlan.getPrice().compareTo(getCurrentPlanPrice(organization)) > 0);
+
+                // Vérifier les contraintes du nouveau plan
+                validation.setAgencyLimitSufficient(organization.getCurrentAgencies() <= newPlan.getMaxAgencies());
+                validation.setVehicleLimitSufficient(organization.getCurrentVehicles() <= newPlan.getMaxVehicles());
+                validation.setDriverLimitSufficient(organization.getCurrentDrivers() <= newPlan.getMaxDrivers());
+                validation.setUserLimitSufficient(organization.getCurrentUsers() <= newPlan.getMaxUsers());
+
+                validation.setCanChange(
+                    validation.getAgencyLimitSufficient() &&
+                        validation.getVehicleLimitSufficient() &&
+                        validation.getDriverLimitSufficient() &&
+                        validation.getUserLimitSufficient()
+                );
+
+                if (!validation.getCanChange()) {
+                    validation.setBlockingReasons(buildBlockingReasons(validation, organization, newPlan));
+                }
+
+                return validation;
             });
     }
 
     // === MÉTHODES PRIVÉES ===
 
+    /**
+     * Vérifie qu'une ressource peut encore être ajoutée (abonnement actif et compteur sous la limite),
+     * depuis l'instantané de quotas en mémoire
+     */
+    private Mono<Boolean> validateCreationLimit(UUID organizationId, UsageResource resource) {
+        log.debug("Validating {} creation limit for organization: {}", resource, organizationId);
+
+        return quotaService.hasQuota(organizationId, resource, 1);
+    }
+
+    /**
+     * Charge l'organisation et ses compteurs tenant_usage (deux lectures mono-partition en parallèle)
+     */
+    private Mono<Organization> findOrganizationWithUsage(UUID organizationId) {
+        return organizationRepository.findById(organizationId)
+            .switchIfEmpty(Mono.error(new IllegalArgumentException("Organisation non trouvée")))
+            .zipWith(tenantUsageService.getUsage(organizationId), (organization, usage) -> {
+                organization.applyUsage(usage);
+                return organization;
+            });
+    }
+
     /**
      * Construit la réponse des limites
      */
-    private SubscriptionLimitsResponse buildLimitsResponse(Organization organization, int activeAgencies) {
+    private SubscriptionLimitsResponse buildLimitsResponse(Organization organization) {
+        int activeAgencies = organization.getCurrentAgencies();
         return SubscriptionLimitsResponse.builder()
             .organizationId(organization.getId())
             .subscriptionActive(organization.isSubscriptionActive())
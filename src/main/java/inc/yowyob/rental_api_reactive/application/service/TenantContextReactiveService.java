@@ -0,0 +1,122 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.infrastructure.web.dto.SecurityContext;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Résolution du contexte tenant d'un utilisateur (type, organisation, agence).
+ * Résolu au plus une fois par requête (mémo placé dans le contexte Reactor),
+ * derrière un cache inter-requêtes à courte durée de vie.
+ */
+@Service
+@Slf4j
+public class TenantContextReactiveService {
+
+    public static final String CACHE_NAME = "tenantContexts";
+
+    /**
+     * Clé du mémo par requête dans le contexte Reactor
+     */
+    public static final String REQUEST_SCOPE_KEY = TenantContextReactiveService.class.getName() + ".requestScope";
+
+    private final UserReactiveRepository userRepository;
+    private final AsyncLoadingCache<UUID, SecurityContext> tenantCache;
+
+    public TenantContextReactiveService(UserReactiveRepository userRepository,
+                                        AppProperties appProperties,
+                                        MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+
+        AppProperties.Cache cacheProperties = appProperties.getCache();
+        this.tenantCache = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getTenantContextMaxSize())
+            .expireAfterWrite(Duration.ofSeconds(cacheProperties.getTenantContextExpireSeconds()))
+            .recordStats()
+            .buildAsync((userId, executor) -> loadSecurityContext(userId).toFuture());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tenantCache, CACHE_NAME);
+    }
+
+    /**
+     * Ouvre un mémo vide pour la requête courante (appelé par le filtre web)
+     */
+    public static Context withRequestScope(Context context) {
+        return context.put(REQUEST_SCOPE_KEY, new ConcurrentHashMap<UUID, Mono<SecurityContext>>());
+    }
+
+    /**
+     * Contexte de sécurité d'un utilisateur ; vide si l'utilisateur n'existe pas
+     */
+    public Mono<SecurityContext> getSecurityContext(UUID userId) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+
+        return Mono.deferContextual(context -> {
+            Optional<ConcurrentMap<UUID, Mono<SecurityContext>>> requestScope = context.getOrEmpty(REQUEST_SCOPE_KEY);
+            return requestScope
+                .map(memo -> memo.computeIfAbsent(userId, id -> fromCache(id).cache()))
+                .orElseGet(() -> fromCache(userId));
+        });
+    }
+
+    /**
+     * Invalide le contexte d'un utilisateur
+     */
+    public void evict(UUID userId) {
+        log.debug("Evicting tenant context for user: {}", userId);
+        tenantCache.synchronous().invalidate(userId);
+    }
+
+    /**
+     * Invalidation sur changement des rôles d'un utilisateur
+     */
+    @EventListener
+    public void onUserPermissionsChanged(UserPermissionsChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    private Mono<SecurityContext> fromCache(UUID userId) {
+        // suppressCancel : l'annulation d'un abonné ne doit pas annuler le chargement partagé
+        return Mono.fromFuture(() -> tenantCache.get(userId), true);
+    }
+
+    private Mono<SecurityContext> loadSecurityContext(UUID userId) {
+        log.debug("Loading tenant context for user: {}", userId);
+        return userRepository.findById(userId)
+            .map(TenantContextReactiveService::toSecurityContext);
+    }
+
+    private static SecurityContext toSecurityContext(User user) {
+        return SecurityContext.builder()
+            .userId(user.getId())
+            .userType(user.getUserType())
+            .organizationId(user.getOrganizationId())
+            .agencyId(user.getAgencyId())
+            .email(user.getEmail())
+            .fullName(user.getFullName())
+            .isActive(user.getIsActive())
+            .isEmailVerified(user.getIsEmailVerified())
+            .isSuperAdmin(user.getUserType() == UserType.SUPER_ADMIN)
+            .build();
+    }
+}
@@ -0,0 +1,140 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.TenantUsageChangedEvent;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.TenantUsageReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Service réactif des compteurs de consommation par organisation (table tenant_usage).
+ * Les vérifications de limites lisent une seule partition au lieu de COUNT(*) ALLOW FILTERING.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantUsageReactiveService {
+
+    private final TenantUsageReactiveRepository tenantUsageRepository;
+    private final AgencyReactiveRepository agencyRepository;
+    private final UserReactiveRepository userRepository;
+    private final DataMigrationRegistry migrationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Consommation d'une organisation (compteurs à zéro si aucune ligne).
+     * Tant que les compteurs n'ont pas été alignés sur l'existant, les agences et utilisateurs sont comptés.
+     */
+    public Mono<TenantUsage> getUsage(UUID organizationId) {
+        return migrationRegistry.isComplete(DataMigrationRegistry.TENANT_USAGE)
+            .flatMap(done -> done ? findUsage(organizationId) : countUsage(organizationId));
+    }
+
+    /**
+     * Aligne les compteurs d'une organisation sur ses agences actives et ses utilisateurs (par incréments).
+     * Un incrément concurrent entre la lecture et l'ajustement peut décaler le compteur d'autant.
+     */
+    public Mono<Void> reconcile(UUID organizationId) {
+        return Mono.zip(findUsage(organizationId), countUsage(organizationId))
+            .flatMap(usages -> Mono.when(
+                adjustTo(usages.getT1(), usages.getT2(), UsageResource.AGENCIES),
+                adjustTo(usages.getT1(), usages.getT2(), UsageResource.USERS),
+                adjustTo(usages.getT1(), usages.getT2(), UsageResource.DRIVERS)));
+    }
+
+    /**
+     * Incrémente le compteur d'une ressource
+     */
+    public Mono<Void> increment(UUID organizationId, UsageResource resource) {
+        return adjust(organizationId, resource, 1);
+    }
+
+    /**
+     * Décrémente le compteur d'une ressource
+     */
+    public Mono<Void> decrement(UUID organizationId, UsageResource resource) {
+        return adjust(organizationId, resource, -1);
+    }
+
+    /**
+     * Ajoute delta au compteur d'une ressource
+     */
+    public Mono<Void> adjust(UUID organizationId, UsageResource resource, long delta) {
+        if (organizationId == null) {
+            return Mono.empty();
+        }
+        log.debug("Adjusting {} usage of organization {} by {}", resource, organizationId, delta);
+        return tenantUsageRepository.increment(organizationId, resource, delta)
+            .doOnSuccess(v -> eventPublisher.publishEvent(new TenantUsageChangedEvent(organizationId, resource, delta)));
+    }
+
+    /**
+     * Comptabilise un utilisateur rattaché à une organisation (et un chauffeur le cas échéant)
+     */
+    public Mono<Void> recordUserAdded(User user) {
+        return adjustUser(user, 1);
+    }
+
+    /**
+     * Décompte un utilisateur rattaché à une organisation (et un chauffeur le cas échéant)
+     */
+    public Mono<Void> recordUserRemoved(User user) {
+        return adjustUser(user, -1);
+    }
+
+    private Mono<TenantUsage> findUsage(UUID organizationId) {
+        return tenantUsageRepository.findById(organizationId)
+            .defaultIfEmpty(TenantUsage.empty(organizationId));
+    }
+
+    /**
+     * Consommation réelle : agences actives, utilisateurs et chauffeurs comptés, véhicules repris des compteurs
+     */
+    private Mono<TenantUsage> countUsage(UUID organizationId) {
+        return Mono.zip(
+                findUsage(organizationId),
+                agencyRepository.countActiveByOrganizationId(organizationId),
+                userRepository.countByOrganizationId(organizationId),
+                userRepository.countByOrganizationIdAndUserType(organizationId, UserType.DRIVER))
+            .map(counts -> new TenantUsage(organizationId, counts.getT2(),
+                counts.getT1().get(UsageResource.VEHICLES), counts.getT4(), counts.getT3()));
+    }
+
+    private Mono<Void> adjustTo(TenantUsage current, TenantUsage actual, UsageResource resource) {
+        long delta = actual.get(resource) - stored(current, resource);
+        return delta != 0 ? adjust(current.getOrganizationId(), resource, delta) : Mono.empty();
+    }
+
+    // Valeur brute du compteur : un compteur passé sous zéro doit aussi être réaligné
+    private static long stored(TenantUsage usage, UsageResource resource) {
+        Long value = switch (resource) {
+            case AGENCIES -> usage.getAgencies();
+            case VEHICLES -> usage.getVehicles();
+            case DRIVERS -> usage.getDrivers();
+            case USERS -> usage.getUsers();
+        };
+        return value != null ? value : 0L;
+    }
+
+    private Mono<Void> adjustUser(User user, long delta) {
+        if (user.getOrganizationId() == null) {
+            return Mono.empty();
+        }
+        Mono<Void> users = adjust(user.getOrganizationId(), UsageResource.USERS, delta);
+        if (UserType.DRIVER.equals(user.getUserType())) {
+            return users.then(adjust(user.getOrganizationId(), UsageResource.DRIVERS, delta));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,140 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.persistence.entity.UniquenessReservation;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.UniquenessReservationReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Unicité des emails, noms et numéros : une transaction légère par clé (uniqueness_reservations)
+ * au lieu d'un COUNT(*) ALLOW FILTERING suivi d'une insertion. Les clés sont réservées avant
+ * l'écriture de l'entité et libérées si cette écriture échoue, ou à la suppression de l'entité.
+ * Une clé déjà réservée par le même détenteur est acceptée : une reprise ne bloque pas sur ses propres clés.
+ * Tant que les réservations des lignes existantes ne sont pas reprises (migration lookup_tables),
+ * une clé sans réservation est aussi vérifiée sur la table principale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniquenessReservationReactiveService {
+
+    private final UniquenessReservationReactiveRepository reservationRepository;
+    private final DataMigrationRegistry migrationRegistry;
+
+    /**
+     * Réserve les clés pour le détenteur, exécute l'action puis libère les clés réservées
+     * par cet appel si l'action échoue
+     */
+    public <T> Mono<T> withReservations(UUID ownerId, Collection<UniqueKey> keys, Mono<T> action) {
+        return Mono.defer(() -> {
+            List<UniqueKey> reserved = new ArrayList<>();
+            return Flux.fromIterable(keys)
+                .concatMap(key -> reserve(key, ownerId)
+                    .doOnNext(created -> {
+                        if (created) {
+                            reserved.add(key);
+                        }
+                    }))
+                .then(action)
+                .onErrorResume(error -> releaseAll(ownerId, reserved).then(Mono.error(error)));
+        });
+    }
+
+    /**
+     * Remplace des clés (changement de nom ou de numéro) : les nouvelles sont réservées avant l'action,
+     * les anciennes libérées après son succès
+     */
+    public <T> Mono<T> withReplacedKeys(UUID ownerId, Collection<UniqueKey> previousKeys,
+                                        Collection<UniqueKey> nextKeys, Mono<T> action) {
+        List<UniqueKey> added = nextKeys.stream().filter(key -> !previousKeys.contains(key)).toList();
+        List<UniqueKey> removed = previousKeys.stream().filter(key -> !nextKeys.contains(key)).toList();
+
+        return withReservations(ownerId, added, action)
+            .flatMap(result -> releaseAll(ownerId, removed).thenReturn(result));
+    }
+
+    /**
+     * Réserve une clé ; true si la réservation vient d'être créée, false si le détenteur l'avait déjà.
+     * Erreur de conflit si elle appartient à un autre détenteur.
+     */
+    public Mono<Boolean> reserve(UniqueKey key, UUID ownerId) {
+        UniquenessReservation reservation = UniquenessReservation.of(key, ownerId);
+
+        return reservationRepository.reserve(reservation)
+            .flatMap(current -> {
+                if (current == reservation) {
+                    return Mono.just(true);
+                }
+                if (ownerId.equals(current.getOwnerId())) {
+                    return Mono.just(false);
+                }
+                log.warn("{} already reserved by {}", key.getType(), current.getOwnerId());
+                return Mono.error(new IllegalArgumentException(key.getType().getConflictMessage()));
+            });
+    }
+
+    /**
+     * Libère une clé si elle appartient encore au détenteur
+     */
+    public Mono<Void> release(UniqueKey key, UUID ownerId) {
+        return reservationRepository.release(key, ownerId)
+            .doOnNext(released -> {
+                if (!released) {
+                    log.debug("{} not released: not held by {}", key.getType(), ownerId);
+                }
+            })
+            .then();
+    }
+
+    public Mono<Void> releaseAll(UUID ownerId, Collection<UniqueKey> keys) {
+        return Flux.fromIterable(keys)
+            .flatMap(key -> release(key, ownerId))
+            .then();
+    }
+
+    /**
+     * Indique si une clé est réservée
+     */
+    public Mono<Boolean> isReserved(UniqueKey key) {
+        return reservationRepository.findByKey(key).hasElement();
+    }
+
+    /**
+     * Erreur de conflit si la clé, sans réservation, est déjà présente dans la table principale
+     * (ligne antérieure à uniqueness_reservations) ; sans effet une fois la migration terminée
+     */
+    public Mono<Void> checkBaseTable(UniqueKey key, Mono<Long> baseTableCount) {
+        return migrationRegistry.isComplete(DataMigrationRegistry.LOOKUP_TABLES)
+            .filter(done -> !done)
+            .flatMap(pending -> isReserved(key))
+            .filter(reserved -> !reserved)
+            .flatMap(unreserved -> baseTableCount)
+            .flatMap(count -> count > 0
+                ? Mono.error(new IllegalArgumentException(key.getType().getConflictMessage()))
+                : Mono.empty())
+            .then();
+    }
+
+    /**
+     * Réserve la clé d'une entité existante (reprise des données antérieures à la table) ;
+     * un conflit est journalisé sans interrompre l'opération
+     */
+    public Mono<Void> claimExisting(UniqueKey key, UUID ownerId) {
+        return reserve(key, ownerId)
+            .onErrorResume(IllegalArgumentException.class, error -> {
+                log.warn("Duplicate {} found for {}: {}", key.getType(), ownerId, key.getValue());
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -1,15 +1,29 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
 import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -21,7 +35,21 @@ import java.util.UUID;
 @Slf4j
 public class UserReactiveService {
 
+    // Taille maximale d'une lecture par identifiants (requête IN)
+    private static final int ID_BATCH_SIZE = 100;
+
+    // Mêmes types que les requêtes de personnel du repository
+    private static final Set<UserType> PERSONNEL_TYPES =
+        EnumSet.of(UserType.AGENCY_MANAGER, UserType.RENTAL_AGENT, UserType.DRIVER);
+
     private final UserReactiveRepository userRepository;
+    private final UserRevocationReactiveService revocationService;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final UserSearchIndexReactiveService searchIndexService;
+    private final StatisticsAggregatorReactiveService statisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
 
     /**
      * Trouve tous les utilisateurs
@@ -83,6 +111,7 @@ public class UserReactiveService {
         log.debug("Saving user: {}", user.getEmail());
         user.prePersist();
         return userRepository.save(user)
+            .doOnNext(this::publishChanged)
             .map(this::mapToUserResponse)
             .doOnNext(saved -> log.info("User saved successfully: {}", saved.getEmail()));
     }
@@ -124,6 +153,7 @@ public class UserReactiveService {
                 user.preUpdate();
                 return userRepository.save(user);
             })
+            .doOnNext(this::publishChanged)
             .map(this::mapToUserResponse)
             .doOnSuccess(response -> log.info("User profile updated successfully: {}", userId));
     }
@@ -213,12 +243,18 @@ public class UserReactiveService {
         return userRepository.findById(userId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("User not found")))
             .flatMap(user -> {
+                StatisticsEvent previous = StatisticsEvent.userRemoved(user);
                 user.markAsDeleted(userId); // Self-deactivation
                 // Note: En production, enregistrer la raison dans une table d'audit
-                return userRepository.save(user);
+                return userRepository.save(user)
+                    .doOnNext(saved -> publishStatistics(previous, saved));
             })
+            .doOnNext(this::publishChanged)
             .then()
-            .doOnSuccess(v -> log.info("Account deactivated successfully for user: {}", userId));
+            .doOnSuccess(v -> {
+                revocationService.revokeUser(userId);
+                log.info("Account deactivated successfully for user: {}", userId);
+            });
     }
 
     /**
@@ -230,10 +266,19 @@ public class UserReactiveService {
         return userRepository.findById(userId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("User not found")))
             .flatMap(user -> {
+                StatisticsEvent previous = StatisticsEvent.userRemoved(user);
                 user.setIsActive(isActive);
                 user.setUpdatedBy(updatedBy);
                 user.preUpdate();
-                return userRepository.save(user);
+                return userRepository.save(user)
+                    .doOnNext(saved -> publishStatistics(previous, saved));
+            })
+            .doOnNext(user -> {
+                if (Boolean.TRUE.equals(user.getIsActive())) {
+                    revocationService.evictUser(userId);
+                } else {
+                    revocationService.revokeUser(userId);
+                }
             })
             .map(this::mapToUserResponse)
             .doOnSuccess(response -> log.info("User status updated successfully: {}", userId));
@@ -244,14 +289,22 @@ public class UserReactiveService {
      */
     public Mono<Void> deleteById(UUID id) {
         log.debug("Deleting user by ID: {}", id);
-        return userRepository.deleteById(id)
-            .doOnSuccess(v -> log.info("User deleted successfully: {}", id));
+        return userRepository.findById(id)
+            .flatMap(user -> userRepository.deleteById(id)
+                .then(tenantUsageService.recordUserRemoved(user))
+                .then(uniquenessService.release(UniqueKey.email(user.getEmail()), id))
+                .doOnSuccess(v -> eventPublisher.publishEvent(StatisticsEvent.userRemoved(user))))
+            .doOnSuccess(v -> {
+                revocationService.revokeUser(id);
+                eventPublisher.publishEvent(new UserChangedEvent(id));
+                log.info("User deleted successfully: {}", id);
+            });
     }
 
     /**
      * Trouve les utilisateurs par type
      */
-    public Flux<UserResponse> findByUserType(inc.yowyob.rental_api_reactive.application.dto.UserType userType) {
+    public Flux<UserResponse> findByUserType(UserType userType) {
         log.debug("Finding users by type: {}", userType);
         return userRepository.findByUserType(userType)
             .filter(user -> !user.getIsDeleted())
@@ -278,24 +331,134 @@ public class UserReactiveService {
             .map(this::mapToUserResponse);
     }
 
+    /**
+     * Page d'utilisateurs non supprimés
+     */
+    public Mono<CursorPage<UserResponse>> findPage(String cursor, Integer size) {
+        log.debug("Finding users page, size: {}", size);
+        return userRepository.findSlice(PagingCursor.toPageRequest(cursor, resolvePageSize(size)))
+            .map(this::toUserPage);
+    }
+
+    /**
+     * Page des utilisateurs d'une organisation
+     */
+    public Mono<CursorPage<UserResponse>> findPageByOrganizationId(UUID organizationId, String cursor, Integer size) {
+        log.debug("Finding users page by organization ID: {}", organizationId);
+        return userRepository.findSliceByOrganizationId(organizationId, PagingCursor.toPageRequest(cursor, resolvePageSize(size)))
+            .map(this::toUserPage);
+    }
+
+    /**
+     * Page des utilisateurs d'un type
+     */
+    public Mono<CursorPage<UserResponse>> findPageByUserType(UserType userType, String cursor, Integer size) {
+        log.debug("Finding users page by type: {}", userType);
+        return userRepository.findSliceByUserType(userType, PagingCursor.toPageRequest(cursor, resolvePageSize(size)))
+            .map(this::toUserPage);
+    }
+
+    /**
+     * Page du personnel d'une organisation
+     */
+    public Mono<CursorPage<UserResponse>> findPersonnelPageByOrganization(UUID organizationId, String cursor, Integer size) {
+        log.debug("Finding personnel page by organization: {}", organizationId);
+        return findPageByOrganizationId(organizationId, cursor, size)
+            .map(page -> page.filter(user -> PERSONNEL_TYPES.contains(user.getUserType())));
+    }
+
+    /**
+     * Page du personnel d'une agence
+     */
+    public Mono<CursorPage<UserResponse>> findPersonnelPageByAgency(UUID agencyId, String cursor, Integer size) {
+        log.debug("Finding personnel page by agency: {}", agencyId);
+        return userRepository.findSliceByAgencyId(agencyId, PagingCursor.toPageRequest(cursor, resolvePageSize(size)))
+            .map(this::toUserPage)
+            .map(page -> page.filter(user -> PERSONNEL_TYPES.contains(user.getUserType())));
+    }
+
+    /**
+     * Page de résultats de recherche, du plus pertinent au moins pertinent (index en mémoire)
+     */
+    public Mono<CursorPage<UserResponse>> searchPage(UUID organizationId, String query, UserType userType,
+                                                     String cursor, Integer size) {
+        log.debug("Searching users page for organization: {}", organizationId);
+        int pageSize = resolvePageSize(size);
+
+        return Mono.fromCallable(() -> PagingCursor.toOffset(cursor))
+            .flatMap(offset -> searchIndexService.search(organizationId, query, userType)
+                .flatMap(hits -> {
+                    // Calcul en long : un décalage proche de Integer.MAX_VALUE ne déborde pas
+                    int from = Math.min(offset, hits.size());
+                    int to = (int) Math.min((long) offset + pageSize, hits.size());
+                    String nextCursor = to < hits.size() ? PagingCursor.ofOffset(to) : null;
+                    return findUsersInOrder(hits.subList(from, to))
+                        .collectList()
+                        .map(users -> new CursorPage<>(users, pageSize, nextCursor));
+                }));
+    }
+
+    /**
+     * Tous les résultats de recherche, du plus pertinent au moins pertinent (sans la limite des pages)
+     */
+    public Flux<UserResponse> searchAll(UUID organizationId, String query, UserType userType) {
+        log.debug("Searching users for organization: {}", organizationId);
+        return searchIndexService.searchAll(organizationId, query, userType)
+            .flatMapMany(Flux::fromIterable)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(this::findUsersInOrder);
+    }
+
+    // Une lecture IN par lot, dans l'ordre du classement
+    private Flux<UserResponse> findUsersInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return userRepository.findAllById(ids)
+            .collectMap(User::getId)
+            .flatMapIterable(usersById -> ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .filter(user -> !Boolean.TRUE.equals(user.getIsDeleted()))
+                .map(this::mapToUserResponse)
+                .toList());
+    }
+
+    private void publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+
+    // Statut modifié : l'agrégateur retire l'état précédent et compte le nouveau
+    private void publishStatistics(StatisticsEvent previous, User user) {
+        StatisticsEvent.userUpdated(previous, user).forEach(eventPublisher::publishEvent);
+    }
+
+    private int resolvePageSize(Integer size) {
+        return appProperties.getPagination().resolvePageSize(size);
+    }
+
+    private CursorPage<UserResponse> toUserPage(Slice<User> slice) {
+        return CursorPage.of(slice)
+            .filter(user -> !Boolean.TRUE.equals(user.getIsDeleted()))
+            .map(this::mapToUserResponse);
+    }
+
     /**
      * Statistiques des utilisateurs par organisation
      */
     public Mono<UserStatsResponse> getUserStats(UUID organizationId) {
         log.debug("Getting user stats for organization: {}", organizationId);
 
-        return Mono.zip(
-            userRepository.countByOrganizationId(organizationId),
-            userRepository.countActiveByOrganizationId(organizationId),
-            userRepository.countPersonnelByOrganizationId(organizationId)
-        ).map(tuple -> {
-            UserStatsResponse stats = new UserStatsResponse();
-            stats.setTotalUsers(tuple.getT1());
-            stats.setActiveUsers(tuple.getT2());
-            stats.setPersonnelCount(tuple.getT3());
-            stats.setClientCount(tuple.getT1() - tuple.getT3()); // Approximation
-            return stats;
-        });
+        // Une ligne de organization_stats au lieu de trois comptages des utilisateurs
+        return statisticsService.getOrganizationStats(organizationId)
+            .map(organizationStats -> {
+                UserStatsResponse stats = new UserStatsResponse();
+                stats.setTotalUsers(organizationStats.get(OrganizationCounter.TOTAL_USERS));
+                stats.setActiveUsers(organizationStats.get(OrganizationCounter.ACTIVE_USERS));
+                stats.setPersonnelCount(organizationStats.get(OrganizationCounter.PERSONNEL));
+                stats.setClientCount(organizationStats.get(OrganizationCounter.CLIENTS));
+                return stats;
+            });
     }
 
     /**
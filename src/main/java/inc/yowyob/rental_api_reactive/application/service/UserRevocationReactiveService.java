@@ -0,0 +1,87 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Vérification de révocation des utilisateurs pour l'authentification sans état.
+ * Le statut actif est relu par clé primaire au plus une fois par fenêtre de TTL ;
+ * les désactivations locales sont prises en compte immédiatement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserRevocationReactiveService {
+
+    private static final int MAX_ENTRIES = 50_000;
+
+    private final UserReactiveRepository userRepository;
+    private final AppProperties appProperties;
+    private final ConcurrentMap<UUID, StatusEntry> statusCache = new ConcurrentHashMap<>();
+
+    /**
+     * Vérifie si un utilisateur a été désactivé ou supprimé depuis l'émission de son token
+     */
+    public Mono<Boolean> isRevoked(UUID userId) {
+        StatusEntry entry = statusCache.get(userId);
+
+        if (entry != null && !entry.isExpired()) {
+            return Mono.just(!entry.isActive());
+        }
+
+        return userRepository.findById(userId)
+            .map(user -> Boolean.TRUE.equals(user.getIsActive()) && !Boolean.TRUE.equals(user.getIsDeleted()))
+            .defaultIfEmpty(false)
+            .doOnNext(active -> cacheStatus(userId, active))
+            .map(active -> !active);
+    }
+
+    /**
+     * Révoque immédiatement les tokens d'un utilisateur sur cette instance
+     */
+    public void revokeUser(UUID userId) {
+        log.debug("Revoking authentication for user: {}", userId);
+        cacheStatus(userId, false);
+    }
+
+    /**
+     * Invalide le statut mis en cache d'un utilisateur (ex : réactivation)
+     */
+    public void evictUser(UUID userId) {
+        statusCache.remove(userId);
+    }
+
+    private void cacheStatus(UUID userId, boolean active) {
+        if (statusCache.size() >= MAX_ENTRIES) {
+            statusCache.entrySet().removeIf(e -> e.getValue().isExpired());
+        }
+        long ttlMillis = appProperties.getSecurity().getRevocationCheckTtlSeconds() * 1000L;
+        statusCache.put(userId, new StatusEntry(active, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private static class StatusEntry {
+        private final boolean active;
+        private final long expiresAtMillis;
+
+        public StatusEntry(boolean active, long expiresAtMillis) {
+            this.active = active;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() > expiresAtMillis;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
@@ -8,6 +10,7 @@ import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveReposit
 import inc.yowyob.rental_api_reactive.persistence.mapper.UserRoleMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -24,6 +27,7 @@ public class UserRoleReactiveService {
     private final RoleReactiveRepository roleRepository;
     private final UserReactiveRepository userRepository;
     private final UserRoleMapper userRoleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Assigne un rôle à un utilisateur
@@ -35,6 +39,8 @@ public class UserRoleReactiveService {
         return validateAssignmentRequest(request)
             .then(checkExistingAssignment(request))
             .then(createUserRole(request, assignedBy))
+            .doOnNext(userRole -> publishPermissionsChanged(userRole.getUserId()))
+            .doOnNext(userRole -> eventPublisher.publishEvent(StatisticsEvent.roleAssigned(userRole)))
             .map(userRoleMapper::toResponse)
             .doOnSuccess(userRole -> log.info("Role assigned successfully: {}", userRole.getId()))
             .doOnError(error -> log.error("Failed to assign role", error));
@@ -81,12 +87,12 @@ public class UserRoleReactiveService {
 
         return userRoleRepository.findByUserIdAndRoleId(userId, roleId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("User role assignment not found")))
-            .flatMap(userRole -> {
-                userRole.revoke(revokedBy);
-                return userRoleRepository.save(userRole);
-            })
+            .flatMap(userRole -> revoke(userRole, revokedBy))
             .then()
-            .doOnSuccess(v -> log.info("Role revoked successfully"))
+            .doOnSuccess(v -> {
+                publishPermissionsChanged(userId);
+                log.info("Role revoked successfully");
+            })
             .doOnError(error -> log.error("Failed to revoke role", error));
     }
 
@@ -118,12 +124,12 @@ public class UserRoleReactiveService {
         log.info("Revoking all roles from user: {}", userId);
 
         return userRoleRepository.findActiveByUserId(userId)
-            .flatMap(userRole -> {
-                userRole.revoke(revokedBy);
-                return userRoleRepository.save(userRole);
-            })
+            .flatMap(userRole -> revoke(userRole, revokedBy))
             .then()
-            .doOnSuccess(v -> log.info("All roles revoked for user: {}", userId));
+            .doOnSuccess(v -> {
+                publishPermissionsChanged(userId);
+                log.info("All roles revoked for user: {}", userId);
+            });
     }
 
     /**
@@ -135,9 +141,16 @@ public class UserRoleReactiveService {
         return userRoleRepository.findByUserIdAndRoleId(userId, roleId)
             .switchIfEmpty(Mono.error(new IllegalArgumentException("User role assignment not found")))
             .flatMap(userRole -> {
+                boolean wasActive = Boolean.TRUE.equals(userRole.getIsActive());
                 userRole.activate();
-                return userRoleRepository.save(userRole);
+                return userRoleRepository.save(userRole)
+                    .doOnNext(saved -> {
+                        if (!wasActive) {
+                            eventPublisher.publishEvent(StatisticsEvent.roleAssigned(saved));
+                        }
+                    });
             })
+            .doOnNext(userRole -> publishPermissionsChanged(userId))
             .map(userRoleMapper::toResponse);
     }
 
@@ -153,6 +166,23 @@ public class UserRoleReactiveService {
                 userRole.setExpiration(newExpirationDate);
                 return userRoleRepository.save(userRole);
             })
+            .doOnNext(userRole -> publishPermissionsChanged(userId))
             .map(userRoleMapper::toResponse);
     }
+
+    // Seule une assignation encore active sort des statistiques
+    private Mono<UserRole> revoke(UserRole userRole, UUID revokedBy) {
+        boolean wasActive = Boolean.TRUE.equals(userRole.getIsActive());
+        userRole.revoke(revokedBy);
+        return userRoleRepository.save(userRole)
+            .doOnNext(saved -> {
+                if (wasActive) {
+                    eventPublisher.publishEvent(StatisticsEvent.roleRevoked(saved));
+                }
+            });
+    }
+
+    private void publishPermissionsChanged(UUID userId) {
+        eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
+    }
 }
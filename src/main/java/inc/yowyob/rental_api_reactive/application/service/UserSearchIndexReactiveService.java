@@ -0,0 +1,373 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Index de recherche des utilisateurs en mémoire, par organisation : préfixes et trigrammes des noms,
+ * email, matricule, département, poste et téléphone. Construit depuis la table users au démarrage,
+ * reconstruit périodiquement ; chaque modification d'utilisateur faite par cette instance y est reportée aussitôt.
+ */
+@Service
+@Slf4j
+public class UserSearchIndexReactiveService {
+
+    // Préfixes indexés au plus ; les termes plus longs passent par les trigrammes
+    static final int MAX_PREFIX_LENGTH = 10;
+
+    private static final int GRAM_LENGTH = 3;
+
+    // Partition des utilisateurs sans organisation (clients, administrateurs)
+    private static final UUID NO_ORGANIZATION = new UUID(0, 0);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private final UserReactiveRepository userRepository;
+    private final int maxResults;
+
+    private volatile Index index = new Index();
+    private volatile boolean loaded;
+
+    public UserSearchIndexReactiveService(UserReactiveRepository userRepository, AppProperties appProperties) {
+        this.userRepository = userRepository;
+        this.maxResults = appProperties.getUserSearchIndex().getMaxResults();
+    }
+
+    /**
+     * Identifiants des utilisateurs correspondant à la requête, du plus pertinent au moins pertinent,
+     * limités à maxResults. Chaque terme doit correspondre (mot entier, début de mot ou fragment) ;
+     * sans organisation, toutes sont parcourues.
+     */
+    public Mono<List<UUID>> search(UUID organizationId, String query, UserType userType) {
+        return search(organizationId, query, userType, maxResults);
+    }
+
+    /**
+     * Tous les identifiants correspondant à la requête, sans limite (lecture en flux)
+     */
+    public Mono<List<UUID>> searchAll(UUID organizationId, String query, UserType userType) {
+        return search(organizationId, query, userType, Long.MAX_VALUE);
+    }
+
+    private Mono<List<UUID>> search(UUID organizationId, String query, UserType userType, long limit) {
+        List<String> terms = tokenize(query);
+        return currentIndex()
+            .map(current -> {
+                Stream<OrganizationIndex> organizations = organizationId != null
+                    ? Stream.ofNullable(current.organizations.get(organizationId))
+                    : current.organizations.values().stream();
+
+                return organizations
+                    .flatMap(organization -> organization.search(terms))
+                    .filter(hit -> userType == null || userType == hit.entry().userType)
+                    .sorted(Comparator.comparingInt(Hit::score).reversed()
+                        .thenComparing(hit -> hit.entry().sortName)
+                        .thenComparing(hit -> hit.entry().userId))
+                    .limit(limit)
+                    .map(hit -> hit.entry().userId)
+                    .toList();
+            });
+    }
+
+    /**
+     * Reconstruit entièrement l'index depuis la table users
+     */
+    public Mono<Void> reload() {
+        return userRepository.findNonDeletedUsers()
+            .collectList()
+            .doOnNext(users -> {
+                index = Index.of(users);
+                loaded = true;
+                log.info("Loaded {} users in search index", users.size());
+            })
+            .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload().subscribe(
+            unused -> { },
+            error -> log.error("Error loading user search index: {}", error.getMessage()));
+    }
+
+    /**
+     * Reconstruction planifiée : suit les modifications faites par d'autres instances
+     */
+    @Scheduled(initialDelayString = "${app.user-search-index.refresh-minutes:30}",
+        fixedDelayString = "${app.user-search-index.refresh-minutes:30}",
+        timeUnit = TimeUnit.MINUTES)
+    public Mono<Void> scheduledReload() {
+        return reload()
+            .onErrorResume(error -> {
+                log.error("User search index reload failed, keeping the previous index", error);
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Report d'une création, modification ou suppression d'utilisateur dans l'index
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        userRepository.findById(event.getUserId())
+            .filter(user -> !Boolean.TRUE.equals(user.getIsDeleted()))
+            .doOnNext(user -> index.put(user))
+            .switchIfEmpty(Mono.fromRunnable(() -> index.remove(event.getUserId())))
+            .subscribe(
+                unused -> { },
+                error -> log.warn("Could not refresh user {} in search index: {}", event.getUserId(), error.getMessage()));
+    }
+
+    private Mono<Index> currentIndex() {
+        if (loaded) {
+            return Mono.just(index);
+        }
+        return reload().then(Mono.fromSupplier(() -> index));
+    }
+
+    /**
+     * Minuscules sans accents, découpé sur tout caractère non alphanumérique
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(normalize(text)))
+            .filter(token -> !token.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> grams(String token) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Champs indexés et leur poids dans le score
+     */
+    enum Field {
+        NAME(3),
+        EMPLOYEE_ID(3),
+        EMAIL(2),
+        PHONE(2),
+        DEPARTMENT(1),
+        POSITION(1);
+
+        final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Termes normalisés d'un utilisateur, par champ
+     */
+    static final class Entry {
+
+        final UUID userId;
+        final UUID organizationKey;
+        final UserType userType;
+        final String sortName;
+        final Map<Field, List<String>> tokens;
+
+        private Entry(User user) {
+            this.userId = user.getId();
+            this.organizationKey = user.getOrganizationId() != null ? user.getOrganizationId() : NO_ORGANIZATION;
+            this.userType = user.getUserType();
+            this.sortName = normalize(Objects.toString(user.getFullName(), ""));
+            this.tokens = new EnumMap<>(Field.class);
+            tokens.put(Field.NAME, tokenize(Objects.toString(user.getFirstName(), "") + " " + Objects.toString(user.getLastName(), "")));
+            tokens.put(Field.EMPLOYEE_ID, tokenize(user.getEmployeeId()));
+            tokens.put(Field.EMAIL, tokenize(user.getEmail()));
+            // Numéro réduit à ses chiffres : "+237 6 99" et "237699" se retrouvent
+            tokens.put(Field.PHONE, user.getPhone() == null ? List.of()
+                : Stream.of(NON_DIGITS.matcher(user.getPhone()).replaceAll("")).filter(digits -> !digits.isEmpty()).toList());
+            tokens.put(Field.DEPARTMENT, tokenize(user.getDepartment()));
+            tokens.put(Field.POSITION, tokenize(user.getPosition()));
+        }
+
+        Stream<String> allTokens() {
+            return tokens.values().stream().flatMap(List::stream).distinct();
+        }
+
+        /**
+         * Score d'un terme : poids du champ multiplié par la qualité de la correspondance
+         * (3 mot entier, 2 début de mot, 1 fragment), 0 si aucun champ ne correspond
+         */
+        int score(String term) {
+            int best = 0;
+            for (Map.Entry<Field, List<String>> field : tokens.entrySet()) {
+                for (String token : field.getValue()) {
+                    int quality = token.equals(term) ? 3 : token.startsWith(term) ? 2 : token.contains(term) ? 1 : 0;
+                    best = Math.max(best, quality * field.getKey().weight);
+                }
+            }
+            return best;
+        }
+    }
+
+    record Hit(Entry entry, int score) {
+    }
+
+    /**
+     * Index d'une organisation : entrées et listes inversées de préfixes et de trigrammes
+     */
+    static final class OrganizationIndex {
+
+        private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> prefixes = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> grams = new ConcurrentHashMap<>();
+
+        void put(Entry entry) {
+            entries.put(entry.userId, entry);
+            entry.allTokens().forEach(token -> {
+                for (int length = 1; length <= Math.min(token.length(), MAX_PREFIX_LENGTH); length++) {
+                    prefixes.computeIfAbsent(token.substring(0, length), key -> ConcurrentHashMap.newKeySet()).add(entry.userId);
+                }
+                grams(token).forEach(gram -> grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(entry.userId));
+            });
+        }
+
+        void remove(Entry entry) {
+            entries.remove(entry.userId);
+            entry.allTokens().forEach(token -> {
+                for (int length = 1; length <= Math.min(token.length(), MAX_PREFIX_LENGTH); length++) {
+                    removePosting(prefixes, token.substring(0, length), entry.userId);
+                }
+                grams(token).forEach(gram -> removePosting(grams, gram, entry.userId));
+            });
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        Stream<Hit> search(List<String> terms) {
+            if (terms.isEmpty()) {
+                return entries.values().stream().map(entry -> new Hit(entry, 0));
+            }
+
+            // Candidats du terme le plus sélectif, puis vérification de chaque terme sur les champs
+            Set<UUID> candidates = null;
+            for (String term : terms) {
+                Set<UUID> termCandidates = candidates(term);
+                if (candidates == null || termCandidates.size() < candidates.size()) {
+                    candidates = termCandidates;
+                }
+            }
+
+            return candidates.stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .map(entry -> {
+                    int score = 0;
+                    for (String term : terms) {
+                        int termScore = entry.score(term);
+                        if (termScore == 0) {
+                            return null;
+                        }
+                        score += termScore;
+                    }
+                    return new Hit(entry, score);
+                })
+                .filter(Objects::nonNull);
+        }
+
+        private Set<UUID> candidates(String term) {
+            Set<UUID> byPrefix = prefixes.getOrDefault(term.substring(0, Math.min(term.length(), MAX_PREFIX_LENGTH)), Set.of());
+            if (term.length() < GRAM_LENGTH) {
+                return byPrefix;
+            }
+
+            // Fragment en milieu de mot : intersection des trigrammes, de la liste la plus courte à la plus longue
+            List<Set<UUID>> postings = grams(term).stream()
+                .map(gram -> grams.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+            Set<UUID> byGrams = new HashSet<>(postings.get(0));
+            postings.stream().skip(1).forEach(byGrams::retainAll);
+            byGrams.addAll(byPrefix);
+            return byGrams;
+        }
+
+        private static void removePosting(Map<String, Set<UUID>> postings, String key, UUID userId) {
+            postings.computeIfPresent(key, (unused, ids) -> {
+                ids.remove(userId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Index de toutes les organisations, avec l'organisation de chaque utilisateur indexé
+     */
+    static final class Index {
+
+        private final Map<UUID, OrganizationIndex> organizations = new ConcurrentHashMap<>();
+        private final Map<UUID, Entry> byUser = new ConcurrentHashMap<>();
+
+        static Index of(Collection<User> users) {
+            Index index = new Index();
+            users.forEach(index::put);
+            return index;
+        }
+
+        synchronized void put(User user) {
+            remove(user.getId());
+            Entry entry = new Entry(user);
+            byUser.put(entry.userId, entry);
+            organizations.computeIfAbsent(entry.organizationKey, key -> new OrganizationIndex()).put(entry);
+        }
+
+        synchronized void remove(UUID userId) {
+            Entry previous = byUser.remove(userId);
+            if (previous != null) {
+                OrganizationIndex organization = organizations.get(previous.organizationKey);
+                if (organization != null) {
+                    organization.remove(previous);
+                    if (organization.isEmpty()) {
+                        organizations.remove(previous.organizationKey);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -23,6 +23,45 @@ public class AppProperties {
     @JsonProperty("security")
     private Security security = new Security();
 
+    @JsonProperty("cache")
+    private Cache cache = new Cache();
+
+    @JsonProperty("persistence")
+    private Persistence persistence = new Persistence();
+
+    @JsonProperty("pagination")
+    private Pagination pagination = new Pagination();
+
+    @JsonProperty("passwordHashing")
+    private PasswordHashing passwordHashing = new PasswordHashing();
+
+    @JsonProperty("subscriptionSweep")
+    private SubscriptionSweep subscriptionSweep = new SubscriptionSweep();
+
+    @JsonProperty("expiryCleanup")
+    private ExpiryCleanup expiryCleanup = new ExpiryCleanup();
+
+    @JsonProperty("onboardingSaga")
+    private OnboardingSaga onboardingSaga = new OnboardingSaga();
+
+    @JsonProperty("agencyGeoIndex")
+    private AgencyGeoIndex agencyGeoIndex = new AgencyGeoIndex();
+
+    @JsonProperty("userSearchIndex")
+    private UserSearchIndex userSearchIndex = new UserSearchIndex();
+
+    @JsonProperty("statistics")
+    private Statistics statistics = new Statistics();
+
+    @JsonProperty("agencyMetrics")
+    private AgencyMetrics agencyMetrics = new AgencyMetrics();
+
+    @JsonProperty("organizationRankings")
+    private OrganizationRankings organizationRankings = new OrganizationRankings();
+
+    @JsonProperty("metrics")
+    private Metrics metrics = new Metrics();
+
     @Data
     public static class Jwt {
         @JsonProperty("secret")
@@ -83,5 +122,241 @@ public class AppProperties {
 
         @JsonProperty("passwordResetExpiryHours")
         private int passwordResetExpiryHours = 1;
+
+        @JsonProperty("statelessAuthentication")
+        private boolean statelessAuthentication = true; // Principal construit depuis les claims JWT
+
+        @JsonProperty("revocationCheckTtlSeconds")
+        private int revocationCheckTtlSeconds = 30;
+    }
+
+    @Data
+    public static class Cache {
+        @JsonProperty("permissionMaxWeight")
+        private long permissionMaxWeight = 500_000; // Somme des codes de permission en cache
+
+        @JsonProperty("permissionExpireMinutes")
+        private long permissionExpireMinutes = 15;
+
+        @JsonProperty("permissionRefreshMinutes")
+        private long permissionRefreshMinutes = 10; // Rafraîchissement anticipé avant expiration
+
+        @JsonProperty("roleMaxSize")
+        private long roleMaxSize = 10_000;
+
+        @JsonProperty("roleExpireMinutes")
+        private long roleExpireMinutes = 10; // Borne la dérive entre instances
+
+        @JsonProperty("tenantContextMaxSize")
+        private long tenantContextMaxSize = 10_000;
+
+        @JsonProperty("tenantContextExpireSeconds")
+        private long tenantContextExpireSeconds = 30; // Borne la dérive après changement d'organisation ou d'agence
+
+        @JsonProperty("quotaSnapshotMaxSize")
+        private long quotaSnapshotMaxSize = 10_000;
+
+        @JsonProperty("quotaSnapshotExpireSeconds")
+        private long quotaSnapshotExpireSeconds = 60; // Borne la dérive des compteurs modifiés par d'autres instances
+
+        @JsonProperty("planCatalogRefreshMinutes")
+        private long planCatalogRefreshMinutes = 30; // Rechargement périodique du catalogue des plans
+    }
+
+    @Data
+    public static class Persistence {
+        @JsonProperty("rebuildLookupTablesOnStartup")
+        private boolean rebuildLookupTablesOnStartup = false; // Relance le remplissage des tables de correspondance même si la migration est terminée
+
+        @JsonProperty("seedTenantUsageOnStartup")
+        private boolean seedTenantUsageOnStartup = false; // Relance l'alignement de tenant_usage même si la migration est terminée
+
+        @JsonProperty("seedStatisticsOnStartup")
+        private boolean seedStatisticsOnStartup = false; // Relance l'alignement des statistiques même si la migration est terminée
+
+        @JsonProperty("backfillExpiryBucketsOnStartup")
+        private boolean backfillExpiryBucketsOnStartup = false; // Relance la création des entrées d'échéance même si la migration est terminée
+    }
+
+    @Data
+    public static class Pagination {
+        @JsonProperty("defaultPageSize")
+        private int defaultPageSize = 50;
+
+        @JsonProperty("maxPageSize")
+        private int maxPageSize = 500;
+
+        /**
+         * Taille de page effective (défaut si absente, bornée au maximum)
+         */
+        public int resolvePageSize(Integer requested) {
+            if (requested == null || requested <= 0) {
+                return defaultPageSize;
+            }
+            return Math.min(requested, maxPageSize);
+        }
+    }
+
+    @Data
+    public static class PasswordHashing {
+        @JsonProperty("threads")
+        private int threads = 0; // 0 : nombre de processeurs disponibles
+
+        @JsonProperty("queueCapacity")
+        private int queueCapacity = 64; // Hachages en attente au-delà desquels on répond 503
+
+        @JsonProperty("maxConcurrentPerIp")
+        private int maxConcurrentPerIp = 4;
+
+        @JsonProperty("maxConcurrentPerEmail")
+        private int maxConcurrentPerEmail = 2;
+
+        /**
+         * Nombre effectif de threads de hachage
+         */
+        public int resolveThreads() {
+            return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    @Data
+    public static class SubscriptionSweep {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("intervalMinutes")
+        private long intervalMinutes = 15; // Délai entre la fin d'un passage et le début du suivant
+
+        @JsonProperty("tokenRanges")
+        private int tokenRanges = 256; // Découpage de l'anneau de jetons de la table organizations
+
+        @JsonProperty("concurrency")
+        private int concurrency = 8; // Plages parcourues en parallèle
+
+        @JsonProperty("pageSize")
+        private int pageSize = 500;
+
+        @JsonProperty("checkpointInterval")
+        private int checkpointInterval = 1_000; // Lignes traitées entre deux points de reprise
+
+        @JsonProperty("renewalBatchSize")
+        private int renewalBatchSize = 50;
+    }
+
+    @Data
+    public static class ExpiryCleanup {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("intervalMinutes")
+        private long intervalMinutes = 5;
+
+        @JsonProperty("initialLookbackHours")
+        private long initialLookbackHours = 48; // Premier passage : heures échues reprises en arrière
+
+        @JsonProperty("concurrency")
+        private int concurrency = 8; // Entrées d'une même heure traitées en parallèle
+
+        @JsonProperty("bucketRetentionHours")
+        private long bucketRetentionHours = 48; // TTL des entrées d'échéance au-delà de l'échéance
+
+        @JsonProperty("onboardingRetentionHours")
+        private long onboardingRetentionHours = 24; // TTL des sessions d'onboarding au-delà de l'échéance
+    }
+
+    @Data
+    public static class OnboardingSaga {
+        @JsonProperty("recoveryEnabled")
+        private boolean recoveryEnabled = true;
+
+        @JsonProperty("recoveryIntervalMinutes")
+        private long recoveryIntervalMinutes = 5;
+
+        @JsonProperty("recoveryLookbackHours")
+        private long recoveryLookbackHours = 48; // Heures de démarrage relues à chaque passage
+
+        @JsonProperty("staleAfterMinutes")
+        private long staleAfterMinutes = 2; // Délai avant de reprendre une finalisation inachevée
+
+        @JsonProperty("concurrency")
+        private int concurrency = 4;
+
+        @JsonProperty("retentionHours")
+        private long retentionHours = 168; // TTL des journaux de finalisation
+    }
+
+    @Data
+    public static class AgencyGeoIndex {
+        @JsonProperty("refreshMinutes")
+        private long refreshMinutes = 10; // Rechargement complet : borne la dérive due aux autres instances
+
+        @JsonProperty("maxResults")
+        private int maxResults = 500; // Agences renvoyées au plus par une recherche géographique
+    }
+
+    @Data
+    public static class UserSearchIndex {
+        @JsonProperty("refreshMinutes")
+        private long refreshMinutes = 30; // Reconstruction complète : borne la dérive due aux autres instances
+
+        @JsonProperty("maxResults")
+        private int maxResults = 1000; // Résultats classés au plus par recherche paginée (toutes pages confondues ; le flux n'est pas limité)
+    }
+
+    @Data
+    public static class Statistics {
+        @JsonProperty("flushSeconds")
+        private long flushSeconds = 10; // Délai entre deux écritures des compteurs accumulés en mémoire
+    }
+
+    @Data
+    public static class AgencyMetrics {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("rollupIntervalMinutes")
+        private long rollupIntervalMinutes = 15;
+
+        @JsonProperty("initialLookbackHours")
+        private long initialLookbackHours = 48; // Premier passage : heures de relevés reprises en arrière
+
+        @JsonProperty("concurrency")
+        private int concurrency = 8; // Agences agrégées en parallèle
+
+        @JsonProperty("bucketRetentionHours")
+        private long bucketRetentionHours = 48; // TTL des agences à agréger par heure
+
+        @JsonProperty("retentionDays")
+        private long retentionDays = 90; // TTL des relevés, agrégats horaires et classements journaliers
+    }
+
+    @Data
+    public static class OrganizationRankings {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("capacity")
+        private int capacity = 100; // Organisations conservées par classement (top N servi jusqu'à cette taille)
+
+        @JsonProperty("rebuildIntervalMinutes")
+        private long rebuildIntervalMinutes = 60; // Reconstruction complète : borne la dérive des classements et alertes
+
+        @JsonProperty("concurrency")
+        private int concurrency = 8;
+    }
+
+    @Data
+    public static class Metrics {
+        @JsonProperty("enabled")
+        private boolean enabled = true; // Chronométrage des appels de services et de repositories
+
+        @JsonProperty("percentileHistogram")
+        private boolean percentileHistogram = true; // Histogrammes exposés à Prometheus (quantiles calculés côté serveur)
+
+        @JsonProperty("minimumExpectedMillis")
+        private long minimumExpectedMillis = 1; // Bornes des histogrammes : moins de buckets, donc de séries
+
+        @JsonProperty("maximumExpectedSeconds")
+        private long maximumExpectedSeconds = 10;
     }
 }
@@ -2,6 +2,7 @@ package inc.yowyob.rental_api_reactive.infrastructure.config;
 
 import inc.yowyob.rental_api_reactive.application.dto.Permission;
 import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.service.RoleCacheReactiveService;
 import inc.yowyob.rental_api_reactive.persistence.entity.Role;
 import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,12 +23,14 @@ import java.util.stream.Collectors;
 public class DefaultRoleConfiguration implements CommandLineRunner {
 
     private final RoleReactiveRepository roleRepository;
+    private final RoleCacheReactiveService roleCacheService;
 
     @Override
     public void run(String... args) throws Exception {
         log.info("Initializing default system roles...");
 
         createSystemRoles()
+            .then(roleCacheService.pinSystemRoles())
             .doOnSuccess(v -> log.info("System roles initialization completed"))
             .doOnError(error -> log.error("Failed to initialize system roles", error))
             .subscribe();
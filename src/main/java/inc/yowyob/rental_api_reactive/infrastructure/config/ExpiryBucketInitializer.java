@@ -0,0 +1,46 @@
+package inc.yowyob.rental_api_reactive.infrastructure.config;
+
+import inc.yowyob.rental_api_reactive.application.service.ExpiryCleanupReactiveService;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Crée les entrées user_roles_by_expiry_bucket et onboarding_sessions_by_expiry_bucket des assignations
+ * temporaires et des sessions écrites avant ces tables : sans elles, le nettoyage ne les verrait jamais échoir.
+ * Migration obligatoire : exécutée au démarrage tant que data_migrations ne la marque pas terminée,
+ * relancée de force par app.persistence.backfill-expiry-buckets-on-startup.
+ */
+@Component
+@Order(7)
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiryBucketInitializer implements CommandLineRunner {
+
+    private final AppProperties appProperties;
+    private final ExpiryCleanupReactiveService expiryCleanupService;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public void run(String... args) throws Exception {
+        boolean forced = appProperties.getPersistence().isBackfillExpiryBucketsOnStartup();
+        migrationRegistry.isComplete(DataMigrationRegistry.EXPIRY_BUCKETS)
+            .filter(done -> forced || !done)
+            .flatMap(done -> backfill())
+            .doOnError(error -> log.error("Failed to backfill expiry buckets", error))
+            .subscribe();
+    }
+
+    private Mono<Void> backfill() {
+        log.info("Backfilling expiry buckets...");
+
+        return expiryCleanupService.backfill()
+            .flatMap(result -> migrationRegistry.markComplete(DataMigrationRegistry.EXPIRY_BUCKETS)
+                .doOnSuccess(v -> log.info("Expiry buckets backfilled in {}: {} roles expired, {} onboarding sessions deleted",
+                    result.getDuration(), result.getRolesExpired(), result.getSessionsDeleted())));
+    }
+}
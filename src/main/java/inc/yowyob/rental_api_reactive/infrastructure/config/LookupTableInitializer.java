@@ -0,0 +1,97 @@
+package inc.yowyob.rental_api_reactive.infrastructure.config;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.service.UniquenessReservationReactiveService;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationSubscriptionReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Remplit les tables de correspondance (users_by_email, users_by_organization,
+ * agencies_by_organization, agencies_by_geohash, organizations_by_owner, subscriptions_by_organization)
+ * et les réservations de valeurs uniques (uniqueness_reservations) à partir des tables principales.
+ * Migration obligatoire et idempotente : exécutée au démarrage tant que data_migrations ne la marque pas
+ * terminée (les lectures passent alors par les tables principales), relancée de force par
+ * app.persistence.rebuild-lookup-tables-on-startup.
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+@Slf4j
+public class LookupTableInitializer implements CommandLineRunner {
+
+    private static final int CONCURRENCY = 8;
+
+    private final AppProperties appProperties;
+    private final UserReactiveRepository userRepository;
+    private final AgencyReactiveRepository agencyRepository;
+    private final OrganizationReactiveRepository organizationRepository;
+    private final OrganizationSubscriptionReactiveRepository organizationSubscriptionRepository;
+    private final UniquenessReservationReactiveService uniquenessService;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public void run(String... args) throws Exception {
+        boolean forced = appProperties.getPersistence().isRebuildLookupTablesOnStartup();
+        migrationRegistry.isComplete(DataMigrationRegistry.LOOKUP_TABLES)
+            .filter(done -> forced || !done)
+            .flatMap(done -> rebuild())
+            .doOnError(error -> log.error("Failed to rebuild lookup tables", error))
+            .subscribe();
+    }
+
+    private Mono<Void> rebuild() {
+        log.info("Rebuilding lookup tables...");
+
+        return Mono.when(
+                userRepository.findAll().flatMap(user -> userRepository.rebuildLookups(user)
+                    .then(claimKeys(user)), CONCURRENCY),
+                agencyRepository.findAll().flatMap(agency -> agencyRepository.rebuildLookups(agency)
+                    .then(claimKeys(agency)), CONCURRENCY),
+                organizationRepository.findAll().flatMap(organization -> organizationRepository.rebuildLookups(organization)
+                    .then(claimKeys(organization)), CONCURRENCY),
+                organizationSubscriptionRepository.findAll().flatMap(organizationSubscriptionRepository::rebuildLookups, CONCURRENCY)
+            )
+            .then(migrationRegistry.markComplete(DataMigrationRegistry.LOOKUP_TABLES))
+            .doOnSuccess(v -> log.info("Lookup tables rebuild completed"));
+    }
+
+    private Mono<Void> claimKeys(User user) {
+        if (isBlank(user.getEmail())) {
+            return Mono.empty();
+        }
+        return uniquenessService.claimExisting(UniqueKey.email(user.getEmail()), user.getId());
+    }
+
+    private Mono<Void> claimKeys(Agency agency) {
+        if (agency.getOrganizationId() == null || isBlank(agency.getName())) {
+            return Mono.empty();
+        }
+        return uniquenessService.claimExisting(UniqueKey.agencyName(agency.getOrganizationId(), agency.getName()), agency.getId());
+    }
+
+    private Mono<Void> claimKeys(Organization organization) {
+        return Mono.when(
+            isBlank(organization.getName()) ? Mono.empty()
+                : uniquenessService.claimExisting(UniqueKey.organizationName(organization.getName()), organization.getId()),
+            isBlank(organization.getRegistrationNumber()) ? Mono.empty()
+                : uniquenessService.claimExisting(UniqueKey.registrationNumber(organization.getRegistrationNumber()), organization.getId()),
+            isBlank(organization.getTaxNumber()) ? Mono.empty()
+                : uniquenessService.claimExisting(UniqueKey.taxNumber(organization.getTaxNumber()), organization.getId()));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,12 @@
+package inc.yowyob.rental_api_reactive.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (@Scheduled)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
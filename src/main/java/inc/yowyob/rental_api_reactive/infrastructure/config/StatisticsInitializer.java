@@ -0,0 +1,75 @@
+package inc.yowyob.rental_api_reactive.infrastructure.config;
+
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.service.StatisticsAggregatorReactiveService;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Aligne organization_stats et agency_stats de chaque organisation sur ses agences, utilisateurs
+ * et assignations de rôle actives, rejoués dans l'agrégateur.
+ * Migration obligatoire : exécutée au démarrage tant que data_migrations ne la marque pas terminée,
+ * relancée de force par app.persistence.seed-statistics-on-startup.
+ * Les lignes déjà créées par des incréments sont réalignées plutôt qu'ignorées.
+ */
+@Component
+@Order(6)
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsInitializer implements CommandLineRunner {
+
+    private static final int CONCURRENCY = 8;
+
+    private final AppProperties appProperties;
+    private final OrganizationReactiveRepository organizationRepository;
+    private final AgencyReactiveRepository agencyRepository;
+    private final UserReactiveRepository userRepository;
+    private final UserRoleReactiveRepository userRoleRepository;
+    private final StatisticsAggregatorReactiveService statisticsService;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public void run(String... args) throws Exception {
+        boolean forced = appProperties.getPersistence().isSeedStatisticsOnStartup();
+        migrationRegistry.isComplete(DataMigrationRegistry.STATISTICS)
+            .filter(done -> forced || !done)
+            .flatMap(done -> seed())
+            .doOnError(error -> log.error("Failed to seed statistics", error))
+            .subscribe();
+    }
+
+    private Mono<Void> seed() {
+        log.info("Seeding organization and agency statistics...");
+
+        return organizationRepository.findAll()
+            .flatMap(organization -> statisticsService.reconcile(organization.getId(), currentState(organization.getId()))
+                .thenReturn(organization), CONCURRENCY)
+            .count()
+            .flatMap(count -> statisticsService.flush()
+                .then(migrationRegistry.markComplete(DataMigrationRegistry.STATISTICS))
+                .doOnSuccess(v -> log.info("Statistics seeded for {} organizations", count)));
+    }
+
+    private Flux<StatisticsEvent> currentState(UUID organizationId) {
+        return Flux.merge(
+            agencyRepository.findByOrganizationId(organizationId)
+                .map(StatisticsEvent::agencyAdded),
+            userRepository.findByOrganizationId(organizationId)
+                .map(StatisticsEvent::userAdded),
+            userRoleRepository.findByOrganizationId(organizationId)
+                .filter(userRole -> Boolean.TRUE.equals(userRole.getIsActive()) && !userRole.isExpired())
+                .map(StatisticsEvent::roleAssigned));
+    }
+}
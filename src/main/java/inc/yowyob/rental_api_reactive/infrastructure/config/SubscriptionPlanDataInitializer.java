@@ -1,10 +1,12 @@
 package inc.yowyob.rental_api_reactive.infrastructure.config;
 
+import inc.yowyob.rental_api_reactive.application.event.SubscriptionPlanChangedEvent;
 import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
 import inc.yowyob.rental_api_reactive.persistence.repository.SubscriptionPlanReactiveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,6 +24,7 @@ import java.util.UUID;
 public class SubscriptionPlanDataInitializer implements CommandLineRunner {
 
     private final SubscriptionPlanReactiveRepository subscriptionPlanRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void run(String... args) throws Exception {
@@ -36,7 +39,9 @@ public class SubscriptionPlanDataInitializer implements CommandLineRunner {
                         return Mono.empty();
                     } else {
                         return createSubscriptionPlans()
-                            .then(); // Convertit le Flux en Mono<Void>
+                            .then() // Convertit le Flux en Mono<Void>
+                            // Recharge le catalogue en mémoire avec les plans créés
+                            .doOnSuccess(unused -> eventPublisher.publishEvent(new SubscriptionPlanChangedEvent(null)));
                     }
                 })
                 .doOnSuccess(unused -> log.info("Subscription plans initialization completed successfully."))
@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api_reactive.infrastructure.config;
+
+import inc.yowyob.rental_api_reactive.application.service.TenantUsageReactiveService;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aligne les compteurs tenant_usage de chaque organisation sur ses agences actives et ses utilisateurs existants.
+ * Migration obligatoire : exécutée au démarrage tant que data_migrations ne la marque pas terminée
+ * (la consommation est alors comptée à la lecture), relancée de force par app.persistence.seed-tenant-usage-on-startup.
+ * Les lignes déjà créées par des incréments sont réalignées plutôt qu'ignorées.
+ */
+@Component
+@Order(5)
+@RequiredArgsConstructor
+@Slf4j
+public class TenantUsageInitializer implements CommandLineRunner {
+
+    private static final int CONCURRENCY = 8;
+
+    private final AppProperties appProperties;
+    private final OrganizationReactiveRepository organizationRepository;
+    private final TenantUsageReactiveService tenantUsageService;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public void run(String... args) throws Exception {
+        boolean forced = appProperties.getPersistence().isSeedTenantUsageOnStartup();
+        migrationRegistry.isComplete(DataMigrationRegistry.TENANT_USAGE)
+            .filter(done -> forced || !done)
+            .flatMap(done -> seed())
+            .doOnError(error -> log.error("Failed to seed tenant usage counters", error))
+            .subscribe();
+    }
+
+    private Mono<Void> seed() {
+        log.info("Seeding tenant usage counters...");
+
+        return organizationRepository.findAll()
+            .flatMap(organization -> tenantUsageService.reconcile(organization.getId()), CONCURRENCY)
+            .then(migrationRegistry.markComplete(DataMigrationRegistry.TENANT_USAGE))
+            .doOnSuccess(v -> log.info("Tenant usage counters seeded"));
+    }
+}
@@ -0,0 +1,123 @@
+package inc.yowyob.rental_api_reactive.infrastructure.metrics;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Chronomètre chaque appel réactif des services (application.service) et des repositories :
+ * durée de la souscription jusqu'au signal terminal, en histogramme, par classe, méthode, issue et exception.
+ * Un appel de repository peut émettre plusieurs requêtes CQL (lectures par lots, mises à jour partielles,
+ * classements) : app.repository.calls mesure l'appel de bout en bout, pas chaque requête.
+ * Aucun tag de requête (type d'utilisateur, plan) sur ces histogrammes, pour borner le nombre de séries :
+ * ils sont portés par app.requests et app.errors.
+ */
+@Aspect
+@Component
+public class ReactiveMetricsAspect {
+
+    public static final String SERVICE_TIMER = "app.service.calls";
+    public static final String REPOSITORY_TIMER = "app.repository.calls";
+
+    private static final String BASE_PACKAGE = "inc.yowyob.rental_api_reactive";
+
+    private final MeterRegistry meterRegistry;
+    private final AppProperties.Metrics properties;
+
+    // Nom de composant par classe : l'interface du repository plutôt que le proxy qui l'implémente
+    private final ConcurrentMap<Class<?>, String> componentNames = new ConcurrentHashMap<>();
+
+    public ReactiveMetricsAspect(MeterRegistry meterRegistry, AppProperties appProperties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = appProperties.getMetrics();
+    }
+
+    @Around("execution(public * *(..)) && within(inc.yowyob.rental_api_reactive.application.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_TIMER);
+    }
+
+    @Around("execution(public * *(..)) && target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY_TIMER);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (!properties.isEnabled()) {
+            return result;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                CallTimer timer = new CallTimer(name, joinPoint);
+                return mono.doOnError(timer::failed).doFinally(timer::stop);
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                CallTimer timer = new CallTimer(name, joinPoint);
+                return flux.doOnError(timer::failed).doFinally(timer::stop);
+            });
+        }
+        return result;
+    }
+
+    private String componentOf(Object target) {
+        return componentNames.computeIfAbsent(target.getClass(), type -> Arrays.stream(type.getInterfaces())
+            .filter(candidate -> candidate.getPackageName().startsWith(BASE_PACKAGE))
+            .map(Class::getSimpleName)
+            .findFirst()
+            .orElse(type.getSimpleName()));
+    }
+
+    /**
+     * Mesure d'une souscription : démarrée à la souscription, enregistrée au signal terminal ou à l'annulation
+     */
+    private final class CallTimer {
+
+        private final String name;
+        private final Tags tags;
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private volatile Throwable error;
+
+        CallTimer(String name, ProceedingJoinPoint joinPoint) {
+            this.name = name;
+            this.tags = Tags.of(
+                "class", componentOf(joinPoint.getTarget()),
+                "method", joinPoint.getSignature().getName());
+        }
+
+        void failed(Throwable error) {
+            this.error = error;
+        }
+
+        void stop(SignalType signal) {
+            String outcome = switch (signal) {
+                case ON_ERROR -> "error";
+                case CANCEL -> "cancelled";
+                default -> "success";
+            };
+            sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", error != null ? error.getClass().getSimpleName() : "none")
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .minimumExpectedValue(Duration.ofMillis(properties.getMinimumExpectedMillis()))
+                .maximumExpectedValue(Duration.ofSeconds(properties.getMaximumExpectedSeconds()))
+                .register(meterRegistry));
+        }
+    }
+}
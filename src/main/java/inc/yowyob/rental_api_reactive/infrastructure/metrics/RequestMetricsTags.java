@@ -0,0 +1,55 @@
+package inc.yowyob.rental_api_reactive.infrastructure.metrics;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import io.micrometer.core.instrument.Tags;
+import lombok.Value;
+import reactor.util.context.ContextView;
+
+import java.util.Set;
+
+/**
+ * Tags de métriques propres à la requête en cours : type d'utilisateur et plan d'abonnement de son organisation.
+ * Deux dimensions à faible cardinalité (quelques types, quelques plans), jamais un identifiant ni un nom libre.
+ * Réservés aux métriques par requête (app.requests, app.errors), pas aux histogrammes par méthode.
+ */
+@Value
+public class RequestMetricsTags {
+
+    public static final String KEY = RequestMetricsTags.class.getName();
+
+    public static final String UNKNOWN = "none";
+
+    public static final RequestMetricsTags NONE = new RequestMetricsTags(UNKNOWN, UNKNOWN);
+
+    public static final String CUSTOM_PLAN = "CUSTOM";
+
+    public static final String OTHER_PLAN = "OTHER";
+
+    // Plans standard du catalogue ; tout autre nom est regroupé sous OTHER
+    private static final Set<String> CATALOG_PLANS = Set.of("GRATUIT", "BASIC", "PREMIUM", "ENTERPRISE");
+
+    String userType;
+
+    String plan;
+
+    /**
+     * Tags du contexte Reactor (NONE hors requête authentifiée : tâches planifiées, routes publiques)
+     */
+    public static RequestMetricsTags from(ContextView context) {
+        return context.getOrDefault(KEY, NONE);
+    }
+
+    /**
+     * Code borné d'un plan : CUSTOM pour un plan sur mesure, le nom pour un plan standard, OTHER sinon
+     */
+    public static String planCode(SubscriptionPlan plan) {
+        if (Boolean.TRUE.equals(plan.getIsCustom())) {
+            return CUSTOM_PLAN;
+        }
+        return plan.getName() != null && CATALOG_PLANS.contains(plan.getName()) ? plan.getName() : OTHER_PLAN;
+    }
+
+    public Tags asTags() {
+        return Tags.of("user.type", userType, "plan", plan);
+    }
+}
@@ -0,0 +1,84 @@
+package inc.yowyob.rental_api_reactive.infrastructure.metrics;
+
+import inc.yowyob.rental_api_reactive.application.dto.QuotaSnapshot;
+import inc.yowyob.rental_api_reactive.application.service.QuotaReactiveService;
+import inc.yowyob.rental_api_reactive.application.service.SubscriptionPlanCatalogReactiveService;
+import inc.yowyob.rental_api_reactive.infrastructure.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Résout une fois par requête les tags de métriques de l'utilisateur authentifié (type, plan de l'organisation),
+ * chronomètre la requête sous app.requests avec ces tags et l'issue, et les expose dans le contexte Reactor
+ * et les attributs de l'échange (compteurs d'erreurs). Le plan vient de l'instantané de quotas et du catalogue,
+ * tous deux en mémoire. Pas d'histogramme sur ce timer : les quantiles restent sur les métriques par méthode.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsWebFilter implements WebFilter {
+
+    public static final String TAGS_ATTRIBUTE = RequestMetricsTags.KEY;
+
+    public static final String REQUEST_TIMER = "app.requests";
+
+    private final QuotaReactiveService quotaService;
+    private final SubscriptionPlanCatalogReactiveService planCatalogService;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return ReactiveSecurityContextHolder.getContext()
+            .mapNotNull(SecurityContext::getAuthentication)
+            .mapNotNull(Authentication::getPrincipal)
+            .ofType(UserPrincipal.class)
+            .flatMap(this::resolveTags)
+            .defaultIfEmpty(RequestMetricsTags.NONE)
+            .flatMap(tags -> {
+                exchange.getAttributes().put(TAGS_ATTRIBUTE, tags);
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return chain.filter(exchange)
+                    .doFinally(signal -> sample.stop(Timer.builder(REQUEST_TIMER)
+                        .description("Requêtes HTTP par type d'utilisateur et plan")
+                        .tags(tags.asTags())
+                        .tag("outcome", outcomeOf(signal, exchange.getResponse().getStatusCode()))
+                        .register(meterRegistry)))
+                    .contextWrite(context -> context.put(RequestMetricsTags.KEY, tags));
+            });
+    }
+
+    private static String outcomeOf(SignalType signal, HttpStatusCode status) {
+        if (signal == SignalType.CANCEL) {
+            return "cancelled";
+        }
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            return "server_error";
+        }
+        return status != null && status.is4xxClientError() ? "client_error" : "success";
+    }
+
+    private Mono<RequestMetricsTags> resolveTags(UserPrincipal principal) {
+        String userType = principal.getUserType() != null ? principal.getUserType().name() : RequestMetricsTags.UNKNOWN;
+        if (principal.getOrganizationId() == null) {
+            return Mono.just(new RequestMetricsTags(userType, RequestMetricsTags.UNKNOWN));
+        }
+        // Une organisation introuvable ne doit pas faire échouer la requête : seul le tag est perdu
+        return quotaService.getSnapshot(principal.getOrganizationId())
+            .mapNotNull(QuotaSnapshot::getSubscriptionPlanId)
+            .flatMap(planCatalogService::getPlan)
+            .map(RequestMetricsTags::planCode)
+            .defaultIfEmpty(RequestMetricsTags.UNKNOWN)
+            .onErrorReturn(RequestMetricsTags.UNKNOWN)
+            .map(plan -> new RequestMetricsTags(userType, plan));
+    }
+}
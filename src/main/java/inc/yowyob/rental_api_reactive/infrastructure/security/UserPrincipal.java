@@ -2,6 +2,8 @@ package inc.yowyob.rental_api_reactive.infrastructure.security;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.infrastructure.security.jwt.JwtClaims;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -50,6 +52,42 @@ public class UserPrincipal implements UserDetails {
     @JsonProperty("authorities")
     private Set<String> authorities;
 
+    /**
+     * Construit le principal à partir des claims d'un token vérifié (sans accès base)
+     */
+    public static UserPrincipal fromClaims(JwtClaims claims) {
+        UserType userType = claims.getUserType() != null ? UserType.valueOf(claims.getUserType()) : null;
+
+        return UserPrincipal.builder()
+            .id(claims.getUserId())
+            .email(claims.getEmail())
+            .password("")
+            .userType(userType)
+            .organizationId(claims.getOrganizationId())
+            .agencyId(claims.getAgencyId())
+            .isActive(claims.getIsActive())
+            .authorities(userType != null ? Set.of("ROLE_" + userType.name()) : Collections.emptySet())
+            .build();
+    }
+
+    /**
+     * Construit le principal à partir de l'entité utilisateur
+     */
+    public static UserPrincipal fromUser(User user) {
+        return UserPrincipal.builder()
+            .id(user.getId())
+            .email(user.getEmail())
+            .password("")
+            .firstName(user.getFirstName())
+            .lastName(user.getLastName())
+            .userType(user.getUserType())
+            .organizationId(user.getOrganizationId())
+            .agencyId(user.getAgencyId())
+            .isActive(user.getIsActive())
+            .authorities(user.getUserType() != null ? Set.of("ROLE_" + user.getUserType().name()) : Collections.emptySet())
+            .build();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (authorities == null) {
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api_reactive.infrastructure.security.filter;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Expose l'adresse du client dans le contexte Reactor de la requête
+ * (utilisée par les limites de concurrence par IP)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ClientAddressWebFilter implements WebFilter {
+
+    public static final String CLIENT_ADDRESS_KEY = "clientAddress";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return chain.filter(exchange);
+        }
+
+        String clientAddress = remoteAddress.getAddress().getHostAddress();
+        return chain.filter(exchange)
+            .contextWrite(context -> context.put(CLIENT_ADDRESS_KEY, clientAddress));
+    }
+}
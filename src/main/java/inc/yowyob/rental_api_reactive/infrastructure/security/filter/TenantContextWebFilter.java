@@ -0,0 +1,24 @@
+package inc.yowyob.rental_api_reactive.infrastructure.security.filter;
+
+import inc.yowyob.rental_api_reactive.application.service.TenantContextReactiveService;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ouvre, pour chaque échange, le mémo du contexte tenant partagé par toutes les vérifications en aval
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantContextWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+            .contextWrite(TenantContextReactiveService::withRequestScope);
+    }
+}
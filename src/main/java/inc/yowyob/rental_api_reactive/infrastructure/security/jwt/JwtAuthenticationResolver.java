@@ -0,0 +1,72 @@
+package inc.yowyob.rental_api_reactive.infrastructure.security.jwt;
+
+import inc.yowyob.rental_api_reactive.application.service.UserRevocationReactiveService;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.infrastructure.security.UserPrincipal;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Résout l'authentification d'une requête à partir de son token JWT.
+ * En mode sans état, le principal est construit depuis les claims et seule
+ * une vérification de révocation (mise en cache) est effectuée.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationResolver {
+
+    /**
+     * Attribut d'échange contenant l'authentification résolue pour la requête courante
+     */
+    public static final String AUTHENTICATION_ATTRIBUTE = JwtAuthenticationResolver.class.getName() + ".AUTHENTICATION";
+
+    private final JwtReactiveTokenProvider jwtTokenProvider;
+    private final UserReactiveRepository userRepository;
+    private final UserRevocationReactiveService revocationService;
+    private final AppProperties appProperties;
+
+    /**
+     * Résout l'authentification de la requête, une seule fois par échange
+     */
+    public Mono<Authentication> resolveAuthentication(ServerWebExchange exchange) {
+        Authentication cached = exchange.getAttribute(AUTHENTICATION_ATTRIBUTE);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return jwtTokenProvider.resolveClaims(exchange)
+            .filter(claims -> !claims.isRefreshToken())
+            .flatMap(this::resolvePrincipal)
+            .filter(UserPrincipal::isEnabled)
+            .map(principal -> (Authentication) new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()))
+            .doOnNext(authentication -> exchange.getAttributes().put(AUTHENTICATION_ATTRIBUTE, authentication));
+    }
+
+    private Mono<UserPrincipal> resolvePrincipal(JwtClaims claims) {
+        if (!appProperties.getSecurity().isStatelessAuthentication()) {
+            return userRepository.findByEmail(claims.getEmail())
+                .map(UserPrincipal::fromUser);
+        }
+
+        if (!Boolean.TRUE.equals(claims.getIsActive())) {
+            return Mono.empty();
+        }
+
+        return revocationService.isRevoked(claims.getUserId())
+            .flatMap(revoked -> {
+                if (revoked) {
+                    log.debug("Rejected token for revoked user: {}", claims.getUserId());
+                    return Mono.empty();
+                }
+                return Mono.just(UserPrincipal.fromClaims(claims));
+            });
+    }
+}
@@ -1,20 +1,15 @@
 package inc.yowyob.rental_api_reactive.infrastructure.security.jwt;
 
-import inc.yowyob.rental_api_reactive.infrastructure.security.jwt.JwtReactiveTokenProvider;
-import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Filtre Web réactif pour l'authentification JWT
@@ -24,8 +19,7 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationWebFilter implements WebFilter {
 
-    private final JwtReactiveTokenProvider jwtTokenProvider;
-    private final UserReactiveRepository userRepository;
+    private final JwtAuthenticationResolver authenticationResolver;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -36,49 +30,19 @@ public class JwtAuthenticationWebFilter implements WebFilter {
             return chain.filter(exchange);
         }
 
-        return extractToken(exchange)
-            .flatMap(token -> jwtTokenProvider.validateToken(token)
-                .flatMap(isValid -> {
-                    if (!isValid) {
-                        return chain.filter(exchange);
-                    }
-
-                    return jwtTokenProvider.getEmailFromToken(token)
-                        .flatMap(userRepository::findByEmail)
-                        .flatMap(user -> {
-                            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                                user.getEmail(),
-                                "",
-                                user.getIsActive(),
-                                true,
-                                true,
-                                true,
-                                Collections.emptyList()
-                            );
-
-                            UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-
-                            return chain.filter(exchange)
-                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
-                        })
-                        .switchIfEmpty(chain.filter(exchange));
-                }))
-            .switchIfEmpty(chain.filter(exchange))
+        // Le token n'est vérifié qu'une fois : l'authentification est partagée via l'échange
+        // (la chaîne ne doit être invoquée qu'une seule fois : chain.filter se termine vide)
+        return authenticationResolver.resolveAuthentication(exchange)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
             .onErrorResume(ex -> {
                 log.debug("JWT authentication failed: {}", ex.getMessage());
-                return chain.filter(exchange);
-            });
-    }
-
-    private Mono<String> extractToken(ServerWebExchange exchange) {
-        return Mono.fromCallable(() -> {
-            String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                return bearerToken.substring(7);
-            }
-            return null;
-        });
+                return Mono.just(Optional.empty());
+            })
+            .flatMap(authentication -> authentication
+                .map(auth -> chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                .orElseGet(() -> chain.filter(exchange)));
     }
 
     private boolean isPublicPath(String path) {
@@ -0,0 +1,57 @@
+package inc.yowyob.rental_api_reactive.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims immuables d'un token JWT déjà vérifié.
+ * Produit une seule fois par requête puis partagé via les attributs de l'échange.
+ */
+@Value
+@Builder
+public class JwtClaims {
+
+    UUID userId;
+    String email;
+    String userType;
+    UUID organizationId;
+    UUID agencyId;
+    Boolean isAgencyBound;
+    Boolean isActive;
+    String tokenType;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    /**
+     * Construit les claims à partir du corps d'un token vérifié
+     */
+    public static JwtClaims from(Claims claims) {
+        return JwtClaims.builder()
+            .userId(toUuid(claims.get("userId", String.class)))
+            .email(claims.getSubject())
+            .userType(claims.get("userType", String.class))
+            .organizationId(toUuid(claims.get("organizationId", String.class)))
+            .agencyId(toUuid(claims.get("agencyId", String.class)))
+            .isAgencyBound(claims.get("isAgencyBound", Boolean.class))
+            .isActive(claims.get("isActive", Boolean.class))
+            .tokenType(claims.get("type", String.class))
+            .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+            .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+            .build();
+    }
+
+    /**
+     * Vérifie s'il s'agit d'un refresh token
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+
+    private static UUID toUuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+}
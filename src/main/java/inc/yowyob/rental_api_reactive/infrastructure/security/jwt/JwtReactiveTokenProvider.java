@@ -7,7 +7,9 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
@@ -24,10 +26,40 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class JwtReactiveTokenProvider {
 
+    /**
+     * Attribut d'échange contenant les claims vérifiés de la requête courante
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtClaims.class.getName();
+
+    /**
+     * Attribut d'échange marquant un token déjà rejeté pour la requête courante
+     */
+    public static final String INVALID_TOKEN_ATTRIBUTE = JwtClaims.class.getName() + ".INVALID";
+
     private final AppProperties appProperties;
 
+    // Clé et parser construits une seule fois (thread-safe et immuables)
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(appProperties.getJwt().getSecret().getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(appProperties.getJwt().getSecret().getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser()
+                .setSigningKey(getSigningKey())
+                .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     /**
@@ -100,23 +132,53 @@ public class JwtReactiveTokenProvider {
     }
 
     /**
-     * Valide un token JWT
+     * Vérifie la signature du token et retourne ses claims immuables.
+     * Retourne un Mono vide si le token est invalide ou expiré.
      */
-    public Mono<Boolean> validateToken(String token) {
+    public Mono<JwtClaims> parseToken(String token) {
         return Mono.fromCallable(() -> {
             try {
-                Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-                return true;
+                return JwtClaims.from(getClaims(token));
             } catch (JwtException | IllegalArgumentException e) {
                 log.debug("Invalid JWT token: {}", e.getMessage());
-                return false;
+                return null;
             }
         });
     }
 
+    /**
+     * Résout les claims de la requête courante : le token n'est vérifié qu'une seule fois,
+     * le résultat est mémorisé dans les attributs de l'échange pour les filtres suivants.
+     */
+    public Mono<JwtClaims> resolveClaims(ServerWebExchange exchange) {
+        JwtClaims cached = exchange.getAttribute(CLAIMS_ATTRIBUTE);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (exchange.getAttribute(INVALID_TOKEN_ATTRIBUTE) != null) {
+            return Mono.empty();
+        }
+
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+
+        return parseToken(bearerToken.substring(7))
+            .doOnNext(claims -> exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims))
+            .switchIfEmpty(Mono.fromRunnable(() ->
+                exchange.getAttributes().put(INVALID_TOKEN_ATTRIBUTE, Boolean.TRUE)));
+    }
+
+    /**
+     * Valide un token JWT
+     */
+    public Mono<Boolean> validateToken(String token) {
+        return parseToken(token)
+            .map(claims -> true)
+            .defaultIfEmpty(false);
+    }
+
     /**
      * Extrait l'email du token
      */
@@ -141,9 +203,7 @@ public class JwtReactiveTokenProvider {
      * Extrait les claims du token
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-            .setSigningKey(getSigningKey())
-            .build()
+        return getParser()
             .parseClaimsJws(token)
             .getBody();
     }
@@ -166,29 +226,29 @@ public class JwtReactiveTokenProvider {
      * Extrait le contexte utilisateur du token
      */
     public Mono<TokenContext> extractTokenContext(String token) {
-        return Mono.fromCallable(() -> {
-            Claims claims = getClaims(token);
-
-            TokenContext context = new TokenContext();
-            context.setUserId(UUID.fromString(claims.get("userId", String.class)));
-            context.setEmail(claims.getSubject());
-            context.setUserType(claims.get("userType", String.class));
-            context.setIsActive(claims.get("isActive", Boolean.class));
-
-            String orgId = claims.get("organizationId", String.class);
-            if (orgId != null) {
-                context.setOrganizationId(UUID.fromString(orgId));
-            }
-
-            String agencyId = claims.get("agencyId", String.class);
-            if (agencyId != null) {
-                context.setAgencyId(UUID.fromString(agencyId));
-            }
+        return Mono.fromCallable(() -> toTokenContext(JwtClaims.from(getClaims(token))));
+    }
 
-            context.setIsAgencyBound(claims.get("isAgencyBound", Boolean.class));
+    /**
+     * Extrait le contexte utilisateur de la requête courante sans re-vérifier le token
+     */
+    public Mono<TokenContext> extractTokenContext(ServerWebExchange exchange) {
+        return resolveClaims(exchange).map(this::toTokenContext);
+    }
 
-            return context;
-        });
+    /**
+     * Construit le contexte utilisateur à partir de claims déjà vérifiés
+     */
+    public TokenContext toTokenContext(JwtClaims claims) {
+        TokenContext context = new TokenContext();
+        context.setUserId(claims.getUserId());
+        context.setEmail(claims.getEmail());
+        context.setUserType(claims.getUserType());
+        context.setIsActive(claims.getIsActive());
+        context.setOrganizationId(claims.getOrganizationId());
+        context.setAgencyId(claims.getAgencyId());
+        context.setIsAgencyBound(claims.getIsAgencyBound());
+        return context;
     }
 
     /**
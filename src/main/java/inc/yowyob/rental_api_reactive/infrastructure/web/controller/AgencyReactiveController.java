@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.infrastructure.web.controller;
 
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
 import inc.yowyob.rental_api_reactive.application.service.AgencyReactiveService;
 import inc.yowyob.rental_api_reactive.infrastructure.security.UserPrincipal;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
@@ -9,12 +10,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -179,81 +183,128 @@ public class AgencyReactiveController {
         description = "Récupère toutes les agences d'une organisation"
     )
     @GetMapping(value = "/organization/{organizationId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> getAgenciesByOrganization(
+    public Mono<ApiResponse<List<AgencyResponse>>> getAgenciesByOrganization(
         @Parameter(description = "ID de l'organisation") @PathVariable UUID organizationId,
         @RequestParam(defaultValue = "false") boolean activeOnly,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/agencies/organization/{} - Getting agencies, activeOnly: {}",
             organizationId, activeOnly);
 
-        Flux<AgencyResponse> agencies = activeOnly
-            ? agencyService.findActiveByOrganizationId(organizationId)
-            : agencyService.findByOrganizationId(organizationId);
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
-                .success(true)
-                .message("Agences récupérées avec succès")
-                .data(agencies)
-                .build())
-            .onErrorReturn(ApiResponse.<Flux<AgencyResponse>>builder()
+        return agencyService.findPageByOrganizationId(organizationId, activeOnly, cursor, size)
+            .map(agencies -> ApiResponse.page(agencies, "Agences récupérées avec succès"))
+            // Un curseur invalide reste une erreur 400
+            .onErrorReturn(error -> !(error instanceof IllegalArgumentException), ApiResponse.<List<AgencyResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la récupération des agences")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Diffuser les agences d'une organisation",
+        description = "Diffuse les agences d'une organisation (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/organization/{organizationId}/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<AgencyResponse> streamAgenciesByOrganization(
+        @Parameter(description = "ID de l'organisation") @PathVariable UUID organizationId,
+        @RequestParam(defaultValue = "false") boolean activeOnly,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/agencies/organization/{}/stream - Streaming agencies, activeOnly: {}",
+            organizationId, activeOnly);
+
+        return activeOnly
+            ? agencyService.findActiveByOrganizationId(organizationId)
+            : agencyService.findByOrganizationId(organizationId);
+    }
+
     @Operation(
         summary = "Obtenir les agences d'un gestionnaire",
         description = "Récupère toutes les agences gérées par un utilisateur"
     )
     @GetMapping(value = "/manager/{managerId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> getAgenciesByManager(
+    public Mono<ApiResponse<List<AgencyResponse>>> getAgenciesByManager(
         @Parameter(description = "ID du gestionnaire") @PathVariable UUID managerId,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/agencies/manager/{} - Getting managed agencies", managerId);
 
-        Flux<AgencyResponse> agencies = agencyService.findByManagerId(managerId);
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
+        return agencyService.findByManagerId(managerId)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
                 .success(true)
                 .message("Agences du gestionnaire récupérées")
                 .data(agencies)
+                .count((long) agencies.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<AgencyResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la récupération des agences")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les agences d'un gestionnaire (flux)",
+        description = "Récupère toutes les agences gérées par un utilisateur (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/manager/{managerId}/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<AgencyResponse> streamAgenciesByManager(
+        @Parameter(description = "ID du gestionnaire") @PathVariable UUID managerId,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/agencies/manager/{}/stream - Getting managed agencies", managerId);
+
+        return agencyService.findByManagerId(managerId);
+    }
+
     @Operation(
         summary = "Obtenir les agences par localisation",
         description = "Récupère les agences par ville et pays"
     )
     @GetMapping(value = "/location", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> getAgenciesByLocation(
+    public Mono<ApiResponse<List<AgencyResponse>>> getAgenciesByLocation(
         @RequestParam String city,
         @RequestParam String country,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/agencies/location - Getting agencies in {} - {}", city, country);
 
-        Flux<AgencyResponse> agencies = agencyService.findByCityAndCountry(city, country);
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
+        return agencyService.findByCityAndCountry(city, country)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
                 .success(true)
                 .message("Agences trouvées pour la localisation")
                 .data(agencies)
+                .count((long) agencies.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<AgencyResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche par localisation")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les agences par localisation (flux)",
+        description = "Récupère les agences par ville et pays (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/location/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<AgencyResponse> streamAgenciesByLocation(
+        @RequestParam String city,
+        @RequestParam String country,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/agencies/location/stream - Getting agencies in {} - {}", city, country);
+
+        return agencyService.findByCityAndCountry(city, country);
+    }
+
     @Operation(
         summary = "Activer/désactiver une agence",
         description = "Change le statut actif d'une agence"
@@ -395,34 +446,110 @@ public class AgencyReactiveController {
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir l'historique des métriques d'une agence",
+        description = "Récupère les métriques agrégées par heure, jour ou mois d'une agence entre deux dates"
+    )
+    @GetMapping(value = "/{agencyId}/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<AgencyMetricsPointResponse>>> getAgencyMetricsHistory(
+        @Parameter(description = "ID de l'agence") @PathVariable UUID agencyId,
+        @Parameter(description = "Granularité (HOUR, DAY, MONTH)") @RequestParam(defaultValue = "DAY") MetricGranularity granularity,
+        @Parameter(description = "Début de la période (ISO-8601)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Fin de la période, exclue (ISO-8601)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/agencies/{}/metrics - Getting {} metrics from {} to {}", agencyId, granularity, from, to);
+
+        return agencyService.getAgencyMetricsHistory(agencyId, granularity, from, to)
+            .collectList()
+            .map(points -> ApiResponse.<List<AgencyMetricsPointResponse>>builder()
+                .success(true)
+                .message("Historique des métriques récupéré")
+                .data(points)
+                .count((long) points.size())
+                .build())
+            .onErrorResume(IllegalArgumentException.class, error ->
+                Mono.just(ApiResponse.<List<AgencyMetricsPointResponse>>builder()
+                    .success(false)
+                    .message(error.getMessage())
+                    .data(null)
+                    .build()))
+            .onErrorReturn(ApiResponse.<List<AgencyMetricsPointResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la récupération de l'historique des métriques")
+                .data(null)
+                .build());
+    }
+
+    @Operation(
+        summary = "Obtenir les agences les plus performantes d'une organisation",
+        description = "Récupère les agences actives d'une organisation classées par chiffre d'affaires du mois en cours"
+    )
+    @GetMapping(value = "/organization/{organizationId}/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<AgencyResponse>>> getTopPerformingAgencies(
+        @Parameter(description = "ID de l'organisation") @PathVariable UUID organizationId,
+        @Parameter(description = "Nombre d'agences") @RequestParam(defaultValue = "10") int limit,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/agencies/organization/{}/top - Getting top {} agencies", organizationId, limit);
+
+        return agencyService.findTopPerformingAgencies(organizationId, limit)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
+                .success(true)
+                .message("Agences les plus performantes récupérées")
+                .data(agencies)
+                .count((long) agencies.size())
+                .build())
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la récupération du classement des agences")
+                .data(null)
+                .build());
+    }
+
     @Operation(
         summary = "Obtenir les agences avec réservation en ligne",
         description = "Récupère les agences qui acceptent les réservations en ligne"
     )
     @GetMapping(value = "/online-booking", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> getAgenciesWithOnlineBooking() {
+    public Mono<ApiResponse<List<AgencyResponse>>> getAgenciesWithOnlineBooking() {
         log.info("GET /api/v1/agencies/online-booking - Getting agencies with online booking");
 
-        Flux<AgencyResponse> agencies = agencyService.findAgenciesWithOnlineBooking();
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
+        return agencyService.findAgenciesWithOnlineBooking()
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
                 .success(true)
                 .message("Agences avec réservation en ligne trouvées")
                 .data(agencies)
+                .count((long) agencies.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<AgencyResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les agences avec réservation en ligne (flux)",
+        description = "Récupère les agences qui acceptent les réservations en ligne (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/online-booking/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<AgencyResponse> streamAgenciesWithOnlineBooking() {
+        log.info("GET /api/v1/agencies/online-booking/stream - Getting agencies with online booking");
+
+        return agencyService.findAgenciesWithOnlineBooking();
+    }
+
     @Operation(
         summary = "Rechercher des agences dans une zone géographique",
         description = "Recherche les agences dans une zone géographique définie"
     )
     @GetMapping(value = "/search/bounds", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> searchAgenciesInBounds(
+    public Mono<ApiResponse<List<AgencyResponse>>> searchAgenciesInBounds(
         @RequestParam double minLat,
         @RequestParam double maxLat,
         @RequestParam double minLng,
@@ -431,14 +558,87 @@ public class AgencyReactiveController {
         log.info("GET /api/v1/agencies/search/bounds - Searching agencies in bounds: {},{} to {},{}",
             minLat, minLng, maxLat, maxLng);
 
-        Flux<AgencyResponse> agencies = agencyService.findAgenciesInBounds(minLat, maxLat, minLng, maxLng);
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
+        return agencyService.findAgenciesInBounds(minLat, maxLat, minLng, maxLng)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
                 .success(true)
                 .message("Agences trouvées dans la zone")
                 .data(agencies)
+                .count((long) agencies.size())
+                .build())
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la recherche géographique")
+                .data(null)
+                .build());
+    }
+
+    @Operation(
+        summary = "Rechercher des agences dans une zone géographique (flux)",
+        description = "Recherche les agences dans une zone géographique définie (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/search/bounds/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<AgencyResponse> streamSearchAgenciesInBounds(
+        @RequestParam double minLat,
+        @RequestParam double maxLat,
+        @RequestParam double minLng,
+        @RequestParam double maxLng) {
+
+        log.info("GET /api/v1/agencies/search/bounds/stream - Searching agencies in bounds: {},{} to {},{}",
+            minLat, minLng, maxLat, maxLng);
+
+        return agencyService.findAgenciesInBounds(minLat, maxLat, minLng, maxLng);
+    }
+
+    @Operation(
+        summary = "Rechercher les agences les plus proches",
+        description = "Recherche les agences actives les plus proches d'un point, de la plus proche à la plus éloignée"
+    )
+    @GetMapping(value = "/search/nearest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<AgencyResponse>>> searchNearestAgencies(
+        @RequestParam double lat,
+        @RequestParam double lng,
+        @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("GET /api/v1/agencies/search/nearest - Searching {} nearest agencies to {},{}", limit, lat, lng);
+
+        return agencyService.findNearestAgencies(lat, lng, limit)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
+                .success(true)
+                .message("Agences les plus proches trouvées")
+                .data(agencies)
+                .count((long) agencies.size())
+                .build())
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la recherche géographique")
+                .data(null)
+                .build());
+    }
+
+    @Operation(
+        summary = "Rechercher des agences dans un rayon",
+        description = "Recherche les agences actives à moins de radiusKm d'un point ; sans rayon, "
+            + "les agences dont la zone de géofencing contient le point"
+    )
+    @GetMapping(value = "/search/radius", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<AgencyResponse>>> searchAgenciesWithinRadius(
+        @RequestParam double lat,
+        @RequestParam double lng,
+        @RequestParam(required = false) Double radiusKm) {
+
+        log.info("GET /api/v1/agencies/search/radius - Searching agencies around {},{} (radius: {} km)", lat, lng, radiusKm);
+
+        return agencyService.findAgenciesWithinRadius(lat, lng, radiusKm)
+            .collectList()
+            .map(agencies -> ApiResponse.<List<AgencyResponse>>builder()
+                .success(true)
+                .message("Agences trouvées dans le rayon")
+                .data(agencies)
+                .count((long) agencies.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<AgencyResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<AgencyResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche géographique")
                 .data(null)
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -65,25 +66,38 @@ public class OrganizationReactiveController {
         description = "Récupère la liste des organisations selon les permissions de l'utilisateur"
     )
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<OrganizationResponse>>> getAllOrganizations(
+    public Mono<ApiResponse<List<OrganizationResponse>>> getAllOrganizations(
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/organizations - Getting organizations for user: {}", userPrincipal.getId());
 
-        Flux<OrganizationResponse> organizations = organizationService.findAll(userPrincipal.getId());
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<OrganizationResponse>>builder()
-                .success(true)
-                .message("Organisations récupérées avec succès")
-                .data(organizations)
-                .build())
-            .onErrorReturn(ApiResponse.<Flux<OrganizationResponse>>builder()
+        return organizationService.findPage(userPrincipal.getId(), false, cursor, size)
+            .map(organizations -> ApiResponse.page(organizations, "Organisations récupérées avec succès"))
+            // Un curseur invalide reste une erreur 400
+            .onErrorReturn(error -> !(error instanceof IllegalArgumentException), ApiResponse.<List<OrganizationResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la récupération des organisations")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Diffuser toutes les organisations",
+        description = "Diffuse les organisations visibles par l'utilisateur (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrganizationResponse> streamAllOrganizations(
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/stream - Streaming organizations for user: {}", userPrincipal.getId());
+
+        return organizationService.findAll(userPrincipal.getId());
+    }
+
     @Operation(
         summary = "Obtenir une organisation par ID",
         description = "Récupère une organisation spécifique par son ID"
@@ -197,25 +211,38 @@ public class OrganizationReactiveController {
         description = "Récupère toutes les organisations actives"
     )
     @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<OrganizationResponse>>> getActiveOrganizations(
+    public Mono<ApiResponse<List<OrganizationResponse>>> getActiveOrganizations(
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/organizations/active - Getting active organizations");
 
-        Flux<OrganizationResponse> organizations = organizationService.findAllActive(userPrincipal.getId());
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<OrganizationResponse>>builder()
-                .success(true)
-                .message("Organisations actives récupérées")
-                .data(organizations)
-                .build())
-            .onErrorReturn(ApiResponse.<Flux<OrganizationResponse>>builder()
+        return organizationService.findPage(userPrincipal.getId(), true, cursor, size)
+            .map(organizations -> ApiResponse.page(organizations, "Organisations actives récupérées"))
+            // Un curseur invalide reste une erreur 400
+            .onErrorReturn(error -> !(error instanceof IllegalArgumentException), ApiResponse.<List<OrganizationResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la récupération des organisations actives")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Diffuser les organisations actives",
+        description = "Diffuse les organisations actives (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/active/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrganizationResponse> streamActiveOrganizations(
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/active/stream - Streaming active organizations");
+
+        return organizationService.findAllActive(userPrincipal.getId());
+    }
+
     @Operation(
         summary = "Vérifier l'existence d'un nom d'organisation",
         description = "Vérifie si un nom d'organisation est déjà utilisé"
@@ -317,52 +344,83 @@ public class OrganizationReactiveController {
         description = "Récupère les organisations d'un type spécifique"
     )
     @GetMapping(value = "/type/{type}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<OrganizationResponse>>> getOrganizationsByType(
+    public Mono<ApiResponse<List<OrganizationResponse>>> getOrganizationsByType(
         @Parameter(description = "Type d'organisation") @PathVariable OrganizationType type,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/organizations/type/{} - Getting organizations by type", type);
 
-        Flux<OrganizationResponse> organizations = organizationService.findByType(type, userPrincipal.getId());
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<OrganizationResponse>>builder()
+        return organizationService.findByType(type, userPrincipal.getId())
+            .collectList()
+            .map(organizations -> ApiResponse.<List<OrganizationResponse>>builder()
                 .success(true)
                 .message("Organisations trouvées pour le type " + type.getDisplayName())
                 .data(organizations)
+                .count((long) organizations.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<OrganizationResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<OrganizationResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche par type")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les organisations par type (flux)",
+        description = "Récupère les organisations d'un type spécifique (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/type/{type}/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrganizationResponse> streamOrganizationsByType(
+        @Parameter(description = "Type d'organisation") @PathVariable OrganizationType type,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/type/{}/stream - Getting organizations by type", type);
+
+        return organizationService.findByType(type, userPrincipal.getId());
+    }
+
     @Operation(
         summary = "Obtenir les organisations par localisation",
         description = "Récupère les organisations par ville et pays"
     )
     @GetMapping(value = "/location", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<OrganizationResponse>>> getOrganizationsByLocation(
+    public Mono<ApiResponse<List<OrganizationResponse>>> getOrganizationsByLocation(
         @RequestParam String city,
         @RequestParam String country,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/organizations/location - Getting organizations in {} - {}", city, country);
 
-        Flux<OrganizationResponse> organizations = organizationService.findByCityAndCountry(city, country, userPrincipal.getId());
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<OrganizationResponse>>builder()
+        return organizationService.findByCityAndCountry(city, country, userPrincipal.getId())
+            .collectList()
+            .map(organizations -> ApiResponse.<List<OrganizationResponse>>builder()
                 .success(true)
                 .message("Organisations trouvées pour la localisation")
                 .data(organizations)
+                .count((long) organizations.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<OrganizationResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<OrganizationResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche par localisation")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les organisations par localisation (flux)",
+        description = "Récupère les organisations par ville et pays (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/location/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrganizationResponse> streamOrganizationsByLocation(
+        @RequestParam String city,
+        @RequestParam String country,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/location/stream - Getting organizations in {} - {}", city, country);
+
+        return organizationService.findByCityAndCountry(city, country, userPrincipal.getId());
+    }
+
     @Operation(
         summary = "Obtenir les statistiques d'une organisation",
         description = "Récupère les statistiques détaillées d'une organisation"
@@ -472,31 +530,97 @@ public class OrganizationReactiveController {
         description = "Récupère les organisations avec des alertes (abonnement expirant, non vérifiées, etc.)"
     )
     @GetMapping(value = "/alerts", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<OrganizationResponse>>> getOrganizationsNeedingAttention(
+    public Mono<ApiResponse<List<OrganizationResponse>>> getOrganizationsNeedingAttention(
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         log.info("GET /api/v1/organizations/alerts - Getting organizations needing attention");
 
-        Flux<OrganizationResponse> organizations = organizationService.findOrganizationsNeedingAttention(userPrincipal.getId());
-
-        return Mono.fromCallable(() -> ApiResponse.<Flux<OrganizationResponse>>builder()
+        return organizationService.findOrganizationsNeedingAttention(userPrincipal.getId())
+            .collectList()
+            .map(organizations -> ApiResponse.<List<OrganizationResponse>>builder()
                 .success(true)
                 .message("Organisations nécessitant une attention trouvées")
                 .data(organizations)
+                .count((long) organizations.size())
                 .build())
-            .onErrorReturn(ApiResponse.<Flux<OrganizationResponse>>builder()
+            .onErrorReturn(ApiResponse.<List<OrganizationResponse>>builder()
                 .success(false)
                 .message("Erreur lors de la recherche d'alertes")
                 .data(null)
                 .build());
     }
 
+    @Operation(
+        summary = "Obtenir les organisations nécessitant une attention (flux)",
+        description = "Récupère les organisations avec des alertes (abonnement expirant, non vérifiées, etc.) (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/alerts/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<OrganizationResponse> streamOrganizationsNeedingAttention(
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/alerts/stream - Getting organizations needing attention");
+
+        return organizationService.findOrganizationsNeedingAttention(userPrincipal.getId());
+    }
+
+    @Operation(
+        summary = "Obtenir les organisations les plus performantes",
+        description = "Récupère les organisations actives classées par chiffre d'affaires mensuel"
+    )
+    @GetMapping(value = "/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<OrganizationResponse>>> getTopPerformingOrganizations(
+        @Parameter(description = "Nombre d'organisations") @RequestParam(defaultValue = "10") int limit,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/top - Getting top {} organizations", limit);
+
+        return organizationService.findTopPerformingOrganizations(limit, userPrincipal.getId())
+            .collectList()
+            .map(organizations -> ApiResponse.<List<OrganizationResponse>>builder()
+                .success(true)
+                .message("Organisations les plus performantes récupérées")
+                .data(organizations)
+                .count((long) organizations.size())
+                .build())
+            .onErrorReturn(ApiResponse.<List<OrganizationResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la récupération du classement des organisations")
+                .data(null)
+                .build());
+    }
+
+    @Operation(
+        summary = "Obtenir les organisations à forte utilisation du parc",
+        description = "Récupère les organisations actives classées par taux d'utilisation des véhicules du mois en cours"
+    )
+    @GetMapping(value = "/high-utilization", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ApiResponse<List<OrganizationResponse>>> getHighUtilizationOrganizations(
+        @Parameter(description = "Nombre d'organisations") @RequestParam(defaultValue = "10") int limit,
+        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("GET /api/v1/organizations/high-utilization - Getting top {} organizations by utilization", limit);
+
+        return organizationService.findHighUtilizationOrganizations(limit, userPrincipal.getId())
+            .collectList()
+            .map(organizations -> ApiResponse.<List<OrganizationResponse>>builder()
+                .success(true)
+                .message("Organisations à forte utilisation récupérées")
+                .data(organizations)
+                .count((long) organizations.size())
+                .build())
+            .onErrorReturn(ApiResponse.<List<OrganizationResponse>>builder()
+                .success(false)
+                .message("Erreur lors de la récupération du classement des organisations")
+                .data(null)
+                .build());
+    }
+
     @Operation(
         summary = "Obtenir les agences d'une organisation",
         description = "Récupère toutes les agences d'une organisation"
     )
     @GetMapping(value = "/{id}/agencies", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ApiResponse<Flux<AgencyResponse>>> getOrganizationAgencies(
+    public Mono<ApiResponse<List<AgencyResponse>>> getOrganizationAgencies(
         @Parameter(description = "ID de l'organisation") @PathVariable UUID id,
         @RequestParam(defaultValue = "false") boolean activeOnly,
         @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -505,7 +629,7 @@ public class OrganizationReactiveController {
 
         // Cette méthode sera déléguée au service des agences
         // Pour l'instant, nous retournons une réponse placeholder
-        return Mono.fromCallable(() -> ApiResponse.<Flux<AgencyResponse>>builder()
+        return Mono.fromCallable(() -> ApiResponse.<List<AgencyResponse>>builder()
             .success(true)
             .message("Redirection vers /api/v1/agencies/organization/" + id)
             .data(null)
@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.infrastructure.web.controller;
 
+import inc.yowyob.rental_api_reactive.application.service.PermissionCacheReactiveService;
 import inc.yowyob.rental_api_reactive.application.service.PermissionReactiveService;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -24,35 +26,56 @@ import java.util.UUID;
 public class PermissionReactiveController {
 
     private final PermissionReactiveService permissionService;
+    private final PermissionCacheReactiveService permissionCacheService;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Lister toutes les permissions", description = "Récupère toutes les permissions disponibles dans le système")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<PermissionResponse>>> getAllPermissions() {
+    public Mono<ApiResponse<List<PermissionResponse>>> getAllPermissions() {
         log.info("GET /api/v1/permissions - Getting all permissions");
 
-        Flux<PermissionResponse> permissions = permissionService.getAllPermissions();
+        return permissionService.getAllPermissions()
+            .collectList()
+            .map(permissions -> ApiResponse.<List<PermissionResponse>>builder()
+                .success(true)
+                .message("Permissions récupérées avec succès")
+                .data(permissions)
+                .count((long) permissions.size())
+                .build());
+    }
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Lister toutes les permissions (flux)", description = "Récupère toutes les permissions disponibles dans le système (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<PermissionResponse> streamAllPermissions() {
+        log.info("GET /api/v1/permissions/stream - Getting all permissions");
 
-        return Mono.just(ApiResponse.<Flux<PermissionResponse>>builder()
-            .success(true)
-            .message("Permissions récupérées avec succès")
-            .data(permissions)
-            .build());
+        return permissionService.getAllPermissions();
     }
 
     @GetMapping(value = "/resources", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Lister les ressources", description = "Récupère toutes les ressources disponibles")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<String>>> getAllResources() {
+    public Mono<ApiResponse<List<String>>> getAllResources() {
         log.info("GET /api/v1/permissions/resources - Getting all resources");
 
-        Flux<String> resources = permissionService.getAllResources();
+        return permissionService.getAllResources()
+            .collectList()
+            .map(resources -> ApiResponse.<List<String>>builder()
+                .success(true)
+                .message("Ressources récupérées avec succès")
+                .data(resources)
+                .count((long) resources.size())
+                .build());
+    }
+
+    @GetMapping(value = "/resources/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Lister les ressources (flux)", description = "Récupère toutes les ressources disponibles (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<String> streamAllResources() {
+        log.info("GET /api/v1/permissions/resources/stream - Getting all resources");
 
-        return Mono.just(ApiResponse.<Flux<String>>builder()
-            .success(true)
-            .message("Ressources récupérées avec succès")
-            .data(resources)
-            .build());
+        return permissionService.getAllResources();
     }
 
     @GetMapping(value = "/resources/{resource}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -81,7 +104,7 @@ public class PermissionReactiveController {
 
         log.info("GET /api/v1/permissions/users/{} - Getting user permissions", userId);
 
-        return permissionService.getUserPermissions(userId)
+        return permissionCacheService.getUserPermissions(userId)
             .map(userPermissions -> ApiResponse.<UserPermissionsResponse>builder()
                 .success(true)
                 .message("Permissions utilisateur récupérées avec succès")
@@ -100,7 +123,7 @@ public class PermissionReactiveController {
 
         log.info("GET /api/v1/permissions/users/{}/check - Checking permission: {}", userId, permission);
 
-        return permissionService.hasPermission(userId, permission)
+        return permissionCacheService.hasPermission(userId, permission)
             .map(hasPermission -> {
                 PermissionCheckResponse response = PermissionCheckResponse.builder()
                     .userId(userId)
@@ -128,8 +151,8 @@ public class PermissionReactiveController {
             userId, request.getPermissions().size());
 
         return Mono.zip(
-            permissionService.hasAllPermissions(userId, request.getPermissions()),
-            permissionService.hasAnyPermission(userId, request.getPermissions())
+            permissionCacheService.hasAllPermissions(userId, request.getPermissions()),
+            permissionCacheService.hasAnyPermission(userId, request.getPermissions())
         ).map(tuple -> {
             MultiplePermissionCheckResponse response = MultiplePermissionCheckResponse.builder()
                 .userId(userId)
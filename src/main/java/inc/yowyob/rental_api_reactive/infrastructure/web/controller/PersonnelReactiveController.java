@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -63,22 +64,41 @@ public class PersonnelReactiveController {
         @Parameter(description = "Type d'utilisateur (optionnel)")
         @RequestParam(required = false) UserType userType,
         @Parameter(description = "Statut actif (optionnel)")
-        @RequestParam(required = false) Boolean isActive) {
+        @RequestParam(required = false) Boolean isActive,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /personnel - Fetching personnel for organization: {}, agency: {}",
             organizationId, agencyId);
 
-        return personnelService.getPersonnelByFilters(organizationId, agencyId, userType, isActive)
-            .collectList()
-            .map(personnel -> ApiResponse.<java.util.List<PersonnelResponse>>builder()
-                .success(true)
-                .message("Personnel récupéré avec succès")
-                .data(personnel)
-                .count((long) personnel.size())
-                .build())
+        return personnelService.getPersonnelPageByFilters(organizationId, agencyId, userType, isActive, cursor, size)
+            .map(personnel -> ApiResponse.page(personnel, "Personnel récupéré avec succès"))
             .doOnSuccess(response -> log.info("Retrieved {} personnel members", response.getData().size()));
     }
 
+    @Operation(
+        summary = "Diffuser les membres du personnel",
+        description = "Diffuse le personnel d'une organisation avec filtres optionnels (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PersonnelResponse> streamAllPersonnel(
+        @Parameter(description = "ID de l'organisation")
+        @RequestParam UUID organizationId,
+        @Parameter(description = "ID de l'agence (optionnel)")
+        @RequestParam(required = false) UUID agencyId,
+        @Parameter(description = "Type d'utilisateur (optionnel)")
+        @RequestParam(required = false) UserType userType,
+        @Parameter(description = "Statut actif (optionnel)")
+        @RequestParam(required = false) Boolean isActive) {
+
+        log.info("GET /personnel/stream - Streaming personnel for organization: {}, agency: {}",
+            organizationId, agencyId);
+
+        return personnelService.getPersonnelByFilters(organizationId, agencyId, userType, isActive);
+    }
+
     @Operation(
         summary = "Récupérer un membre du personnel par ID",
         description = "Retourne les détails d'un membre du personnel spécifique"
@@ -210,19 +230,33 @@ public class PersonnelReactiveController {
         @Parameter(description = "ID de l'agence")
         @PathVariable UUID agencyId,
         @Parameter(description = "Type d'utilisateur (optionnel)")
-        @RequestParam(required = false) UserType userType) {
+        @RequestParam(required = false) UserType userType,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /personnel/agency/{} - Fetching personnel for agency", agencyId);
 
-        return personnelService.getPersonnelByAgency(agencyId, userType)
-            .collectList()
-            .map(personnel -> ApiResponse.<java.util.List<PersonnelResponse>>builder()
-                .success(true)
-                .message("Personnel de l'agence récupéré avec succès")
-                .data(personnel)
-                .count((long) personnel.size())
-                .build())
+        return personnelService.getPersonnelPageByAgency(agencyId, userType, cursor, size)
+            .map(personnel -> ApiResponse.page(personnel, "Personnel de l'agence récupéré avec succès"))
             .doOnSuccess(response -> log.info("Retrieved {} personnel for agency: {}",
                 response.getData().size(), agencyId));
     }
+
+    @Operation(
+        summary = "Diffuser le personnel par agence",
+        description = "Diffuse les membres du personnel d'une agence spécifique (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/agency/{agencyId}/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PersonnelResponse> streamPersonnelByAgency(
+        @Parameter(description = "ID de l'agence")
+        @PathVariable UUID agencyId,
+        @Parameter(description = "Type d'utilisateur (optionnel)")
+        @RequestParam(required = false) UserType userType) {
+
+        log.info("GET /personnel/agency/{}/stream - Streaming personnel for agency", agencyId);
+
+        return personnelService.getPersonnelByAgency(agencyId, userType);
+    }
 }
@@ -15,6 +15,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -50,19 +51,32 @@ public class RoleReactiveController {
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Lister les rôles", description = "Récupère tous les rôles d'une organisation")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<RoleResponse>>> getRoles(
+    public Mono<ApiResponse<List<RoleResponse>>> getRoles(
         @Parameter(description = "ID de l'organisation")
         @RequestParam UUID organizationId) {
 
         log.info("GET /api/v1/roles - Getting roles for organization: {}", organizationId);
 
-        Flux<RoleResponse> roles = roleService.getRolesByOrganization(organizationId);
+        return roleService.getRolesByOrganization(organizationId)
+            .collectList()
+            .map(roles -> ApiResponse.<List<RoleResponse>>builder()
+                .success(true)
+                .message("Rôles récupérés avec succès")
+                .data(roles)
+                .count((long) roles.size())
+                .build());
+    }
 
-        return Mono.just(ApiResponse.<Flux<RoleResponse>>builder()
-            .success(true)
-            .message("Rôles récupérés avec succès")
-            .data(roles)
-            .build());
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Lister les rôles (flux)", description = "Récupère tous les rôles d'une organisation (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<RoleResponse> streamRoles(
+        @Parameter(description = "ID de l'organisation")
+        @RequestParam UUID organizationId) {
+
+        log.info("GET /api/v1/roles/stream - Getting roles for organization: {}", organizationId);
+
+        return roleService.getRolesByOrganization(organizationId);
     }
 
     @GetMapping(value = "/{roleId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -167,33 +181,56 @@ public class RoleReactiveController {
     @GetMapping(value = "/system", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtenir les rôles système", description = "Récupère tous les rôles prédéfinis du système")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<RoleResponse>>> getSystemRoles() {
+    public Mono<ApiResponse<List<RoleResponse>>> getSystemRoles() {
         log.info("GET /api/v1/roles/system - Getting system roles");
 
-        Flux<RoleResponse> systemRoles = roleService.getSystemRoles();
+        return roleService.getSystemRoles()
+            .collectList()
+            .map(systemRoles -> ApiResponse.<List<RoleResponse>>builder()
+                .success(true)
+                .message("Rôles système récupérés avec succès")
+                .data(systemRoles)
+                .count((long) systemRoles.size())
+                .build());
+    }
 
-        return Mono.just(ApiResponse.<Flux<RoleResponse>>builder()
-            .success(true)
-            .message("Rôles système récupérés avec succès")
-            .data(systemRoles)
-            .build());
+    @GetMapping(value = "/system/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Obtenir les rôles système (flux)", description = "Récupère tous les rôles prédéfinis du système (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<RoleResponse> streamSystemRoles() {
+        log.info("GET /api/v1/roles/system/stream - Getting system roles");
+
+        return roleService.getSystemRoles();
     }
 
     @GetMapping(value = "/defaults", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtenir les rôles par défaut", description = "Récupère les rôles par défaut d'une organisation")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<RoleResponse>>> getDefaultRoles(
+    public Mono<ApiResponse<List<RoleResponse>>> getDefaultRoles(
         @Parameter(description = "ID de l'organisation")
         @RequestParam UUID organizationId) {
 
         log.info("GET /api/v1/roles/defaults - Getting default roles for organization: {}", organizationId);
 
-        Flux<RoleResponse> defaultRoles = roleService.getDefaultRoles(organizationId);
+        return roleService.getDefaultRoles(organizationId)
+            .collectList()
+            .map(defaultRoles -> ApiResponse.<List<RoleResponse>>builder()
+                .success(true)
+                .message("Rôles par défaut récupérés avec succès")
+                .data(defaultRoles)
+                .count((long) defaultRoles.size())
+                .build());
+    }
+
+    @GetMapping(value = "/defaults/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Obtenir les rôles par défaut (flux)", description = "Récupère les rôles par défaut d'une organisation (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<RoleResponse> streamDefaultRoles(
+        @Parameter(description = "ID de l'organisation")
+        @RequestParam UUID organizationId) {
+
+        log.info("GET /api/v1/roles/defaults/stream - Getting default roles for organization: {}", organizationId);
 
-        return Mono.just(ApiResponse.<Flux<RoleResponse>>builder()
-            .success(true)
-            .message("Rôles par défaut récupérés avec succès")
-            .data(defaultRoles)
-            .build());
+        return roleService.getDefaultRoles(organizationId);
     }
 }
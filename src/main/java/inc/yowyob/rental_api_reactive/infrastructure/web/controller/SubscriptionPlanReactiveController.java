@@ -8,7 +8,9 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -47,6 +49,17 @@ public class SubscriptionPlanReactiveController {
                 .build());
     }
 
+    @Operation(
+        summary = "Diffuser tous les forfaits disponibles",
+        description = "Diffuse les forfaits d'abonnement actifs (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/plans/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SubscriptionPlan> streamAllPlans() {
+        log.info("GET /subscription/plans/stream - Streaming all subscription plans");
+
+        return subscriptionPlanService.getAllActivePlans();
+    }
+
     @Operation(
         summary = "Récupérer un forfait par ID",
         description = "Retourne les détails d'un forfait d'abonnement spécifique"
@@ -99,6 +112,17 @@ public class SubscriptionPlanReactiveController {
                 .build());
     }
 
+    @Operation(
+        summary = "Diffuser les forfaits populaires",
+        description = "Diffuse les forfaits marqués comme populaires (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/plans/popular/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SubscriptionPlan> streamPopularPlans() {
+        log.info("GET /subscription/plans/popular/stream - Streaming popular subscription plans");
+
+        return subscriptionPlanService.getPopularPlans();
+    }
+
     @Operation(
         summary = "Récupérer les forfaits standards",
         description = "Retourne les forfaits non personnalisés"
@@ -121,4 +145,15 @@ public class SubscriptionPlanReactiveController {
                 .data(null)
                 .build());
     }
+
+    @Operation(
+        summary = "Diffuser les forfaits standards",
+        description = "Diffuse les forfaits non personnalisés (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/plans/standard/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SubscriptionPlan> streamStandardPlans() {
+        log.info("GET /subscription/plans/standard/stream - Streaming standard subscription plans");
+
+        return subscriptionPlanService.getStandardPlans();
+    }
 }
@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.infrastructure.web.controller;
 
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
 import inc.yowyob.rental_api_reactive.application.service.UserReactiveService;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.*;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
@@ -8,10 +9,13 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -29,43 +33,55 @@ public class UserReactiveController {
 
     @Operation(
         summary = "Récupérer tous les utilisateurs",
-        description = "Retourne la liste de tous les utilisateurs non supprimés"
+        description = "Retourne une page des utilisateurs non supprimés (pagination par curseur)"
     )
     @GetMapping
-    public Mono<ApiResponse<java.util.List<UserResponse>>> getAllUsers(
+    public Mono<ApiResponse<List<UserResponse>>> getAllUsers(
         @Parameter(description = "ID de l'organisation (optionnel)")
         @RequestParam(required = false) UUID organizationId,
         @Parameter(description = "Type d'utilisateur (optionnel)")
         @RequestParam(required = false) UserType userType,
         @Parameter(description = "Utilisateurs actifs uniquement")
-        @RequestParam(defaultValue = "true") Boolean activeOnly) {
+        @RequestParam(defaultValue = "true") Boolean activeOnly,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /users - Fetching users for organization: {}, type: {}, activeOnly: {}",
             organizationId, userType, activeOnly);
 
-        if (organizationId != null) {
-            return userService.findByOrganizationId(organizationId)
-                .filter(user -> userType == null || userType.equals(user.getUserType()))
-                .filter(user -> !activeOnly || user.getIsActive())
-                .collectList()
-                .map(users -> ApiResponse.<java.util.List<UserResponse>>builder()
-                    .success(true)
-                    .message("Utilisateurs récupérés avec succès")
-                    .data(users)
-                    .count((long) users.size())
-                    .build());
-        } else {
-            return userService.findAll()
+        Mono<CursorPage<UserResponse>> page = organizationId != null
+            ? userService.findPageByOrganizationId(organizationId, cursor, size)
+            : userService.findPage(cursor, size);
+
+        return page
+            .map(users -> users
                 .filter(user -> userType == null || userType.equals(user.getUserType()))
-                .filter(user -> !activeOnly || user.getIsActive())
-                .collectList()
-                .map(users -> ApiResponse.<java.util.List<UserResponse>>builder()
-                    .success(true)
-                    .message("Utilisateurs récupérés avec succès")
-                    .data(users)
-                    .count((long) users.size())
-                    .build());
-        }
+                .filter(user -> !activeOnly || Boolean.TRUE.equals(user.getIsActive())))
+            .map(users -> ApiResponse.page(users, "Utilisateurs récupérés avec succès"));
+    }
+
+    @Operation(
+        summary = "Diffuser les utilisateurs d'une organisation",
+        description = "Diffuse les utilisateurs non supprimés d'une organisation au fil de la lecture (NDJSON ou Server-Sent Events). "
+            + "La liste globale se parcourt page par page via GET /users"
+    )
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponse> streamAllUsers(
+        @Parameter(description = "ID de l'organisation")
+        @RequestParam UUID organizationId,
+        @Parameter(description = "Type d'utilisateur (optionnel)")
+        @RequestParam(required = false) UserType userType,
+        @Parameter(description = "Utilisateurs actifs uniquement")
+        @RequestParam(defaultValue = "true") Boolean activeOnly) {
+
+        log.info("GET /users/stream - Streaming users for organization: {}, type: {}, activeOnly: {}",
+            organizationId, userType, activeOnly);
+
+        return userService.findByOrganizationId(organizationId)
+            .filter(user -> userType == null || userType.equals(user.getUserType()))
+            .filter(user -> !activeOnly || Boolean.TRUE.equals(user.getIsActive()));
     }
 
     @Operation(
@@ -148,73 +164,119 @@ public class UserReactiveController {
         description = "Retourne tous les membres du personnel d'une organisation"
     )
     @GetMapping("/organization/{organizationId}/personnel")
-    public Mono<ApiResponse<java.util.List<UserResponse>>> getOrganizationPersonnel(
+    public Mono<ApiResponse<List<UserResponse>>> getOrganizationPersonnel(
         @Parameter(description = "ID de l'organisation")
-        @PathVariable UUID organizationId) {
+        @PathVariable UUID organizationId,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /users/organization/{}/personnel - Fetching personnel", organizationId);
 
-        return userService.findPersonnelByOrganization(organizationId)
-            .collectList()
-            .map(personnel -> ApiResponse.<java.util.List<UserResponse>>builder()
-                .success(true)
-                .message("Personnel de l'organisation récupéré avec succès")
-                .data(personnel)
-                .count((long) personnel.size())
-                .build())
+        return userService.findPersonnelPageByOrganization(organizationId, cursor, size)
+            .map(personnel -> ApiResponse.page(personnel, "Personnel de l'organisation récupéré avec succès"))
             .doOnSuccess(response -> log.info("Retrieved {} personnel for organization: {}",
                 response.getData().size(), organizationId));
     }
 
+    @Operation(
+        summary = "Diffuser le personnel d'une organisation",
+        description = "Diffuse les membres du personnel d'une organisation (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/organization/{organizationId}/personnel/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponse> streamOrganizationPersonnel(
+        @Parameter(description = "ID de l'organisation")
+        @PathVariable UUID organizationId) {
+
+        log.info("GET /users/organization/{}/personnel/stream - Streaming personnel", organizationId);
+
+        return userService.findPersonnelByOrganization(organizationId);
+    }
+
     @Operation(
         summary = "Récupérer le personnel d'une agence",
         description = "Retourne tous les membres du personnel d'une agence"
     )
     @GetMapping("/agency/{agencyId}/personnel")
-    public Mono<ApiResponse<java.util.List<UserResponse>>> getAgencyPersonnel(
+    public Mono<ApiResponse<List<UserResponse>>> getAgencyPersonnel(
         @Parameter(description = "ID de l'agence")
-        @PathVariable UUID agencyId) {
+        @PathVariable UUID agencyId,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /users/agency/{}/personnel - Fetching personnel", agencyId);
 
-        return userService.findPersonnelByAgency(agencyId)
-            .collectList()
-            .map(personnel -> ApiResponse.<java.util.List<UserResponse>>builder()
-                .success(true)
-                .message("Personnel de l'agence récupéré avec succès")
-                .data(personnel)
-                .count((long) personnel.size())
-                .build())
+        return userService.findPersonnelPageByAgency(agencyId, cursor, size)
+            .map(personnel -> ApiResponse.page(personnel, "Personnel de l'agence récupéré avec succès"))
             .doOnSuccess(response -> log.info("Retrieved {} personnel for agency: {}",
                 response.getData().size(), agencyId));
     }
 
+    @Operation(
+        summary = "Diffuser le personnel d'une agence",
+        description = "Diffuse les membres du personnel d'une agence (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/agency/{agencyId}/personnel/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponse> streamAgencyPersonnel(
+        @Parameter(description = "ID de l'agence")
+        @PathVariable UUID agencyId) {
+
+        log.info("GET /users/agency/{}/personnel/stream - Streaming personnel", agencyId);
+
+        return userService.findPersonnelByAgency(agencyId);
+    }
+
     @Operation(
         summary = "Récupérer les utilisateurs par type",
         description = "Retourne tous les utilisateurs d'un type spécifique"
     )
     @GetMapping("/type/{userType}")
-    public Mono<ApiResponse<java.util.List<UserResponse>>> getUsersByType(
+    public Mono<ApiResponse<List<UserResponse>>> getUsersByType(
         @Parameter(description = "Type d'utilisateur")
         @PathVariable UserType userType,
         @Parameter(description = "ID de l'organisation (optionnel)")
-        @RequestParam(required = false) UUID organizationId) {
+        @RequestParam(required = false) UUID organizationId,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /users/type/{} - Fetching users by type for organization: {}", userType, organizationId);
 
-        return userService.findByUserType(userType)
-            .filter(user -> organizationId == null || organizationId.equals(user.getOrganizationId()))
-            .collectList()
-            .map(users -> ApiResponse.<java.util.List<UserResponse>>builder()
-                .success(true)
-                .message("Utilisateurs du type " + userType.getDisplayName() + " récupérés avec succès")
-                .data(users)
-                .count((long) users.size())
-                .build())
+        Mono<CursorPage<UserResponse>> page = organizationId != null
+            ? userService.findPageByOrganizationId(organizationId, cursor, size)
+                .map(users -> users.filter(user -> userType.equals(user.getUserType())))
+            : userService.findPageByUserType(userType, cursor, size);
+
+        return page
+            .map(users -> ApiResponse.page(users,
+                "Utilisateurs du type " + userType.getDisplayName() + " récupérés avec succès"))
             .doOnSuccess(response -> log.info("Retrieved {} users of type: {}",
                 response.getData().size(), userType));
     }
 
+    @Operation(
+        summary = "Diffuser les utilisateurs par type",
+        description = "Diffuse les utilisateurs d'un type spécifique (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/type/{userType}/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponse> streamUsersByType(
+        @Parameter(description = "Type d'utilisateur")
+        @PathVariable UserType userType,
+        @Parameter(description = "ID de l'organisation (optionnel)")
+        @RequestParam(required = false) UUID organizationId) {
+
+        log.info("GET /users/type/{}/stream - Streaming users by type for organization: {}", userType, organizationId);
+
+        return organizationId != null
+            ? userService.findByOrganizationId(organizationId)
+                .filter(user -> userType.equals(user.getUserType()))
+            : userService.findByUserType(userType);
+    }
+
     @Operation(
         summary = "Vérifier si un email existe",
         description = "Vérifie si une adresse email est déjà utilisée"
@@ -257,31 +319,44 @@ public class UserReactiveController {
 
     @Operation(
         summary = "Rechercher des utilisateurs",
-        description = "Recherche des utilisateurs par nom, email ou ID employé"
+        description = "Recherche classée des utilisateurs par nom, email, ID employé, département ou téléphone (préfixes et fragments)"
     )
     @GetMapping("/search")
-    public Mono<ApiResponse<java.util.List<UserResponse>>> searchUsers(
+    public Mono<ApiResponse<List<UserResponse>>> searchUsers(
         @Parameter(description = "Terme de recherche")
         @RequestParam String query,
         @Parameter(description = "ID de l'organisation (optionnel)")
         @RequestParam(required = false) UUID organizationId,
         @Parameter(description = "Type d'utilisateur (optionnel)")
-        @RequestParam(required = false) UserType userType) {
+        @RequestParam(required = false) UserType userType,
+        @Parameter(description = "Curseur de la page suivante (optionnel)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Taille de page (optionnel)")
+        @RequestParam(required = false) Integer size) {
 
         log.info("GET /users/search - Searching users with query: {} for organization: {}", query, organizationId);
 
-        return userService.findAll()
-            .filter(user -> organizationId == null || organizationId.equals(user.getOrganizationId()))
-            .filter(user -> userType == null || userType.equals(user.getUserType()))
-            .filter(user -> matchesSearchQuery(user, query))
-            .collectList()
-            .map(users -> ApiResponse.<java.util.List<UserResponse>>builder()
-                .success(true)
-                .message("Recherche terminée avec succès")
-                .data(users)
-                .count((long) users.size())
-                .build())
-            .doOnSuccess(response -> log.info("Search completed, found {} users", response.getData().size()));
+        return userService.searchPage(organizationId, query, userType, cursor, size)
+            .map(users -> ApiResponse.page(users, "Recherche terminée avec succès"))
+            .doOnSuccess(response -> log.info("Search page completed, found {} users", response.getData().size()));
+    }
+
+    @Operation(
+        summary = "Rechercher des utilisateurs (flux)",
+        description = "Diffuse tous les résultats de recherche, sans la limite de la recherche paginée, au fil de la lecture (NDJSON ou Server-Sent Events)"
+    )
+    @GetMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponse> streamSearchUsers(
+        @Parameter(description = "Terme de recherche")
+        @RequestParam String query,
+        @Parameter(description = "ID de l'organisation (optionnel)")
+        @RequestParam(required = false) UUID organizationId,
+        @Parameter(description = "Type d'utilisateur (optionnel)")
+        @RequestParam(required = false) UserType userType) {
+
+        log.info("GET /users/search/stream - Streaming search with query: {} for organization: {}", query, organizationId);
+
+        return userService.searchAll(organizationId, query, userType);
     }
 
     @Operation(
@@ -306,23 +381,4 @@ public class UserReactiveController {
             .doOnSuccess(response -> log.info("User deleted successfully: {}", userId))
             .doOnError(error -> log.error("Failed to delete user: {}", userId, error));
     }
-
-    /**
-     * Vérifie si un utilisateur correspond à la requête de recherche
-     */
-    private boolean matchesSearchQuery(UserResponse user, String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return true;
-        }
-
-        String lowerQuery = query.toLowerCase().trim();
-
-        return (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(lowerQuery)) ||
-            (user.getLastName() != null && user.getLastName().toLowerCase().contains(lowerQuery)) ||
-            (user.getFullName() != null && user.getFullName().toLowerCase().contains(lowerQuery)) ||
-            (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerQuery)) ||
-            (user.getEmployeeId() != null && user.getEmployeeId().toLowerCase().contains(lowerQuery)) ||
-            (user.getDepartment() != null && user.getDepartment().toLowerCase().contains(lowerQuery)) ||
-            (user.getPosition() != null && user.getPosition().toLowerCase().contains(lowerQuery));
-    }
 }
@@ -16,6 +16,7 @@ import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -75,37 +76,63 @@ public class UserRoleReactiveController {
     @GetMapping(value = "/{userId}/roles", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtenir les rôles d'un utilisateur", description = "Récupère tous les rôles actifs d'un utilisateur")
     @PreAuthorize("hasPermission('USER', 'READ')")
-    public Mono<ApiResponse<Flux<UserRoleResponse>>> getUserRoles(
+    public Mono<ApiResponse<List<UserRoleResponse>>> getUserRoles(
         @Parameter(description = "ID de l'utilisateur")
         @PathVariable UUID userId) {
 
         log.info("GET /api/v1/user-roles/{}/roles - Getting user roles", userId);
 
-        Flux<UserRoleResponse> userRoles = userRoleService.getUserRoles(userId);
+        return userRoleService.getUserRoles(userId)
+            .collectList()
+            .map(userRoles -> ApiResponse.<List<UserRoleResponse>>builder()
+                .success(true)
+                .message("Rôles utilisateur récupérés avec succès")
+                .data(userRoles)
+                .count((long) userRoles.size())
+                .build());
+    }
+
+    @GetMapping(value = "/{userId}/roles/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Obtenir les rôles d'un utilisateur (flux)", description = "Récupère tous les rôles actifs d'un utilisateur (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('USER', 'READ')")
+    public Flux<UserRoleResponse> streamUserRoles(
+        @Parameter(description = "ID de l'utilisateur")
+        @PathVariable UUID userId) {
+
+        log.info("GET /api/v1/user-roles/{}/roles/stream - Getting user roles", userId);
 
-        return Mono.just(ApiResponse.<Flux<UserRoleResponse>>builder()
-            .success(true)
-            .message("Rôles utilisateur récupérés avec succès")
-            .data(userRoles)
-            .build());
+        return userRoleService.getUserRoles(userId);
     }
 
     @GetMapping(value = "/roles/{roleId}/users", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtenir les utilisateurs par rôle", description = "Récupère tous les utilisateurs ayant un rôle spécifique")
     @PreAuthorize("hasPermission('ROLE', 'READ')")
-    public Mono<ApiResponse<Flux<UserRoleResponse>>> getUsersByRole(
+    public Mono<ApiResponse<List<UserRoleResponse>>> getUsersByRole(
         @Parameter(description = "ID du rôle")
         @PathVariable UUID roleId) {
 
         log.info("GET /api/v1/user-roles/roles/{}/users - Getting users by role", roleId);
 
-        Flux<UserRoleResponse> userRoles = userRoleService.getUsersByRole(roleId);
+        return userRoleService.getUsersByRole(roleId)
+            .collectList()
+            .map(userRoles -> ApiResponse.<List<UserRoleResponse>>builder()
+                .success(true)
+                .message("Utilisateurs avec le rôle récupérés avec succès")
+                .data(userRoles)
+                .count((long) userRoles.size())
+                .build());
+    }
+
+    @GetMapping(value = "/roles/{roleId}/users/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Obtenir les utilisateurs par rôle (flux)", description = "Récupère tous les utilisateurs ayant un rôle spécifique (NDJSON ou Server-Sent Events)")
+    @PreAuthorize("hasPermission('ROLE', 'READ')")
+    public Flux<UserRoleResponse> streamUsersByRole(
+        @Parameter(description = "ID du rôle")
+        @PathVariable UUID roleId) {
+
+        log.info("GET /api/v1/user-roles/roles/{}/users/stream - Getting users by role", roleId);
 
-        return Mono.just(ApiResponse.<Flux<UserRoleResponse>>builder()
-            .success(true)
-            .message("Utilisateurs avec le rôle récupérés avec succès")
-            .data(userRoles)
-            .build());
+        return userRoleService.getUsersByRole(roleId);
     }
 
     @DeleteMapping("/{userId}/roles")
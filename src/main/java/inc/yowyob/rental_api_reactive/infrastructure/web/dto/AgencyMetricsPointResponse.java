@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api_reactive.infrastructure.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour un point de l'historique des métriques d'agence
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgencyMetricsPointResponse {
+
+    @JsonProperty("agency_id")
+    private UUID agencyId;
+
+    @JsonProperty("granularity")
+    private MetricGranularity granularity;
+
+    @JsonProperty("period_start")
+    private LocalDateTime periodStart;
+
+    @JsonProperty("sample_count")
+    private Long sampleCount;
+
+    @JsonProperty("avg_active_vehicles")
+    private Double avgActiveVehicles;
+
+    @JsonProperty("max_active_vehicles")
+    private Integer maxActiveVehicles;
+
+    @JsonProperty("avg_utilization_rate")
+    private Double avgUtilizationRate;
+
+    @JsonProperty("total_vehicles")
+    private Integer totalVehicles;
+
+    @JsonProperty("total_rentals")
+    private Integer totalRentals;
+
+    @JsonProperty("monthly_revenue")
+    private Double monthlyRevenue;
+
+    @JsonProperty("last_recorded_at")
+    private LocalDateTime lastRecordedAt;
+}
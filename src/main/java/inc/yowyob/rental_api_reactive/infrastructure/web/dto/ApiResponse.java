@@ -1,12 +1,14 @@
 package inc.yowyob.rental_api_reactive.infrastructure.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import inc.yowyob.rental_api_reactive.application.dto.CursorPage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * DTO de réponse API standard
@@ -42,6 +44,9 @@ public class ApiResponse<T> {
     @JsonProperty("size")
     private Integer size;
 
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
     public static <T> ApiResponse<T> success(T data, String message) {
         return ApiResponse.<T>builder()
             .success(true)
@@ -50,6 +55,20 @@ public class ApiResponse<T> {
             .build();
     }
 
+    /**
+     * Réponse pour une page obtenue par curseur
+     */
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page, String message) {
+        return ApiResponse.<List<T>>builder()
+            .success(true)
+            .message(message)
+            .data(page.getItems())
+            .count((long) page.getItems().size())
+            .size(page.getPageSize())
+            .nextCursor(page.getNextCursor())
+            .build();
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
             .success(false)
@@ -1,7 +1,13 @@
 package inc.yowyob.rental_api_reactive.infrastructure.web.exception;
 
+import inc.yowyob.rental_api_reactive.infrastructure.metrics.RequestMetricsTags;
+import inc.yowyob.rental_api_reactive.infrastructure.metrics.RequestMetricsWebFilter;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,13 +20,19 @@ import jakarta.validation.ConstraintViolationException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalReactiveExceptionHandler {
 
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ApiResponse<Object>>> handleValidationErrors(
         WebExchangeBindException ex, ServerWebExchange exchange) {
         log.error("Validation error: {}", ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST, exchange);
 
         String errors = ex.getBindingResult()
             .getFieldErrors()
@@ -41,6 +53,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleConstraintViolation(
         ConstraintViolationException ex, ServerWebExchange exchange) {
         log.error("Constraint violation: {}", ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST, exchange);
 
         String errors = ex.getConstraintViolations()
             .stream()
@@ -60,6 +73,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleIllegalArgument(
         IllegalArgumentException ex, ServerWebExchange exchange) {
         log.error("Illegal argument: {}", ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -74,6 +88,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleIllegalState(
         IllegalStateException ex, ServerWebExchange exchange) {
         log.error("Illegal state: {}", ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -88,6 +103,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleRuntimeException(
         RuntimeException ex, ServerWebExchange exchange) {
         log.error("Runtime exception: {}", ex.getMessage(), ex);
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -102,6 +118,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleGenericException(
         Exception ex, ServerWebExchange exchange) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -119,6 +136,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleSessionNotFound(
         SessionNotFoundException ex, ServerWebExchange exchange) {
         log.error("Session not found: {}", ex.getMessage());
+        countError(ex, HttpStatus.NOT_FOUND, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -136,6 +154,7 @@ public class GlobalReactiveExceptionHandler {
     public Mono<ResponseEntity<ApiResponse<Object>>> handleSessionExpired(
         SessionExpiredException ex, ServerWebExchange exchange) {
         log.error("Session expired: {}", ex.getMessage());
+        countError(ex, HttpStatus.GONE, exchange);
 
         ApiResponse<Object> response = ApiResponse.<Object>builder()
             .success(false)
@@ -146,6 +165,60 @@ public class GlobalReactiveExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.GONE).body(response));
     }
 
+    /**
+     * Handler pour les refus d'admission (file de hachage saturée)
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public Mono<ResponseEntity<ApiResponse<Object>>> handleServiceOverloaded(
+        ServiceOverloadedException ex, ServerWebExchange exchange) {
+        log.warn("Service overloaded: {}", ex.getMessage());
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE, exchange);
+
+        ApiResponse<Object> response = ApiResponse.<Object>builder()
+            .success(false)
+            .message(ex.getMessage())
+            .data(null)
+            .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+            .body(response));
+    }
+
+    /**
+     * Handler pour les dépassements de concurrence par client
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public Mono<ResponseEntity<ApiResponse<Object>>> handleTooManyRequests(
+        TooManyRequestsException ex, ServerWebExchange exchange) {
+        log.warn("Too many requests: {}", ex.getMessage());
+        countError(ex, HttpStatus.TOO_MANY_REQUESTS, exchange);
+
+        ApiResponse<Object> response = ApiResponse.<Object>builder()
+            .success(false)
+            .message(ex.getMessage())
+            .data(null)
+            .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+            .body(response));
+    }
+
+    /**
+     * Compte l'erreur par type d'exception et statut, avec les tags de la requête (type d'utilisateur, plan)
+     */
+    private void countError(Exception ex, HttpStatus status, ServerWebExchange exchange) {
+        RequestMetricsTags tags = exchange.getAttributeOrDefault(RequestMetricsWebFilter.TAGS_ATTRIBUTE, RequestMetricsTags.NONE);
+        Counter.builder("app.errors")
+            .description("Erreurs renvoyées par l'API")
+            .tag("exception", ex.getClass().getSimpleName())
+            .tag("status", String.valueOf(status.value()))
+            .tags(tags.asTags())
+            .register(meterRegistry)
+            .increment();
+    }
+
     /**
      * Exception personnalisée pour session non trouvée
      */
@@ -163,4 +236,22 @@ public class GlobalReactiveExceptionHandler {
             super(message);
         }
     }
+
+    /**
+     * Exception personnalisée pour un service saturé (503)
+     */
+    public static class ServiceOverloadedException extends RuntimeException {
+        public ServiceOverloadedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Exception personnalisée pour un client dépassant sa limite de concurrence (429)
+     */
+    public static class TooManyRequestsException extends RuntimeException {
+        public TooManyRequestsException(String message) {
+            super(message);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package inc.yowyob.rental_api_reactive.persistence.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
 import lombok.*;
 import org.springframework.data.cassandra.core.mapping.Column;
 import org.springframework.data.cassandra.core.mapping.PrimaryKey;
@@ -188,6 +189,12 @@ public class Agency extends BaseEntity {
     @JsonProperty("secondary_color")
     private String secondaryColor = "#1e40af";
 
+    // === CONCURRENCE ===
+    // Incrémentée à chaque mise à jour partielle (UPDATE ... IF version = ?)
+    @Column("version")
+    @JsonProperty("version")
+    private Long version = 0L;
+
     // Constructors
     public Agency(UUID organizationId, String name, String address, String city) {
         this.id = UUID.randomUUID();
@@ -285,6 +292,15 @@ public class Agency extends BaseEntity {
         preUpdate();
     }
 
+    /**
+     * Renseigne les effectifs à partir de agency_stats
+     */
+    public void applyStatistics(AgencyStats stats) {
+        this.totalDrivers = (int) stats.get(AgencyCounter.TOTAL_DRIVERS);
+        this.activeDrivers = (int) stats.get(AgencyCounter.ACTIVE_DRIVERS);
+        this.totalPersonnel = (int) stats.get(AgencyCounter.TOTAL_PERSONNEL);
+    }
+
     /**
      * Incrémente le nombre de locations
      */
@@ -0,0 +1,63 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.geo.GeoHash;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Agences géolocalisées par cellule géohash (une partition par cellule de précision 4).
+ * Maintenue par AgencyReactiveRepository avec la table agencies ; source de l'index spatial en mémoire.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agencies_by_geohash")
+public class AgencyByGeohash {
+
+    @PrimaryKeyColumn(name = "geohash", type = PrimaryKeyType.PARTITIONED)
+    private String geohash;
+
+    @PrimaryKeyColumn(name = "agency_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID agencyId;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("latitude")
+    private Double latitude;
+
+    @Column("longitude")
+    private Double longitude;
+
+    /**
+     * Rayon de géofencing de l'agence (mètres)
+     */
+    @Column("geofence_radius")
+    private Double geofenceRadius;
+
+    @Column("is_active")
+    private Boolean isActive;
+
+    public static AgencyByGeohash from(Agency agency) {
+        return new AgencyByGeohash(
+            cellOf(agency.getLatitude(), agency.getLongitude()),
+            agency.getId(),
+            agency.getOrganizationId(),
+            agency.getLatitude(),
+            agency.getLongitude(),
+            agency.getGeofenceRadius(),
+            agency.getIsActive()
+        );
+    }
+
+    public static String cellOf(double latitude, double longitude) {
+        return GeoHash.encode(latitude, longitude, GeoHash.PARTITION_PRECISION);
+    }
+}
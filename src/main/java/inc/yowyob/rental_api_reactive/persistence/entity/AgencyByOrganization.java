@@ -0,0 +1,42 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Agences d'une organisation (une partition par organisation)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agencies_by_organization")
+public class AgencyByOrganization {
+
+    @PrimaryKeyColumn(name = "organization_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @PrimaryKeyColumn(name = "agency_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID agencyId;
+
+    @Column("name")
+    private String name;
+
+    @Column("is_active")
+    private Boolean isActive;
+
+    public static AgencyByOrganization from(Agency agency) {
+        return new AgencyByOrganization(
+            agency.getOrganizationId(),
+            agency.getId(),
+            agency.getName(),
+            agency.getIsActive()
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classement précalculé des agences d'une organisation sur une période (une partition par organisation,
+ * granularité et période, une ligne par rang) : un top N se lit avec LIMIT N.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agency_leaderboards")
+public class AgencyLeaderboardEntry {
+
+    @PrimaryKeyColumn(name = "organization_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @PrimaryKeyColumn(name = "granularity", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private MetricGranularity granularity;
+
+    @PrimaryKeyColumn(name = "period_start", ordinal = 2, type = PrimaryKeyType.PARTITIONED)
+    private LocalDateTime periodStart;
+
+    @PrimaryKeyColumn(name = "rank", ordinal = 3, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private Integer rank;
+
+    @Column("agency_id")
+    private UUID agencyId;
+
+    @Column("monthly_revenue")
+    private Double monthlyRevenue;
+
+    @Column("avg_utilization_rate")
+    private Double avgUtilizationRate;
+
+    @Column("total_rentals")
+    private Integer totalRentals;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static AgencyLeaderboardEntry of(AgencyMetricRollup rollup, int rank) {
+        return new AgencyLeaderboardEntry(rollup.getOrganizationId(), rollup.getGranularity(), rollup.getPeriodStart(),
+            rank, rollup.getAgencyId(), rollup.getMonthlyRevenue(), rollup.getAvgUtilizationRate(),
+            rollup.getTotalRentals(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,131 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Agrégat des relevés d'une agence sur une heure, un jour ou un mois
+ * (une partition par agence et granularité, périodes dans l'ordre chronologique).
+ * Les valeurs cumulées (revenu du mois, locations, parc) sont celles du dernier relevé de la période.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agency_metric_rollups")
+public class AgencyMetricRollup {
+
+    @PrimaryKeyColumn(name = "agency_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID agencyId;
+
+    @PrimaryKeyColumn(name = "granularity", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private MetricGranularity granularity;
+
+    @PrimaryKeyColumn(name = "period_start", ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private LocalDateTime periodStart;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("sample_count")
+    private Long sampleCount;
+
+    @Column("avg_active_vehicles")
+    private Double avgActiveVehicles;
+
+    @Column("max_active_vehicles")
+    private Integer maxActiveVehicles;
+
+    @Column("avg_utilization_rate")
+    private Double avgUtilizationRate;
+
+    @Column("total_vehicles")
+    private Integer totalVehicles;
+
+    @Column("total_rentals")
+    private Integer totalRentals;
+
+    @Column("monthly_revenue")
+    private Double monthlyRevenue;
+
+    @Column("last_recorded_at")
+    private LocalDateTime lastRecordedAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Agrégat horaire calculé sur les relevés de l'heure ; null sans relevé
+     */
+    public static AgencyMetricRollup ofSamples(UUID agencyId, LocalDateTime periodStart, Collection<AgencyMetricSample> samples) {
+        AgencyMetricSample last = samples.stream()
+            .max(Comparator.comparing(AgencyMetricSample::getRecordedAt))
+            .orElse(null);
+        if (last == null) {
+            return null;
+        }
+        return new AgencyMetricRollup(agencyId, MetricGranularity.HOUR, periodStart, last.getOrganizationId(),
+            (long) samples.size(),
+            samples.stream().mapToDouble(sample -> valueOf(sample.getActiveVehicles())).average().orElse(0),
+            samples.stream().mapToInt(sample -> valueOf(sample.getActiveVehicles())).max().orElse(0),
+            samples.stream().mapToDouble(sample -> valueOf(sample.getVehicleUtilizationRate())).average().orElse(0),
+            last.getTotalVehicles(), last.getTotalRentals(), last.getMonthlyRevenue(), last.getRecordedAt(),
+            LocalDateTime.now());
+    }
+
+    /**
+     * Agrégat d'un jour ou d'un mois calculé sur ceux de la granularité inférieure (moyennes pondérées
+     * par le nombre de relevés) ; null sans agrégat
+     */
+    public static AgencyMetricRollup ofRollups(UUID agencyId, MetricGranularity granularity, LocalDateTime periodStart,
+                                               Collection<AgencyMetricRollup> parts) {
+        AgencyMetricRollup last = parts.stream()
+            .max(Comparator.comparing(AgencyMetricRollup::getLastRecordedAt))
+            .orElse(null);
+        if (last == null) {
+            return null;
+        }
+        long samples = parts.stream().mapToLong(part -> valueOf(part.getSampleCount())).sum();
+        return new AgencyMetricRollup(agencyId, granularity, periodStart, last.getOrganizationId(),
+            samples,
+            weightedAverage(parts, AgencyMetricRollup::getAvgActiveVehicles, samples),
+            parts.stream().mapToInt(part -> valueOf(part.getMaxActiveVehicles())).max().orElse(0),
+            weightedAverage(parts, AgencyMetricRollup::getAvgUtilizationRate, samples),
+            last.getTotalVehicles(), last.getTotalRentals(), last.getMonthlyRevenue(), last.getLastRecordedAt(),
+            LocalDateTime.now());
+    }
+
+    private static double weightedAverage(Collection<AgencyMetricRollup> parts,
+                                          Function<AgencyMetricRollup, Double> value, long samples) {
+        if (samples == 0) {
+            return 0;
+        }
+        return parts.stream()
+            .mapToDouble(part -> valueOf(value.apply(part)) * valueOf(part.getSampleCount()))
+            .sum() / samples;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
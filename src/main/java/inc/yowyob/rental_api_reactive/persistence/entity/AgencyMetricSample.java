@@ -0,0 +1,68 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Relevé horodaté des métriques d'une agence (table en ajout seul, une partition par agence et par mois).
+ * Chaque mise à jour des statistiques y ajoute une ligne au lieu d'écraser les colonnes de agencies.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agency_metrics_by_day")
+public class AgencyMetricSample {
+
+    @PrimaryKeyColumn(name = "agency_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID agencyId;
+
+    /**
+     * Premier jour du mois du relevé
+     */
+    @PrimaryKeyColumn(name = "month", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private LocalDate month;
+
+    @PrimaryKeyColumn(name = "recorded_at", ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private LocalDateTime recordedAt;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("total_vehicles")
+    private Integer totalVehicles;
+
+    @Column("active_vehicles")
+    private Integer activeVehicles;
+
+    @Column("total_rentals")
+    private Integer totalRentals;
+
+    @Column("monthly_revenue")
+    private Double monthlyRevenue;
+
+    @Column("vehicle_utilization_rate")
+    private Double vehicleUtilizationRate;
+
+    public static AgencyMetricSample of(Agency agency, LocalDateTime recordedAt) {
+        return new AgencyMetricSample(agency.getId(), monthOf(recordedAt), recordedAt, agency.getOrganizationId(),
+            agency.getTotalVehicles(), agency.getActiveVehicles(), agency.getTotalRentals(),
+            agency.getMonthlyRevenue(), agency.getVehicleUtilizationRate());
+    }
+
+    /**
+     * Partition mensuelle d'un instant
+     */
+    public static LocalDate monthOf(LocalDateTime time) {
+        return time.toLocalDate().withDayOfMonth(1);
+    }
+}
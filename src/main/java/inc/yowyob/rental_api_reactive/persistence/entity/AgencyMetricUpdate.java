@@ -0,0 +1,38 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Agences ayant reçu un relevé de métriques, par heure (une partition par heure) :
+ * l'agrégation ne relit que les agences modifiées depuis son dernier passage.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agency_metric_updates_by_bucket")
+public class AgencyMetricUpdate {
+
+    @PrimaryKeyColumn(name = "update_bucket", type = PrimaryKeyType.PARTITIONED)
+    private LocalDateTime updateBucket;
+
+    @PrimaryKeyColumn(name = "agency_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID agencyId;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    public static AgencyMetricUpdate of(AgencyMetricSample sample) {
+        return new AgencyMetricUpdate(ExpiryBuckets.bucketOf(sample.getRecordedAt()),
+            sample.getAgencyId(), sample.getOrganizationId());
+    }
+}
@@ -0,0 +1,89 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Statistiques d'une agence tenues par l'agrégateur (table de compteurs, une ligne par agence).
+ * Les colonnes COUNTER ne s'écrivent que par incrément : ne jamais passer par save().
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("agency_stats")
+public class AgencyStats {
+
+    @PrimaryKeyColumn(name = "agency_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID agencyId;
+
+    @Column("total_personnel")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long totalPersonnel;
+
+    @Column("active_personnel")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long activePersonnel;
+
+    @Column("total_drivers")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long totalDrivers;
+
+    @Column("active_drivers")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long activeDrivers;
+
+    @Column("role_assignments")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long roleAssignments;
+
+    /**
+     * Statistiques vides (agence sans ligne de compteurs)
+     */
+    public static AgencyStats empty(UUID agencyId) {
+        return new AgencyStats(agencyId, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Valeur courante d'un compteur (0 s'il n'a jamais été incrémenté)
+     */
+    public long get(AgencyCounter counter) {
+        return Math.max(0L, stored(counter));
+    }
+
+    /**
+     * Valeur écrite d'un compteur, négative comprise (dérive à réaligner)
+     */
+    public long stored(AgencyCounter counter) {
+        Long value = switch (counter) {
+            case TOTAL_PERSONNEL -> totalPersonnel;
+            case ACTIVE_PERSONNEL -> activePersonnel;
+            case TOTAL_DRIVERS -> totalDrivers;
+            case ACTIVE_DRIVERS -> activeDrivers;
+            case ROLE_ASSIGNMENTS -> roleAssignments;
+        };
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Ajoute un incrément pas encore écrit (lecture de ses propres écritures)
+     */
+    public void add(AgencyCounter counter, long delta) {
+        long value = get(counter) + delta;
+        switch (counter) {
+            case TOTAL_PERSONNEL -> totalPersonnel = value;
+            case ACTIVE_PERSONNEL -> activePersonnel = value;
+            case TOTAL_DRIVERS -> totalDrivers = value;
+            case ACTIVE_DRIVERS -> activeDrivers = value;
+            case ROLE_ASSIGNMENTS -> roleAssignments = value;
+        }
+    }
+}
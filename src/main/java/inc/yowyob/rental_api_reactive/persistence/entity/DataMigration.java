@@ -0,0 +1,27 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Migration de données terminée (remplissage des tables de correspondance, des compteurs...) :
+ * une ligne par migration, écrite une fois le remplissage complet
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("data_migrations")
+public class DataMigration {
+
+    @PrimaryKey("migration_name")
+    private String migrationName;
+
+    @Column("completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avancement d'un traitement par partitions horaires (nettoyage des échéances, agrégation des métriques
+ * d'agence) : première heure pas encore entièrement traitée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("expiry_cleanup_checkpoints")
+public class ExpiryCleanupCheckpoint {
+
+    @PrimaryKey("cleanup_name")
+    private String cleanupName;
+
+    @Column("next_bucket")
+    private LocalDateTime nextBucket;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,63 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Journal de finalisation d'un onboarding (une ligne par session). Les identifiants des entités
+ * sont fixés à la création du journal : une reprise réécrit les mêmes lignes au lieu d'en créer d'autres.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("onboarding_sagas")
+public class OnboardingSaga {
+
+    @PrimaryKey("session_token")
+    private String sessionToken;
+
+    @Column("session_id")
+    private UUID sessionId;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("owner_id")
+    private UUID ownerId;
+
+    @Column("subscription_id")
+    private UUID subscriptionId;
+
+    /**
+     * Dernière étape terminée
+     */
+    @Column("step")
+    private OnboardingSagaStep step;
+
+    @Column("started_at")
+    private LocalDateTime startedAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static OnboardingSaga start(OnboardingSession session) {
+        // Précision milliseconde : les dates dérivées restent identiques d'une reprise à l'autre
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return new OnboardingSaga(session.getSessionToken(), session.getId(),
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            OnboardingSagaStep.STARTED, now, now);
+    }
+
+    public boolean isCompleted() {
+        return step == OnboardingSagaStep.COMPLETED;
+    }
+}
@@ -0,0 +1,31 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Journaux de finalisation par heure de démarrage (une partition par heure), parcourus par la reprise
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("onboarding_sagas_by_start_bucket")
+public class OnboardingSagaByStartBucket {
+
+    @PrimaryKeyColumn(name = "start_bucket", type = PrimaryKeyType.PARTITIONED)
+    private LocalDateTime startBucket;
+
+    @PrimaryKeyColumn(name = "session_token", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private String sessionToken;
+
+    public static OnboardingSagaByStartBucket of(OnboardingSaga saga) {
+        return new OnboardingSagaByStartBucket(ExpiryBuckets.bucketOf(saga.getStartedAt()), saga.getSessionToken());
+    }
+}
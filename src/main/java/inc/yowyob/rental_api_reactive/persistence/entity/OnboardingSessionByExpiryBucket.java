@@ -0,0 +1,37 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sessions d'onboarding par heure d'échéance (une partition par heure)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("onboarding_sessions_by_expiry_bucket")
+public class OnboardingSessionByExpiryBucket {
+
+    @PrimaryKeyColumn(name = "expiry_bucket", type = PrimaryKeyType.PARTITIONED)
+    private LocalDateTime expiryBucket;
+
+    @PrimaryKeyColumn(name = "expires_at", ordinal = 0, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private LocalDateTime expiresAt;
+
+    @PrimaryKeyColumn(name = "session_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private UUID sessionId;
+
+    public static OnboardingSessionByExpiryBucket of(OnboardingSession session) {
+        return new OnboardingSessionByExpiryBucket(ExpiryBuckets.bucketOf(session.getExpiresAt()),
+            session.getExpiresAt(), session.getId());
+    }
+}
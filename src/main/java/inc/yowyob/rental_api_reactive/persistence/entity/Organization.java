@@ -1,14 +1,19 @@
 package inc.yowyob.rental_api_reactive.persistence.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
 import inc.yowyob.rental_api_reactive.application.dto.OrganizationType;
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
 import lombok.*;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.cassandra.core.mapping.Column;
 import org.springframework.data.cassandra.core.mapping.PrimaryKey;
 import org.springframework.data.cassandra.core.mapping.Table;
 
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -130,19 +135,20 @@ public class Organization extends BaseEntity {
     private Integer maxUsers = 10;
 
     // === COMPTEURS ACTUELS ===
-    @Column("current_agencies")
+    // Lus depuis tenant_usage (compteurs atomiques), jamais réécrits par save()
+    @Transient
     @JsonProperty("current_agencies")
     private Integer currentAgencies = 0;
 
-    @Column("current_vehicles")
+    @Transient
     @JsonProperty("current_vehicles")
     private Integer currentVehicles = 0;
 
-    @Column("current_drivers")
+    @Transient
     @JsonProperty("current_drivers")
     private Integer currentDrivers = 0;
 
-    @Column("current_users")
+    @Transient
     @JsonProperty("current_users")
     private Integer currentUsers = 0;
 
@@ -212,6 +218,12 @@ public class Organization extends BaseEntity {
     @JsonProperty("last_activity_at")
     private LocalDateTime lastActivityAt;
 
+    // === CONCURRENCE ===
+    // Incrémentée à chaque mise à jour partielle (UPDATE ... IF version = ?)
+    @Column("version")
+    @JsonProperty("version")
+    private Long version = 0L;
+
     // Constructors
     public Organization(String name, OrganizationType type, UUID ownerId) {
         this.id = UUID.randomUUID();
@@ -323,38 +335,40 @@ public class Organization extends BaseEntity {
     }
 
     /**
-     * Met à jour l'activité de l'organisation
-     */
-    public void updateActivity() {
-        this.lastActivityAt = LocalDateTime.now();
-        preUpdate();
-    }
-
-    /**
-     * Incrémente le compteur d'agences
+     * Motifs d'attention de l'organisation : non vérifiée, abonnement expirant bientôt,
+     * aucune activité depuis 30 jours
      */
-    public void incrementAgencies() {
-        this.currentAgencies = (currentAgencies != null ? currentAgencies : 0) + 1;
-        updateActivity();
+    public Set<OrganizationAlertReason> alertReasons(LocalDateTime now) {
+        Set<OrganizationAlertReason> reasons = EnumSet.noneOf(OrganizationAlertReason.class);
+        if (!Boolean.TRUE.equals(isVerified)) {
+            reasons.add(OrganizationAlertReason.UNVERIFIED);
+        }
+        if (subscriptionExpiresAt != null && subscriptionExpiresAt.isAfter(now)
+            && subscriptionExpiresAt.isBefore(now.plusDays(30))) {
+            reasons.add(OrganizationAlertReason.SUBSCRIPTION_EXPIRING);
+        }
+        if (lastActivityAt != null && lastActivityAt.isBefore(now.minusDays(30))) {
+            reasons.add(OrganizationAlertReason.INACTIVE);
+        }
+        return reasons;
     }
 
     /**
-     * Décrémente le compteur d'agences
+     * Met à jour l'activité de l'organisation
      */
-    public void decrementAgencies() {
-        this.currentAgencies = Math.max(0, (currentAgencies != null ? currentAgencies : 0) - 1);
-        updateActivity();
+    public void updateActivity() {
+        this.lastActivityAt = LocalDateTime.now();
+        preUpdate();
     }
 
     /**
-     * Met à jour les compteurs de ressources
+     * Renseigne les compteurs actuels à partir de tenant_usage
      */
-    public void updateResourceCounters(int agencies, int vehicles, int drivers, int users) {
-        this.currentAgencies = agencies;
-        this.currentVehicles = vehicles;
-        this.currentDrivers = drivers;
-        this.currentUsers = users;
-        updateActivity();
+    public void applyUsage(TenantUsage usage) {
+        this.currentAgencies = (int) usage.get(UsageResource.AGENCIES);
+        this.currentVehicles = (int) usage.get(UsageResource.VEHICLES);
+        this.currentDrivers = (int) usage.get(UsageResource.DRIVERS);
+        this.currentUsers = (int) usage.get(UsageResource.USERS);
     }
 
     /**
@@ -386,4 +400,14 @@ public class Organization extends BaseEntity {
         this.subscriptionAutoRenew = autoRenew;
         preUpdate();
     }
+
+    /**
+     * Applique les limites d'un plan d'abonnement
+     */
+    public void applyPlanLimits(SubscriptionPlan plan) {
+        this.maxAgencies = plan.getMaxAgencies();
+        this.maxVehicles = plan.getMaxVehicles();
+        this.maxDrivers = plan.getMaxDrivers();
+        this.maxUsers = plan.getMaxUsers();
+    }
 }
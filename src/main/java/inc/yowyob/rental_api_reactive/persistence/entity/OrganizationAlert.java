@@ -0,0 +1,32 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Organisations actives nécessitant une attention, par motif (une partition par motif)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("organization_alerts")
+public class OrganizationAlert {
+
+    @PrimaryKeyColumn(name = "reason", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private OrganizationAlertReason reason;
+
+    @PrimaryKeyColumn(name = "organization_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private UUID organizationId;
+
+    @Column("detected_at")
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,28 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Table de correspondance nom -> organisation (partitionnée par nom).
+ * Maintenue par OrganizationReactiveRepository avec la table organizations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("organizations_by_name")
+public class OrganizationByName {
+
+    @PrimaryKeyColumn(name = "name", type = PrimaryKeyType.PARTITIONED)
+    private String name;
+
+    @Column("organization_id")
+    private UUID organizationId;
+}
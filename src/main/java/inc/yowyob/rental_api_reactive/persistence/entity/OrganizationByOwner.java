@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Organisations d'un propriétaire (une partition par propriétaire)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("organizations_by_owner")
+public class OrganizationByOwner {
+
+    @PrimaryKeyColumn(name = "owner_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID ownerId;
+
+    @PrimaryKeyColumn(name = "organization_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID organizationId;
+}
@@ -0,0 +1,41 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationRankingMetric;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classement des organisations actives sur un critère (une partition par critère) : seules les
+ * app.organization-rankings.capacity meilleures y figurent, un top N lit au plus cette partition.
+ * Clé sur l'organisation : une nouvelle note remplace l'ancienne sans ligne périmée.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("organization_leaderboards")
+public class OrganizationLeaderboardEntry {
+
+    @PrimaryKeyColumn(name = "metric", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private OrganizationRankingMetric metric;
+
+    @PrimaryKeyColumn(name = "organization_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private UUID organizationId;
+
+    @Column("score")
+    private Double score;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static OrganizationLeaderboardEntry of(OrganizationRankingMetric metric, UUID organizationId, double score) {
+        return new OrganizationLeaderboardEntry(metric, organizationId, score, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,107 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Statistiques d'une organisation tenues par l'agrégateur (table de compteurs, une ligne par organisation).
+ * Les colonnes COUNTER ne s'écrivent que par incrément : ne jamais passer par save().
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("organization_stats")
+public class OrganizationStats {
+
+    @PrimaryKeyColumn(name = "organization_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @Column("total_agencies")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long totalAgencies;
+
+    @Column("active_agencies")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long activeAgencies;
+
+    @Column("total_users")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long totalUsers;
+
+    @Column("active_users")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long activeUsers;
+
+    @Column("personnel")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long personnel;
+
+    @Column("clients")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long clients;
+
+    @Column("drivers")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long drivers;
+
+    @Column("role_assignments")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long roleAssignments;
+
+    /**
+     * Statistiques vides (organisation sans ligne de compteurs)
+     */
+    public static OrganizationStats empty(UUID organizationId) {
+        return new OrganizationStats(organizationId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Valeur courante d'un compteur (0 s'il n'a jamais été incrémenté)
+     */
+    public long get(OrganizationCounter counter) {
+        return Math.max(0L, stored(counter));
+    }
+
+    /**
+     * Valeur écrite d'un compteur, négative comprise (dérive à réaligner)
+     */
+    public long stored(OrganizationCounter counter) {
+        Long value = switch (counter) {
+            case TOTAL_AGENCIES -> totalAgencies;
+            case ACTIVE_AGENCIES -> activeAgencies;
+            case TOTAL_USERS -> totalUsers;
+            case ACTIVE_USERS -> activeUsers;
+            case PERSONNEL -> personnel;
+            case CLIENTS -> clients;
+            case DRIVERS -> drivers;
+            case ROLE_ASSIGNMENTS -> roleAssignments;
+        };
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Ajoute un incrément pas encore écrit (lecture de ses propres écritures)
+     */
+    public void add(OrganizationCounter counter, long delta) {
+        long value = get(counter) + delta;
+        switch (counter) {
+            case TOTAL_AGENCIES -> totalAgencies = value;
+            case ACTIVE_AGENCIES -> activeAgencies = value;
+            case TOTAL_USERS -> totalUsers = value;
+            case ACTIVE_USERS -> activeUsers = value;
+            case PERSONNEL -> personnel = value;
+            case CLIENTS -> clients = value;
+            case DRIVERS -> drivers = value;
+            case ROLE_ASSIGNMENTS -> roleAssignments = value;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Abonnements d'une organisation (une partition par organisation)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("subscriptions_by_organization")
+public class SubscriptionByOrganization {
+
+    @PrimaryKeyColumn(name = "organization_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @PrimaryKeyColumn(name = "subscription_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID subscriptionId;
+}
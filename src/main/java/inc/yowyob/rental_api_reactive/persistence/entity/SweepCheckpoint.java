@@ -0,0 +1,82 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenRange;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point de reprise d'un parcours par plages de jetons (une partition par parcours, une ligne par plage).
+ * Un passage interrompu reprend chaque plage inachevée après last_token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("sweep_checkpoints")
+public class SweepCheckpoint {
+
+    @PrimaryKeyColumn(name = "sweep_name", type = PrimaryKeyType.PARTITIONED)
+    private String sweepName;
+
+    @PrimaryKeyColumn(name = "range_index", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private Integer rangeIndex;
+
+    @Column("range_start")
+    private Long rangeStart;
+
+    @Column("range_end")
+    private Long rangeEnd;
+
+    /**
+     * Dernier jeton traité (exclu à la reprise)
+     */
+    @Column("last_token")
+    private Long lastToken;
+
+    @Column("completed")
+    private Boolean completed;
+
+    @Column("processed")
+    private Long processed;
+
+    /**
+     * Début du passage : identifie les lignes d'un même passage et borne sa fenêtre
+     */
+    @Column("run_started_at")
+    private LocalDateTime runStartedAt;
+
+    /**
+     * Début de la fenêtre traitée (début du passage précédent ; nul au premier passage)
+     */
+    @Column("window_start")
+    private LocalDateTime windowStart;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static SweepCheckpoint start(String sweepName, TokenRange range,
+                                        LocalDateTime runStartedAt, LocalDateTime windowStart) {
+        return new SweepCheckpoint(
+            sweepName,
+            range.getIndex(),
+            range.getStart(),
+            range.getEnd(),
+            range.getStart(),
+            false,
+            0L,
+            runStartedAt,
+            windowStart,
+            runStartedAt
+        );
+    }
+
+    public boolean isCompleted() {
+        return Boolean.TRUE.equals(completed);
+    }
+}
@@ -0,0 +1,63 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Consommation des ressources d'une organisation (table de compteurs, une partition par organisation).
+ * Les colonnes COUNTER ne s'écrivent que par incrément : ne jamais passer par save().
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("tenant_usage")
+public class TenantUsage {
+
+    @PrimaryKeyColumn(name = "organization_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @Column("agencies")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long agencies;
+
+    @Column("vehicles")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long vehicles;
+
+    @Column("drivers")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long drivers;
+
+    @Column("users")
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    private Long users;
+
+    /**
+     * Consommation vide (organisation sans ligne de compteurs)
+     */
+    public static TenantUsage empty(UUID organizationId) {
+        return new TenantUsage(organizationId, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Valeur courante d'une ressource (0 si le compteur n'a jamais été incrémenté)
+     */
+    public long get(UsageResource resource) {
+        Long value = switch (resource) {
+            case AGENCIES -> agencies;
+            case VEHICLES -> vehicles;
+            case DRIVERS -> drivers;
+            case USERS -> users;
+        };
+        return value != null ? Math.max(0L, value) : 0L;
+    }
+}
@@ -0,0 +1,41 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKeyType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Réservation d'une valeur unique (une partition par clé). Écrite par INSERT ... IF NOT EXISTS
+ * avant l'entité qui la porte ; owner_id désigne cette entité (utilisateur, organisation, agence).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("uniqueness_reservations")
+public class UniquenessReservation {
+
+    @PrimaryKeyColumn(name = "key_type", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UniqueKeyType keyType;
+
+    @PrimaryKeyColumn(name = "key_value", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private String keyValue;
+
+    @Column("owner_id")
+    private UUID ownerId;
+
+    @Column("reserved_at")
+    private LocalDateTime reservedAt;
+
+    public static UniquenessReservation of(UniqueKey key, UUID ownerId) {
+        return new UniquenessReservation(key.getType(), key.getValue(), ownerId, LocalDateTime.now());
+    }
+}
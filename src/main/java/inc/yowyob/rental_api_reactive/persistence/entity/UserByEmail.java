@@ -0,0 +1,28 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Table de correspondance email -> utilisateur (partitionnée par email).
+ * Maintenue par UserReactiveRepository avec la table users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("users_by_email")
+public class UserByEmail {
+
+    @PrimaryKeyColumn(name = "email", type = PrimaryKeyType.PARTITIONED)
+    private String email;
+
+    @Column("user_id")
+    private UUID userId;
+}
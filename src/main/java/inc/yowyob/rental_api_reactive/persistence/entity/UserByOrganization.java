@@ -0,0 +1,52 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Utilisateurs d'une organisation (une partition par organisation).
+ * Porte les colonnes de filtrage courantes pour compter sans relire la table users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("users_by_organization")
+public class UserByOrganization {
+
+    @PrimaryKeyColumn(name = "organization_id", type = PrimaryKeyType.PARTITIONED)
+    private UUID organizationId;
+
+    @PrimaryKeyColumn(name = "user_id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private UUID userId;
+
+    @Column("agency_id")
+    private UUID agencyId;
+
+    @Column("user_type")
+    private UserType userType;
+
+    @Column("is_active")
+    private Boolean isActive;
+
+    @Column("is_deleted")
+    private Boolean isDeleted;
+
+    public static UserByOrganization from(User user) {
+        return new UserByOrganization(
+            user.getOrganizationId(),
+            user.getId(),
+            user.getAgencyId(),
+            user.getUserType(),
+            user.getIsActive(),
+            user.getIsDeleted()
+        );
+    }
+}
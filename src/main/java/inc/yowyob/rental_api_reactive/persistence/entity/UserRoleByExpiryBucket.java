@@ -0,0 +1,42 @@
+package inc.yowyob.rental_api_reactive.persistence.entity;
+
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Assignations de rôles temporaires par heure d'échéance (une partition par heure).
+ * Une entrée peut être périmée si l'échéance a été prolongée : l'assignation fait foi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("user_roles_by_expiry_bucket")
+public class UserRoleByExpiryBucket {
+
+    @PrimaryKeyColumn(name = "expiry_bucket", type = PrimaryKeyType.PARTITIONED)
+    private LocalDateTime expiryBucket;
+
+    @PrimaryKeyColumn(name = "expires_at", ordinal = 0, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private LocalDateTime expiresAt;
+
+    @PrimaryKeyColumn(name = "user_role_id", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private UUID userRoleId;
+
+    @Column("user_id")
+    private UUID userId;
+
+    public static UserRoleByExpiryBucket of(UserRole userRole) {
+        return new UserRoleByExpiryBucket(ExpiryBuckets.bucketOf(userRole.getExpiresAt()),
+            userRole.getExpiresAt(), userRole.getId(), userRole.getUserId());
+    }
+}
@@ -0,0 +1,152 @@
+package inc.yowyob.rental_api_reactive.persistence.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Géohash (base 32) : découpage du globe en cellules rectangulaires dont le préfixe commun
+ * désigne la cellule englobante. Sert de clé de partition à agencies_by_geohash et de grille
+ * à l'index spatial en mémoire.
+ */
+public final class GeoHash {
+
+    /**
+     * Précision des partitions de agencies_by_geohash (cellules d'environ 39 km x 20 km)
+     */
+    public static final int PARTITION_PRECISION = 4;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Géohash d'un point à la précision donnée (nombre de caractères)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLng = mid;
+                } else {
+                    index = index << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index = index << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Hauteur d'une cellule en degrés de latitude
+     */
+    public static double latitudeSpan(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /**
+     * Largeur d'une cellule en degrés de longitude
+     */
+    public static double longitudeSpan(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Nombre de cellules couvrant un rectangle (sans les énumérer)
+     */
+    public static long cellCount(double minLat, double maxLat, double minLng, double maxLng, int precision) {
+        long rows = rowIndex(maxLat, precision) - rowIndex(minLat, precision) + 1;
+        long columns = columnIndex(maxLng, precision) - columnIndex(minLng, precision) + 1;
+        return rows * columns;
+    }
+
+    /**
+     * Cellules couvrant un rectangle (bornes incluses, sans passage de l'antiméridien)
+     */
+    public static List<String> cellsCovering(double minLat, double maxLat, double minLng, double maxLng, int precision) {
+        double latSpan = latitudeSpan(precision);
+        double lngSpan = longitudeSpan(precision);
+        long firstRow = rowIndex(minLat, precision);
+        long lastRow = rowIndex(maxLat, precision);
+        long firstColumn = columnIndex(minLng, precision);
+        long lastColumn = columnIndex(maxLng, precision);
+
+        List<String> cells = new ArrayList<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                // Centre de la cellule : aucun arrondi ne la fait basculer chez sa voisine
+                cells.add(encode(-90 + (row + 0.5) * latSpan, -180 + (column + 0.5) * lngSpan, precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Distance orthodromique en kilomètres (formule de haversine)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Demi-hauteur en degrés de latitude d'un cercle de rayon donné
+     */
+    public static double latitudeDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    /**
+     * Demi-largeur en degrés de longitude d'un cercle de rayon donné centré à cette latitude
+     * (180 près des pôles : toutes les longitudes)
+     */
+    public static double longitudeDelta(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 180;
+        }
+        return Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+    }
+
+    private static long rowIndex(double latitude, int precision) {
+        long rows = 1L << (5 * precision / 2);
+        return Math.max(0, Math.min(rows - 1, (long) Math.floor((clamp(latitude, -90, 90) + 90) / latitudeSpan(precision))));
+    }
+
+    private static long columnIndex(double longitude, int precision) {
+        long columns = 1L << ((5 * precision + 1) / 2);
+        return Math.max(0, Math.min(columns - 1, (long) Math.floor((clamp(longitude, -180, 180) + 180) / longitudeSpan(precision))));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
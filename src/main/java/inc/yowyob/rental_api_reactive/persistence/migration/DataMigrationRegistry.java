@@ -0,0 +1,80 @@
+package inc.yowyob.rental_api_reactive.persistence.migration;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.DataMigration;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * État des migrations de données (data_migrations). Tant qu'une migration n'est pas terminée,
+ * les lectures qui en dépendent passent par les tables principales ; une fois terminée,
+ * l'état est retenu en mémoire et la vérification ne coûte plus de lecture.
+ */
+@Component
+public class DataMigrationRegistry {
+
+    /**
+     * Tables de correspondance et réservations de valeurs uniques des lignes existantes
+     */
+    public static final String LOOKUP_TABLES = "lookup_tables";
+
+    /**
+     * Compteurs tenant_usage alignés sur les agences et utilisateurs existants
+     */
+    public static final String TENANT_USAGE = "tenant_usage";
+
+    /**
+     * Compteurs organization_stats et agency_stats alignés sur les agences, utilisateurs et rôles existants
+     */
+    public static final String STATISTICS = "statistics";
+
+    /**
+     * Entrées d'échéance des assignations de rôles temporaires et des sessions d'onboarding existantes
+     */
+    public static final String EXPIRY_BUCKETS = "expiry_buckets";
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    public DataMigrationRegistry(ReactiveCassandraOperations cassandraOperations) {
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    public Mono<Boolean> isComplete(String migrationName) {
+        if (completed.contains(migrationName)) {
+            return Mono.just(true);
+        }
+        return cassandraOperations.selectOneById(migrationName, DataMigration.class)
+            .hasElement()
+            .doOnNext(done -> {
+                if (done) {
+                    completed.add(migrationName);
+                }
+            });
+    }
+
+    public Mono<Void> markComplete(String migrationName) {
+        return cassandraOperations.insert(new DataMigration(migrationName, LocalDateTime.now()))
+            .doOnSuccess(migration -> completed.add(migrationName))
+            .then();
+    }
+
+    /**
+     * Lecture migrée si la migration est terminée, lecture sur les tables principales sinon
+     */
+    public <T> Flux<T> route(String migrationName, Supplier<Flux<T>> migrated, Supplier<Flux<T>> pending) {
+        return isComplete(migrationName)
+            .flatMapMany(done -> done ? migrated.get() : pending.get());
+    }
+
+    public <T> Mono<T> routeOne(String migrationName, Supplier<Mono<T>> migrated, Supplier<Mono<T>> pending) {
+        return isComplete(migrationName)
+            .flatMap(done -> done ? migrated.get() : pending.get());
+    }
+}
@@ -0,0 +1,82 @@
+package inc.yowyob.rental_api_reactive.persistence.paging;
+
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Conversion entre l'état de pagination Cassandra et un curseur opaque exposé par l'API
+ * (Base64 URL-safe de l'état de pagination renvoyé par le driver). Les résultats calculés
+ * en mémoire sont paginés par décalage, encodé de la même façon.
+ */
+public final class PagingCursor {
+
+    private PagingCursor() {
+    }
+
+    /**
+     * Construit la requête de page à partir d'un curseur (première page si absent)
+     */
+    public static CassandraPageRequest toPageRequest(String cursor, int pageSize) {
+        if (cursor == null || cursor.isBlank()) {
+            return CassandraPageRequest.first(pageSize);
+        }
+
+        byte[] pagingState;
+        try {
+            pagingState = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+        return CassandraPageRequest.of(PageRequest.of(0, pageSize), ByteBuffer.wrap(pagingState));
+    }
+
+    /**
+     * Curseur de la page suivante, null si la tranche est la dernière
+     */
+    public static String nextCursor(Slice<?> slice) {
+        if (!slice.hasNext() || !(slice.getPageable() instanceof CassandraPageRequest pageRequest)) {
+            return null;
+        }
+
+        ByteBuffer pagingState = pageRequest.getPagingState();
+        if (pagingState == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = pagingState.duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Décalage désigné par un curseur de pagination en mémoire (0 si absent)
+     */
+    public static int toOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Curseur de pagination en mémoire désignant un décalage
+     */
+    public static String ofOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(offset).getBytes(StandardCharsets.US_ASCII));
+    }
+}
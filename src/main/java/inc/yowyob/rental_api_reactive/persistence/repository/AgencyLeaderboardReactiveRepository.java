@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository réactif des classements d'agences
+ */
+@Repository
+public interface AgencyLeaderboardReactiveRepository extends ReactiveCassandraRepository<AgencyLeaderboardEntry, MapId>,
+    AgencyLeaderboardReactiveRepositoryCustom {
+
+    /**
+     * Les limit premiers rangs du classement d'une organisation sur une période
+     */
+    @Query("SELECT * FROM agency_leaderboards WHERE organization_id = ?0 AND granularity = ?1 AND period_start = ?2 LIMIT ?3")
+    Flux<AgencyLeaderboardEntry> findTop(UUID organizationId, MetricGranularity granularity, LocalDateTime periodStart, int limit);
+}
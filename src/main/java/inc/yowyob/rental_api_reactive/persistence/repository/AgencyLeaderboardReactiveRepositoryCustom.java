@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remplacement d'un classement complet
+ */
+public interface AgencyLeaderboardReactiveRepositoryCustom {
+
+    /**
+     * Écrit les rangs 1..n du classement (batch LOGGED) puis supprime les rangs au-delà de n
+     */
+    Mono<Void> replace(UUID organizationId, MetricGranularity granularity, LocalDateTime periodStart,
+                       List<AgencyLeaderboardEntry> entries);
+}
@@ -0,0 +1,50 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+class AgencyLeaderboardReactiveRepositoryCustomImpl implements AgencyLeaderboardReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration dailyRetention;
+
+    AgencyLeaderboardReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.dailyRetention = Duration.ofDays(appProperties.getAgencyMetrics().getRetentionDays());
+    }
+
+    @Override
+    public Mono<Void> replace(UUID organizationId, MetricGranularity granularity, LocalDateTime periodStart,
+                              List<AgencyLeaderboardEntry> entries) {
+        // Rangs réécrits puis fin de classement supprimée : insertions et suppression ne portent
+        // jamais sur les mêmes lignes, le classement n'est jamais vide pendant le remplacement
+        Mono<Void> write = Mono.empty();
+        if (!entries.isEmpty()) {
+            ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED);
+            batch = granularity == MetricGranularity.MONTH
+                ? batch.insert(entries)
+                : batch.insert(entries, InsertOptions.builder().ttl(dailyRetention).build());
+            write = batch.execute().then();
+        }
+        Query beyondLastRank = Query.query(
+            where("organization_id").is(organizationId),
+            where("granularity").is(granularity),
+            where("period_start").is(periodStart),
+            where("rank").gt(entries.size()));
+        return write.then(cassandraOperations.delete(beyondLastRank, AgencyLeaderboardEntry.class)).then();
+    }
+}
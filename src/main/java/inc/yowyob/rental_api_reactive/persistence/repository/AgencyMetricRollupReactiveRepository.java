@@ -0,0 +1,37 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository réactif des agrégats de métriques d'agence
+ */
+@Repository
+public interface AgencyMetricRollupReactiveRepository extends ReactiveCassandraRepository<AgencyMetricRollup, MapId>,
+    AgencyMetricRollupReactiveRepositoryCustom {
+
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends AgencyMetricRollup> Mono<S> save(S rollup);
+
+    /**
+     * Agrégats d'une agence dont la période commence dans [from, to[, dans l'ordre chronologique
+     */
+    @Query("SELECT * FROM agency_metric_rollups WHERE agency_id = ?0 AND granularity = ?1 AND period_start >= ?2 AND period_start < ?3")
+    Flux<AgencyMetricRollup> findBetween(UUID agencyId, MetricGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Agrégat d'une agence sur une période
+     */
+    @Query("SELECT * FROM agency_metric_rollups WHERE agency_id = ?0 AND granularity = ?1 AND period_start = ?2")
+    Mono<AgencyMetricRollup> findByPeriod(UUID agencyId, MetricGranularity granularity, LocalDateTime periodStart);
+}
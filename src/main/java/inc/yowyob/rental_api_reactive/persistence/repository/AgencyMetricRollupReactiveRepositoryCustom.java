@@ -0,0 +1,15 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Écriture des agrégats : les agrégats horaires expirent avec les relevés dont ils sont issus
+ */
+public interface AgencyMetricRollupReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'agrégat (avec TTL s'il est horaire)
+     */
+    <S extends AgencyMetricRollup> Mono<S> save(S rollup);
+}
@@ -0,0 +1,31 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+class AgencyMetricRollupReactiveRepositoryCustomImpl implements AgencyMetricRollupReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration hourlyRetention;
+
+    AgencyMetricRollupReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.hourlyRetention = Duration.ofDays(appProperties.getAgencyMetrics().getRetentionDays());
+    }
+
+    @Override
+    public <S extends AgencyMetricRollup> Mono<S> save(S rollup) {
+        if (rollup.getGranularity() != MetricGranularity.HOUR) {
+            return cassandraOperations.insert(rollup);
+        }
+        return cassandraOperations.insert(rollup, InsertOptions.builder().ttl(hourlyRetention).build())
+            .map(EntityWriteResult::getEntity);
+    }
+}
@@ -0,0 +1,26 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricSample;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository réactif des relevés de métriques d'agence (agency_metrics_by_day)
+ */
+@Repository
+public interface AgencyMetricSampleReactiveRepository extends ReactiveCassandraRepository<AgencyMetricSample, MapId>,
+    AgencyMetricSampleReactiveRepositoryCustom {
+
+    /**
+     * Relevés d'une agence dans [from, to[ (from et to dans le mois de la partition)
+     */
+    @Query("SELECT * FROM agency_metrics_by_day WHERE agency_id = ?0 AND month = ?1 AND recorded_at >= ?2 AND recorded_at < ?3")
+    Flux<AgencyMetricSample> findBetween(UUID agencyId, LocalDate month, LocalDateTime from, LocalDateTime to);
+}
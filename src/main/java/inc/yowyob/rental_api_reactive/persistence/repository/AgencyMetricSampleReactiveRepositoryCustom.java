@@ -0,0 +1,15 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricSample;
+import reactor.core.publisher.Mono;
+
+/**
+ * Écriture d'un relevé avec son entrée dans agency_metric_updates_by_bucket, dans un même batch LOGGED
+ */
+public interface AgencyMetricSampleReactiveRepositoryCustom {
+
+    /**
+     * Ajoute le relevé et signale l'agence à l'agrégation de l'heure
+     */
+    Mono<AgencyMetricSample> record(AgencyMetricSample sample);
+}
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricSample;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricUpdate;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+class AgencyMetricSampleReactiveRepositoryCustomImpl implements AgencyMetricSampleReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration sampleRetention;
+    private final Duration bucketRetention;
+
+    AgencyMetricSampleReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.sampleRetention = Duration.ofDays(appProperties.getAgencyMetrics().getRetentionDays());
+        this.bucketRetention = Duration.ofHours(appProperties.getAgencyMetrics().getBucketRetentionHours());
+    }
+
+    @Override
+    public Mono<AgencyMetricSample> record(AgencyMetricSample sample) {
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+            .insert(List.of(sample), InsertOptions.builder().ttl(sampleRetention).build())
+            .insert(List.of(AgencyMetricUpdate.of(sample)), InsertOptions.builder().ttl(bucketRetention).build())
+            .execute()
+            .thenReturn(sample);
+    }
+}
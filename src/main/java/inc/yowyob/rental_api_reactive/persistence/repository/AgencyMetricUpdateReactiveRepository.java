@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricUpdate;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository réactif des agences à agréger par heure de relevé
+ */
+@Repository
+public interface AgencyMetricUpdateReactiveRepository extends ReactiveCassandraRepository<AgencyMetricUpdate, MapId> {
+
+    /**
+     * Agences ayant reçu un relevé pendant une heure
+     */
+    @Query("SELECT * FROM agency_metric_updates_by_bucket WHERE update_bucket = ?0")
+    Flux<AgencyMetricUpdate> findByUpdateBucket(LocalDateTime updateBucket);
+}
@@ -0,0 +1,114 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByGeohash;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Accès aux agences d'une organisation via la table de correspondance agencies_by_organization.
+ * L'écriture de la table agencies et des tables de correspondance (agencies_by_organization,
+ * agencies_by_geohash) se fait dans un même batch LOGGED.
+ */
+public interface AgencyReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'agence et son entrée de correspondance
+     */
+    <S extends Agency> Mono<S> save(S agency);
+
+    /**
+     * Supprime l'agence et son entrée de correspondance
+     */
+    Mono<Void> deleteById(UUID id);
+
+    /**
+     * Supprime l'agence et son entrée de correspondance
+     */
+    Mono<Void> delete(Agency agency);
+
+    /**
+     * Applique la mutation et n'écrit que les colonnes modifiées (UPDATE ... SET col = ? IF version = ?).
+     * Sur écriture concurrente, l'agence est relue et la mutation réappliquée ; vide si l'agence n'existe pas.
+     */
+    Mono<Agency> update(UUID id, Consumer<Agency> mutation);
+
+    /**
+     * Réécrit les entrées de correspondance d'une agence existante
+     */
+    Mono<Void> rebuildLookups(Agency agency);
+
+    /**
+     * Toutes les agences géolocalisées (lecture de agencies_by_geohash, pour l'index spatial ;
+     * parcours de agencies tant que la table n'est pas remplie)
+     */
+    Flux<AgencyByGeohash> findAllLocated();
+
+    /**
+     * Agences par identifiants, dans l'ordre des identifiants (requêtes IN par lots)
+     */
+    Flux<Agency> findByIds(List<UUID> ids);
+
+    /**
+     * Trouve toutes les agences d'une organisation
+     */
+    Flux<Agency> findByOrganizationId(UUID organizationId);
+
+    /**
+     * Trouve les agences actives d'une organisation
+     */
+    Flux<Agency> findActiveByOrganizationId(UUID organizationId);
+
+    /**
+     * Tranche des agences d'une organisation
+     */
+    Mono<Slice<Agency>> findSliceByOrganizationId(UUID organizationId, Pageable pageable);
+
+    /**
+     * Trouve les agences actives d'une organisation avec pagination
+     */
+    Flux<Agency> findActiveByOrganizationIdWithLimit(UUID organizationId);
+
+    /**
+     * Trouve les agences par organisation et région
+     */
+    Flux<Agency> findByOrganizationIdAndRegion(UUID organizationId, String region);
+
+    /**
+     * Trouve une agence par nom dans une organisation
+     */
+    Mono<Agency> findByOrganizationIdAndName(UUID organizationId, String name);
+
+    /**
+     * Compte les agences d'une organisation
+     */
+    Mono<Long> countByOrganizationId(UUID organizationId);
+
+    /**
+     * Compte les agences actives d'une organisation
+     */
+    Mono<Long> countActiveByOrganizationId(UUID organizationId);
+
+    /**
+     * Vérifie si une agence existe par nom dans une organisation
+     */
+    Mono<Long> countByOrganizationIdAndName(UUID organizationId, String name);
+
+    /**
+     * Trouve les agences les plus performantes d'une organisation (classement mensuel précalculé,
+     * agency_leaderboards, lu avec LIMIT ; les agences actives qui n'y figurent pas comptent pour un revenu nul)
+     */
+    Flux<Agency> findTopPerformingAgencies(UUID organizationId, int limit);
+
+    /**
+     * Trouve les agences actives d'une organisation avec un chiffre d'affaires mensuel minimum,
+     * par chiffre d'affaires décroissant (même lecture que findTopPerformingAgencies)
+     */
+    Flux<Agency> findByOrganizationIdAndMinimumMonthlyRevenue(UUID organizationId, double minRevenue);
+}
@@ -0,0 +1,358 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByGeohash;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.update.PartialUpdate;
+import inc.yowyob.rental_api_reactive.persistence.update.PartialUpdater;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+class AgencyReactiveRepositoryCustomImpl implements AgencyReactiveRepositoryCustom {
+
+    // Taille maximale d'une requête IN sur la clé de partition
+    private static final int ID_BATCH_SIZE = 100;
+
+    // Lignes du classement lues au-delà de N, pour les agences désactivées depuis son dernier calcul
+    private static final int LEADERBOARD_MARGIN = 10;
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final PartialUpdater<Agency> partialUpdater;
+    private final DataMigrationRegistry migrationRegistry;
+
+    AgencyReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, DataMigrationRegistry migrationRegistry) {
+        this.cassandraOperations = cassandraOperations;
+        this.migrationRegistry = migrationRegistry;
+        this.partialUpdater = new PartialUpdater<>(cassandraOperations, Agency.class);
+    }
+
+    @Override
+    public <S extends Agency> Mono<S> save(S agency) {
+        return cassandraOperations.selectOneById(agency.getId(), Agency.class)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(previous -> {
+                ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+                    .insert(agency);
+                if (agency.getOrganizationId() != null) {
+                    batch = batch.insert(AgencyByOrganization.from(agency));
+                }
+                if (previous.isPresent() && previous.get().getOrganizationId() != null
+                    && !previous.get().getOrganizationId().equals(agency.getOrganizationId())) {
+                    batch = batch.delete(AgencyByOrganization.from(previous.get()));
+                }
+                if (agency.hasLocation()) {
+                    batch = batch.insert(AgencyByGeohash.from(agency));
+                }
+                if (previous.isPresent() && previous.get().hasLocation()
+                    && !Objects.equals(geohashOf(previous.get()), geohashOf(agency))) {
+                    batch = batch.delete(AgencyByGeohash.from(previous.get()));
+                }
+                return batch.execute().thenReturn(agency);
+            });
+    }
+
+    @Override
+    public Mono<Void> deleteById(UUID id) {
+        return cassandraOperations.selectOneById(id, Agency.class)
+            .flatMap(this::delete);
+    }
+
+    @Override
+    public Mono<Void> delete(Agency agency) {
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+            .delete(agency);
+        if (agency.getOrganizationId() != null) {
+            batch = batch.delete(AgencyByOrganization.from(agency));
+        }
+        if (agency.hasLocation()) {
+            batch = batch.delete(AgencyByGeohash.from(agency));
+        }
+        return batch.execute().then();
+    }
+
+    @Override
+    public Mono<Agency> update(UUID id, Consumer<Agency> mutation) {
+        return partialUpdater.update(id, mutation)
+            .flatMap(result -> Mono.when(syncLookup(result), syncGeohashEntry(result)).thenReturn(result.getEntity()));
+    }
+
+    @Override
+    public Mono<Void> rebuildLookups(Agency agency) {
+        return Mono.when(
+            agency.getOrganizationId() == null ? Mono.empty() : cassandraOperations.insert(AgencyByOrganization.from(agency)),
+            agency.hasLocation() ? cassandraOperations.insert(AgencyByGeohash.from(agency)) : Mono.empty());
+    }
+
+    @Override
+    public Flux<AgencyByGeohash> findAllLocated() {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.empty(), AgencyByGeohash.class),
+            // Tant que agencies_by_geohash n'est pas rempli, l'index est construit depuis la table principale
+            () -> cassandraOperations.select(Query.empty(), Agency.class)
+                .filter(Agency::hasLocation)
+                .map(AgencyByGeohash::from));
+    }
+
+    @Override
+    public Flux<Agency> findByIds(List<UUID> ids) {
+        return Flux.fromIterable(ids)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(chunk -> cassandraOperations.select(Query.query(where("id").in(chunk)), Agency.class)
+                .collectMap(Agency::getId)
+                .flatMapIterable(agenciesById -> chunk.stream()
+                    .map(agenciesById::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
+    }
+
+    @Override
+    public Flux<Agency> findByOrganizationId(UUID organizationId) {
+        return findAgencies(organizationId, entry -> true);
+    }
+
+    @Override
+    public Flux<Agency> findActiveByOrganizationId(UUID organizationId) {
+        return findAgencies(organizationId, entry -> Boolean.TRUE.equals(entry.getIsActive()));
+    }
+
+    @Override
+    public Mono<Slice<Agency>> findSliceByOrganizationId(UUID organizationId, Pageable pageable) {
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.slice(Query.query(where("organization_id").is(organizationId)).pageRequest(pageable), AgencyByOrganization.class)
+                .flatMap(entries -> {
+                    List<UUID> ids = entries.getContent().stream()
+                        .map(AgencyByOrganization::getAgencyId)
+                        .toList();
+                    return findAgenciesById(ids)
+                        .map(agenciesById -> toSlice(entries, ids, agenciesById));
+                }),
+            () -> cassandraOperations.slice(byOrganization(organizationId).pageRequest(pageable), Agency.class));
+    }
+
+    @Override
+    public Flux<Agency> findActiveByOrganizationIdWithLimit(UUID organizationId) {
+        return findActiveByOrganizationId(organizationId);
+    }
+
+    @Override
+    public Flux<Agency> findByOrganizationIdAndRegion(UUID organizationId, String region) {
+        return findByOrganizationId(organizationId)
+            .filter(agency -> Objects.equals(region, agency.getRegion()));
+    }
+
+    @Override
+    public Mono<Agency> findByOrganizationIdAndName(UUID organizationId, String name) {
+        return findAgencies(organizationId, entry -> Objects.equals(name, entry.getName())).next();
+    }
+
+    @Override
+    public Mono<Long> countByOrganizationId(UUID organizationId) {
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.count(Query.query(where("organization_id").is(organizationId)), AgencyByOrganization.class),
+            () -> cassandraOperations.count(byOrganization(organizationId), Agency.class));
+    }
+
+    @Override
+    public Mono<Long> countActiveByOrganizationId(UUID organizationId) {
+        return findEntries(organizationId)
+            .filter(entry -> Boolean.TRUE.equals(entry.getIsActive()))
+            .count();
+    }
+
+    @Override
+    public Mono<Long> countByOrganizationIdAndName(UUID organizationId, String name) {
+        return findEntries(organizationId)
+            .filter(entry -> Objects.equals(name, entry.getName()))
+            .count();
+    }
+
+    @Override
+    public Flux<Agency> findTopPerformingAgencies(UUID organizationId, int limit) {
+        return findByRevenue(organizationId, revenue -> true, limit);
+    }
+
+    @Override
+    public Flux<Agency> findByOrganizationIdAndMinimumMonthlyRevenue(UUID organizationId, double minRevenue) {
+        return findByRevenue(organizationId, revenue -> revenue != null && revenue >= minRevenue, Long.MAX_VALUE);
+    }
+
+    // La ligne de agencies_by_organization reprend le nom et le statut : réécrite seulement s'ils changent
+    private Mono<Void> syncLookup(PartialUpdate<Agency> result) {
+        if (!result.isChanged("organizationId") && !result.isChanged("name") && !result.isChanged("isActive")) {
+            return Mono.empty();
+        }
+
+        Agency agency = result.getEntity();
+        UUID previousOrganizationId = result.isChanged("organizationId")
+            ? result.getPreviousValue("organizationId")
+            : null;
+        if (agency.getOrganizationId() == null && previousOrganizationId == null) {
+            return Mono.empty();
+        }
+
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED);
+        if (agency.getOrganizationId() != null) {
+            batch = batch.insert(AgencyByOrganization.from(agency));
+        }
+        if (previousOrganizationId != null) {
+            batch = batch.delete(new AgencyByOrganization(previousOrganizationId, agency.getId(), null, null));
+        }
+        return batch.execute().then();
+    }
+
+    // L'entrée de agencies_by_geohash reprend position, géofencing et statut : réécrite seulement s'ils changent
+    private Mono<Void> syncGeohashEntry(PartialUpdate<Agency> result) {
+        if (!result.isChanged("latitude") && !result.isChanged("longitude") && !result.isChanged("geofenceRadius")
+            && !result.isChanged("isActive") && !result.isChanged("organizationId")) {
+            return Mono.empty();
+        }
+
+        Agency agency = result.getEntity();
+        Double previousLatitude = result.isChanged("latitude") ? result.getPreviousValue("latitude") : agency.getLatitude();
+        Double previousLongitude = result.isChanged("longitude") ? result.getPreviousValue("longitude") : agency.getLongitude();
+        String previousGeohash = previousLatitude != null && previousLongitude != null
+            ? AgencyByGeohash.cellOf(previousLatitude, previousLongitude)
+            : null;
+        if (!agency.hasLocation() && previousGeohash == null) {
+            return Mono.empty();
+        }
+
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED);
+        if (agency.hasLocation()) {
+            batch = batch.insert(AgencyByGeohash.from(agency));
+        }
+        if (previousGeohash != null && !previousGeohash.equals(geohashOf(agency))) {
+            batch = batch.delete(new AgencyByGeohash(previousGeohash, agency.getId(), null, null, null, null, null));
+        }
+        return batch.execute().then();
+    }
+
+    private static String geohashOf(Agency agency) {
+        return agency.hasLocation() ? AgencyByGeohash.cellOf(agency.getLatitude(), agency.getLongitude()) : null;
+    }
+
+    // Partition du classement mensuel en cours de l'organisation, à partir du rang suivant afterRank
+    private static Query leaderboardQuery(UUID organizationId, int afterRank, long limit) {
+        Query query = Query.query(
+            where("organization_id").is(organizationId),
+            where("granularity").is(MetricGranularity.MONTH),
+            where("period_start").is(MetricGranularity.MONTH.periodOf(LocalDateTime.now())),
+            where("rank").gt(afterRank));
+        return limit < Long.MAX_VALUE ? query.limit(limit) : query;
+    }
+
+    private Flux<AgencyLeaderboardEntry> findLeaderboard(Query query) {
+        return cassandraOperations.select(query, AgencyLeaderboardEntry.class);
+    }
+
+    /**
+     * Agences actives par chiffre d'affaires décroissant, lues dans le classement mensuel avec LIMIT N plus une
+     * marge (agences désactivées depuis son calcul) ; la suite du classement n'est lue que si la marge ne suffit pas.
+     * Les agences actives absentes du classement (aucun relevé sur le mois) comptent pour un revenu nul et ne
+     * sont lues dans la table de correspondance que pour compléter le top N.
+     */
+    private Flux<Agency> findByRevenue(UUID organizationId, Predicate<Double> accepted, long limit) {
+        long window = limit < Long.MAX_VALUE ? limit + LEADERBOARD_MARGIN : Long.MAX_VALUE;
+        Set<UUID> rankedIds = new HashSet<>();
+        AtomicInteger lastRank = new AtomicInteger();
+
+        Flux<Agency> ranked = findRanked(leaderboardQuery(organizationId, 0, window), accepted, rankedIds, lastRank)
+            .concatWith(Flux.defer(() -> rankedIds.size() < window
+                ? Flux.empty()
+                : findRanked(leaderboardQuery(organizationId, lastRank.get(), Long.MAX_VALUE), accepted, rankedIds, lastRank)));
+        Flux<Agency> unranked = Flux.defer(() -> accepted.test(0.0)
+            ? findUnranked(organizationId, rankedIds)
+            : Flux.empty());
+
+        return ranked.concatWith(unranked).take(limit);
+    }
+
+    private Flux<Agency> findRanked(Query query, Predicate<Double> accepted, Set<UUID> rankedIds, AtomicInteger lastRank) {
+        return findLeaderboard(query)
+            .doOnNext(entry -> {
+                rankedIds.add(entry.getAgencyId());
+                lastRank.set(entry.getRank());
+            })
+            .takeWhile(entry -> accepted.test(revenueOf(entry.getMonthlyRevenue())))
+            .map(AgencyLeaderboardEntry::getAgencyId)
+            .collectList()
+            .flatMapMany(this::findByIds)
+            .filter(agency -> Boolean.TRUE.equals(agency.getIsActive()));
+    }
+
+    private Flux<Agency> findUnranked(UUID organizationId, Set<UUID> rankedIds) {
+        return findEntries(organizationId)
+            .filter(entry -> Boolean.TRUE.equals(entry.getIsActive()) && !rankedIds.contains(entry.getAgencyId()))
+            .map(AgencyByOrganization::getAgencyId)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(this::findByIds)
+            .filter(agency -> Boolean.TRUE.equals(agency.getIsActive()));
+    }
+
+    private static double revenueOf(Double monthlyRevenue) {
+        return monthlyRevenue != null ? monthlyRevenue : 0.0;
+    }
+
+    // Tant que agencies_by_organization n'est pas rempli, lecture de la table principale (ALLOW FILTERING)
+    private static Query byOrganization(UUID organizationId) {
+        return Query.query(where("organization_id").is(organizationId)).withAllowFiltering();
+    }
+
+    private Flux<AgencyByOrganization> findEntries(UUID organizationId) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)), AgencyByOrganization.class),
+            () -> cassandraOperations.select(byOrganization(organizationId), Agency.class).map(AgencyByOrganization::from));
+    }
+
+    private Mono<Map<UUID, Agency>> findAgenciesById(List<UUID> ids) {
+        return Flux.fromIterable(ids)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(chunk -> cassandraOperations.select(Query.query(where("id").in(chunk)), Agency.class))
+            .collectMap(Agency::getId);
+    }
+
+    // Conserve l'ordre et l'état de pagination de la table de correspondance
+    private static Slice<Agency> toSlice(Slice<AgencyByOrganization> entries, List<UUID> ids, Map<UUID, Agency> agenciesById) {
+        List<Agency> agencies = ids.stream()
+            .map(agenciesById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        return new SliceImpl<>(agencies, entries.getPageable(), entries.hasNext());
+    }
+
+    private Flux<Agency> findAgencies(UUID organizationId, Predicate<AgencyByOrganization> filter) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)), AgencyByOrganization.class)
+                .filter(filter)
+                .map(AgencyByOrganization::getAgencyId)
+                .buffer(ID_BATCH_SIZE)
+                .concatMap(ids -> cassandraOperations.select(Query.query(where("id").in(ids)), Agency.class)),
+            () -> cassandraOperations.select(byOrganization(organizationId), Agency.class)
+                .filter(agency -> filter.test(AgencyByOrganization.from(agency))));
+    }
+}
@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyStats;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository réactif pour la table de compteurs agency_stats
+ */
+@Repository
+public interface AgencyStatsReactiveRepository extends ReactiveCassandraRepository<AgencyStats, UUID>, AgencyStatsReactiveRepositoryCustom {
+}
@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mise à jour atomique des compteurs de agency_stats (UPDATE ... SET col = col + ?)
+ */
+public interface AgencyStatsReactiveRepositoryCustom {
+
+    /**
+     * Ajoute les deltas (positifs ou négatifs) aux compteurs d'une agence en une seule requête
+     */
+    Mono<Void> increment(UUID agencyId, Map<AgencyCounter, Long> deltas);
+}
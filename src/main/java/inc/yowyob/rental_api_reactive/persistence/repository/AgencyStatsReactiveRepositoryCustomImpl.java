@@ -0,0 +1,40 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class AgencyStatsReactiveRepositoryCustomImpl implements AgencyStatsReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    @Override
+    public Mono<Void> increment(UUID agencyId, Map<AgencyCounter, Long> deltas) {
+        Update update = Update.empty();
+        boolean changed = false;
+        for (Map.Entry<AgencyCounter, Long> delta : deltas.entrySet()) {
+            if (delta.getValue() != null && delta.getValue() != 0) {
+                update = update.increment(delta.getKey().getColumn(), delta.getValue());
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return Mono.empty();
+        }
+        return cassandraOperations.update(
+                Query.query(where("agency_id").is(agencyId)),
+                update,
+                AgencyStats.class)
+            .then();
+    }
+}
@@ -0,0 +1,12 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.ExpiryCleanupCheckpoint;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository réactif de l'avancement des nettoyages par partitions d'échéance
+ */
+@Repository
+public interface ExpiryCleanupCheckpointReactiveRepository extends ReactiveCassandraRepository<ExpiryCleanupCheckpoint, String> {
+}
@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSagaByStartBucket;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository réactif des journaux de finalisation par heure de démarrage
+ */
+@Repository
+public interface OnboardingSagaByStartBucketReactiveRepository extends ReactiveCassandraRepository<OnboardingSagaByStartBucket, MapId> {
+
+    /**
+     * Entrées d'une partition horaire
+     */
+    @Query("SELECT * FROM onboarding_sagas_by_start_bucket WHERE start_bucket = ?0")
+    Flux<OnboardingSagaByStartBucket> findByStartBucket(LocalDateTime startBucket);
+}
@@ -0,0 +1,12 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository réactif des journaux de finalisation d'onboarding
+ */
+@Repository
+public interface OnboardingSagaReactiveRepository extends ReactiveCassandraRepository<OnboardingSaga, String>, OnboardingSagaReactiveRepositoryCustom {
+}
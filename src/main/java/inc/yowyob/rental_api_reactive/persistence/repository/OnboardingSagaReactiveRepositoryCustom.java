@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
+import reactor.core.publisher.Mono;
+
+/**
+ * Écritures conditionnelles du journal de finalisation : une seule création par session,
+ * et chaque étape n'est franchie qu'une fois
+ */
+public interface OnboardingSagaReactiveRepositoryCustom {
+
+    /**
+     * Indexe puis crée le journal (INSERT ... IF NOT EXISTS) ; false s'il existait déjà
+     */
+    Mono<Boolean> start(OnboardingSaga saga);
+
+    /**
+     * Passe le journal à l'étape suivante (UPDATE ... IF step = ?) ; false si une autre
+     * exécution l'a déjà fait
+     */
+    Mono<Boolean> advance(OnboardingSaga saga, OnboardingSagaStep next);
+}
@@ -0,0 +1,54 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSagaByStartBucket;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+class OnboardingSagaReactiveRepositoryCustomImpl implements OnboardingSagaReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration retention;
+
+    OnboardingSagaReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.retention = Duration.ofHours(appProperties.getOnboardingSaga().getRetentionHours());
+    }
+
+    @Override
+    public Mono<Boolean> start(OnboardingSaga saga) {
+        // Une transaction légère ne peut pas rejoindre un batch multi-partitions : l'entrée
+        // d'index est écrite d'abord (sans effet si le journal existait déjà)
+        InsertOptions indexOptions = InsertOptions.builder().ttl(retention).build();
+        InsertOptions sagaOptions = InsertOptions.builder().ttl(retention).withIfNotExists().build();
+
+        return cassandraOperations.insert(OnboardingSagaByStartBucket.of(saga), indexOptions)
+            .then(cassandraOperations.insert(saga, sagaOptions))
+            .map(EntityWriteResult::wasApplied);
+    }
+
+    @Override
+    public Mono<Boolean> advance(OnboardingSaga saga, OnboardingSagaStep next) {
+        OnboardingSagaStep current = saga.getStep();
+        saga.setStep(next);
+        saga.setUpdatedAt(LocalDateTime.now());
+
+        UpdateOptions options = UpdateOptions.builder()
+            .ttl(retention)
+            .ifCondition(where("step").is(current.name()))
+            .build();
+
+        return cassandraOperations.update(saga, options)
+            .map(EntityWriteResult::wasApplied);
+    }
+}
@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSessionByExpiryBucket;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository réactif des sessions d'onboarding par heure d'échéance
+ */
+@Repository
+public interface OnboardingSessionByExpiryBucketReactiveRepository extends ReactiveCassandraRepository<OnboardingSessionByExpiryBucket, MapId> {
+
+    /**
+     * Entrées échues d'une partition horaire
+     */
+    @Query("SELECT * FROM onboarding_sessions_by_expiry_bucket WHERE expiry_bucket = ?0 AND expires_at <= ?1")
+    Flux<OnboardingSessionByExpiryBucket> findDue(LocalDateTime expiryBucket, LocalDateTime now);
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Repository
-public interface OnboardingSessionReactiveRepository extends ReactiveCassandraRepository<OnboardingSession, UUID> {
+public interface OnboardingSessionReactiveRepository extends ReactiveCassandraRepository<OnboardingSession, UUID>, OnboardingSessionReactiveRepositoryCustom {
+
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends OnboardingSession> Mono<S> save(S session);
 
     /**
      * Trouve une session par token
@@ -19,21 +23,9 @@ public interface OnboardingSessionReactiveRepository extends ReactiveCassandraRe
     @Query("SELECT * FROM onboarding_sessions WHERE session_token = ?0 ALLOW FILTERING")
     Mono<OnboardingSession> findBySessionToken(String sessionToken);
 
-    /**
-     * Trouve les sessions expirées
-     */
-    @Query("SELECT * FROM onboarding_sessions WHERE expires_at < ?0 ALLOW FILTERING")
-    Flux<OnboardingSession> findExpiredSessions(LocalDateTime now);
-
     /**
      * Trouve les sessions actives (non terminées et non expirées)
      */
     @Query("SELECT * FROM onboarding_sessions WHERE is_completed = false AND expires_at > ?0 ALLOW FILTERING")
     Flux<OnboardingSession> findActiveSessions(LocalDateTime now);
-
-    /**
-     * Supprime les sessions expirées
-     */
-    @Query("DELETE FROM onboarding_sessions WHERE expires_at < ?0")
-    Mono<Void> deleteExpiredSessions(LocalDateTime now);
 }
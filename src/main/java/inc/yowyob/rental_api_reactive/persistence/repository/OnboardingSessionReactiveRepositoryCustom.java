@@ -0,0 +1,38 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import reactor.core.publisher.Mono;
+
+/**
+ * Écriture des sessions d'onboarding avec un TTL (échéance + rétention) et leur entrée
+ * dans onboarding_sessions_by_expiry_bucket, dans un même batch LOGGED : une session
+ * abandonnée disparaît sans parcours de table.
+ */
+public interface OnboardingSessionReactiveRepositoryCustom {
+
+    /**
+     * Enregistre la session et son entrée d'échéance
+     */
+    <S extends OnboardingSession> Mono<S> save(S session);
+
+    /**
+     * Enregistre seulement l'entrée d'échéance d'une session existante
+     */
+    Mono<Void> saveExpiryEntry(OnboardingSession session);
+
+    /**
+     * Enregistre une étape (UPDATE ... IF current_step = ?) ; false si la session
+     * n'était plus à l'étape attendue (écriture concurrente)
+     */
+    Mono<Boolean> saveStep(OnboardingSession session, int expectedStep);
+
+    /**
+     * Finalise l'onboarding : organisation, propriétaire, abonnement, session et
+     * tables de correspondance dans un même batch LOGGED
+     */
+    Mono<Void> saveCompletion(OnboardingSession session, Organization organization, User owner,
+                              OrganizationSubscription subscription);
+}
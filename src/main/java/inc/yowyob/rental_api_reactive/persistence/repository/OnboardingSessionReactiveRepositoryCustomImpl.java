@@ -0,0 +1,91 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSessionByExpiryBucket;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByName;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByOwner;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByEmail;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+class OnboardingSessionReactiveRepositoryCustomImpl implements OnboardingSessionReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration sessionRetention;
+
+    OnboardingSessionReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.sessionRetention = Duration.ofHours(appProperties.getExpiryCleanup().getOnboardingRetentionHours());
+    }
+
+    @Override
+    public <S extends OnboardingSession> Mono<S> save(S session) {
+        // Chaque écriture reporte le TTL sur toutes les colonnes renseignées de la session
+        InsertOptions options = InsertOptions.builder().ttl(ttlOf(session)).build();
+
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+            .insert(List.of(session), options)
+            .insert(List.of(OnboardingSessionByExpiryBucket.of(session)), options)
+            .execute()
+            .thenReturn(session);
+    }
+
+    @Override
+    public Mono<Void> saveExpiryEntry(OnboardingSession session) {
+        return cassandraOperations.insert(OnboardingSessionByExpiryBucket.of(session),
+                InsertOptions.builder().ttl(ttlOf(session)).build())
+            .then();
+    }
+
+    @Override
+    public Mono<Boolean> saveStep(OnboardingSession session, int expectedStep) {
+        // L'échéance ne change pas d'une étape à l'autre : l'entrée d'échéance reste valable
+        UpdateOptions options = UpdateOptions.builder()
+            .ttl(ttlOf(session))
+            .ifCondition(where("current_step").is(expectedStep))
+            .build();
+
+        return cassandraOperations.update(session, options)
+            .map(EntityWriteResult::wasApplied);
+    }
+
+    @Override
+    public Mono<Void> saveCompletion(OnboardingSession session, Organization organization, User owner,
+                                     OrganizationSubscription subscription) {
+        InsertOptions sessionOptions = InsertOptions.builder().ttl(ttlOf(session)).build();
+
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+            .insert(organization)
+            .insert(new OrganizationByOwner(owner.getId(), organization.getId()))
+            .insert(new OrganizationByName(organization.getName(), organization.getId()))
+            .insert(owner)
+            .insert(new UserByEmail(owner.getEmail(), owner.getId()))
+            .insert(UserByOrganization.from(owner))
+            .insert(subscription)
+            .insert(new SubscriptionByOrganization(organization.getId(), subscription.getId()))
+            .insert(List.of(session), sessionOptions)
+            .execute()
+            .then();
+    }
+
+    private Duration ttlOf(OnboardingSession session) {
+        return ExpiryBuckets.ttlUntil(session.getExpiresAt(), sessionRetention, LocalDateTime.now());
+    }
+}
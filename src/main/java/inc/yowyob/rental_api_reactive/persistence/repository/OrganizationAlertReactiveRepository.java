@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository réactif des alertes d'organisation
+ */
+@Repository
+public interface OrganizationAlertReactiveRepository extends ReactiveCassandraRepository<OrganizationAlert, MapId>,
+    OrganizationAlertReactiveRepositoryCustom {
+
+    /**
+     * Organisations signalées pour un motif
+     */
+    @Query("SELECT * FROM organization_alerts WHERE reason = ?0")
+    Flux<OrganizationAlert> findByReason(OrganizationAlertReason reason);
+}
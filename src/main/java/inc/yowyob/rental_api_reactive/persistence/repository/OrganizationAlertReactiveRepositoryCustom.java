@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Écriture d'une alerte limitée dans le temps (abonnement expirant : l'alerte tombe à l'échéance)
+ */
+public interface OrganizationAlertReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'alerte, avec TTL si ttl est renseigné
+     */
+    Mono<OrganizationAlert> raise(OrganizationAlert alert, Duration ttl);
+}
@@ -0,0 +1,27 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+class OrganizationAlertReactiveRepositoryCustomImpl implements OrganizationAlertReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    OrganizationAlertReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations) {
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    @Override
+    public Mono<OrganizationAlert> raise(OrganizationAlert alert, Duration ttl) {
+        if (ttl == null) {
+            return cassandraOperations.insert(alert);
+        }
+        return cassandraOperations.insert(alert, InsertOptions.builder().ttl(ttl).build())
+            .map(EntityWriteResult::getEntity);
+    }
+}
@@ -0,0 +1,22 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationRankingMetric;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationLeaderboardEntry;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository réactif des classements d'organisations
+ */
+@Repository
+public interface OrganizationLeaderboardReactiveRepository extends ReactiveCassandraRepository<OrganizationLeaderboardEntry, MapId> {
+
+    /**
+     * Classement d'un critère (au plus app.organization-rankings.capacity lignes, non triées)
+     */
+    @Query("SELECT * FROM organization_leaderboards WHERE metric = ?0")
+    Flux<OrganizationLeaderboardEntry> findByMetric(OrganizationRankingMetric metric);
+}
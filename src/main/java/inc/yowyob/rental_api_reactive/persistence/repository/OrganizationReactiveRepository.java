@@ -15,7 +15,14 @@ import java.util.UUID;
  * Repository réactif pour l'entité Organization
  */
 @Repository
-public interface OrganizationReactiveRepository extends ReactiveCassandraRepository<Organization, UUID> {
+public interface OrganizationReactiveRepository extends ReactiveCassandraRepository<Organization, UUID>, OrganizationReactiveRepositoryCustom {
+
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends Organization> Mono<S> save(S organization);
+
+    @Override
+    Mono<Void> deleteById(UUID id);
 
     /**
      * Trouve une organisation par nom
@@ -23,12 +30,6 @@ public interface OrganizationReactiveRepository extends ReactiveCassandraReposit
     @Query("SELECT * FROM organizations WHERE name = ?0 ALLOW FILTERING")
     Mono<Organization> findByName(String name);
 
-    /**
-     * Trouve les organisations par propriétaire
-     */
-    @Query("SELECT * FROM organizations WHERE owner_id = ?0 ALLOW FILTERING")
-    Flux<Organization> findByOwnerId(UUID ownerId);
-
     /**
      * Trouve les organisations actives
      */
@@ -95,18 +96,6 @@ public interface OrganizationReactiveRepository extends ReactiveCassandraReposit
     @Query("SELECT COUNT(*) FROM organizations WHERE tax_number = ?0 ALLOW FILTERING")
     Mono<Long> countByTaxNumber(String taxNumber);
 
-    /**
-     * Trouve les organisations avec un abonnement expirant bientôt
-     */
-    @Query("SELECT * FROM organizations WHERE subscription_expires_at > ?0 AND subscription_expires_at <= ?1 ALLOW FILTERING")
-    Flux<Organization> findWithExpiringSubscription(LocalDateTime now, LocalDateTime inThirtyDays);
-
-    /**
-     * Trouve les organisations avec un abonnement expiré
-     */
-    @Query("SELECT * FROM organizations WHERE subscription_expires_at < ?0 ALLOW FILTERING")
-    Flux<Organization> findWithExpiredSubscription(LocalDateTime now);
-
     /**
      * Trouve les organisations par plan d'abonnement
      */
@@ -119,12 +108,6 @@ public interface OrganizationReactiveRepository extends ReactiveCassandraReposit
     @Query("SELECT * FROM organizations WHERE last_activity_at < ?0 ALLOW FILTERING")
     Flux<Organization> findInactiveSince(LocalDateTime cutoffDate);
 
-    /**
-     * Trouve les organisations avec auto-renouvellement activé
-     */
-    @Query("SELECT * FROM organizations WHERE subscription_auto_renew = true ALLOW FILTERING")
-    Flux<Organization> findWithAutoRenewal();
-
     /**
      * Trouve les organisations avec un nombre minimum de véhicules
      */
@@ -177,39 +160,6 @@ public interface OrganizationReactiveRepository extends ReactiveCassandraReposit
      * Méthodes par défaut pour des opérations complexes
      */
 
-    /**
-     * Vérifie si une organisation existe par nom (boolean)
-     */
-    default Mono<Boolean> existsByName(String name) {
-        return countByName(name).map(count -> count > 0);
-    }
-
-    /**
-     * Vérifie si un numéro d'enregistrement existe (boolean)
-     */
-    default Mono<Boolean> existsByRegistrationNumber(String registrationNumber) {
-        return countByRegistrationNumber(registrationNumber).map(count -> count > 0);
-    }
-
-    /**
-     * Vérifie si un numéro fiscal existe (boolean)
-     */
-    default Mono<Boolean> existsByTaxNumber(String taxNumber) {
-        return countByTaxNumber(taxNumber).map(count -> count > 0);
-    }
-
-    /**
-     * Trouve les organisations les plus performantes
-     */
-    default Flux<Organization> findTopPerformingOrganizations(int limit) {
-        return findAllActive()
-            .sort((o1, o2) -> Double.compare(
-                o2.getMonthlyRevenue() != null ? o2.getMonthlyRevenue() : 0.0,
-                o1.getMonthlyRevenue() != null ? o1.getMonthlyRevenue() : 0.0
-            ))
-            .take(limit);
-    }
-
     /**
      * Trouve les organisations récemment créées
      */
@@ -217,26 +167,4 @@ public interface OrganizationReactiveRepository extends ReactiveCassandraReposit
         LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
         return findCreatedBetween(cutoff, LocalDateTime.now());
     }
-
-    /**
-     * Trouve les organisations avec une forte utilisation
-     */
-    default Flux<Organization> findHighUtilizationOrganizations(double threshold) {
-        return findAllActive()
-            .filter(org -> org.getVehicleUsagePercentage() >= threshold ||
-                org.getAgencyUsagePercentage() >= threshold);
-    }
-
-    /**
-     * Trouve les organisations nécessitant une attention
-     */
-    default Flux<Organization> findOrganizationsNeedingAttention() {
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        return findAllActive()
-            .filter(org ->
-                !org.getIsVerified() ||
-                    org.isSubscriptionExpiringSoon() ||
-                    (org.getLastActivityAt() != null && org.getLastActivityAt().isBefore(thirtyDaysAgo))
-            );
-    }
 }
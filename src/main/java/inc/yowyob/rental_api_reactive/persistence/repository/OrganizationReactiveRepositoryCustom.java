@@ -0,0 +1,83 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenizedRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Accès aux organisations via les tables de correspondance organizations_by_owner et organizations_by_name.
+ * L'écriture de la table organizations et des tables de correspondance se fait dans un même batch LOGGED.
+ */
+public interface OrganizationReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'organisation et ses entrées de correspondance
+     */
+    <S extends Organization> Mono<S> save(S organization);
+
+    /**
+     * Supprime l'organisation et ses entrées de correspondance
+     */
+    Mono<Void> deleteById(UUID id);
+
+    /**
+     * Supprime l'organisation et ses entrées de correspondance
+     */
+    Mono<Void> delete(Organization organization);
+
+    /**
+     * Applique la mutation et n'écrit que les colonnes modifiées (UPDATE ... SET col = ? IF version = ?).
+     * Sur écriture concurrente, l'organisation est relue et la mutation réappliquée ; vide si elle n'existe pas.
+     */
+    Mono<Organization> update(UUID id, Consumer<Organization> mutation);
+
+    /**
+     * Réécrit les entrées de correspondance d'une organisation existante
+     */
+    Mono<Void> rebuildLookups(Organization organization);
+
+    /**
+     * Vérifie si une organisation existe par nom (lecture d'une partition de organizations_by_name)
+     */
+    Mono<Boolean> existsByName(String name);
+
+    /**
+     * Trouve les organisations par propriétaire
+     */
+    Flux<Organization> findByOwnerId(UUID ownerId);
+
+    /**
+     * Tranche d'organisations (parcours paginé de la table organizations)
+     */
+    Mono<Slice<Organization>> findSlice(Pageable pageable);
+
+    /**
+     * Parcourt les organisations d'une plage de jetons ]fromToken, toToken] en lisant uniquement
+     * les colonnes d'abonnement (id, plan, échéance, renouvellement), page par page
+     */
+    Flux<TokenizedRow<Organization>> scanSubscriptions(long fromTokenExclusive, long toTokenInclusive, int pageSize);
+
+    /**
+     * Trouve les organisations actives les plus performantes (classement précalculé organization_leaderboards,
+     * parcours des organisations actives tant qu'il n'est pas construit)
+     */
+    Flux<Organization> findTopPerformingOrganizations(int limit);
+
+    /**
+     * Trouve les organisations actives au plus fort taux d'utilisation du parc sur le mois en cours
+     * (classement précalculé organization_leaderboards)
+     */
+    Flux<Organization> findHighUtilizationOrganizations(int limit);
+
+    /**
+     * Trouve les organisations nécessitant une attention (non vérifiées, abonnement expirant bientôt,
+     * inactives depuis 30 jours) à partir de organization_alerts
+     */
+    Flux<Organization> findOrganizationsNeedingAttention();
+}
@@ -0,0 +1,278 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationRankingMetric;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByName;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByOwner;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenizedRow;
+import inc.yowyob.rental_api_reactive.persistence.update.PartialUpdate;
+import inc.yowyob.rental_api_reactive.persistence.update.PartialUpdater;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+class OrganizationReactiveRepositoryCustomImpl implements OrganizationReactiveRepositoryCustom {
+
+    private static final String SCAN_SUBSCRIPTIONS_CQL =
+        "SELECT token(id) AS scan_token, id, subscription_plan_id, subscription_expires_at, subscription_auto_renew "
+            + "FROM organizations WHERE token(id) > ? AND token(id) <= ?";
+
+    // Taille maximale d'une requête IN sur la clé de partition
+    private static final int ID_BATCH_SIZE = 100;
+
+    // Organisations lues au-delà de N, pour celles désactivées depuis leur entrée au classement
+    private static final int LEADERBOARD_MARGIN = 10;
+
+    private static final Comparator<Organization> BY_REVENUE_DESC = Comparator.comparingDouble(
+        (Organization organization) -> organization.getMonthlyRevenue() != null ? organization.getMonthlyRevenue() : 0.0).reversed();
+
+    private static final Comparator<OrganizationLeaderboardEntry> BY_SCORE_DESC = Comparator
+        .comparingDouble((OrganizationLeaderboardEntry entry) -> entry.getScore() != null ? entry.getScore() : 0.0)
+        .reversed()
+        .thenComparing(OrganizationLeaderboardEntry::getOrganizationId);
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final PartialUpdater<Organization> partialUpdater;
+    private final DataMigrationRegistry migrationRegistry;
+
+    OrganizationReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, DataMigrationRegistry migrationRegistry) {
+        this.cassandraOperations = cassandraOperations;
+        this.migrationRegistry = migrationRegistry;
+        this.partialUpdater = new PartialUpdater<>(cassandraOperations, Organization.class);
+    }
+
+    @Override
+    public <S extends Organization> Mono<S> save(S organization) {
+        return cassandraOperations.selectOneById(organization.getId(), Organization.class)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(previous -> {
+                ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+                    .insert(organization);
+                batch = addLookups(batch, organization);
+                if (previous.isPresent()) {
+                    batch = removeStaleLookups(batch, previous.get(), organization);
+                }
+                return batch.execute().thenReturn(organization);
+            });
+    }
+
+    @Override
+    public Mono<Void> deleteById(UUID id) {
+        return cassandraOperations.selectOneById(id, Organization.class)
+            .flatMap(this::delete);
+    }
+
+    @Override
+    public Mono<Void> delete(Organization organization) {
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+            .delete(organization);
+        if (organization.getOwnerId() != null) {
+            batch = batch.delete(lookupOf(organization));
+        }
+        if (organization.getName() != null) {
+            batch = batch.delete(nameLookupOf(organization));
+        }
+        return batch.execute().then();
+    }
+
+    @Override
+    public Mono<Organization> update(UUID id, Consumer<Organization> mutation) {
+        return partialUpdater.update(id, mutation)
+            .flatMap(result -> syncLookups(result).thenReturn(result.getEntity()));
+    }
+
+    @Override
+    public Mono<Void> rebuildLookups(Organization organization) {
+        if (organization.getOwnerId() == null && organization.getName() == null) {
+            return Mono.empty();
+        }
+        return addLookups(cassandraOperations.batchOps(BatchType.LOGGED), organization).execute().then();
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        Mono<Boolean> fromLookup = cassandraOperations.selectOneById(name, OrganizationByName.class).hasElement();
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> fromLookup,
+            // Tant que organizations_by_name n'est pas rempli, un nom absent est cherché dans la table principale
+            () -> fromLookup.flatMap(found -> found ? Mono.just(true)
+                : cassandraOperations.count(Query.query(where("name").is(name)).withAllowFiltering(), Organization.class)
+                    .map(count -> count > 0)));
+    }
+
+    @Override
+    public Flux<Organization> findByOwnerId(UUID ownerId) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("owner_id").is(ownerId)), OrganizationByOwner.class)
+                .map(OrganizationByOwner::getOrganizationId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMapMany(ids -> cassandraOperations.select(Query.query(where("id").in(ids)), Organization.class)),
+            // Tant que organizations_by_owner n'est pas rempli, lecture de la table principale
+            () -> cassandraOperations.select(Query.query(where("owner_id").is(ownerId)).withAllowFiltering(), Organization.class));
+    }
+
+    @Override
+    public Mono<Slice<Organization>> findSlice(Pageable pageable) {
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), Organization.class);
+    }
+
+    @Override
+    public Flux<TokenizedRow<Organization>> scanSubscriptions(long fromTokenExclusive, long toTokenInclusive, int pageSize) {
+        SimpleStatement statement = SimpleStatement.newInstance(SCAN_SUBSCRIPTIONS_CQL, fromTokenExclusive, toTokenInclusive)
+            .setPageSize(pageSize);
+        // Pages suivantes demandées au fil de la consommation (pas de chargement complet de la plage)
+        return cassandraOperations.getReactiveCqlOperations().queryForRows(statement)
+            .map(row -> new TokenizedRow<>(
+                row.getLong("scan_token"),
+                cassandraOperations.getConverter().read(Organization.class, row)));
+    }
+
+    @Override
+    public Flux<Organization> findTopPerformingOrganizations(int limit) {
+        return findLeaderboard(OrganizationRankingMetric.MONTHLY_REVENUE)
+            .flatMapMany(entries -> entries.isEmpty()
+                ? findActive().sort(BY_REVENUE_DESC)
+                : findRankedOrganizations(entries, limit))
+            .take(limit);
+    }
+
+    @Override
+    public Flux<Organization> findHighUtilizationOrganizations(int limit) {
+        return findLeaderboard(OrganizationRankingMetric.VEHICLE_UTILIZATION)
+            .flatMapMany(entries -> findRankedOrganizations(entries, limit))
+            .take(limit);
+    }
+
+    @Override
+    public Flux<Organization> findOrganizationsNeedingAttention() {
+        LocalDateTime now = LocalDateTime.now();
+        return Flux.fromArray(OrganizationAlertReason.values())
+            .concatMap(reason -> cassandraOperations.select(Query.query(where("reason").is(reason)), OrganizationAlert.class))
+            .map(OrganizationAlert::getOrganizationId)
+            .distinct()
+            .collectList()
+            .flatMapMany(this::findByIds)
+            // Une alerte levée peut ne plus tenir (vérification, renouvellement, activité) : état relu
+            .filter(organization -> Boolean.TRUE.equals(organization.getIsActive()))
+            .filter(organization -> !organization.alertReasons(now).isEmpty());
+    }
+
+    // Réécrit les entrées de correspondance uniquement si le propriétaire ou le nom change
+    private Mono<Void> syncLookups(PartialUpdate<Organization> result) {
+        boolean ownerChanged = result.isChanged("ownerId");
+        boolean nameChanged = result.isChanged("name");
+        if (!ownerChanged && !nameChanged) {
+            return Mono.empty();
+        }
+
+        Organization organization = result.getEntity();
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED);
+        if (ownerChanged) {
+            UUID previousOwnerId = result.getPreviousValue("ownerId");
+            if (organization.getOwnerId() != null) {
+                batch = batch.insert(lookupOf(organization));
+            }
+            if (previousOwnerId != null) {
+                batch = batch.delete(new OrganizationByOwner(previousOwnerId, organization.getId()));
+            }
+        }
+        if (nameChanged) {
+            String previousName = result.getPreviousValue("name");
+            if (organization.getName() != null) {
+                batch = batch.insert(nameLookupOf(organization));
+            }
+            if (previousName != null) {
+                batch = batch.delete(new OrganizationByName(previousName, organization.getId()));
+            }
+        }
+        return batch.execute().then();
+    }
+
+    private static ReactiveCassandraBatchOperations addLookups(ReactiveCassandraBatchOperations batch, Organization organization) {
+        if (organization.getOwnerId() != null) {
+            batch = batch.insert(lookupOf(organization));
+        }
+        if (organization.getName() != null) {
+            batch = batch.insert(nameLookupOf(organization));
+        }
+        return batch;
+    }
+
+    private static ReactiveCassandraBatchOperations removeStaleLookups(ReactiveCassandraBatchOperations batch,
+                                                                       Organization previous, Organization current) {
+        if (previous.getOwnerId() != null && !previous.getOwnerId().equals(current.getOwnerId())) {
+            batch = batch.delete(lookupOf(previous));
+        }
+        if (previous.getName() != null && !Objects.equals(previous.getName(), current.getName())) {
+            batch = batch.delete(nameLookupOf(previous));
+        }
+        return batch;
+    }
+
+    // Classement complet d'un critère (au plus capacity lignes), par note décroissante
+    private Mono<List<OrganizationLeaderboardEntry>> findLeaderboard(OrganizationRankingMetric metric) {
+        return cassandraOperations.select(Query.query(where("metric").is(metric)), OrganizationLeaderboardEntry.class)
+            .sort(BY_SCORE_DESC)
+            .collectList();
+    }
+
+    // Les limit + LEADERBOARD_MARGIN premières organisations du classement ; la suite n'est lue que si trop
+    // d'entre elles ont été désactivées depuis leur entrée au classement
+    private Flux<Organization> findRankedOrganizations(List<OrganizationLeaderboardEntry> entries, int limit) {
+        List<UUID> ids = entries.stream().map(OrganizationLeaderboardEntry::getOrganizationId).toList();
+        int window = (int) Math.min(ids.size(), (long) limit + LEADERBOARD_MARGIN);
+        return findActiveByIds(ids.subList(0, window))
+            .concatWith(Flux.defer(() -> findActiveByIds(ids.subList(window, ids.size()))));
+    }
+
+    private Flux<Organization> findActiveByIds(List<UUID> ids) {
+        return findByIds(ids)
+            .filter(organization -> Boolean.TRUE.equals(organization.getIsActive()));
+    }
+
+    // Organisations par identifiants, dans l'ordre des identifiants (requêtes IN par lots)
+    private Flux<Organization> findByIds(List<UUID> ids) {
+        return Flux.fromIterable(ids)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(chunk -> cassandraOperations.select(Query.query(where("id").in(chunk)), Organization.class)
+                .collectMap(Organization::getId)
+                .flatMapIterable(organizationsById -> chunk.stream()
+                    .map(organizationsById::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
+    }
+
+    private Flux<Organization> findActive() {
+        return cassandraOperations.select(Query.query(where("is_active").is(true)).withAllowFiltering(), Organization.class);
+    }
+
+    private static OrganizationByOwner lookupOf(Organization organization) {
+        return new OrganizationByOwner(organization.getOwnerId(), organization.getId());
+    }
+
+    private static OrganizationByName nameLookupOf(Organization organization) {
+        return new OrganizationByName(organization.getName(), organization.getId());
+    }
+}
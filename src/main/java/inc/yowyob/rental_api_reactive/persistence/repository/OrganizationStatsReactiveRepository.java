@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationStats;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository réactif pour la table de compteurs organization_stats
+ */
+@Repository
+public interface OrganizationStatsReactiveRepository extends ReactiveCassandraRepository<OrganizationStats, UUID>, OrganizationStatsReactiveRepositoryCustom {
+}
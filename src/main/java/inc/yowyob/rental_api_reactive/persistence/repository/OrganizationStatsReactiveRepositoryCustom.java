@@ -0,0 +1,18 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mise à jour atomique des compteurs de organization_stats (UPDATE ... SET col = col + ?)
+ */
+public interface OrganizationStatsReactiveRepositoryCustom {
+
+    /**
+     * Ajoute les deltas (positifs ou négatifs) aux compteurs d'une organisation en une seule requête
+     */
+    Mono<Void> increment(UUID organizationId, Map<OrganizationCounter, Long> deltas);
+}
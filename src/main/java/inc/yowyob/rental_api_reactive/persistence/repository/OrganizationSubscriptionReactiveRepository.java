@@ -2,11 +2,14 @@ package inc.yowyob.rental_api_reactive.persistence.repository;
 
 import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
 import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
-public interface OrganizationSubscriptionReactiveRepository extends ReactiveCassandraRepository<OrganizationSubscription, UUID>  {
+public interface OrganizationSubscriptionReactiveRepository extends ReactiveCassandraRepository<OrganizationSubscription, UUID>, OrganizationSubscriptionReactiveRepositoryCustom {
 
-    Mono<OrganizationSubscription> findByOrganizationId(UUID organizationId);
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends OrganizationSubscription> Mono<S> save(S subscription);
 }
@@ -0,0 +1,29 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Accès aux abonnements d'une organisation via la table de correspondance subscriptions_by_organization.
+ * L'écriture de la table organization_subscriptions et de la table de correspondance se fait dans un même batch LOGGED.
+ */
+public interface OrganizationSubscriptionReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'abonnement et son entrée de correspondance
+     */
+    <S extends OrganizationSubscription> Mono<S> save(S subscription);
+
+    /**
+     * Abonnements d'une organisation
+     */
+    Flux<OrganizationSubscription> findByOrganizationId(UUID organizationId);
+
+    /**
+     * Réécrit l'entrée de correspondance d'un abonnement existant
+     */
+    Mono<Void> rebuildLookups(OrganizationSubscription subscription);
+}
@@ -0,0 +1,55 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrganizationSubscriptionReactiveRepositoryCustomImpl implements OrganizationSubscriptionReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public <S extends OrganizationSubscription> Mono<S> save(S subscription) {
+        // L'organisation d'un abonnement ne change pas : l'entrée de correspondance est simplement réécrite
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+            .insert(subscription)
+            .insert(lookupOf(subscription))
+            .execute()
+            .thenReturn(subscription);
+    }
+
+    @Override
+    public Flux<OrganizationSubscription> findByOrganizationId(UUID organizationId) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)), SubscriptionByOrganization.class)
+                .map(SubscriptionByOrganization::getSubscriptionId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMapMany(ids -> cassandraOperations.select(Query.query(where("id").in(ids)), OrganizationSubscription.class))
+                .filter(subscription -> organizationId.equals(subscription.getOrganizationId())),
+            // Tant que subscriptions_by_organization n'est pas rempli, lecture de la table principale
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)).withAllowFiltering(),
+                OrganizationSubscription.class));
+    }
+
+    @Override
+    public Mono<Void> rebuildLookups(OrganizationSubscription subscription) {
+        return cassandraOperations.insert(lookupOf(subscription)).then();
+    }
+
+    private static SubscriptionByOrganization lookupOf(OrganizationSubscription subscription) {
+        return new SubscriptionByOrganization(subscription.getOrganizationId(), subscription.getId());
+    }
+}
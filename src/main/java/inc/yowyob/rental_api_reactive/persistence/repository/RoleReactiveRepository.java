@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
@@ -36,6 +37,12 @@ public interface RoleReactiveRepository extends ReactiveCassandraRepository<Role
     @Query("SELECT * FROM roles WHERE organization_id = ?0 AND is_default_role = true ALLOW FILTERING")
     Flux<Role> findDefaultRolesByOrganizationId(UUID organizationId);
 
+    /**
+     * Trouve plusieurs rôles par identifiant en une seule requête (IN sur la clé primaire)
+     */
+    @Query("SELECT * FROM roles WHERE id IN ?0")
+    Flux<Role> findByIdIn(Collection<UUID> ids);
+
     /**
      * Trouve les rôles système
      */
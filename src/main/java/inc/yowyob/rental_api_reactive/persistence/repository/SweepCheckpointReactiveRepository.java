@@ -0,0 +1,19 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.SweepCheckpoint;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository réactif des points de reprise des parcours par plages de jetons
+ */
+@Repository
+public interface SweepCheckpointReactiveRepository extends ReactiveCassandraRepository<SweepCheckpoint, MapId> {
+
+    /**
+     * Points de reprise d'un parcours (lecture d'une seule partition)
+     */
+    Flux<SweepCheckpoint> findBySweepName(String sweepName);
+}
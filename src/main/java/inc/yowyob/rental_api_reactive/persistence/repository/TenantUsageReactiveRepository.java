@@ -0,0 +1,14 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository réactif pour la table de compteurs tenant_usage
+ */
+@Repository
+public interface TenantUsageReactiveRepository extends ReactiveCassandraRepository<TenantUsage, UUID>, TenantUsageReactiveRepositoryCustom {
+}
@@ -0,0 +1,17 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Mise à jour atomique des compteurs de tenant_usage (UPDATE ... SET col = col + ?)
+ */
+public interface TenantUsageReactiveRepositoryCustom {
+
+    /**
+     * Ajoute delta (positif ou négatif) au compteur d'une ressource
+     */
+    Mono<Void> increment(UUID organizationId, UsageResource resource, long delta);
+}
@@ -0,0 +1,31 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class TenantUsageReactiveRepositoryCustomImpl implements TenantUsageReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    @Override
+    public Mono<Void> increment(UUID organizationId, UsageResource resource, long delta) {
+        if (delta == 0) {
+            return Mono.empty();
+        }
+        return cassandraOperations.update(
+                Query.query(where("organization_id").is(organizationId)),
+                Update.empty().increment(resource.getColumn(), delta),
+                TenantUsage.class)
+            .then();
+    }
+}
@@ -0,0 +1,13 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.UniquenessReservation;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository réactif des réservations de valeurs uniques
+ */
+@Repository
+public interface UniquenessReservationReactiveRepository extends ReactiveCassandraRepository<UniquenessReservation, MapId>, UniquenessReservationReactiveRepositoryCustom {
+}
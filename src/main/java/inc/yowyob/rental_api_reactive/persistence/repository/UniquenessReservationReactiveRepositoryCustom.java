@@ -0,0 +1,29 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.persistence.entity.UniquenessReservation;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Écritures conditionnelles (transactions légères) des réservations de valeurs uniques
+ */
+public interface UniquenessReservationReactiveRepositoryCustom {
+
+    /**
+     * INSERT ... IF NOT EXISTS : renvoie la réservation en place après l'écriture, c'est-à-dire
+     * celle passée en paramètre (même instance) si elle a été appliquée, la réservation existante sinon
+     */
+    Mono<UniquenessReservation> reserve(UniquenessReservation reservation);
+
+    /**
+     * DELETE ... IF owner_id = ? : la clé n'est libérée que par son détenteur
+     */
+    Mono<Boolean> release(UniqueKey key, UUID ownerId);
+
+    /**
+     * Réservation en place pour une clé (lecture d'une partition)
+     */
+    Mono<UniquenessReservation> findByKey(UniqueKey key);
+}
@@ -0,0 +1,56 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.persistence.entity.UniquenessReservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.DeleteOptions;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.WriteResult;
+import org.springframework.data.cassandra.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class UniquenessReservationReactiveRepositoryCustomImpl implements UniquenessReservationReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    @Override
+    public Mono<UniquenessReservation> reserve(UniquenessReservation reservation) {
+        InsertOptions options = InsertOptions.builder().withIfNotExists().build();
+
+        // Une insertion refusée renvoie la ligne existante : pas de lecture supplémentaire
+        return cassandraOperations.insert(reservation, options)
+            .flatMap(result -> {
+                if (result.wasApplied()) {
+                    return Mono.just(reservation);
+                }
+                if (result.getRows().isEmpty()) {
+                    return findByKey(new UniqueKey(reservation.getKeyType(), reservation.getKeyValue()));
+                }
+                return Mono.just(cassandraOperations.getConverter().read(UniquenessReservation.class, result.getRows().get(0)));
+            });
+    }
+
+    @Override
+    public Mono<Boolean> release(UniqueKey key, UUID ownerId) {
+        UniquenessReservation reservation = new UniquenessReservation(key.getType(), key.getValue(), ownerId, null);
+        DeleteOptions options = DeleteOptions.builder()
+            .ifCondition(where("owner_id").is(ownerId))
+            .build();
+
+        return cassandraOperations.delete(reservation, options)
+            .map(WriteResult::wasApplied);
+    }
+
+    @Override
+    public Mono<UniquenessReservation> findByKey(UniqueKey key) {
+        Query query = Query.query(where("key_type").is(key.getType().name()))
+            .and(where("key_value").is(key.getValue()));
+        return cassandraOperations.selectOne(query, UniquenessReservation.class);
+    }
+}
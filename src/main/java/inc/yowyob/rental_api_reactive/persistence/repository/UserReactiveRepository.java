@@ -14,18 +14,14 @@ import java.util.UUID;
  * Repository réactif pour l'entité User (Mis à jour)
  */
 @Repository
-public interface UserReactiveRepository extends ReactiveCassandraRepository<User, UUID> {
-    /**
-     * Trouve un utilisateur par email
-     */
-    @Query("SELECT * FROM users WHERE email = ?0 ALLOW FILTERING")
-    Mono<User> findByEmail(String email);
+public interface UserReactiveRepository extends ReactiveCassandraRepository<User, UUID>, UserReactiveRepositoryCustom {
 
-    /**
-     * Vérifie si un email existe
-     */
-    @Query("SELECT COUNT(*) FROM users WHERE email = ?0 ALLOW FILTERING")
-    Mono<Long> countByEmail(String email);
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends User> Mono<S> save(S user);
+
+    @Override
+    Mono<Void> deleteById(UUID id);
 
     /**
      * Trouve les utilisateurs actifs uniquement
@@ -39,25 +35,7 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
     @Query("SELECT * FROM users WHERE is_deleted = false ALLOW FILTERING")
     Flux<User> findNonDeletedUsers();
 
-    // === RECHERCHES PAR ORGANISATION ===
-
-    /**
-     * Trouve les utilisateurs par organisation
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 ALLOW FILTERING")
-    Flux<User> findByOrganizationId(UUID organizationId);
-
-    /**
-     * Trouve les utilisateurs actifs par organisation
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 AND is_active = true ALLOW FILTERING")
-    Flux<User> findActiveByOrganizationId(UUID organizationId);
-
-    /**
-     * Compte les utilisateurs d'une organisation
-     */
-    @Query("SELECT COUNT(*) FROM users WHERE organization_id = ?0 ALLOW FILTERING")
-    Mono<Long> countByOrganizationId(UUID organizationId);
+    // Recherches par email et par organisation : voir UserReactiveRepositoryCustom
 
     // === RECHERCHES PAR AGENCE ===
 
@@ -79,24 +57,12 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
     @Query("SELECT COUNT(*) FROM users WHERE agency_id = ?0 ALLOW FILTERING")
     Mono<Long> countByAgencyId(UUID agencyId);
 
-    /**
-     * Trouve les utilisateurs d'une organisation sans agence assignée
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 AND agency_id = null ALLOW FILTERING")
-    Flux<User> findUnassignedByOrganizationId(UUID organizationId);
-
     /**
      * Trouve les utilisateurs par type
      */
     @Query("SELECT * FROM users WHERE user_type = ?0 ALLOW FILTERING")
     Flux<User> findByUserType(UserType userType);
 
-    /**
-     * Trouve les utilisateurs par type et organisation
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 AND user_type = ?1 ALLOW FILTERING")
-    Flux<User> findByOrganizationIdAndUserType(UUID organizationId, UserType userType);
-
     /**
      * Trouve les utilisateurs par type et agence
      */
@@ -109,12 +75,6 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
     @Query("SELECT * FROM users WHERE user_type IN ('AGENCY_MANAGER', 'RENTAL_AGENT', 'DRIVER') ALLOW FILTERING")
     Flux<User> findAllPersonnel();
 
-    /**
-     * Trouve le personnel par organisation
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 AND user_type IN ('AGENCY_MANAGER', 'RENTAL_AGENT', 'DRIVER') ALLOW FILTERING")
-    Flux<User> findPersonnelByOrganizationId(UUID organizationId);
-
     /**
      * Trouve le personnel par agence
      */
@@ -141,12 +101,6 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
     @Query("SELECT * FROM users WHERE supervisor_id = ?0 ALLOW FILTERING")
     Flux<User> findBySupervisorId(UUID supervisorId);
 
-    /**
-     * Trouve les utilisateurs par organisation et département
-     */
-    @Query("SELECT * FROM users WHERE organization_id = ?0 AND department = ?1 ALLOW FILTERING")
-    Flux<User> findByOrganizationIdAndDepartment(UUID organizationId, String department);
-
     /**
      * Trouve un utilisateur par token de réinitialisation
      */
@@ -171,24 +125,6 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
     @Query("SELECT * FROM users WHERE must_change_password = true ALLOW FILTERING")
     Flux<User> findUsersRequiringPasswordChange();
 
-    /**
-     * Compte les utilisateurs par type dans une organisation
-     */
-    @Query("SELECT COUNT(*) FROM users WHERE organization_id = ?0 AND user_type = ?1 ALLOW FILTERING")
-    Mono<Long> countByOrganizationIdAndUserType(UUID organizationId, UserType userType);
-
-    /**
-     * Compte les utilisateurs actifs par organisation
-     */
-    @Query("SELECT COUNT(*) FROM users WHERE organization_id = ?0 AND is_active = true ALLOW FILTERING")
-    Mono<Long> countActiveByOrganizationId(UUID organizationId);
-
-    /**
-     * Compte le personnel par organisation
-     */
-    @Query("SELECT COUNT(*) FROM users WHERE organization_id = ?0 AND user_type IN ('AGENCY_MANAGER', 'RENTAL_AGENT', 'DRIVER') ALLOW FILTERING")
-    Mono<Long> countPersonnelByOrganizationId(UUID organizationId);
-
     /**
      * Compte le personnel par agence
      */
@@ -211,18 +147,6 @@ public interface UserReactiveRepository extends ReactiveCassandraRepository<User
 
     // === MÉTHODES DE MISE À JOUR BULK ===
 
-    /**
-     * Active tous les utilisateurs d'une organisation
-     */
-    @Query("UPDATE users SET is_active = true WHERE organization_id = ?0")
-    Mono<Void> activateAllByOrganizationId(UUID organizationId);
-
-    /**
-     * Désactive tous les utilisateurs d'une organisation
-     */
-    @Query("UPDATE users SET is_active = false WHERE organization_id = ?0")
-    Mono<Void> deactivateAllByOrganizationId(UUID organizationId);
-
     /**
      * Désassigne tous les utilisateurs d'une agence
      */
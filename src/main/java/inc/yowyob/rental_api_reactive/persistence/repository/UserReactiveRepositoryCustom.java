@@ -0,0 +1,127 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Accès aux utilisateurs via les tables de correspondance users_by_email et users_by_organization.
+ * L'écriture de la table users et des tables de correspondance se fait dans un même batch LOGGED.
+ */
+public interface UserReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'utilisateur et ses entrées de correspondance
+     */
+    <S extends User> Mono<S> save(S user);
+
+    /**
+     * Supprime l'utilisateur et ses entrées de correspondance
+     */
+    Mono<Void> deleteById(UUID id);
+
+    /**
+     * Supprime l'utilisateur et ses entrées de correspondance
+     */
+    Mono<Void> delete(User user);
+
+    /**
+     * Réécrit les entrées de correspondance d'un utilisateur existant
+     */
+    Mono<Void> rebuildLookups(User user);
+
+    /**
+     * Trouve un utilisateur par email
+     */
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Vérifie si un email existe
+     */
+    Mono<Long> countByEmail(String email);
+
+    /**
+     * Trouve les utilisateurs par organisation
+     */
+    Flux<User> findByOrganizationId(UUID organizationId);
+
+    /**
+     * Trouve les utilisateurs actifs par organisation
+     */
+    Flux<User> findActiveByOrganizationId(UUID organizationId);
+
+    /**
+     * Compte les utilisateurs d'une organisation
+     */
+    Mono<Long> countByOrganizationId(UUID organizationId);
+
+    /**
+     * Trouve les utilisateurs d'une organisation sans agence assignée
+     */
+    Flux<User> findUnassignedByOrganizationId(UUID organizationId);
+
+    /**
+     * Trouve les utilisateurs par type et organisation
+     */
+    Flux<User> findByOrganizationIdAndUserType(UUID organizationId, UserType userType);
+
+    /**
+     * Trouve le personnel par organisation
+     */
+    Flux<User> findPersonnelByOrganizationId(UUID organizationId);
+
+    /**
+     * Trouve les utilisateurs par organisation et département
+     */
+    Flux<User> findByOrganizationIdAndDepartment(UUID organizationId, String department);
+
+    /**
+     * Compte les utilisateurs par type dans une organisation
+     */
+    Mono<Long> countByOrganizationIdAndUserType(UUID organizationId, UserType userType);
+
+    /**
+     * Compte les utilisateurs actifs par organisation
+     */
+    Mono<Long> countActiveByOrganizationId(UUID organizationId);
+
+    /**
+     * Compte le personnel par organisation
+     */
+    Mono<Long> countPersonnelByOrganizationId(UUID organizationId);
+
+    /**
+     * Tranche d'utilisateurs (parcours paginé de la table users)
+     */
+    Mono<Slice<User>> findSlice(Pageable pageable);
+
+    /**
+     * Tranche des utilisateurs d'une organisation
+     */
+    Mono<Slice<User>> findSliceByOrganizationId(UUID organizationId, Pageable pageable);
+
+    /**
+     * Tranche des utilisateurs d'une agence
+     */
+    Mono<Slice<User>> findSliceByAgencyId(UUID agencyId, Pageable pageable);
+
+    /**
+     * Tranche des utilisateurs d'un type
+     */
+    Mono<Slice<User>> findSliceByUserType(UserType userType, Pageable pageable);
+
+    /**
+     * Active tous les utilisateurs d'une organisation
+     */
+    Mono<Void> activateAllByOrganizationId(UUID organizationId);
+
+    /**
+     * Désactive tous les utilisateurs d'une organisation
+     */
+    Mono<Void> deactivateAllByOrganizationId(UUID organizationId);
+}
@@ -0,0 +1,267 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByEmail;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class UserReactiveRepositoryCustomImpl implements UserReactiveRepositoryCustom {
+
+    // Taille maximale d'une requête IN sur la clé de partition
+    private static final int ID_BATCH_SIZE = 100;
+
+    private static final Set<UserType> PERSONNEL_TYPES =
+        EnumSet.of(UserType.AGENCY_MANAGER, UserType.RENTAL_AGENT, UserType.DRIVER);
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final DataMigrationRegistry migrationRegistry;
+
+    @Override
+    public <S extends User> Mono<S> save(S user) {
+        return cassandraOperations.selectOneById(user.getId(), User.class)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(previous -> {
+                ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+                    .insert(user);
+                batch = addLookups(batch, user);
+                if (previous.isPresent()) {
+                    batch = removeStaleLookups(batch, previous.get(), user);
+                }
+                return batch.execute().thenReturn(user);
+            });
+    }
+
+    @Override
+    public Mono<Void> deleteById(UUID id) {
+        return cassandraOperations.selectOneById(id, User.class)
+            .flatMap(this::delete);
+    }
+
+    @Override
+    public Mono<Void> delete(User user) {
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED)
+            .delete(user);
+        if (user.getEmail() != null) {
+            batch = batch.delete(new UserByEmail(user.getEmail(), user.getId()));
+        }
+        if (user.getOrganizationId() != null) {
+            batch = batch.delete(UserByOrganization.from(user));
+        }
+        return batch.execute().then();
+    }
+
+    @Override
+    public Mono<Void> rebuildLookups(User user) {
+        return addLookups(cassandraOperations.batchOps(BatchType.LOGGED), user).execute().then();
+    }
+
+    // Avant la fin du remplissage de users_by_email, un utilisateur existant peut n'y figurer qu'en table principale
+    @Override
+    public Mono<User> findByEmail(String email) {
+        Mono<User> fromLookup = cassandraOperations.selectOneById(email, UserByEmail.class)
+            .flatMap(entry -> cassandraOperations.selectOneById(entry.getUserId(), User.class));
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> fromLookup,
+            () -> fromLookup.switchIfEmpty(Mono.defer(() -> cassandraOperations.selectOne(
+                Query.query(where("email").is(email)).withAllowFiltering(), User.class))));
+    }
+
+    @Override
+    public Mono<Long> countByEmail(String email) {
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.count(Query.query(where("email").is(email)), UserByEmail.class),
+            () -> cassandraOperations.count(Query.query(where("email").is(email)).withAllowFiltering(), User.class));
+    }
+
+    @Override
+    public Flux<User> findByOrganizationId(UUID organizationId) {
+        return findUsers(organizationId, entry -> true);
+    }
+
+    @Override
+    public Flux<User> findActiveByOrganizationId(UUID organizationId) {
+        return findUsers(organizationId, entry -> Boolean.TRUE.equals(entry.getIsActive()));
+    }
+
+    @Override
+    public Mono<Long> countByOrganizationId(UUID organizationId) {
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.count(Query.query(where("organization_id").is(organizationId)), UserByOrganization.class),
+            () -> cassandraOperations.count(byOrganization(organizationId), User.class));
+    }
+
+    @Override
+    public Flux<User> findUnassignedByOrganizationId(UUID organizationId) {
+        return findUsers(organizationId, entry -> entry.getAgencyId() == null);
+    }
+
+    @Override
+    public Flux<User> findByOrganizationIdAndUserType(UUID organizationId, UserType userType) {
+        return findUsers(organizationId, entry -> userType == entry.getUserType());
+    }
+
+    @Override
+    public Flux<User> findPersonnelByOrganizationId(UUID organizationId) {
+        return findUsers(organizationId, entry -> PERSONNEL_TYPES.contains(entry.getUserType()));
+    }
+
+    @Override
+    public Flux<User> findByOrganizationIdAndDepartment(UUID organizationId, String department) {
+        return findByOrganizationId(organizationId)
+            .filter(user -> Objects.equals(department, user.getDepartment()));
+    }
+
+    @Override
+    public Mono<Long> countByOrganizationIdAndUserType(UUID organizationId, UserType userType) {
+        return countEntries(organizationId, entry -> userType == entry.getUserType());
+    }
+
+    @Override
+    public Mono<Long> countActiveByOrganizationId(UUID organizationId) {
+        return countEntries(organizationId, entry -> Boolean.TRUE.equals(entry.getIsActive()));
+    }
+
+    @Override
+    public Mono<Long> countPersonnelByOrganizationId(UUID organizationId) {
+        return countEntries(organizationId, entry -> PERSONNEL_TYPES.contains(entry.getUserType()));
+    }
+
+    @Override
+    public Mono<Slice<User>> findSlice(Pageable pageable) {
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), User.class);
+    }
+
+    @Override
+    public Mono<Slice<User>> findSliceByOrganizationId(UUID organizationId, Pageable pageable) {
+        return migrationRegistry.routeOne(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.slice(Query.query(where("organization_id").is(organizationId)).pageRequest(pageable), UserByOrganization.class)
+                .flatMap(entries -> {
+                    List<UUID> ids = entries.getContent().stream()
+                        .map(UserByOrganization::getUserId)
+                        .toList();
+                    return findUsersById(ids)
+                        .map(usersById -> toSlice(entries, ids, usersById));
+                }),
+            () -> cassandraOperations.slice(byOrganization(organizationId).pageRequest(pageable), User.class));
+    }
+
+    @Override
+    public Mono<Slice<User>> findSliceByAgencyId(UUID agencyId, Pageable pageable) {
+        Query query = Query.query(where("agency_id").is(agencyId)).pageRequest(pageable).withAllowFiltering();
+        return cassandraOperations.slice(query, User.class);
+    }
+
+    @Override
+    public Mono<Slice<User>> findSliceByUserType(UserType userType, Pageable pageable) {
+        Query query = Query.query(where("user_type").is(userType.name())).pageRequest(pageable).withAllowFiltering();
+        return cassandraOperations.slice(query, User.class);
+    }
+
+    @Override
+    public Mono<Void> activateAllByOrganizationId(UUID organizationId) {
+        return setActiveByOrganizationId(organizationId, true);
+    }
+
+    @Override
+    public Mono<Void> deactivateAllByOrganizationId(UUID organizationId) {
+        return setActiveByOrganizationId(organizationId, false);
+    }
+
+    private Mono<Void> setActiveByOrganizationId(UUID organizationId, boolean active) {
+        return findByOrganizationId(organizationId)
+            .filter(user -> !Objects.equals(user.getIsActive(), active))
+            .concatMap(user -> {
+                user.setIsActive(active);
+                return save(user);
+            })
+            .then();
+    }
+
+    private ReactiveCassandraBatchOperations addLookups(ReactiveCassandraBatchOperations batch, User user) {
+        if (user.getEmail() != null) {
+            batch = batch.insert(new UserByEmail(user.getEmail(), user.getId()));
+        }
+        if (user.getOrganizationId() != null) {
+            batch = batch.insert(UserByOrganization.from(user));
+        }
+        return batch;
+    }
+
+    private ReactiveCassandraBatchOperations removeStaleLookups(ReactiveCassandraBatchOperations batch,
+                                                                User previous, User current) {
+        if (previous.getEmail() != null && !previous.getEmail().equals(current.getEmail())) {
+            batch = batch.delete(new UserByEmail(previous.getEmail(), previous.getId()));
+        }
+        if (previous.getOrganizationId() != null
+            && !previous.getOrganizationId().equals(current.getOrganizationId())) {
+            batch = batch.delete(UserByOrganization.from(previous));
+        }
+        return batch;
+    }
+
+    private Mono<Map<UUID, User>> findUsersById(List<UUID> ids) {
+        return Flux.fromIterable(ids)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(chunk -> cassandraOperations.select(Query.query(where("id").in(chunk)), User.class))
+            .collectMap(User::getId);
+    }
+
+    // Conserve l'ordre et l'état de pagination de la table de correspondance
+    private static Slice<User> toSlice(Slice<UserByOrganization> entries, List<UUID> ids, Map<UUID, User> usersById) {
+        List<User> users = ids.stream()
+            .map(usersById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        return new SliceImpl<>(users, entries.getPageable(), entries.hasNext());
+    }
+
+    // Tant que users_by_organization n'est pas rempli, lecture de la table principale (ALLOW FILTERING)
+    private static Query byOrganization(UUID organizationId) {
+        return Query.query(where("organization_id").is(organizationId)).withAllowFiltering();
+    }
+
+    private Flux<UserByOrganization> findEntries(UUID organizationId) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)), UserByOrganization.class),
+            () -> cassandraOperations.select(byOrganization(organizationId), User.class).map(UserByOrganization::from));
+    }
+
+    private Mono<Long> countEntries(UUID organizationId, Predicate<UserByOrganization> filter) {
+        return findEntries(organizationId).filter(filter).count();
+    }
+
+    private Flux<User> findUsers(UUID organizationId, Predicate<UserByOrganization> filter) {
+        return migrationRegistry.route(DataMigrationRegistry.LOOKUP_TABLES,
+            () -> cassandraOperations.select(Query.query(where("organization_id").is(organizationId)), UserByOrganization.class)
+                .filter(filter)
+                .map(UserByOrganization::getUserId)
+                .buffer(ID_BATCH_SIZE)
+                .concatMap(ids -> cassandraOperations.select(Query.query(where("id").in(ids)), User.class)),
+            () -> cassandraOperations.select(byOrganization(organizationId), User.class)
+                .filter(user -> filter.test(UserByOrganization.from(user))));
+    }
+}
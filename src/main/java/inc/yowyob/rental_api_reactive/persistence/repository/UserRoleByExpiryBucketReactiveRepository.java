@@ -0,0 +1,23 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRoleByExpiryBucket;
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository réactif des assignations de rôles par heure d'échéance
+ */
+@Repository
+public interface UserRoleByExpiryBucketReactiveRepository extends ReactiveCassandraRepository<UserRoleByExpiryBucket, MapId> {
+
+    /**
+     * Entrées échues d'une partition horaire
+     */
+    @Query("SELECT * FROM user_roles_by_expiry_bucket WHERE expiry_bucket = ?0 AND expires_at <= ?1")
+    Flux<UserRoleByExpiryBucket> findDue(LocalDateTime expiryBucket, LocalDateTime now);
+}
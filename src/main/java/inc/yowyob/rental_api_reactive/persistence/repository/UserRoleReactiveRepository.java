@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Repository
-public interface UserRoleReactiveRepository extends ReactiveCassandraRepository<UserRole, UUID> {
+public interface UserRoleReactiveRepository extends ReactiveCassandraRepository<UserRole, UUID>, UserRoleReactiveRepositoryCustom {
+
+    // Redéclarés : déclarés à la fois par le CRUD et par le fragment, ils rendraient l'appel ambigu
+    @Override
+    <S extends UserRole> Mono<S> save(S userRole);
 
     /**
      * Trouve les rôles d'un utilisateur
@@ -73,18 +77,6 @@ public interface UserRoleReactiveRepository extends ReactiveCassandraRepository<
     @Query("SELECT * FROM user_roles WHERE expires_at IS NOT NULL ALLOW FILTERING")
     Flux<UserRole> findTemporaryAssignments();
 
-    /**
-     * Trouve les assignations qui expirent bientôt
-     */
-    @Query("SELECT * FROM user_roles WHERE is_active = true AND expires_at IS NOT NULL AND expires_at <= ?0 AND expires_at > ?1 ALLOW FILTERING")
-    Flux<UserRole> findExpiringSoon(LocalDateTime expirationThreshold, LocalDateTime now);
-
-    /**
-     * Trouve les assignations expirées
-     */
-    @Query("SELECT * FROM user_roles WHERE is_active = true AND expires_at IS NOT NULL AND expires_at < ?0 ALLOW FILTERING")
-    Flux<UserRole> findExpired(LocalDateTime now);
-
     /**
      * Trouve les assignations créées par un utilisateur spécifique
      */
@@ -0,0 +1,21 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import reactor.core.publisher.Mono;
+
+/**
+ * Écriture des assignations de rôles avec leur entrée dans user_roles_by_expiry_bucket
+ * (assignations temporaires uniquement), dans un même batch LOGGED.
+ */
+public interface UserRoleReactiveRepositoryCustom {
+
+    /**
+     * Enregistre l'assignation et, si elle est temporaire, son entrée d'échéance
+     */
+    <S extends UserRole> Mono<S> save(S userRole);
+
+    /**
+     * Enregistre seulement l'entrée d'échéance d'une assignation temporaire existante
+     */
+    Mono<Void> saveExpiryEntry(UserRole userRole);
+}
@@ -0,0 +1,58 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRoleByExpiryBucket;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class UserRoleReactiveRepositoryCustomImpl implements UserRoleReactiveRepositoryCustom {
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Duration bucketRetention;
+
+    UserRoleReactiveRepositoryCustomImpl(ReactiveCassandraOperations cassandraOperations, AppProperties appProperties) {
+        this.cassandraOperations = cassandraOperations;
+        this.bucketRetention = Duration.ofHours(appProperties.getExpiryCleanup().getBucketRetentionHours());
+    }
+
+    @Override
+    public <S extends UserRole> Mono<S> save(S userRole) {
+        if (userRole.getExpiresAt() == null) {
+            return cassandraOperations.insert(userRole);
+        }
+
+        // Une prolongation ajoute une entrée dans la nouvelle partition ; l'ancienne est ignorée
+        // par le nettoyage (échéance différente de celle de l'assignation) puis disparaît par TTL
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps(BatchType.LOGGED).insert(userRole);
+        Duration ttl = ttlOf(userRole);
+        UserRoleByExpiryBucket bucketEntry = UserRoleByExpiryBucket.of(userRole);
+        batch = ttl != null
+            ? batch.insert(List.of(bucketEntry), InsertOptions.builder().ttl(ttl).build())
+            : batch.insert(bucketEntry);
+
+        return batch.execute().thenReturn(userRole);
+    }
+
+    @Override
+    public Mono<Void> saveExpiryEntry(UserRole userRole) {
+        Duration ttl = ttlOf(userRole);
+        UserRoleByExpiryBucket bucketEntry = UserRoleByExpiryBucket.of(userRole);
+        if (ttl == null) {
+            return cassandraOperations.insert(bucketEntry).then();
+        }
+        return cassandraOperations.insert(bucketEntry, InsertOptions.builder().ttl(ttl).build()).then();
+    }
+
+    private Duration ttlOf(UserRole userRole) {
+        return ExpiryBuckets.ttlUntil(userRole.getExpiresAt(), bucketRetention, LocalDateTime.now());
+    }
+}
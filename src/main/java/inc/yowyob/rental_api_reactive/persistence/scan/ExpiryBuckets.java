@@ -0,0 +1,61 @@
+package inc.yowyob.rental_api_reactive.persistence.scan;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpage horaire des échéances : une partition de table *_by_expiry_bucket par heure,
+ * de sorte qu'un nettoyage ne lise que les heures échues.
+ */
+public final class ExpiryBuckets {
+
+    public static final Duration BUCKET_SIZE = Duration.ofHours(1);
+
+    /**
+     * TTL maximal accepté par Cassandra (20 ans)
+     */
+    public static final Duration MAX_TTL = Duration.ofSeconds(630_720_000L);
+
+    private ExpiryBuckets() {
+    }
+
+    /**
+     * Partition d'une échéance (heure tronquée)
+     */
+    public static LocalDateTime bucketOf(LocalDateTime expiresAt) {
+        return expiresAt.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * Partitions de from à to inclus, dans l'ordre chronologique
+     */
+    public static List<LocalDateTime> bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime bucket = bucketOf(from); !bucket.isAfter(to); bucket = bucket.plus(BUCKET_SIZE)) {
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    /**
+     * Indique si toutes les échéances de la partition sont passées
+     */
+    public static boolean isElapsed(LocalDateTime bucket, LocalDateTime now) {
+        return !bucket.plus(BUCKET_SIZE).isAfter(now);
+    }
+
+    /**
+     * Durée de vie d'une ligne expirant à expiresAt puis conservée retention ; null si au-delà du TTL maximal
+     */
+    public static Duration ttlUntil(LocalDateTime expiresAt, Duration retention, LocalDateTime now) {
+        Duration ttl = Duration.between(now, expiresAt).plus(retention);
+        if (ttl.compareTo(MAX_TTL) > 0) {
+            return null;
+        }
+        // Une échéance déjà passée garde au moins la durée de rétention
+        return ttl.compareTo(retention) < 0 ? retention : ttl;
+    }
+}
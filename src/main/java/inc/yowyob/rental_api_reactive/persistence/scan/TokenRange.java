@@ -0,0 +1,42 @@
+package inc.yowyob.rental_api_reactive.persistence.scan;
+
+import lombok.Value;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plage de jetons Murmur3 ]start, end] d'une table, parcourue par
+ * SELECT ... WHERE token(pk) > start AND token(pk) <= end.
+ * Le partitionneur ne produit jamais Long.MIN_VALUE : la première plage couvre donc tout le début de l'anneau.
+ */
+@Value
+public class TokenRange {
+
+    int index;
+    long start;
+    long end;
+
+    /**
+     * Découpe l'anneau complet en plages contiguës de largeur égale
+     */
+    public static List<TokenRange> split(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Le nombre de plages de jetons doit être positif");
+        }
+
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        BigInteger width = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+        List<TokenRange> ranges = new ArrayList<>(count);
+        long start = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            long end = i == count - 1
+                ? Long.MAX_VALUE
+                : min.add(width.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(count))).longValueExact();
+            ranges.add(new TokenRange(i, start, end));
+            start = end;
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,13 @@
+package inc.yowyob.rental_api_reactive.persistence.scan;
+
+import lombok.Value;
+
+/**
+ * Ligne lue lors d'un parcours par plage de jetons, avec le jeton de sa partition (point de reprise)
+ */
+@Value
+public class TokenizedRow<T> {
+
+    long token;
+    T entity;
+}
@@ -0,0 +1,30 @@
+package inc.yowyob.rental_api_reactive.persistence.update;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Résultat d'une mise à jour partielle : l'entité écrite et les valeurs précédentes
+ * des propriétés modifiées (indexées par nom de propriété Java)
+ */
+@Value
+public class PartialUpdate<T> {
+
+    T entity;
+
+    Map<String, Object> previousValues;
+
+    public boolean isChanged(String property) {
+        return previousValues.containsKey(property);
+    }
+
+    public boolean hasChanges() {
+        return !previousValues.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V getPreviousValue(String property) {
+        return (V) previousValues.get(property);
+    }
+}
@@ -0,0 +1,147 @@
+package inc.yowyob.rental_api_reactive.persistence.update;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentEntity;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentProperty;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+/**
+ * Mise à jour partielle d'une entité Cassandra : seules les colonnes modifiées par la mutation
+ * sont écrites (UPDATE ... SET col = ?), au lieu de réinsérer toute la ligne.
+ * Si l'entité possède une colonne version, l'écriture est conditionnelle (IF version = ?) ;
+ * sur conflit, l'entité est relue et la mutation réappliquée.
+ * La mutation doit donc pouvoir être rejouée sur un état plus récent.
+ */
+@Slf4j
+public final class PartialUpdater<T> {
+
+    public static final String VERSION_PROPERTY = "version";
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final Class<T> entityType;
+    private final CassandraPersistentEntity<?> persistentEntity;
+    private final CassandraPersistentProperty idProperty;
+    private final CassandraPersistentProperty versionProperty;
+    private final List<CassandraPersistentProperty> updatableProperties = new ArrayList<>();
+
+    public PartialUpdater(ReactiveCassandraOperations cassandraOperations, Class<T> entityType) {
+        this.cassandraOperations = cassandraOperations;
+        this.entityType = entityType;
+        this.persistentEntity = cassandraOperations.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(entityType);
+        this.idProperty = persistentEntity.getRequiredIdProperty();
+        this.versionProperty = persistentEntity.getPersistentProperty(VERSION_PROPERTY);
+
+        for (CassandraPersistentProperty property : persistentEntity) {
+            if (!property.isIdProperty() && !property.isPrimaryKeyColumn() && property != versionProperty) {
+                updatableProperties.add(property);
+            }
+        }
+    }
+
+    /**
+     * Applique la mutation à l'entité courante et écrit les colonnes modifiées (vide si l'entité n'existe pas)
+     */
+    public Mono<PartialUpdate<T>> update(Object id, Consumer<T> mutation) {
+        return attempt(id, mutation, 1);
+    }
+
+    private Mono<PartialUpdate<T>> attempt(Object id, Consumer<T> mutation, int attempt) {
+        return cassandraOperations.selectOneById(id, entityType)
+            .flatMap(entity -> {
+                PersistentPropertyAccessor<T> accessor = persistentEntity.getPropertyAccessor(entity);
+                Map<CassandraPersistentProperty, Object> before = snapshot(accessor);
+                mutation.accept(entity);
+
+                Map<String, Object> previousValues = new HashMap<>();
+                Update update = Update.empty();
+                for (CassandraPersistentProperty property : updatableProperties) {
+                    Object value = accessor.getProperty(property);
+                    Object previous = before.get(property);
+                    if (!Objects.equals(previous, value)) {
+                        update = update.set(property.getRequiredColumnName().toString(), value);
+                        previousValues.put(property.getName(), previous);
+                    }
+                }
+
+                if (previousValues.isEmpty()) {
+                    return Mono.just(new PartialUpdate<>(entity, Map.of()));
+                }
+
+                return execute(id, accessor, update)
+                    .flatMap(applied -> {
+                        if (applied) {
+                            return Mono.just(new PartialUpdate<>(entity, Collections.unmodifiableMap(previousValues)));
+                        }
+                        if (attempt >= MAX_ATTEMPTS) {
+                            return Mono.error(new IllegalStateException(
+                                "Modification concurrente, veuillez réessayer"));
+                        }
+                        log.debug("Version conflict on {} {}, retrying (attempt {})",
+                            entityType.getSimpleName(), id, attempt + 1);
+                        return attempt(id, mutation, attempt + 1);
+                    });
+            });
+    }
+
+    private Mono<Boolean> execute(Object id, PersistentPropertyAccessor<T> accessor, Update update) {
+        Query query = Query.query(where(idProperty.getRequiredColumnName().toString()).is(id));
+        if (versionProperty == null) {
+            return cassandraOperations.update(query, update, entityType);
+        }
+
+        Long currentVersion = (Long) accessor.getProperty(versionProperty);
+        long nextVersion = currentVersion != null ? currentVersion + 1 : 1L;
+        String versionColumn = versionProperty.getRequiredColumnName().toString();
+
+        // Lignes antérieures à la colonne version : simple IF EXISTS pour la première écriture versionnée
+        UpdateOptions options = currentVersion != null
+            ? UpdateOptions.builder().ifCondition(where(versionColumn).is(currentVersion)).build()
+            : UpdateOptions.builder().ifExists(true).build();
+
+        return cassandraOperations.update(query.queryOptions(options), update.set(versionColumn, nextVersion), entityType)
+            .doOnNext(applied -> {
+                if (applied) {
+                    accessor.setProperty(versionProperty, nextVersion);
+                }
+            });
+    }
+
+    // Copie des valeurs courantes ; les collections sont copiées pour détecter les modifications en place
+    private Map<CassandraPersistentProperty, Object> snapshot(PersistentPropertyAccessor<T> accessor) {
+        Map<CassandraPersistentProperty, Object> values = new HashMap<>();
+        for (CassandraPersistentProperty property : updatableProperties) {
+            Object value = accessor.getProperty(property);
+            if (value instanceof Set<?> set) {
+                value = new LinkedHashSet<>(set);
+            } else if (value instanceof Collection<?> collection) {
+                value = new ArrayList<>(collection);
+            } else if (value instanceof Map<?, ?> map) {
+                value = new LinkedHashMap<>(map);
+            }
+            values.put(property, value);
+        }
+        return values;
+    }
+}
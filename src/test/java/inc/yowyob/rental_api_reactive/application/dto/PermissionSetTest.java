@@ -0,0 +1,64 @@
+package inc.yowyob.rental_api_reactive.application.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionSetTest {
+
+    @Test
+    void of_ShouldRoundTripCodes() {
+        Set<String> codes = Set.of(Permission.VEHICLE_READ.getCode(), Permission.SYSTEM_MONITORING.getCode(), "legacy_code");
+
+        PermissionSet permissionSet = PermissionSet.of(codes);
+
+        assertThat(permissionSet.size()).isEqualTo(3);
+        assertThat(permissionSet.toCodes()).isEqualTo(codes);
+        assertThat(permissionSet.getCustomCodes()).containsExactly("legacy_code");
+    }
+
+    @Test
+    void union_ShouldCombineMasks() {
+        PermissionSet first = PermissionSet.of(Permission.USER_READ, Permission.USER_WRITE);
+        PermissionSet second = PermissionSet.of(Permission.USER_WRITE, Permission.RENTAL_READ);
+
+        PermissionSet union = first.union(second);
+
+        assertThat(union.size()).isEqualTo(3);
+        assertThat(union.contains(Permission.RENTAL_READ)).isTrue();
+        assertThat(union.contains(Permission.USER_READ.getCode())).isTrue();
+        assertThat(union.contains(Permission.USER_DELETE)).isFalse();
+    }
+
+    @Test
+    void containsAllAndAny_ShouldCompareMasks() {
+        PermissionSet granted = PermissionSet.of(Permission.USER_READ, Permission.VEHICLE_READ);
+
+        assertThat(granted.containsAll(PermissionSet.of(Permission.USER_READ))).isTrue();
+        assertThat(granted.containsAll(PermissionSet.of(Permission.USER_READ, Permission.USER_DELETE))).isFalse();
+        assertThat(granted.containsAny(PermissionSet.of(Permission.USER_DELETE, Permission.VEHICLE_READ))).isTrue();
+        assertThat(granted.containsAny(PermissionSet.of(Permission.USER_DELETE))).isFalse();
+        assertThat(granted.containsAll(PermissionSet.of(List.of("legacy_code")))).isFalse();
+    }
+
+    @Test
+    void allPermissions_ShouldFitInMask() {
+        PermissionSet all = PermissionSet.of(Permission.values());
+
+        assertThat(all.size()).isEqualTo(Permission.values().length);
+        assertThat(Arrays.asList(all.toPermissions())).containsExactly(Permission.values());
+    }
+
+    @Test
+    void permissionLookups_ShouldUseIndexes() {
+        assertThat(Permission.fromCode("vehicle_read")).isEqualTo(Permission.VEHICLE_READ);
+        assertThat(Permission.fromCode("unknown")).isNull();
+        assertThat(Permission.getPermissionsForResource("user"))
+            .allMatch(permission -> "USER".equals(permission.getResource()));
+        assertThat(Permission.getAllResources()).contains("VEHICLE", "SYSTEM");
+    }
+}
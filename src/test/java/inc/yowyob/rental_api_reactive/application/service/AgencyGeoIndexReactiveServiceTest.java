@@ -0,0 +1,137 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.event.AgencyChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByGeohash;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgencyGeoIndexReactiveServiceTest {
+
+    @Mock
+    private AgencyReactiveRepository agencyRepository;
+
+    private AgencyGeoIndexReactiveService geoIndexService;
+
+    private AgencyByGeohash doualaAkwa;
+    private AgencyByGeohash doualaBonapriso;
+    private AgencyByGeohash yaounde;
+
+    @BeforeEach
+    void setUp() {
+        geoIndexService = new AgencyGeoIndexReactiveService(agencyRepository, new AppProperties());
+
+        doualaAkwa = entry(4.0511, 9.7043, 2_000.0, true);
+        doualaBonapriso = entry(4.0300, 9.6950, null, true);
+        yaounde = entry(3.8480, 11.5021, 50_000.0, true);
+    }
+
+    private static AgencyByGeohash entry(double latitude, double longitude, Double geofenceRadius, boolean active) {
+        return new AgencyByGeohash(AgencyByGeohash.cellOf(latitude, longitude), UUID.randomUUID(), UUID.randomUUID(),
+            latitude, longitude, geofenceRadius, active);
+    }
+
+    private void givenIndexedAgencies(AgencyByGeohash... entries) {
+        when(agencyRepository.findAllLocated()).thenReturn(Flux.just(entries));
+    }
+
+    @Test
+    void findInBounds_ShouldReturnOnlyAgenciesInsideRectangle_AndLoadIndexOnce() {
+        // Given
+        givenIndexedAgencies(doualaAkwa, doualaBonapriso, yaounde);
+
+        // When & Then
+        StepVerifier.create(geoIndexService.findInBounds(3.9, 4.2, 9.6, 9.9))
+            .expectNextMatches(ids -> ids.size() == 2
+                && ids.containsAll(List.of(doualaAkwa.getAgencyId(), doualaBonapriso.getAgencyId())))
+            .verifyComplete();
+        StepVerifier.create(geoIndexService.findInBounds(3.0, 5.0, 11.0, 12.0))
+            .expectNext(List.of(yaounde.getAgencyId()))
+            .verifyComplete();
+
+        verify(agencyRepository, times(1)).findAllLocated();
+    }
+
+    @Test
+    void findInBounds_ShouldRejectInvalidBounds() {
+        StepVerifier.create(geoIndexService.findInBounds(5.0, 4.0, 9.6, 9.9))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+
+    @Test
+    void findNearest_ShouldOrderByDistance_AndWidenSearchUntilEnoughAgencies() {
+        // Given
+        givenIndexedAgencies(doualaAkwa, doualaBonapriso, yaounde);
+
+        // When & Then : point à Bonapriso, Yaoundé à près de 200 km
+        StepVerifier.create(geoIndexService.findNearest(4.0310, 9.6960, 3))
+            .expectNext(List.of(doualaBonapriso.getAgencyId(), doualaAkwa.getAgencyId(), yaounde.getAgencyId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void findNearest_ShouldSkipInactiveAgencies() {
+        // Given
+        AgencyByGeohash closed = entry(4.0310, 9.6960, null, false);
+        givenIndexedAgencies(closed, doualaAkwa);
+
+        // When & Then
+        StepVerifier.create(geoIndexService.findNearest(4.0310, 9.6960, 1))
+            .expectNext(List.of(doualaAkwa.getAgencyId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void findWithinRadius_ShouldUseGeofenceRadius_WhenNoRadiusGiven() {
+        // Given
+        givenIndexedAgencies(doualaAkwa, doualaBonapriso, yaounde);
+
+        // When & Then : à environ 1 km d'Akwa (géofencing 2 km), hors de portée des autres
+        StepVerifier.create(geoIndexService.findWithinRadius(4.0600, 9.7043, null))
+            .expectNext(List.of(doualaAkwa.getAgencyId()))
+            .verifyComplete();
+        StepVerifier.create(geoIndexService.findWithinRadius(4.0600, 9.7043, 10.0))
+            .expectNext(List.of(doualaAkwa.getAgencyId(), doualaBonapriso.getAgencyId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void onAgencyChanged_ShouldMoveAgencyInIndex() {
+        // Given
+        givenIndexedAgencies(doualaAkwa);
+        StepVerifier.create(geoIndexService.reload()).verifyComplete();
+
+        Agency moved = new Agency(doualaAkwa.getOrganizationId(), "Akwa", "Rue 1", "Yaoundé");
+        moved.setId(doualaAkwa.getAgencyId());
+        moved.setLatitude(3.8600);
+        moved.setLongitude(11.5100);
+        moved.setIsActive(true);
+        when(agencyRepository.findById(moved.getId())).thenReturn(Mono.just(moved));
+
+        // When
+        geoIndexService.onAgencyChanged(new AgencyChangedEvent(moved.getId()));
+
+        // Then
+        StepVerifier.create(geoIndexService.findInBounds(3.9, 4.2, 9.6, 9.9))
+            .expectNext(List.of())
+            .verifyComplete();
+        StepVerifier.create(geoIndexService.findNearest(3.8480, 11.5021, 1))
+            .expectNext(List.of(moved.getId()))
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,236 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricRollup;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricSample;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyMetricUpdate;
+import inc.yowyob.rental_api_reactive.persistence.entity.ExpiryCleanupCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyLeaderboardReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricRollupReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricSampleReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyMetricUpdateReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.ExpiryCleanupCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgencyMetricsReactiveServiceTest {
+
+    @Mock
+    private AgencyReactiveRepository agencyRepository;
+
+    @Mock
+    private AgencyMetricSampleReactiveRepository sampleRepository;
+
+    @Mock
+    private AgencyMetricUpdateReactiveRepository updateRepository;
+
+    @Mock
+    private AgencyMetricRollupReactiveRepository rollupRepository;
+
+    @Mock
+    private AgencyLeaderboardReactiveRepository leaderboardRepository;
+
+    @Mock
+    private ExpiryCleanupCheckpointReactiveRepository checkpointRepository;
+
+    @Mock
+    private OrganizationRankingReactiveService rankingService;
+
+    private AgencyMetricsReactiveService metricsService;
+
+    private UUID organizationId;
+    private LocalDateTime previousBucket;
+
+    // Agrégats enregistrés, relus par les agrégations de granularité supérieure
+    private final List<AgencyMetricRollup> rollups = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        metricsService = new AgencyMetricsReactiveService(agencyRepository, sampleRepository, updateRepository,
+            rollupRepository, leaderboardRepository, checkpointRepository, rankingService, new AppProperties());
+        organizationId = UUID.randomUUID();
+
+        // Point de reprise sur l'heure précédente : deux heures à agréger (précédente et courante)
+        previousBucket = ExpiryBuckets.bucketOf(LocalDateTime.now()).minusHours(1);
+        lenient().when(checkpointRepository.findById(AgencyMetricsReactiveService.ROLLUP_CHECKPOINT)).thenReturn(
+            Mono.just(new ExpiryCleanupCheckpoint(AgencyMetricsReactiveService.ROLLUP_CHECKPOINT, previousBucket, previousBucket)));
+        lenient().when(checkpointRepository.save(any(ExpiryCleanupCheckpoint.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        lenient().when(updateRepository.findByUpdateBucket(any())).thenReturn(Flux.empty());
+        // Taux d'utilisation reporté seulement si l'heure précédente est dans le mois en cours
+        lenient().when(rankingService.updateUtilization(any(), anyDouble())).thenReturn(Mono.empty());
+    }
+
+    private Agency agency(String name) {
+        Agency agency = new Agency(organizationId, name, "Rue 1", "Douala");
+        agency.setIsActive(true);
+        return agency;
+    }
+
+    private AgencyMetricSample sample(Agency agency, int minutes, int activeVehicles, double utilization, double revenue) {
+        LocalDateTime recordedAt = previousBucket.plusMinutes(minutes);
+        return new AgencyMetricSample(agency.getId(), AgencyMetricSample.monthOf(recordedAt), recordedAt, organizationId,
+            10, activeVehicles, 3, revenue, utilization);
+    }
+
+    private void givenSamples(Agency agency, AgencyMetricSample... samples) {
+        when(sampleRepository.findBetween(eq(agency.getId()), any(), eq(previousBucket), eq(previousBucket.plusHours(1))))
+            .thenReturn(Flux.just(samples));
+    }
+
+    private void givenInMemoryRollups() {
+        when(rollupRepository.save(any(AgencyMetricRollup.class))).thenAnswer(invocation -> {
+            AgencyMetricRollup rollup = invocation.getArgument(0);
+            rollups.removeIf(existing -> sameKey(existing, rollup));
+            rollups.add(rollup);
+            return Mono.just(rollup);
+        });
+        when(rollupRepository.findBetween(any(), any(), any(), any())).thenAnswer(invocation -> Flux.fromIterable(
+            rollups.stream()
+                .filter(rollup -> rollup.getAgencyId().equals(invocation.getArgument(0))
+                    && rollup.getGranularity() == invocation.getArgument(1)
+                    && !rollup.getPeriodStart().isBefore(invocation.getArgument(2))
+                    && rollup.getPeriodStart().isBefore(invocation.getArgument(3)))
+                .toList()));
+        when(rollupRepository.findByPeriod(any(), any(), any())).thenAnswer(invocation -> Mono.justOrEmpty(
+            rollups.stream()
+                .filter(rollup -> rollup.getAgencyId().equals(invocation.getArgument(0))
+                    && rollup.getGranularity() == invocation.getArgument(1)
+                    && rollup.getPeriodStart().equals(invocation.getArgument(2)))
+                .findFirst()));
+    }
+
+    private static boolean sameKey(AgencyMetricRollup first, AgencyMetricRollup second) {
+        return first.getAgencyId().equals(second.getAgencyId())
+            && first.getGranularity() == second.getGranularity()
+            && first.getPeriodStart().equals(second.getPeriodStart());
+    }
+
+    private AgencyMetricRollup rollupOf(Agency agency, MetricGranularity granularity) {
+        return rollups.stream()
+            .filter(rollup -> rollup.getAgencyId().equals(agency.getId()) && rollup.getGranularity() == granularity)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    void rollup_ShouldAggregateHourDayAndMonth_AndRankAgenciesByRevenue() {
+        // Given
+        Agency centre = agency("Agence Centre");
+        Agency port = agency("Agence Port");
+        givenInMemoryRollups();
+        givenSamples(centre, sample(centre, 5, 4, 40.0, 300.0), sample(centre, 35, 6, 60.0, 500.0));
+        givenSamples(port, sample(port, 20, 8, 80.0, 900.0));
+        when(updateRepository.findByUpdateBucket(previousBucket)).thenReturn(Flux.just(
+            new AgencyMetricUpdate(previousBucket, centre.getId(), organizationId),
+            new AgencyMetricUpdate(previousBucket, port.getId(), organizationId)));
+        when(agencyRepository.findActiveByOrganizationId(organizationId)).thenReturn(Flux.just(centre, port));
+        when(leaderboardRepository.replace(any(), any(), any(), anyList())).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(metricsService.rollup())
+            .expectNext(2)
+            .verifyComplete();
+
+        // Dernière valeur cumulée, moyennes sur les relevés de l'heure reportées au jour et au mois
+        AgencyMetricRollup hour = rollupOf(centre, MetricGranularity.HOUR);
+        assertThat(hour.getSampleCount()).isEqualTo(2);
+        assertThat(hour.getAvgActiveVehicles()).isEqualTo(5.0);
+        assertThat(hour.getMaxActiveVehicles()).isEqualTo(6);
+        assertThat(hour.getMonthlyRevenue()).isEqualTo(500.0);
+        assertThat(rollupOf(centre, MetricGranularity.DAY).getAvgUtilizationRate()).isEqualTo(50.0);
+        assertThat(rollupOf(centre, MetricGranularity.MONTH).getPeriodStart())
+            .isEqualTo(MetricGranularity.MONTH.periodOf(previousBucket));
+
+        verify(leaderboardRepository).replace(eq(organizationId), eq(MetricGranularity.MONTH),
+            eq(MetricGranularity.MONTH.periodOf(previousBucket)), argThat(entries -> entries.size() == 2
+                && entries.get(0).getAgencyId().equals(port.getId()) && entries.get(0).getRank() == 1
+                && entries.get(1).getAgencyId().equals(centre.getId()) && entries.get(1).getRank() == 2));
+        verify(leaderboardRepository).replace(eq(organizationId), eq(MetricGranularity.DAY),
+            eq(MetricGranularity.DAY.periodOf(previousBucket)), argThat(entries -> entries.size() == 2));
+
+        // Seule l'heure écoulée fait avancer le point de reprise
+        verify(checkpointRepository, times(1)).save(argThat(checkpoint ->
+            Objects.equals(checkpoint.getNextBucket(), previousBucket.plusHours(1))));
+    }
+
+    @Test
+    void rollup_ShouldLeaveInactiveAgenciesOutOfLeaderboard() {
+        // Given
+        Agency centre = agency("Agence Centre");
+        Agency closed = agency("Agence Fermée");
+        givenInMemoryRollups();
+        givenSamples(centre, sample(centre, 5, 4, 40.0, 300.0));
+        givenSamples(closed, sample(closed, 10, 2, 20.0, 1_000.0));
+        when(updateRepository.findByUpdateBucket(previousBucket)).thenReturn(Flux.just(
+            new AgencyMetricUpdate(previousBucket, centre.getId(), organizationId),
+            new AgencyMetricUpdate(previousBucket, closed.getId(), organizationId)));
+        when(agencyRepository.findActiveByOrganizationId(organizationId)).thenReturn(Flux.just(centre));
+        when(leaderboardRepository.replace(any(), any(), any(), anyList())).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(metricsService.rollup())
+            .expectNext(2)
+            .verifyComplete();
+
+        verify(leaderboardRepository).replace(eq(organizationId), eq(MetricGranularity.MONTH), any(),
+            argThat(entries -> entries.size() == 1 && entries.get(0).getAgencyId().equals(centre.getId())));
+    }
+
+    @Test
+    void utilizationOf_ShouldWeightAgenciesByFleetSize() {
+        // Given
+        AgencyMetricRollup small = new AgencyMetricRollup();
+        small.setTotalVehicles(10);
+        small.setAvgUtilizationRate(90.0);
+        AgencyMetricRollup large = new AgencyMetricRollup();
+        large.setTotalVehicles(30);
+        large.setAvgUtilizationRate(50.0);
+
+        // When & Then
+        assertThat(AgencyMetricsReactiveService.utilizationOf(List.of(small, large))).isEqualTo(60.0);
+    }
+
+    @Test
+    void recordSample_ShouldNotFail_WhenWriteFails() {
+        // Given
+        Agency centre = agency("Agence Centre");
+        when(sampleRepository.record(any(AgencyMetricSample.class)))
+            .thenReturn(Mono.error(new IllegalStateException("Cassandra indisponible")));
+
+        // When & Then
+        StepVerifier.create(metricsService.recordSample(centre)).verifyComplete();
+    }
+
+    @Test
+    void getHistory_ShouldRejectEmptyRange() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When & Then
+        StepVerifier.create(metricsService.getHistory(UUID.randomUUID(), MetricGranularity.DAY, now, now))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+}
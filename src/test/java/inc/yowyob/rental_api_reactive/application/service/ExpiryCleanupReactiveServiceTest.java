@@ -0,0 +1,193 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.ExpiryCleanupCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSessionByExpiryBucket;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRoleByExpiryBucket;
+import inc.yowyob.rental_api_reactive.persistence.repository.ExpiryCleanupCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSessionByExpiryBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSessionReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleByExpiryBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserRoleReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.ExpiryBuckets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiryCleanupReactiveServiceTest {
+
+    @Mock
+    private UserRoleReactiveRepository userRoleRepository;
+
+    @Mock
+    private UserRoleByExpiryBucketReactiveRepository userRoleBucketRepository;
+
+    @Mock
+    private OnboardingSessionReactiveRepository onboardingRepository;
+
+    @Mock
+    private OnboardingSessionByExpiryBucketReactiveRepository onboardingBucketRepository;
+
+    @Mock
+    private ExpiryCleanupCheckpointReactiveRepository checkpointRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ExpiryCleanupReactiveService cleanupService;
+
+    private LocalDateTime previousBucket;
+
+    @BeforeEach
+    void setUp() {
+        cleanupService = new ExpiryCleanupReactiveService(userRoleRepository, userRoleBucketRepository,
+            onboardingRepository, onboardingBucketRepository, checkpointRepository, eventPublisher, new AppProperties());
+
+        // Point de reprise sur l'heure précédente : deux partitions à lire (précédente et courante)
+        previousBucket = ExpiryBuckets.bucketOf(LocalDateTime.now()).minusHours(1);
+        lenient().when(checkpointRepository.findById(anyString())).thenAnswer(invocation ->
+            Mono.just(new ExpiryCleanupCheckpoint(invocation.getArgument(0), previousBucket, previousBucket)));
+        lenient().when(checkpointRepository.save(any(ExpiryCleanupCheckpoint.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        lenient().when(userRoleBucketRepository.findDue(any(), any())).thenReturn(Flux.empty());
+        lenient().when(onboardingBucketRepository.findDue(any(), any())).thenReturn(Flux.empty());
+    }
+
+    private UserRole temporaryRole(LocalDateTime expiresAt) {
+        UserRole userRole = new UserRole(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        userRole.setExpiresAt(expiresAt);
+        return userRole;
+    }
+
+    @Test
+    void cleanup_ShouldExpireDueRoles_AndAdvanceCheckpointPastElapsedBuckets() {
+        // Given
+        UserRole userRole = temporaryRole(previousBucket.plusMinutes(10));
+        when(userRoleBucketRepository.findDue(eq(previousBucket), any()))
+            .thenReturn(Flux.just(UserRoleByExpiryBucket.of(userRole)));
+        when(userRoleRepository.findById(userRole.getId())).thenReturn(Mono.just(userRole));
+        when(userRoleRepository.save(any(UserRole.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(cleanupService.cleanup())
+            .expectNextMatches(result -> result.getRolesExpired() == 1
+                && result.getSessionsDeleted() == 0
+                && result.getBucketsProcessed() == 4)
+            .verifyComplete();
+
+        assertThat(userRole.getIsActive()).isFalse();
+        verify(eventPublisher).publishEvent(new UserPermissionsChangedEvent(userRole.getUserId()));
+        verify(eventPublisher).publishEvent(StatisticsEvent.roleRevoked(userRole));
+        // Seule l'heure précédente est entièrement échue : le point de reprise passe à l'heure courante
+        verify(checkpointRepository).save(argThat(checkpoint ->
+            ExpiryCleanupReactiveService.USER_ROLES_CLEANUP.equals(checkpoint.getCleanupName())
+                && previousBucket.plusHours(1).equals(checkpoint.getNextBucket())));
+        verify(checkpointRepository, times(2)).save(any(ExpiryCleanupCheckpoint.class));
+    }
+
+    @Test
+    void cleanup_ShouldIgnoreStaleEntries_WhenExpirationWasExtended() {
+        // Given : entrée de l'ancienne échéance, assignation prolongée d'un mois
+        UserRole userRole = temporaryRole(previousBucket.plusMinutes(10));
+        UserRoleByExpiryBucket staleEntry = UserRoleByExpiryBucket.of(userRole);
+        userRole.setExpiration(LocalDateTime.now().plusMonths(1));
+        when(userRoleBucketRepository.findDue(eq(previousBucket), any())).thenReturn(Flux.just(staleEntry));
+        when(userRoleRepository.findById(userRole.getId())).thenReturn(Mono.just(userRole));
+
+        // When & Then
+        StepVerifier.create(cleanupService.cleanup())
+            .expectNextMatches(result -> result.getRolesExpired() == 0)
+            .verifyComplete();
+
+        assertThat(userRole.getIsActive()).isTrue();
+        verify(userRoleRepository, never()).save(any(UserRole.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void cleanup_ShouldDeleteAbandonedOnboardingSessions_AndKeepCompletedOnes() {
+        // Given
+        OnboardingSession abandoned = new OnboardingSession();
+        abandoned.setExpiresAt(previousBucket.plusMinutes(5));
+        OnboardingSession completed = new OnboardingSession();
+        completed.setExpiresAt(previousBucket.plusMinutes(20));
+        completed.complete(UUID.randomUUID());
+
+        when(onboardingBucketRepository.findDue(eq(previousBucket), any())).thenReturn(Flux.just(
+            OnboardingSessionByExpiryBucket.of(abandoned), OnboardingSessionByExpiryBucket.of(completed)));
+        when(onboardingRepository.findById(abandoned.getId())).thenReturn(Mono.just(abandoned));
+        when(onboardingRepository.findById(completed.getId())).thenReturn(Mono.just(completed));
+        when(onboardingRepository.delete(abandoned)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(cleanupService.cleanup())
+            .expectNextMatches(result -> result.getSessionsDeleted() == 1)
+            .verifyComplete();
+
+        verify(onboardingRepository, never()).delete(completed);
+    }
+
+    @Test
+    void backfill_ShouldIndexPendingRoles_AndExpireRolesAlreadyDue() {
+        // Given : assignations écrites avant user_roles_by_expiry_bucket, l'une échue avant le point de reprise
+        UserRole pending = temporaryRole(LocalDateTime.now().plusDays(3));
+        UserRole due = temporaryRole(previousBucket.minusDays(2));
+        UserRole permanent = new UserRole(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(userRoleRepository.findAll()).thenReturn(Flux.just(pending, due, permanent));
+        when(userRoleRepository.saveExpiryEntry(pending)).thenReturn(Mono.empty());
+        when(userRoleRepository.save(due)).thenReturn(Mono.just(due));
+        when(onboardingRepository.findAll()).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(cleanupService.backfill())
+            .expectNextMatches(result -> result.getRolesExpired() == 1)
+            .verifyComplete();
+
+        assertThat(due.getIsActive()).isFalse();
+        assertThat(pending.getIsActive()).isTrue();
+        verify(eventPublisher).publishEvent(new UserPermissionsChangedEvent(due.getUserId()));
+        verify(userRoleRepository, never()).saveExpiryEntry(permanent);
+        verify(userRoleRepository, never()).save(pending);
+    }
+
+    @Test
+    void backfill_ShouldIndexPendingSessions_AndDeleteAbandonedOnes() {
+        // Given
+        OnboardingSession pending = new OnboardingSession();
+        OnboardingSession abandoned = new OnboardingSession();
+        abandoned.setExpiresAt(previousBucket.minusDays(2));
+        OnboardingSession completed = new OnboardingSession();
+        completed.setExpiresAt(previousBucket.minusDays(2));
+        completed.complete(UUID.randomUUID());
+        when(userRoleRepository.findAll()).thenReturn(Flux.empty());
+        when(onboardingRepository.findAll()).thenReturn(Flux.just(pending, abandoned, completed));
+        when(onboardingRepository.saveExpiryEntry(pending)).thenReturn(Mono.empty());
+        when(onboardingRepository.delete(abandoned)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(cleanupService.backfill())
+            .expectNextMatches(result -> result.getSessionsDeleted() == 1)
+            .verifyComplete();
+
+        verify(onboardingRepository, never()).delete(completed);
+        verify(onboardingRepository, never()).saveExpiryEntry(completed);
+    }
+}
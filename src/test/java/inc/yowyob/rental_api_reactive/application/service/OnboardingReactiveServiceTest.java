@@ -1,10 +1,14 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
 import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSagaReactiveRepository;
 import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSessionReactiveRepository;
-import inc.yowyob.rental_api_reactive.infrastructure.web.dto.OwnerInfoRequest;
-import inc.yowyob.rental_api_reactive.infrastructure.web.dto.OnboardingSessionResponse;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import inc.yowyob.rental_api_reactive.infrastructure.web.dto.OnboardingOwnerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +22,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +33,15 @@ class OnboardingReactiveServiceTest {
     @Mock
     private OnboardingSessionReactiveRepository onboardingSessionRepository;
 
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    @Mock
+    private OnboardingSagaReactiveRepository sagaRepository;
+
+    @Mock
+    private TenantUsageReactiveService tenantUsageService;
+
     @Mock
     private ObjectMapper objectMapper;
 
@@ -48,15 +64,15 @@ class OnboardingReactiveServiceTest {
     }
 
     @Test
-    void createOnboardingSession_ShouldCreateAndReturnSession() {
+    void startOnboarding_ShouldCreateAndReturnSession() {
         // Given
         when(onboardingSessionRepository.save(any(OnboardingSession.class)))
             .thenReturn(Mono.just(testSession));
 
         // When & Then
-        StepVerifier.create(onboardingService.createOnboardingSession())
+        StepVerifier.create(onboardingService.startOnboarding())
             .expectNextMatches(response ->
-                response.getId().equals(testSessionId) &&
+                response.getSessionToken().equals("test-token") &&
                     response.getCurrentStep() == 1 &&
                     !response.getIsCompleted()
             )
@@ -64,51 +80,52 @@ class OnboardingReactiveServiceTest {
     }
 
     @Test
-    void getOnboardingSession_WhenSessionExists_ShouldReturnSession() {
+    void getOnboardingStatus_WhenSessionExists_ShouldReturnSession() {
         // Given
-        when(onboardingSessionRepository.findById(testSessionId))
+        when(onboardingSessionRepository.findBySessionToken("test-token"))
             .thenReturn(Mono.just(testSession));
 
         // When & Then
-        StepVerifier.create(onboardingService.getOnboardingSession(testSessionId))
+        StepVerifier.create(onboardingService.getOnboardingStatus("test-token"))
             .expectNextMatches(response ->
-                response.getId().equals(testSessionId) &&
-                    response.getSessionToken().equals("test-token")
+                response.getSessionToken().equals("test-token") &&
+                    response.getMaxStep() == 3
             )
             .verifyComplete();
     }
 
     @Test
-    void getOnboardingSession_WhenSessionNotExists_ShouldReturnError() {
+    void getOnboardingStatus_WhenSessionNotExists_ShouldReturnError() {
         // Given
-        when(onboardingSessionRepository.findById(testSessionId))
+        when(onboardingSessionRepository.findBySessionToken("test-token"))
             .thenReturn(Mono.empty());
 
         // When & Then
-        StepVerifier.create(onboardingService.getOnboardingSession(testSessionId))
-            .expectError(RuntimeException.class)
+        StepVerifier.create(onboardingService.getOnboardingStatus("test-token"))
+            .expectError(IllegalArgumentException.class)
             .verify();
     }
 
     @Test
     void saveOwnerInfo_WhenSessionValid_ShouldSaveAndReturnUpdatedSession() throws Exception {
         // Given
-        OwnerInfoRequest ownerInfo = new OwnerInfoRequest();
-        ownerInfo.setFirstName("John");
-        ownerInfo.setLastName("Doe");
-        ownerInfo.setEmail("john.doe@example.com");
+        OnboardingOwnerRequest ownerRequest = OnboardingOwnerRequest.builder()
+            .firstName("John")
+            .lastName("Doe")
+            .email("john.doe@example.com")
+            .build();
 
-        when(onboardingSessionRepository.findById(testSessionId))
+        when(onboardingSessionRepository.findBySessionToken("test-token"))
             .thenReturn(Mono.just(testSession));
-        when(objectMapper.writeValueAsString(any()))
+        when(userRepository.countByEmail(ownerRequest.getEmail())).thenReturn(Mono.just(0L));
+        when(objectMapper.writeValueAsString(ownerRequest))
             .thenReturn("{\"firstName\":\"John\"}");
-        when(onboardingSessionRepository.save(any(OnboardingSession.class)))
-            .thenReturn(Mono.just(testSession));
+        when(onboardingSessionRepository.saveStep(testSession, 1)).thenReturn(Mono.just(true));
 
         // When & Then
-        StepVerifier.create(onboardingService.saveOwnerInfo(testSessionId, ownerInfo))
+        StepVerifier.create(onboardingService.saveOwnerInfo("test-token", ownerRequest))
             .expectNextMatches(response ->
-                response.getId().equals(testSessionId)
+                response.getCurrentStep() == 2 && response.getHasOwnerInfo()
             )
             .verifyComplete();
     }
@@ -117,14 +134,76 @@ class OnboardingReactiveServiceTest {
     void saveOwnerInfo_WhenSessionExpired_ShouldReturnError() {
         // Given
         testSession.setExpiresAt(LocalDateTime.now().minusHours(1)); // Expired
-        OwnerInfoRequest ownerInfo = new OwnerInfoRequest();
+        OnboardingOwnerRequest ownerRequest = OnboardingOwnerRequest.builder().email("john.doe@example.com").build();
 
-        when(onboardingSessionRepository.findById(testSessionId))
+        when(onboardingSessionRepository.findBySessionToken("test-token"))
             .thenReturn(Mono.just(testSession));
+        when(userRepository.countByEmail(ownerRequest.getEmail())).thenReturn(Mono.just(0L));
+
+        // When & Then
+        StepVerifier.create(onboardingService.saveOwnerInfo("test-token", ownerRequest))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        verify(onboardingSessionRepository, never()).saveStep(any(OnboardingSession.class), anyInt());
+    }
+
+    @Test
+    void saveOwnerInfo_WhenSessionIsPastStep_ShouldRejectWithoutWriting() {
+        // Given
+        OnboardingSession session = new OnboardingSession();
+        session.setCurrentStep(2);
+        OnboardingOwnerRequest ownerRequest = OnboardingOwnerRequest.builder().email("john.doe@example.com").build();
+
+        when(onboardingSessionRepository.findBySessionToken(session.getSessionToken())).thenReturn(Mono.just(session));
+        when(userRepository.countByEmail(ownerRequest.getEmail())).thenReturn(Mono.just(0L));
 
         // When & Then
-        StepVerifier.create(onboardingService.saveOwnerInfo(testSessionId, ownerInfo))
-            .expectError(RuntimeException.class)
+        StepVerifier.create(onboardingService.saveOwnerInfo(session.getSessionToken(), ownerRequest))
+            .expectError(IllegalStateException.class)
             .verify();
+
+        verify(onboardingSessionRepository, never()).saveStep(any(OnboardingSession.class), anyInt());
+    }
+
+    @Test
+    void saveOwnerInfo_WhenConditionalWriteIsLost_ShouldReject() throws Exception {
+        // Given : une écriture concurrente a déjà fait avancer la session (IF current_step = 1 non appliqué)
+        OnboardingSession session = new OnboardingSession();
+        OnboardingOwnerRequest ownerRequest = OnboardingOwnerRequest.builder().email("john.doe@example.com").build();
+
+        when(onboardingSessionRepository.findBySessionToken(session.getSessionToken())).thenReturn(Mono.just(session));
+        when(userRepository.countByEmail(ownerRequest.getEmail())).thenReturn(Mono.just(0L));
+        when(objectMapper.writeValueAsString(ownerRequest)).thenReturn("{\"email\":\"john.doe@example.com\"}");
+        when(onboardingSessionRepository.saveStep(session, 1)).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(onboardingService.saveOwnerInfo(session.getSessionToken(), ownerRequest))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        verify(onboardingSessionRepository).saveStep(session, 1);
+    }
+
+    @Test
+    void resumeSaga_WhenUsageIncrementFails_ShouldReturnStepForRetry() {
+        // Given
+        OnboardingSaga saga = OnboardingSaga.start(new OnboardingSession());
+        saga.setStep(OnboardingSagaStep.ENTITIES_WRITTEN);
+        User owner = new User();
+        owner.setId(saga.getOwnerId());
+
+        when(sagaRepository.advance(saga, OnboardingSagaStep.USAGE_RECORDED)).thenReturn(Mono.just(true));
+        when(userRepository.findById(saga.getOwnerId())).thenReturn(Mono.just(owner));
+        when(tenantUsageService.recordUserAdded(owner)).thenReturn(Mono.error(new IllegalStateException("Cassandra indisponible")));
+        when(sagaRepository.advance(saga, OnboardingSagaStep.ENTITIES_WRITTEN)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(onboardingService.resumeSaga(saga))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        verify(sagaRepository).advance(saga, OnboardingSagaStep.ENTITIES_WRITTEN);
+        verify(sagaRepository, never()).advance(saga, OnboardingSagaStep.COMPLETED);
     }
 }
@@ -0,0 +1,94 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.OnboardingSagaStep;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSaga;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSagaByStartBucket;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSagaByStartBucketReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OnboardingSagaReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OnboardingSagaRecoveryReactiveServiceTest {
+
+    @Mock
+    private OnboardingSagaReactiveRepository sagaRepository;
+
+    @Mock
+    private OnboardingSagaByStartBucketReactiveRepository sagaBucketRepository;
+
+    @Mock
+    private OnboardingReactiveService onboardingService;
+
+    private OnboardingSagaRecoveryReactiveService recoveryService;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getOnboardingSaga().setRecoveryLookbackHours(1);
+        recoveryService = new OnboardingSagaRecoveryReactiveService(sagaRepository, sagaBucketRepository,
+            onboardingService, appProperties);
+    }
+
+    private OnboardingSaga saga(OnboardingSagaStep step, LocalDateTime updatedAt) {
+        OnboardingSaga saga = OnboardingSaga.start(new OnboardingSession());
+        saga.setStep(step);
+        saga.setUpdatedAt(updatedAt);
+        when(sagaRepository.findById(saga.getSessionToken())).thenReturn(Mono.just(saga));
+        return saga;
+    }
+
+    @Test
+    void recover_ShouldResumeOnlyStaleUnfinishedSagas() {
+        // Given
+        OnboardingSaga interrupted = saga(OnboardingSagaStep.STARTED, LocalDateTime.now().minusMinutes(30));
+        OnboardingSaga inProgress = saga(OnboardingSagaStep.ENTITIES_WRITTEN, LocalDateTime.now());
+        OnboardingSaga completed = saga(OnboardingSagaStep.COMPLETED, LocalDateTime.now().minusMinutes(30));
+
+        when(sagaBucketRepository.findByStartBucket(any())).thenReturn(Flux.empty());
+        when(sagaBucketRepository.findByStartBucket(OnboardingSagaByStartBucket.of(interrupted).getStartBucket()))
+            .thenReturn(Flux.just(OnboardingSagaByStartBucket.of(interrupted),
+                OnboardingSagaByStartBucket.of(inProgress),
+                OnboardingSagaByStartBucket.of(completed)));
+        when(onboardingService.resumeSaga(interrupted)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(recoveryService.recover())
+            .expectNext(1L)
+            .verifyComplete();
+
+        verify(onboardingService, times(1)).resumeSaga(any());
+    }
+
+    @Test
+    void recover_ShouldContinue_WhenOneResumeFails() {
+        // Given
+        OnboardingSaga expired = saga(OnboardingSagaStep.STARTED, LocalDateTime.now().minusMinutes(30));
+        OnboardingSaga interrupted = saga(OnboardingSagaStep.USAGE_RECORDED, LocalDateTime.now().minusMinutes(30));
+
+        when(sagaBucketRepository.findByStartBucket(any())).thenReturn(Flux.empty());
+        when(sagaBucketRepository.findByStartBucket(OnboardingSagaByStartBucket.of(expired).getStartBucket()))
+            .thenReturn(Flux.just(OnboardingSagaByStartBucket.of(expired), OnboardingSagaByStartBucket.of(interrupted)));
+        when(onboardingService.resumeSaga(expired))
+            .thenReturn(Mono.error(new IllegalArgumentException("Session d'onboarding expirée")));
+        when(onboardingService.resumeSaga(interrupted)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(recoveryService.recover())
+            .expectNext(1L)
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,200 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationAlertReason;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationRankingMetric;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationType;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationAlert;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationAlertReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationLeaderboardReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationRankingReactiveServiceTest {
+
+    @Mock
+    private OrganizationReactiveRepository organizationRepository;
+
+    @Mock
+    private OrganizationLeaderboardReactiveRepository leaderboardRepository;
+
+    @Mock
+    private OrganizationAlertReactiveRepository alertRepository;
+
+    private OrganizationRankingReactiveService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getOrganizationRankings().setCapacity(2);
+        rankingService = new OrganizationRankingReactiveService(organizationRepository, leaderboardRepository, alertRepository, appProperties);
+    }
+
+    private static Organization organization(double monthlyRevenue, boolean active, boolean verified) {
+        Organization organization = new Organization("Acme " + monthlyRevenue, OrganizationType.CAR_RENTAL, UUID.randomUUID());
+        organization.setMonthlyRevenue(monthlyRevenue);
+        organization.setIsActive(active);
+        organization.setIsVerified(verified);
+        organization.setLastActivityAt(LocalDateTime.now());
+        return organization;
+    }
+
+    private static OrganizationLeaderboardEntry entry(double score) {
+        return OrganizationLeaderboardEntry.of(OrganizationRankingMetric.MONTHLY_REVENUE, UUID.randomUUID(), score);
+    }
+
+    @Test
+    void rank_ShouldEvictLowestScore_WhenLeaderboardIsFull() {
+        // Given
+        OrganizationLeaderboardEntry low = entry(100.0);
+        OrganizationLeaderboardEntry high = entry(300.0);
+        UUID organizationId = UUID.randomUUID();
+
+        // When
+        OrganizationRankingReactiveService.LeaderboardChange change = OrganizationRankingReactiveService.rank(
+            List.of(low, high), OrganizationRankingMetric.MONTHLY_REVENUE, organizationId, 200.0, 2);
+
+        // Then
+        assertThat(change.saved()).extracting(OrganizationLeaderboardEntry::getOrganizationId).containsExactly(organizationId);
+        assertThat(change.evicted()).containsExactly(low);
+    }
+
+    @Test
+    void rank_ShouldWriteNothing_WhenScoreStaysBelowFullLeaderboard() {
+        // Given
+        OrganizationLeaderboardEntry low = entry(100.0);
+        OrganizationLeaderboardEntry high = entry(300.0);
+
+        // When
+        OrganizationRankingReactiveService.LeaderboardChange change = OrganizationRankingReactiveService.rank(
+            List.of(low, high), OrganizationRankingMetric.MONTHLY_REVENUE, UUID.randomUUID(), 50.0, 2);
+
+        // Then
+        assertThat(change.saved()).isEmpty();
+        assertThat(change.evicted()).isEmpty();
+    }
+
+    @Test
+    void sync_ShouldWithdrawInactiveOrganization_FromLeaderboardsAndAlerts() {
+        // Given
+        Organization organization = organization(500.0, false, false);
+        OrganizationLeaderboardEntry ranked = OrganizationLeaderboardEntry.of(
+            OrganizationRankingMetric.MONTHLY_REVENUE, organization.getId(), 500.0);
+        when(leaderboardRepository.findByMetric(OrganizationRankingMetric.MONTHLY_REVENUE)).thenReturn(Flux.just(ranked, entry(100.0)));
+        when(leaderboardRepository.findByMetric(OrganizationRankingMetric.VEHICLE_UTILIZATION)).thenReturn(Flux.empty());
+        when(leaderboardRepository.delete(any(OrganizationLeaderboardEntry.class))).thenReturn(Mono.empty());
+        when(alertRepository.delete(any(OrganizationAlert.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(rankingService.sync(organization)).verifyComplete();
+
+        verify(leaderboardRepository).delete(ranked);
+        verify(leaderboardRepository, never()).save(any(OrganizationLeaderboardEntry.class));
+        verify(alertRepository, times(OrganizationAlertReason.values().length)).delete(any(OrganizationAlert.class));
+    }
+
+    @Test
+    void rebuild_ShouldKeepTopActiveOrganizations_AndReplaceAlerts() {
+        // Given
+        Organization first = organization(900.0, true, true);
+        Organization second = organization(600.0, true, false);
+        Organization third = organization(300.0, true, true);
+        Organization inactive = organization(5000.0, false, true);
+        OrganizationLeaderboardEntry stale = entry(50.0);
+        OrganizationAlert resolved = new OrganizationAlert(OrganizationAlertReason.UNVERIFIED, third.getId(), LocalDateTime.now());
+        when(organizationRepository.findAll()).thenReturn(Flux.just(first, second, third, inactive));
+        when(leaderboardRepository.saveAll(anyIterable())).thenReturn(Flux.empty());
+        when(leaderboardRepository.findByMetric(OrganizationRankingMetric.MONTHLY_REVENUE)).thenReturn(Flux.just(stale));
+        when(leaderboardRepository.delete(any(OrganizationLeaderboardEntry.class))).thenReturn(Mono.empty());
+        when(alertRepository.raise(any(), any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(alertRepository.findByReason(any())).thenReturn(Flux.empty());
+        when(alertRepository.findByReason(OrganizationAlertReason.UNVERIFIED)).thenReturn(Flux.just(resolved));
+        when(alertRepository.delete(any(OrganizationAlert.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(rankingService.rebuild())
+            .expectNext(3L)
+            .verifyComplete();
+
+        verify(leaderboardRepository).saveAll(argThat((Iterable<OrganizationLeaderboardEntry> entries) -> {
+            List<UUID> ids = new ArrayList<>();
+            entries.forEach(saved -> ids.add(saved.getOrganizationId()));
+            return ids.size() == 2 && ids.containsAll(List.of(first.getId(), second.getId()));
+        }));
+        verify(leaderboardRepository).delete(stale);
+        verify(alertRepository).raise(argThat(alert -> alert.getOrganizationId().equals(second.getId())
+            && alert.getReason() == OrganizationAlertReason.UNVERIFIED), isNull());
+        verify(alertRepository).delete(resolved);
+    }
+
+    @Test
+    void rebuild_ShouldRefreshOrganizationsChangedDuringScan_AfterReplacingLeaderboard() {
+        // Given : l'organisation change pendant le parcours, après avoir été lue
+        Organization first = organization(900.0, true, true);
+        Organization late = organization(800.0, true, true);
+        when(organizationRepository.findAll()).thenReturn(Flux.just(first, late)
+            .doOnComplete(() -> rankingService.onOrganizationChanged(new OrganizationChangedEvent(late.getId()))));
+        when(organizationRepository.findById(late.getId())).thenReturn(Mono.just(late));
+        when(leaderboardRepository.saveAll(anyIterable())).thenReturn(Flux.empty());
+        when(leaderboardRepository.findByMetric(OrganizationRankingMetric.MONTHLY_REVENUE)).thenReturn(Flux.empty());
+        when(leaderboardRepository.save(any(OrganizationLeaderboardEntry.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(alertRepository.findByReason(any())).thenReturn(Flux.empty());
+        when(alertRepository.delete(any(OrganizationAlert.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(rankingService.rebuild())
+            .expectNext(2L)
+            .verifyComplete();
+
+        // Relue une fois à l'événement, une fois après le remplacement du classement
+        InOrder inOrder = inOrder(leaderboardRepository, organizationRepository);
+        inOrder.verify(leaderboardRepository).saveAll(anyIterable());
+        inOrder.verify(organizationRepository).findById(late.getId());
+        verify(organizationRepository, times(2)).findById(late.getId());
+        verify(leaderboardRepository, times(2)).save(argThat((OrganizationLeaderboardEntry entry) ->
+            entry.getOrganizationId().equals(late.getId())));
+    }
+
+    @Test
+    void updateUtilization_ShouldApplyOffersOneAtATime_PerMetric() {
+        // Given : la première écriture reste en cours
+        Sinks.Empty<OrganizationLeaderboardEntry> firstSave = Sinks.empty();
+        when(leaderboardRepository.findByMetric(OrganizationRankingMetric.VEHICLE_UTILIZATION)).thenReturn(Flux.empty());
+        when(leaderboardRepository.save(any(OrganizationLeaderboardEntry.class)))
+            .thenReturn(firstSave.asMono())
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When
+        rankingService.updateUtilization(UUID.randomUUID(), 0.4).subscribe();
+        rankingService.updateUtilization(UUID.randomUUID(), 0.7).subscribe();
+
+        // Then : la seconde offre ne lit le classement qu'après l'écriture de la première
+        verify(leaderboardRepository, times(1)).findByMetric(OrganizationRankingMetric.VEHICLE_UTILIZATION);
+        firstSave.tryEmitEmpty();
+        verify(leaderboardRepository, times(2)).findByMetric(OrganizationRankingMetric.VEHICLE_UTILIZATION);
+        verify(leaderboardRepository, times(2)).save(any(OrganizationLeaderboardEntry.class));
+    }
+}
@@ -238,28 +238,28 @@ class OrganizationReactiveServiceTest {
     void existsByName_ShouldReturnTrue_WhenNameExists() {
         // Given
         String existingName = "YowyoB Transport";
-        when(organizationRepository.countByName(existingName)).thenReturn(Mono.just(1L));
+        when(organizationRepository.existsByName(existingName)).thenReturn(Mono.just(true));
 
         // When & Then
         StepVerifier.create(organizationService.existsByName(existingName))
             .expectNext(true)
             .verifyComplete();
 
-        verify(organizationRepository, times(1)).countByName(existingName);
+        verify(organizationRepository, times(1)).existsByName(existingName);
     }
 
     @Test
     void existsByName_ShouldReturnFalse_WhenNameNotExists() {
         // Given
         String nonExistentName = "Non Existent Organization";
-        when(organizationRepository.countByName(nonExistentName)).thenReturn(Mono.just(0L));
+        when(organizationRepository.existsByName(nonExistentName)).thenReturn(Mono.just(false));
 
         // When & Then
         StepVerifier.create(organizationService.existsByName(nonExistentName))
             .expectNext(false)
             .verifyComplete();
 
-        verify(organizationRepository, times(1)).countByName(nonExistentName);
+        verify(organizationRepository, times(1)).existsByName(nonExistentName);
     }
 
     @Test
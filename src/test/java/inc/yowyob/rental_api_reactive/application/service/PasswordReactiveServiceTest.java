@@ -0,0 +1,121 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.infrastructure.web.exception.GlobalReactiveExceptionHandler.ServiceOverloadedException;
+import inc.yowyob.rental_api_reactive.infrastructure.web.exception.GlobalReactiveExceptionHandler.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordReactiveServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordReactiveService passwordService;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getPasswordHashing().setThreads(1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        if (passwordService != null) {
+            passwordService.shutdown();
+        }
+    }
+
+    @Test
+    void hashPassword_ShouldRunOnDedicatedSchedulerAndRecordTimer() {
+        passwordService = new PasswordReactiveService(new ThreadCheckingEncoder(), appProperties, meterRegistry);
+
+        StepVerifier.create(passwordService.hashPassword("john@example.com", "Secret1!"))
+            .expectNext("password-hash")
+            .verifyComplete();
+
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(passwordService.getPendingHashes()).isZero();
+    }
+
+    @Test
+    void matches_WhenEmailLimitReached_ShouldRejectImmediately() throws InterruptedException {
+        appProperties.getPasswordHashing().setMaxConcurrentPerEmail(1);
+        passwordService = new PasswordReactiveService(new BlockingEncoder(), appProperties, meterRegistry);
+
+        Disposable first = passwordService.matches("john@example.com", "Secret1!", "hash").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        StepVerifier.create(passwordService.matches("JOHN@example.com", "Secret1!", "hash"))
+            .expectError(TooManyRequestsException.class)
+            .verify();
+
+        assertThat(meterRegistry.get("password.hash.rejected").tag("reason", "email").counter().count()).isEqualTo(1);
+        first.dispose();
+    }
+
+    @Test
+    void hashPassword_WhenQueueFull_ShouldRejectWithOverload() throws InterruptedException {
+        appProperties.getPasswordHashing().setQueueCapacity(0);
+        passwordService = new PasswordReactiveService(new BlockingEncoder(), appProperties, meterRegistry);
+
+        Disposable first = passwordService.hashPassword("john@example.com", "Secret1!").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        StepVerifier.create(passwordService.hashPassword("jane@example.com", "Secret1!"))
+            .expectError(ServiceOverloadedException.class)
+            .verify();
+
+        unblock.countDown();
+        first.dispose();
+    }
+
+    private static class ThreadCheckingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName().replaceAll("-\\d+$", "");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return true;
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                unblock.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
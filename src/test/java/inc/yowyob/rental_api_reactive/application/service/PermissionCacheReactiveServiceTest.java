@@ -0,0 +1,148 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.CompiledUserPermissions;
+import inc.yowyob.rental_api_reactive.application.dto.Permission;
+import inc.yowyob.rental_api_reactive.application.dto.PermissionSet;
+import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionCacheReactiveServiceTest {
+
+    @Mock
+    private PermissionReactiveService permissionService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PermissionCacheReactiveService permissionCacheService;
+
+    private UUID userId;
+    private CompiledUserPermissions permissions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        permissionCacheService = new PermissionCacheReactiveService(permissionService, new AppProperties(), meterRegistry);
+
+        userId = UUID.randomUUID();
+        permissions = CompiledUserPermissions.builder()
+            .userId(userId)
+            .permissionMask(PermissionSet.of(Permission.USER_READ, Permission.VEHICLE_READ))
+            .roleType(RoleType.CUSTOM)
+            .build();
+    }
+
+    @Test
+    void getCompiledPermissions_ShouldLoadOnce_ForConcurrentMisses() {
+        // Given
+        when(permissionService.compileUserPermissions(userId))
+            .thenReturn(Mono.just(permissions).delayElement(Duration.ofMillis(50)));
+
+        // When
+        Flux<CompiledUserPermissions> concurrentCalls = Flux.range(0, 10)
+            .flatMap(i -> permissionCacheService.getCompiledPermissions(userId));
+
+        // Then
+        StepVerifier.create(concurrentCalls)
+            .expectNextCount(10)
+            .verifyComplete();
+
+        verify(permissionService, times(1)).compileUserPermissions(userId);
+    }
+
+    @Test
+    void evictUserPermissions_ShouldForceReload() {
+        // Given
+        when(permissionService.compileUserPermissions(userId)).thenReturn(Mono.just(permissions));
+        permissionCacheService.getCompiledPermissions(userId).block();
+
+        // When
+        permissionCacheService.evictUserPermissions(userId);
+        permissionCacheService.getCompiledPermissions(userId).block();
+
+        // Then
+        verify(permissionService, times(2)).compileUserPermissions(userId);
+    }
+
+    @Test
+    void hasPermission_ShouldUseCachedPermissions() {
+        // Given
+        when(permissionService.compileUserPermissions(userId)).thenReturn(Mono.just(permissions));
+
+        // When & Then
+        StepVerifier.create(permissionCacheService.hasPermission(userId, Permission.USER_READ.getCode()))
+            .expectNext(true)
+            .verifyComplete();
+        StepVerifier.create(permissionCacheService.hasPermission(userId, Permission.USER_DELETE.getCode()))
+            .expectNext(false)
+            .verifyComplete();
+
+        verify(permissionService, times(1)).compileUserPermissions(userId);
+    }
+
+    @Test
+    void hasAllAndAnyPermissions_ShouldUseCompiledPermissions() {
+        // Given
+        when(permissionService.compileUserPermissions(userId)).thenReturn(Mono.just(permissions));
+        Set<String> requested = Set.of(Permission.USER_READ.getCode(), Permission.USER_DELETE.getCode());
+
+        // When & Then
+        StepVerifier.create(permissionCacheService.hasAllPermissions(userId, requested))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(permissionCacheService.hasAnyPermission(userId, requested))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(permissionService, times(1)).compileUserPermissions(userId);
+    }
+
+    @Test
+    void permissionEvents_ShouldInvalidateCache() {
+        // Given
+        when(permissionService.compileUserPermissions(userId)).thenReturn(Mono.just(permissions));
+        permissionCacheService.getCompiledPermissions(userId).block();
+
+        // When
+        permissionCacheService.onUserPermissionsChanged(new UserPermissionsChangedEvent(userId));
+        permissionCacheService.getCompiledPermissions(userId).block();
+        permissionCacheService.onRolePermissionsChanged(new RolePermissionsChangedEvent(UUID.randomUUID()));
+        permissionCacheService.getCompiledPermissions(userId).block();
+
+        // Then
+        verify(permissionService, times(3)).compileUserPermissions(userId);
+    }
+
+    @Test
+    void cache_ShouldExportMetrics() {
+        // Given
+        when(permissionService.compileUserPermissions(userId)).thenReturn(Mono.just(permissions));
+
+        // When
+        permissionCacheService.getCompiledPermissions(userId).block();
+        permissionCacheService.getCompiledPermissions(userId).block();
+
+        // Then
+        assertThat(meterRegistry.find("cache.gets")
+            .tag("cache", PermissionCacheReactiveService.CACHE_NAME)
+            .tag("result", "hit")
+            .functionCounter()).isNotNull();
+    }
+}
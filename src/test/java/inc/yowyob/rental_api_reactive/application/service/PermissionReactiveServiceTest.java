@@ -1,6 +1,7 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
 import inc.yowyob.rental_api_reactive.application.dto.Permission;
+import inc.yowyob.rental_api_reactive.application.dto.RoleSnapshot;
 import inc.yowyob.rental_api_reactive.persistence.entity.Role;
 import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
 import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
@@ -12,9 +13,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.UUID;
 
@@ -30,6 +31,9 @@ class PermissionReactiveServiceTest {
     @Mock
     private RoleReactiveRepository roleRepository;
 
+    @Mock
+    private RoleCacheReactiveService roleCacheService;
+
     @InjectMocks
     private PermissionReactiveService permissionService;
 
@@ -83,8 +87,8 @@ class PermissionReactiveServiceTest {
         // Given
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         // When & Then
         StepVerifier.create(permissionService.getUserPermissions(userId))
@@ -101,13 +105,31 @@ class PermissionReactiveServiceTest {
             .verifyComplete();
     }
 
+    @Test
+    void compileUserPermissions_ShouldIgnoreExpiredAssignments_NotYetDeactivated() {
+        // Given : assignation temporaire échue, encore active faute d'entrée d'échéance
+        UserRole expired = new UserRole(userId, UUID.randomUUID(), organizationId);
+        expired.setIsActive(true);
+        expired.setExpiresAt(LocalDateTime.now().minusHours(1));
+        when(userRoleRepository.findActiveByUserId(userId)).thenReturn(Flux.just(userRole, expired));
+        when(roleCacheService.getRoles(Set.of(roleId))).thenReturn(Flux.just(RoleSnapshot.from(role)));
+
+        // When & Then
+        StepVerifier.create(permissionService.compileUserPermissions(userId))
+            .assertNext(compiled -> assertThat(compiled.getPermissions()).containsExactlyInAnyOrder(
+                Permission.USER_READ.getCode(),
+                Permission.USER_WRITE.getCode(),
+                Permission.VEHICLE_READ.getCode()))
+            .verifyComplete();
+    }
+
     @Test
     void hasPermission_ShouldReturnTrueForValidPermission() {
         // Given
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         // When & Then
         StepVerifier.create(permissionService.hasPermission(userId, Permission.USER_READ.getCode()))
@@ -122,8 +144,8 @@ class PermissionReactiveServiceTest {
         // Given
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         // When & Then
         StepVerifier.create(permissionService.hasPermission(userId, Permission.SYSTEM_ADMIN.getCode()))
@@ -143,8 +165,8 @@ class PermissionReactiveServiceTest {
 
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         // When & Then
         StepVerifier.create(permissionService.hasAllPermissions(userId, requestedPermissions))
@@ -164,8 +186,8 @@ class PermissionReactiveServiceTest {
 
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         // When & Then
         StepVerifier.create(permissionService.hasAnyPermission(userId, requestedPermissions))
@@ -193,13 +215,13 @@ class PermissionReactiveServiceTest {
 
         when(userRoleRepository.findActiveByUserId(userId))
             .thenReturn(Flux.just(userRole));
-        when(roleRepository.findById(roleId))
-            .thenReturn(Mono.just(role));
+        when(roleCacheService.getRoles(Set.of(roleId)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role)));
 
         when(userRoleRepository.findActiveByUserId(userId2))
             .thenReturn(Flux.just(userRole2));
-        when(roleRepository.findById(roleId2))
-            .thenReturn(Mono.just(role2));
+        when(roleCacheService.getRoles(Set.of(roleId2)))
+            .thenReturn(Flux.just(RoleSnapshot.from(role2)));
 
         // When & Then
         StepVerifier.create(permissionService.compareUserPermissions(userId, userId2))
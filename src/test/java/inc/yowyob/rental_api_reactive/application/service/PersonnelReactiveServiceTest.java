@@ -0,0 +1,105 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.infrastructure.web.dto.UpdatePersonnelRequest;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonnelReactiveServiceTest {
+
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    @Mock
+    private PasswordReactiveService passwordService;
+
+    @Mock
+    private UserRevocationReactiveService revocationService;
+
+    @Mock
+    private TenantContextReactiveService tenantContextService;
+
+    @Mock
+    private TenantUsageReactiveService tenantUsageService;
+
+    @Mock
+    private QuotaReactiveService quotaService;
+
+    @Mock
+    private UniquenessReservationReactiveService uniquenessService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PersonnelReactiveService personnelService;
+    private User personnel;
+
+    @BeforeEach
+    void setUp() {
+        personnelService = new PersonnelReactiveService(userRepository, passwordService, revocationService,
+            tenantContextService, tenantUsageService, quotaService, uniquenessService, eventPublisher, new AppProperties());
+
+        personnel = new User();
+        personnel.setId(UUID.randomUUID());
+        personnel.setEmail("agent@example.com");
+        personnel.setUserType(UserType.RENTAL_AGENT);
+        personnel.setOrganizationId(UUID.randomUUID());
+        personnel.setIsActive(true);
+
+        when(userRepository.findById(personnel.getId())).thenReturn(Mono.just(personnel));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    void assignToAgency_ShouldEvictCachedTenantContext() {
+        // Given
+        UUID agencyId = UUID.randomUUID();
+
+        // When & Then
+        StepVerifier.create(personnelService.assignToAgency(personnel.getId(), agencyId, UUID.randomUUID()))
+            .expectNextMatches(response -> agencyId.equals(response.getAgencyId()))
+            .verifyComplete();
+
+        verify(tenantContextService).evict(personnel.getId());
+    }
+
+    @Test
+    void updateStatus_ShouldEvictCachedTenantContext_AndRevokeDeactivatedPersonnel() {
+        // When & Then
+        StepVerifier.create(personnelService.updateStatus(personnel.getId(), false, UUID.randomUUID()))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(tenantContextService).evict(personnel.getId());
+        verify(revocationService).revokeUser(personnel.getId());
+    }
+
+    @Test
+    void updatePersonnel_ShouldEvictCachedTenantContext() {
+        // Given
+        UpdatePersonnelRequest updateRequest = new UpdatePersonnelRequest();
+        updateRequest.setFirstName("Awa");
+
+        // When & Then
+        StepVerifier.create(personnelService.updatePersonnel(personnel.getId(), updateRequest, UUID.randomUUID()))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(tenantContextService).evict(personnel.getId());
+    }
+}
@@ -0,0 +1,142 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationLimitsChangedEvent;
+import inc.yowyob.rental_api_reactive.application.event.TenantUsageChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuotaReactiveServiceTest {
+
+    @Mock
+    private OrganizationReactiveRepository organizationRepository;
+
+    @Mock
+    private TenantUsageReactiveService tenantUsageService;
+
+    private QuotaReactiveService quotaService;
+
+    private Organization organization;
+    private UUID organizationId;
+
+    @BeforeEach
+    void setUp() {
+        quotaService = new QuotaReactiveService(organizationRepository, tenantUsageService,
+            new AppProperties(), new SimpleMeterRegistry());
+
+        organizationId = UUID.randomUUID();
+        organization = new Organization();
+        organization.setId(organizationId);
+        organization.setMaxAgencies(2);
+        organization.setMaxUsers(10);
+        organization.setSubscriptionExpiresAt(LocalDateTime.now().plusDays(30));
+    }
+
+    private void givenUsage(long agencies) {
+        when(organizationRepository.findById(organizationId)).thenReturn(Mono.just(organization));
+        when(tenantUsageService.getUsage(organizationId))
+            .thenReturn(Mono.just(new TenantUsage(organizationId, agencies, 0L, 0L, 1L)));
+    }
+
+    @Test
+    void checkQuota_ShouldPassUnderLimit_AndServeLaterChecksFromMemory() {
+        // Given
+        givenUsage(1L);
+
+        // When & Then
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1))
+            .verifyComplete();
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.USERS, 1))
+            .verifyComplete();
+        verify(organizationRepository, times(1)).findById(organizationId);
+        verify(tenantUsageService, times(1)).getUsage(organizationId);
+    }
+
+    @Test
+    void checkQuota_ShouldFail_WhenLimitReached() {
+        // Given
+        givenUsage(2L);
+
+        // When & Then
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                && error.getMessage().contains("agences"))
+            .verify();
+    }
+
+    @Test
+    void checkQuota_ShouldFail_WhenSubscriptionExpired() {
+        // Given
+        organization.setSubscriptionExpiresAt(LocalDateTime.now().minusDays(1));
+        givenUsage(0L);
+
+        // When & Then
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+
+    @Test
+    void checkQuota_ShouldFail_WhenOrganizationMissing() {
+        // Given
+        when(organizationRepository.findById(organizationId)).thenReturn(Mono.empty());
+        when(tenantUsageService.getUsage(organizationId)).thenReturn(Mono.just(TenantUsage.empty(organizationId)));
+
+        // When & Then
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+
+    @Test
+    void onTenantUsageChanged_ShouldUpdateCachedUsageWithoutReloading() {
+        // Given
+        givenUsage(1L);
+        StepVerifier.create(quotaService.checkQuota(organizationId, UsageResource.AGENCIES, 1))
+            .verifyComplete();
+
+        // When
+        quotaService.onTenantUsageChanged(new TenantUsageChangedEvent(organizationId, UsageResource.AGENCIES, 1));
+
+        // Then
+        StepVerifier.create(quotaService.hasQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectNext(false)
+            .verifyComplete();
+        verify(organizationRepository, times(1)).findById(organizationId);
+    }
+
+    @Test
+    void onOrganizationLimitsChanged_ShouldReloadSnapshot() {
+        // Given
+        givenUsage(2L);
+        StepVerifier.create(quotaService.hasQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectNext(false)
+            .verifyComplete();
+
+        // When : passage à un plan supérieur
+        organization.setMaxAgencies(5);
+        quotaService.onOrganizationLimitsChanged(new OrganizationLimitsChangedEvent(organizationId));
+
+        // Then
+        StepVerifier.create(quotaService.hasQuota(organizationId, UsageResource.AGENCIES, 1))
+            .expectNext(true)
+            .verifyComplete();
+        verify(organizationRepository, times(2)).findById(organizationId);
+    }
+}
@@ -0,0 +1,98 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.Permission;
+import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Role;
+import inc.yowyob.rental_api_reactive.persistence.repository.RoleReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCacheReactiveServiceTest {
+
+    @Mock
+    private RoleReactiveRepository roleRepository;
+
+    private RoleCacheReactiveService roleCacheService;
+
+    private Role managerRole;
+    private Role agentRole;
+    private Role superAdminRole;
+
+    @BeforeEach
+    void setUp() {
+        roleCacheService = new RoleCacheReactiveService(roleRepository, new AppProperties(), new SimpleMeterRegistry());
+
+        UUID organizationId = UUID.randomUUID();
+        managerRole = new Role("Manager", "Manager d'agence", organizationId);
+        managerRole.setPermissions(Set.of(Permission.VEHICLE_READ.getCode()));
+        agentRole = new Role("Agent", "Agent de location", organizationId);
+        agentRole.setPermissions(Set.of(Permission.RENTAL_READ.getCode()));
+
+        superAdminRole = new Role("Super Administrateur", "Administrateur système", null, RoleType.SUPER_ADMIN);
+        superAdminRole.setIsSystemRole(true);
+    }
+
+    @Test
+    void getRoles_ShouldLoadMissingRolesInOneQuery() {
+        // Given
+        when(roleRepository.findByIdIn(anyCollection())).thenReturn(Flux.just(managerRole, agentRole));
+        List<UUID> roleIds = List.of(managerRole.getId(), agentRole.getId());
+
+        // When & Then
+        StepVerifier.create(roleCacheService.getRoles(roleIds))
+            .expectNextCount(2)
+            .verifyComplete();
+        StepVerifier.create(roleCacheService.getRoles(roleIds))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        verify(roleRepository, times(1)).findByIdIn(anyCollection());
+        verify(roleRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void pinSystemRoles_ShouldServeSystemRolesFromMemory() {
+        // Given
+        when(roleRepository.findSystemRoles()).thenReturn(Flux.just(superAdminRole));
+
+        // When
+        StepVerifier.create(roleCacheService.pinSystemRoles())
+            .verifyComplete();
+
+        // Then
+        StepVerifier.create(roleCacheService.getRoles(List.of(superAdminRole.getId())))
+            .expectNextMatches(snapshot -> snapshot.isSystemRole() && snapshot.getRoleType() == RoleType.SUPER_ADMIN)
+            .verifyComplete();
+        verify(roleRepository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void onRolePermissionsChanged_ShouldEvictRole() {
+        // Given
+        when(roleRepository.findByIdIn(anyCollection())).thenReturn(Flux.just(managerRole));
+        roleCacheService.getRoles(List.of(managerRole.getId())).blockLast();
+
+        // When
+        roleCacheService.onRolePermissionsChanged(new RolePermissionsChangedEvent(managerRole.getId()));
+        roleCacheService.getRoles(List.of(managerRole.getId())).blockLast();
+
+        // Then
+        verify(roleRepository, times(2)).findByIdIn(anyCollection());
+    }
+}
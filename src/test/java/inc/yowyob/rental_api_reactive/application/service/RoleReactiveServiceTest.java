@@ -2,6 +2,7 @@ package inc.yowyob.rental_api_reactive.application.service;
 
 import inc.yowyob.rental_api_reactive.application.dto.Permission;
 import inc.yowyob.rental_api_reactive.application.dto.RoleType;
+import inc.yowyob.rental_api_reactive.application.event.RolePermissionsChangedEvent;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.CreateRoleRequest;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.RoleResponse;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.UpdateRoleRequest;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -25,6 +27,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +42,9 @@ class RoleReactiveServiceTest {
     @Mock
     private RoleMapper roleMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleReactiveService roleService;
 
@@ -135,6 +141,8 @@ class RoleReactiveServiceTest {
                 assertThat(response.getId()).isEqualTo(roleId);
             })
             .verifyComplete();
+
+        verify(eventPublisher).publishEvent(new RolePermissionsChangedEvent(roleId));
     }
 
     @Test
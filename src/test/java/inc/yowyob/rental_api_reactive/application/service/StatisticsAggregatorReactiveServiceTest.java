@@ -0,0 +1,238 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.AgencyCounter;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyStats;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationStats;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserRole;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyStatsReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationStatsReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsAggregatorReactiveServiceTest {
+
+    @Mock
+    private OrganizationStatsReactiveRepository organizationStatsRepository;
+
+    @Mock
+    private AgencyStatsReactiveRepository agencyStatsRepository;
+
+    @InjectMocks
+    private StatisticsAggregatorReactiveService statisticsService;
+
+    private UUID organizationId;
+    private UUID agencyId;
+
+    @BeforeEach
+    void setUp() {
+        organizationId = UUID.randomUUID();
+        agencyId = UUID.randomUUID();
+    }
+
+    private User user(UserType userType, boolean active) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUserType(userType);
+        user.setOrganizationId(organizationId);
+        user.setAgencyId(agencyId);
+        user.setIsActive(active);
+        return user;
+    }
+
+    @Test
+    void flush_ShouldWriteOneIncrementPerRow_WithNetDeltas() {
+        // Given
+        Agency agency = new Agency(organizationId, "Agence Centre", "Rue 1", "Douala");
+        agency.setIsActive(true);
+        User driver = user(UserType.DRIVER, true);
+        User client = user(UserType.CLIENT, true);
+        client.setAgencyId(null);
+        when(organizationStatsRepository.increment(any(), anyMap())).thenReturn(Mono.empty());
+        when(agencyStatsRepository.increment(any(), anyMap())).thenReturn(Mono.empty());
+
+        statisticsService.record(StatisticsEvent.agencyAdded(agency));
+        statisticsService.record(StatisticsEvent.userAdded(driver));
+        statisticsService.record(StatisticsEvent.userAdded(client));
+        statisticsService.record(StatisticsEvent.userRemoved(client));
+
+        // When & Then
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+
+        verify(organizationStatsRepository, times(1)).increment(eq(organizationId), argThat(deltas ->
+            deltas.get(OrganizationCounter.TOTAL_AGENCIES) == 1
+                && deltas.get(OrganizationCounter.ACTIVE_AGENCIES) == 1
+                && deltas.get(OrganizationCounter.TOTAL_USERS) == 1
+                && deltas.get(OrganizationCounter.PERSONNEL) == 1
+                && deltas.get(OrganizationCounter.DRIVERS) == 1
+                && deltas.get(OrganizationCounter.CLIENTS) == 0));
+        verify(agencyStatsRepository, times(1)).increment(eq(agencyId), argThat(deltas ->
+            deltas.get(AgencyCounter.TOTAL_DRIVERS) == 1
+                && deltas.get(AgencyCounter.ACTIVE_DRIVERS) == 1
+                && deltas.get(AgencyCounter.TOTAL_PERSONNEL) == 1));
+
+        // Rien en attente : l'écriture suivante ne touche pas la base
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+        verifyNoMoreInteractions(organizationStatsRepository, agencyStatsRepository);
+    }
+
+    @Test
+    void userUpdated_ShouldMoveActivePersonnelBetweenAgencies() {
+        // Given
+        User agent = user(UserType.RENTAL_AGENT, true);
+        StatisticsEvent previous = StatisticsEvent.userRemoved(agent);
+        UUID newAgencyId = UUID.randomUUID();
+        agent.setAgencyId(newAgencyId);
+        when(agencyStatsRepository.findById(any(UUID.class))).thenReturn(Mono.empty());
+
+        // When
+        StatisticsEvent.userUpdated(previous, agent).forEach(statisticsService::record);
+
+        // Then
+        StepVerifier.create(statisticsService.getAgencyStats(agencyId))
+            .assertNext(stats -> assertThat(stats.get(AgencyCounter.ACTIVE_PERSONNEL)).isZero())
+            .verifyComplete();
+        StepVerifier.create(statisticsService.getAgencyStats(newAgencyId))
+            .assertNext(stats -> assertThat(stats.get(AgencyCounter.ACTIVE_PERSONNEL)).isEqualTo(1))
+            .verifyComplete();
+    }
+
+    @Test
+    void userUpdated_ShouldPublishNothing_WhenNoCountedFieldChanged() {
+        // Given
+        User agent = user(UserType.RENTAL_AGENT, true);
+        StatisticsEvent previous = StatisticsEvent.userRemoved(agent);
+        agent.setFirstName("Paul");
+
+        // When & Then
+        assertThat(StatisticsEvent.userUpdated(previous, agent)).isEmpty();
+    }
+
+    @Test
+    void getOrganizationStats_ShouldAddPendingDeltasToStoredRow() {
+        // Given
+        OrganizationStats stored = OrganizationStats.empty(organizationId);
+        stored.add(OrganizationCounter.ROLE_ASSIGNMENTS, 4);
+        when(organizationStatsRepository.findById(organizationId)).thenReturn(Mono.just(stored));
+        statisticsService.record(StatisticsEvent.roleAssigned(new UserRole(UUID.randomUUID(), UUID.randomUUID(), organizationId)));
+
+        // When & Then
+        StepVerifier.create(statisticsService.getOrganizationStats(organizationId))
+            .assertNext(stats -> assertThat(stats.get(OrganizationCounter.ROLE_ASSIGNMENTS)).isEqualTo(5))
+            .verifyComplete();
+    }
+
+    @Test
+    void flush_ShouldRequeueDeltas_WhenWriteFails() {
+        // Given
+        statisticsService.record(StatisticsEvent.userAdded(user(UserType.CLIENT, false)));
+        when(organizationStatsRepository.increment(eq(organizationId), anyMap()))
+            .thenReturn(Mono.error(new IllegalStateException("Cassandra indisponible")))
+            .thenReturn(Mono.empty());
+
+        // When & Then : l'échec n'interrompt pas l'écriture, les deltas sont réécrits au passage suivant
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+
+        verify(organizationStatsRepository, times(2)).increment(eq(organizationId),
+            argThat(deltas -> deltas.get(OrganizationCounter.CLIENTS) == 1));
+    }
+
+    @Test
+    void flush_ShouldTakeDeltasOnSubscription_NotOnAssembly() {
+        // Given : écriture assemblée entre deux événements, pas encore souscrite
+        statisticsService.record(StatisticsEvent.userAdded(user(UserType.CLIENT, true)));
+        Mono<Void> assembled = statisticsService.flush();
+        statisticsService.record(StatisticsEvent.userAdded(user(UserType.CLIENT, true)));
+        when(organizationStatsRepository.increment(eq(organizationId), anyMap())).thenReturn(Mono.empty());
+
+        // When & Then : l'assemblage ne prend ni le verrou d'écriture ni les deltas
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+        StepVerifier.create(assembled).verifyComplete();
+
+        verify(organizationStatsRepository, times(1)).increment(eq(organizationId),
+            argThat(deltas -> deltas.get(OrganizationCounter.CLIENTS) == 2));
+    }
+
+    @Test
+    void getOrganizationStats_ShouldKeepInFlightDeltas_UntilWriteCompletes() {
+        // Given
+        Sinks.Empty<Void> write = Sinks.empty();
+        OrganizationStats written = OrganizationStats.empty(organizationId);
+        written.add(OrganizationCounter.CLIENTS, 1);
+        when(organizationStatsRepository.increment(eq(organizationId), anyMap())).thenReturn(write.asMono());
+        when(organizationStatsRepository.findById(organizationId))
+            .thenReturn(Mono.empty())
+            .thenReturn(Mono.just(written));
+        statisticsService.record(StatisticsEvent.userAdded(user(UserType.CLIENT, true)));
+
+        // When
+        statisticsService.flush().subscribe();
+
+        // Then : l'incrément en cours d'écriture reste lisible, puis n'est compté qu'une fois une fois écrit
+        StepVerifier.create(statisticsService.getOrganizationStats(organizationId))
+            .assertNext(stats -> assertThat(stats.get(OrganizationCounter.CLIENTS)).isEqualTo(1))
+            .verifyComplete();
+        write.tryEmitEmpty();
+        StepVerifier.create(statisticsService.getOrganizationStats(organizationId))
+            .assertNext(stats -> assertThat(stats.get(OrganizationCounter.CLIENTS)).isEqualTo(1))
+            .verifyComplete();
+    }
+
+    @Test
+    void reconcile_ShouldQueueGapBetweenCurrentStateAndStoredCounters() {
+        // Given
+        Agency agency = new Agency(organizationId, "Agence Centre", "Rue 1", "Douala");
+        agency.setIsActive(true);
+        User firstClient = user(UserType.CLIENT, true);
+        firstClient.setAgencyId(null);
+        User secondClient = user(UserType.CLIENT, true);
+        secondClient.setAgencyId(null);
+        OrganizationStats storedOrganization = OrganizationStats.empty(organizationId);
+        storedOrganization.add(OrganizationCounter.CLIENTS, 3);
+        AgencyStats storedAgency = AgencyStats.empty(agency.getId());
+        storedAgency.add(AgencyCounter.ROLE_ASSIGNMENTS, 2);
+        when(organizationStatsRepository.findById(organizationId)).thenReturn(Mono.just(storedOrganization));
+        when(agencyStatsRepository.findById(agency.getId())).thenReturn(Mono.just(storedAgency));
+        when(organizationStatsRepository.increment(any(), anyMap())).thenReturn(Mono.empty());
+        when(agencyStatsRepository.increment(any(), anyMap())).thenReturn(Mono.empty());
+        statisticsService.record(StatisticsEvent.userAdded(firstClient));
+
+        // When
+        StepVerifier.create(statisticsService.reconcile(organizationId, Flux.just(
+                StatisticsEvent.agencyAdded(agency),
+                StatisticsEvent.userAdded(firstClient),
+                StatisticsEvent.userAdded(secondClient))))
+            .verifyComplete();
+
+        // Then : écrit 3 + attente 1, réel 2 ; l'agence sans assignation active perd ses 2 rôles
+        StepVerifier.create(statisticsService.flush()).verifyComplete();
+        verify(organizationStatsRepository).increment(eq(organizationId), argThat(deltas ->
+            deltas.get(OrganizationCounter.CLIENTS) == -1
+                && deltas.get(OrganizationCounter.TOTAL_USERS) == 2
+                && deltas.get(OrganizationCounter.TOTAL_AGENCIES) == 1));
+        verify(agencyStatsRepository).increment(eq(agency.getId()), argThat(deltas ->
+            deltas.get(AgencyCounter.ROLE_ASSIGNMENTS) == -2));
+    }
+}
@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.event.SubscriptionPlanChangedEvent;
 import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
 import inc.yowyob.rental_api_reactive.persistence.repository.SubscriptionPlanReactiveRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -16,6 +18,7 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +27,9 @@ class SubscriptionPlanReactiveServiceTest {
     @Mock
     private SubscriptionPlanReactiveRepository subscriptionPlanRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SubscriptionPlanReactiveService subscriptionPlanService;
 
@@ -115,6 +121,7 @@ class SubscriptionPlanReactiveServiceTest {
         StepVerifier.create(subscriptionPlanService.deactivatePlan(testPlanId))
             .expectNextMatches(plan -> !plan.getIsActive())
             .verifyComplete();
+        verify(eventPublisher).publishEvent(new SubscriptionPlanChangedEvent(testPlanId));
     }
 
     @Test
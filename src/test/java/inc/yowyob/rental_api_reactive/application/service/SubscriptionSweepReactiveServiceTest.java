@@ -0,0 +1,182 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.SubscriptionStatus;
+import inc.yowyob.rental_api_reactive.application.event.OrganizationLimitsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import inc.yowyob.rental_api_reactive.persistence.entity.SweepCheckpoint;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.OrganizationSubscriptionReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.SweepCheckpointReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenRange;
+import inc.yowyob.rental_api_reactive.persistence.scan.TokenizedRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionSweepReactiveServiceTest {
+
+    @Mock
+    private OrganizationReactiveRepository organizationRepository;
+
+    @Mock
+    private OrganizationSubscriptionReactiveRepository organizationSubscriptionRepository;
+
+    @Mock
+    private SweepCheckpointReactiveRepository checkpointRepository;
+
+    @Mock
+    private SubscriptionPlanCatalogReactiveService subscriptionPlanCatalog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SubscriptionSweepReactiveService sweepService;
+
+    private Organization organization;
+    private OrganizationSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSubscriptionSweep().setTokenRanges(2);
+        sweepService = new SubscriptionSweepReactiveService(organizationRepository, organizationSubscriptionRepository,
+            checkpointRepository, subscriptionPlanCatalog, eventPublisher, appProperties);
+
+        organization = new Organization();
+        organization.setId(UUID.randomUUID());
+        organization.setSubscriptionPlanId(UUID.randomUUID());
+        organization.setSubscriptionExpiresAt(LocalDateTime.now().minusDays(1));
+
+        subscription = new OrganizationSubscription();
+        subscription.setId(UUID.randomUUID());
+        subscription.setOrganizationId(organization.getId());
+        subscription.setStatus(SubscriptionStatus.ACTIVE);
+        subscription.setEndDate(organization.getSubscriptionExpiresAt());
+    }
+
+    private void givenCheckpointWrites() {
+        lenient().when(checkpointRepository.saveAll(ArgumentMatchers.<SweepCheckpoint>anyIterable()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+        when(checkpointRepository.save(any(SweepCheckpoint.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    private void givenOrganizationInFirstRange() {
+        when(organizationRepository.scanSubscriptions(anyLong(), anyLong(), anyInt())).thenReturn(Flux.empty());
+        when(organizationRepository.scanSubscriptions(eq(Long.MIN_VALUE), anyLong(), anyInt()))
+            .thenReturn(Flux.just(new TokenizedRow<>(-42L, organization)));
+        when(organizationSubscriptionRepository.findByOrganizationId(organization.getId()))
+            .thenReturn(Flux.just(subscription));
+        when(organizationSubscriptionRepository.save(any(OrganizationSubscription.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    void sweep_ShouldExpireDueSubscriptions_AndCompleteEveryRange() {
+        // Given
+        organization.setSubscriptionAutoRenew(false);
+        when(checkpointRepository.findBySweepName(SubscriptionSweepReactiveService.SWEEP_NAME)).thenReturn(Flux.empty());
+        givenCheckpointWrites();
+        givenOrganizationInFirstRange();
+
+        // When & Then
+        StepVerifier.create(sweepService.sweep())
+            .expectNextMatches(result -> !result.isResumed()
+                && result.getRangesProcessed() == 2
+                && result.getScanned() == 1
+                && result.getExpired() == 1
+                && result.getRenewed() == 0)
+            .verifyComplete();
+
+        assertThat(subscription.getStatus()).isEqualTo(SubscriptionStatus.EXPIRED);
+        verify(checkpointRepository, atLeast(2)).save(argThat(SweepCheckpoint::isCompleted));
+        verify(organizationRepository, never()).update(any(), any());
+    }
+
+    @Test
+    void sweep_ShouldRenewAutoRenewSubscriptions() {
+        // Given
+        organization.setSubscriptionAutoRenew(true);
+        LocalDateTime previousExpiry = organization.getSubscriptionExpiresAt();
+        SubscriptionPlan plan = new SubscriptionPlan();
+        plan.setId(organization.getSubscriptionPlanId());
+        plan.setDurationDays(30);
+        plan.setIsActive(true);
+
+        when(checkpointRepository.findBySweepName(SubscriptionSweepReactiveService.SWEEP_NAME)).thenReturn(Flux.empty());
+        givenCheckpointWrites();
+        givenOrganizationInFirstRange();
+        when(subscriptionPlanCatalog.getPlan(plan.getId())).thenReturn(Mono.just(plan));
+        when(organizationRepository.update(eq(organization.getId()), any())).thenAnswer(invocation -> {
+            Consumer<Organization> mutation = invocation.getArgument(1);
+            mutation.accept(organization);
+            return Mono.just(organization);
+        });
+
+        // When & Then
+        StepVerifier.create(sweepService.sweep())
+            .expectNextMatches(result -> result.getRenewed() == 1 && result.getExpired() == 0)
+            .verifyComplete();
+
+        assertThat(organization.getSubscriptionExpiresAt()).isEqualTo(previousExpiry.plusDays(30));
+        assertThat(subscription.getEndDate()).isEqualTo(previousExpiry.plusDays(30));
+        assertThat(subscription.getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+        verify(eventPublisher).publishEvent(new OrganizationLimitsChangedEvent(organization.getId()));
+    }
+
+    @Test
+    void sweep_ShouldResumeIncompleteRangesFromLastToken() {
+        // Given : passage interrompu, première plage terminée, seconde arrêtée au jeton 42
+        LocalDateTime runStartedAt = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        List<TokenRange> ranges = TokenRange.split(2);
+        SweepCheckpoint done = SweepCheckpoint.start(SubscriptionSweepReactiveService.SWEEP_NAME, ranges.get(0), runStartedAt, null);
+        done.setCompleted(true);
+        SweepCheckpoint interrupted = SweepCheckpoint.start(SubscriptionSweepReactiveService.SWEEP_NAME, ranges.get(1), runStartedAt, null);
+        interrupted.setLastToken(42L);
+
+        when(checkpointRepository.findBySweepName(SubscriptionSweepReactiveService.SWEEP_NAME))
+            .thenReturn(Flux.just(done, interrupted));
+        givenCheckpointWrites();
+        when(organizationRepository.scanSubscriptions(anyLong(), anyLong(), anyInt())).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(sweepService.sweep())
+            .expectNextMatches(result -> result.isResumed() && result.getRangesProcessed() == 1)
+            .verifyComplete();
+
+        verify(organizationRepository).scanSubscriptions(eq(42L), eq(Long.MAX_VALUE), anyInt());
+        verify(organizationRepository, times(1)).scanSubscriptions(anyLong(), anyLong(), anyInt());
+        verify(checkpointRepository, never()).saveAll(ArgumentMatchers.<SweepCheckpoint>anyIterable());
+    }
+
+    @Test
+    void nextExpiry_ShouldExtendCurrentPeriod_OrRestartFromNow() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(SubscriptionSweepReactiveService.nextExpiry(now.minusDays(2), 30, now))
+            .isEqualTo(now.minusDays(2).plusDays(30));
+        assertThat(SubscriptionSweepReactiveService.nextExpiry(now.minusDays(90), 30, now))
+            .isEqualTo(now.plusDays(30));
+    }
+}
@@ -0,0 +1,94 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantContextReactiveServiceTest {
+
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    private TenantContextReactiveService tenantContextService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tenantContextService = new TenantContextReactiveService(userRepository, new AppProperties(), new SimpleMeterRegistry());
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("manager@example.com");
+        user.setUserType(UserType.AGENCY_MANAGER);
+        user.setOrganizationId(UUID.randomUUID());
+        user.setAgencyId(UUID.randomUUID());
+    }
+
+    @Test
+    void getSecurityContext_ShouldLoadUserOncePerRequest() {
+        // Given
+        when(userRepository.findById(user.getId())).thenReturn(Mono.just(user));
+
+        // When : trois vérifications dans le même échange
+        Mono<Long> checks = tenantContextService.getSecurityContext(user.getId())
+            .then(tenantContextService.getSecurityContext(user.getId()))
+            .then(tenantContextService.getSecurityContext(user.getId()))
+            .map(context -> 1L)
+            .contextWrite(TenantContextReactiveService::withRequestScope);
+
+        // Then
+        StepVerifier.create(checks)
+            .expectNext(1L)
+            .verifyComplete();
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void getSecurityContext_ShouldServeLaterRequestsFromCacheUntilEvicted() {
+        // Given
+        when(userRepository.findById(user.getId())).thenReturn(Mono.just(user));
+
+        // When & Then
+        StepVerifier.create(tenantContextService.getSecurityContext(user.getId()))
+            .expectNextMatches(context -> context.getAgencyId().equals(user.getAgencyId()) && !context.getIsSuperAdmin())
+            .verifyComplete();
+        StepVerifier.create(tenantContextService.getSecurityContext(user.getId()))
+            .expectNextCount(1)
+            .verifyComplete();
+        verify(userRepository, times(1)).findById(user.getId());
+
+        tenantContextService.onUserPermissionsChanged(new UserPermissionsChangedEvent(user.getId()));
+
+        StepVerifier.create(tenantContextService.getSecurityContext(user.getId()))
+            .expectNextCount(1)
+            .verifyComplete();
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    void getSecurityContext_WhenUserMissing_ShouldBeEmpty() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(userRepository.findById(unknownId)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(tenantContextService.getSecurityContext(unknownId))
+            .verifyComplete();
+    }
+}
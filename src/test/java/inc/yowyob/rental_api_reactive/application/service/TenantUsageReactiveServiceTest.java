@@ -0,0 +1,156 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UsageResource;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.TenantUsageChangedEvent;
+import inc.yowyob.rental_api_reactive.persistence.entity.TenantUsage;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.AgencyReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.TenantUsageReactiveRepository;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantUsageReactiveServiceTest {
+
+    @Mock
+    private TenantUsageReactiveRepository tenantUsageRepository;
+
+    @Mock
+    private AgencyReactiveRepository agencyRepository;
+
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    @Mock
+    private DataMigrationRegistry migrationRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TenantUsageReactiveService tenantUsageService;
+
+    private UUID organizationId;
+
+    @BeforeEach
+    void setUp() {
+        organizationId = UUID.randomUUID();
+    }
+
+    @Test
+    void getUsage_ShouldDefaultToZero_WhenNoRow() {
+        when(migrationRegistry.isComplete(DataMigrationRegistry.TENANT_USAGE)).thenReturn(Mono.just(true));
+        when(tenantUsageRepository.findById(organizationId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(tenantUsageService.getUsage(organizationId))
+            .expectNextMatches(usage -> organizationId.equals(usage.getOrganizationId())
+                && usage.get(UsageResource.AGENCIES) == 0
+                && usage.get(UsageResource.USERS) == 0)
+            .verifyComplete();
+    }
+
+    @Test
+    void getUsage_ShouldTreatMissingCountersAsZero() {
+        TenantUsage usage = new TenantUsage(organizationId, 3L, null, null, 7L);
+        when(migrationRegistry.isComplete(DataMigrationRegistry.TENANT_USAGE)).thenReturn(Mono.just(true));
+        when(tenantUsageRepository.findById(organizationId)).thenReturn(Mono.just(usage));
+
+        StepVerifier.create(tenantUsageService.getUsage(organizationId))
+            .expectNextMatches(result -> result.get(UsageResource.AGENCIES) == 3
+                && result.get(UsageResource.VEHICLES) == 0
+                && result.get(UsageResource.USERS) == 7)
+            .verifyComplete();
+    }
+
+    @Test
+    void getUsage_ShouldCountExistingRows_WhileMigrationIsPending() {
+        // Une ligne créée par un incrément avant l'alignement ne reflète pas l'existant
+        TenantUsage partial = new TenantUsage(organizationId, null, 2L, null, 1L);
+        when(migrationRegistry.isComplete(DataMigrationRegistry.TENANT_USAGE)).thenReturn(Mono.just(false));
+        when(tenantUsageRepository.findById(organizationId)).thenReturn(Mono.just(partial));
+        when(agencyRepository.countActiveByOrganizationId(organizationId)).thenReturn(Mono.just(4L));
+        when(userRepository.countByOrganizationId(organizationId)).thenReturn(Mono.just(12L));
+        when(userRepository.countByOrganizationIdAndUserType(organizationId, UserType.DRIVER)).thenReturn(Mono.just(5L));
+
+        StepVerifier.create(tenantUsageService.getUsage(organizationId))
+            .expectNextMatches(usage -> usage.get(UsageResource.AGENCIES) == 4
+                && usage.get(UsageResource.VEHICLES) == 2
+                && usage.get(UsageResource.DRIVERS) == 5
+                && usage.get(UsageResource.USERS) == 12)
+            .verifyComplete();
+    }
+
+    @Test
+    void reconcile_ShouldAdjustCountersByDifference_WithExistingRows() {
+        TenantUsage partial = new TenantUsage(organizationId, 4L, null, -1L, 1L);
+        when(tenantUsageRepository.findById(organizationId)).thenReturn(Mono.just(partial));
+        when(agencyRepository.countActiveByOrganizationId(organizationId)).thenReturn(Mono.just(4L));
+        when(userRepository.countByOrganizationId(organizationId)).thenReturn(Mono.just(12L));
+        when(userRepository.countByOrganizationIdAndUserType(organizationId, UserType.DRIVER)).thenReturn(Mono.just(5L));
+        when(tenantUsageRepository.increment(any(), any(), anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(tenantUsageService.reconcile(organizationId))
+            .verifyComplete();
+
+        verify(tenantUsageRepository).increment(organizationId, UsageResource.USERS, 11);
+        verify(tenantUsageRepository).increment(organizationId, UsageResource.DRIVERS, 6);
+        verify(tenantUsageRepository, never()).increment(eq(organizationId), eq(UsageResource.AGENCIES), anyLong());
+    }
+
+    @Test
+    void recordUserAdded_ShouldIncrementUsersAndDrivers_ForDriver() {
+        User driver = new User();
+        driver.setOrganizationId(organizationId);
+        driver.setUserType(UserType.DRIVER);
+        when(tenantUsageRepository.increment(any(), any(), anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(tenantUsageService.recordUserAdded(driver))
+            .verifyComplete();
+
+        verify(tenantUsageRepository).increment(organizationId, UsageResource.USERS, 1);
+        verify(tenantUsageRepository).increment(organizationId, UsageResource.DRIVERS, 1);
+        verify(eventPublisher).publishEvent(new TenantUsageChangedEvent(organizationId, UsageResource.DRIVERS, 1));
+    }
+
+    @Test
+    void recordUserRemoved_ShouldOnlyDecrementUsers_ForNonDriver() {
+        User agent = new User();
+        agent.setOrganizationId(organizationId);
+        agent.setUserType(UserType.RENTAL_AGENT);
+        when(tenantUsageRepository.increment(any(), any(), anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(tenantUsageService.recordUserRemoved(agent))
+            .verifyComplete();
+
+        verify(tenantUsageRepository).increment(organizationId, UsageResource.USERS, -1);
+        verify(tenantUsageRepository, never()).increment(organizationId, UsageResource.DRIVERS, -1);
+    }
+
+    @Test
+    void recordUserAdded_ShouldIgnoreUsersWithoutOrganization() {
+        User client = new User();
+        client.setUserType(UserType.CLIENT);
+
+        StepVerifier.create(tenantUsageService.recordUserAdded(client))
+            .verifyComplete();
+
+        verifyNoInteractions(tenantUsageRepository);
+    }
+}
@@ -0,0 +1,168 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
+import inc.yowyob.rental_api_reactive.persistence.entity.UniquenessReservation;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import inc.yowyob.rental_api_reactive.persistence.repository.UniquenessReservationReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniquenessReservationReactiveServiceTest {
+
+    @Mock
+    private UniquenessReservationReactiveRepository reservationRepository;
+
+    @Mock
+    private DataMigrationRegistry migrationRegistry;
+
+    @InjectMocks
+    private UniquenessReservationReactiveService uniquenessService;
+
+    private UUID ownerId;
+    private UniqueKey email;
+    private UniqueKey name;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        email = UniqueKey.email(" John.Doe@Example.com ");
+        name = UniqueKey.organizationName("Yowyob Rental");
+    }
+
+    private void givenReservationsApplied() {
+        when(reservationRepository.reserve(any(UniquenessReservation.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    private void givenKeyHeldBy(UniqueKey key, UUID holderId) {
+        when(reservationRepository.reserve(argThat(reservation -> reservation != null
+                && key.getValue().equals(reservation.getKeyValue()))))
+            .thenReturn(Mono.just(UniquenessReservation.of(key, holderId)));
+    }
+
+    @Test
+    void uniqueKey_ShouldNormalizeValues() {
+        assertThat(email.getValue()).isEqualTo("john.doe@example.com");
+        assertThat(email).isEqualTo(UniqueKey.email("john.doe@EXAMPLE.com"));
+    }
+
+    @Test
+    void withReservations_ShouldReserveKeys_ThenRunAction() {
+        // Given
+        givenReservationsApplied();
+
+        // When & Then
+        StepVerifier.create(uniquenessService.withReservations(ownerId, List.of(email, name), Mono.just("created")))
+            .expectNext("created")
+            .verifyComplete();
+
+        verify(reservationRepository, times(2)).reserve(any(UniquenessReservation.class));
+        verify(reservationRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void withReservations_ShouldFailWithConflictMessage_WhenKeyHeldByAnotherOwner() {
+        // Given
+        givenKeyHeldBy(email, UUID.randomUUID());
+
+        // When & Then
+        StepVerifier.create(uniquenessService.withReservations(ownerId, List.of(email), Mono.just("created")))
+            .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                && error.getMessage().equals("Cet email est déjà utilisé"))
+            .verify();
+
+        verify(reservationRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void withReservations_ShouldAcceptKeysAlreadyHeldBySameOwner() {
+        // Given : reprise d'une tentative précédente
+        givenKeyHeldBy(email, ownerId);
+
+        // When & Then
+        StepVerifier.create(uniquenessService.withReservations(ownerId, List.of(email), Mono.just("created")))
+            .expectNext("created")
+            .verifyComplete();
+    }
+
+    @Test
+    void withReservations_ShouldReleaseNewKeysOnly_WhenActionFails() {
+        // Given
+        givenKeyHeldBy(email, ownerId);
+        when(reservationRepository.reserve(argThat(reservation -> reservation != null
+                && name.getValue().equals(reservation.getKeyValue()))))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(reservationRepository.release(name, ownerId)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(uniquenessService.withReservations(ownerId, List.of(email, name),
+                Mono.error(new IllegalStateException("write failed"))))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        verify(reservationRepository).release(name, ownerId);
+        verify(reservationRepository, never()).release(email, ownerId);
+    }
+
+    @Test
+    void withReplacedKeys_ShouldReserveNewKey_AndReleasePreviousAfterSuccess() {
+        // Given
+        UniqueKey newName = UniqueKey.organizationName("Yowyob Mobility");
+        givenReservationsApplied();
+        when(reservationRepository.release(name, ownerId)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(uniquenessService.withReplacedKeys(ownerId, List.of(email, name), List.of(email, newName),
+                Mono.just("updated")))
+            .expectNext("updated")
+            .verifyComplete();
+
+        verify(reservationRepository, times(1)).reserve(argThat(reservation -> newName.getValue().equals(reservation.getKeyValue())));
+        verify(reservationRepository).release(name, ownerId);
+        verify(reservationRepository, never()).release(email, ownerId);
+    }
+
+    @Test
+    void claimExisting_ShouldIgnoreConflicts() {
+        // Given
+        givenKeyHeldBy(email, UUID.randomUUID());
+
+        // When & Then
+        StepVerifier.create(uniquenessService.claimExisting(email, ownerId))
+            .verifyComplete();
+    }
+
+    @Test
+    void checkBaseTable_ShouldReject_UnreservedKeyPresentInBaseTable_WhileMigrationIsPending() {
+        when(migrationRegistry.isComplete(DataMigrationRegistry.LOOKUP_TABLES)).thenReturn(Mono.just(false));
+        when(reservationRepository.findByKey(email)).thenReturn(Mono.empty());
+
+        StepVerifier.create(uniquenessService.checkBaseTable(email, Mono.just(1L)))
+            .expectErrorMessage(email.getType().getConflictMessage())
+            .verify();
+    }
+
+    @Test
+    void checkBaseTable_ShouldSkipBaseTable_OnceMigrationIsComplete() {
+        when(migrationRegistry.isComplete(DataMigrationRegistry.LOOKUP_TABLES)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(uniquenessService.checkBaseTable(email, Mono.error(new IllegalStateException("non lue"))))
+            .verifyComplete();
+
+        verifyNoInteractions(reservationRepository);
+    }
+}
@@ -1,23 +1,40 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.dto.UniqueKey;
 import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationCounter;
+import inc.yowyob.rental_api_reactive.application.event.StatisticsEvent;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.infrastructure.web.dto.UserResponse;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationStats;
 import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.paging.PagingCursor;
 import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +43,27 @@ class UserReactiveServiceTest {
     @Mock
     private UserReactiveRepository userRepository;
 
+    @Mock
+    private UserRevocationReactiveService revocationService;
+
+    @Mock
+    private TenantUsageReactiveService tenantUsageService;
+
+    @Mock
+    private UniquenessReservationReactiveService uniquenessService;
+
+    @Mock
+    private UserSearchIndexReactiveService searchIndexService;
+
+    @Mock
+    private StatisticsAggregatorReactiveService statisticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
     @InjectMocks
     private UserReactiveService userService;
 
@@ -279,13 +317,19 @@ class UserReactiveServiceTest {
     @Test
     void deleteById_ShouldCompleteSuccessfully_WhenUserExists() {
         // Given
+        when(userRepository.findById(testUserId1)).thenReturn(Mono.just(testUser1));
         when(userRepository.deleteById(testUserId1)).thenReturn(Mono.empty());
+        when(tenantUsageService.recordUserRemoved(testUser1)).thenReturn(Mono.empty());
+        when(uniquenessService.release(UniqueKey.email(testUser1.getEmail()), testUserId1)).thenReturn(Mono.empty());
 
         // When & Then
         StepVerifier.create(userService.deleteById(testUserId1))
             .verifyComplete();
 
         verify(userRepository, times(1)).deleteById(testUserId1);
+        verify(tenantUsageService, times(1)).recordUserRemoved(testUser1);
+        verify(revocationService, times(1)).revokeUser(testUserId1);
+        verify(eventPublisher).publishEvent(StatisticsEvent.userRemoved(testUser1));
     }
 
     @Test
@@ -339,4 +383,149 @@ class UserReactiveServiceTest {
 
         verify(userRepository, times(1)).countByEmail(emptyEmail);
     }
+
+    @Test
+    void findPageByOrganizationId_ShouldSkipDeletedUsersAndExposeNextCursor() {
+        // Given
+        testUser2.setIsDeleted(true);
+        CassandraPageRequest nextPage = CassandraPageRequest.of(PageRequest.of(0, 2), ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        when(userRepository.findSliceByOrganizationId(eq(organizationId), any()))
+            .thenReturn(Mono.just(new SliceImpl<>(List.of(testUser1, testUser2), nextPage, true)));
+
+        // When & Then
+        StepVerifier.create(userService.findPageByOrganizationId(organizationId, null, 2))
+            .assertNext(page -> {
+                assertThat(page.getItems()).extracting(UserResponse::getEmail).containsExactly("john.doe@example.com");
+                assertThat(page.getPageSize()).isEqualTo(2);
+                assertThat(page.getNextCursor()).isEqualTo("AQID");
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void findPage_ShouldRejectInvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> userService.findPage("not a cursor!", null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchPage_ShouldKeepIndexRankingAndExposeOffsetCursor() {
+        // Given : l'index classe Jane avant John, la lecture IN les renvoie dans un autre ordre
+        when(searchIndexService.search(organizationId, "j", null))
+            .thenReturn(Mono.just(List.of(testUserId2, testUserId1, UUID.randomUUID())));
+        when(userRepository.findAllById(List.of(testUserId2, testUserId1)))
+            .thenReturn(Flux.just(testUser1, testUser2));
+
+        // When & Then
+        StepVerifier.create(userService.searchPage(organizationId, "j", null, null, 2))
+            .assertNext(page -> {
+                assertThat(page.getItems()).extracting(UserResponse::getEmail)
+                    .containsExactly("jane.smith@example.com", "john.doe@example.com");
+                assertThat(PagingCursor.toOffset(page.getNextCursor())).isEqualTo(2);
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void searchPage_ShouldEndAtLastHit() {
+        // Given
+        when(searchIndexService.search(organizationId, "john", UserType.CLIENT))
+            .thenReturn(Mono.just(List.of(testUserId2, testUserId1)));
+        when(userRepository.findAllById(List.of(testUserId1))).thenReturn(Flux.just(testUser1));
+
+        // When & Then
+        StepVerifier.create(userService.searchPage(organizationId, "john", UserType.CLIENT, PagingCursor.ofOffset(1), 2))
+            .assertNext(page -> {
+                assertThat(page.getItems()).extracting(UserResponse::getId).containsExactly(testUserId1);
+                assertThat(page.hasNext()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void searchPage_ShouldSignalInvalidCursor_AndNotOverflowNearMaxOffset() {
+        // Given
+        when(searchIndexService.search(organizationId, "john", null))
+            .thenReturn(Mono.just(List.of(testUserId1, testUserId2)));
+
+        // When & Then
+        StepVerifier.create(userService.searchPage(organizationId, "john", null, "not a cursor!", 2))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        StepVerifier.create(userService.searchPage(organizationId, "john", null, PagingCursor.ofOffset(Integer.MAX_VALUE - 1), 2))
+            .assertNext(page -> {
+                assertThat(page.getItems()).isEmpty();
+                assertThat(page.hasNext()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void searchAll_ShouldStreamEveryHit_WithoutPageLimit() {
+        // Given
+        when(searchIndexService.searchAll(organizationId, "j", null))
+            .thenReturn(Mono.just(List.of(testUserId2, testUserId1)));
+        when(userRepository.findAllById(List.of(testUserId2, testUserId1)))
+            .thenReturn(Flux.just(testUser1, testUser2));
+
+        // When & Then
+        StepVerifier.create(userService.searchAll(organizationId, "j", null))
+            .expectNextMatches(user -> user.getId().equals(testUserId2))
+            .expectNextMatches(user -> user.getId().equals(testUserId1))
+            .verifyComplete();
+    }
+
+    @Test
+    void save_ShouldPublishUserChangedEvent() {
+        // Given
+        when(userRepository.save(testUser1)).thenReturn(Mono.just(testUser1));
+
+        // When & Then
+        StepVerifier.create(userService.save(testUser1))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(eventPublisher).publishEvent(new UserChangedEvent(testUserId1));
+    }
+
+    @Test
+    void updateUserStatus_ShouldPublishStatisticsOfPreviousAndNewState() {
+        // Given
+        when(userRepository.findById(testUserId1)).thenReturn(Mono.just(testUser1));
+        when(userRepository.save(testUser1)).thenReturn(Mono.just(testUser1));
+        StatisticsEvent previous = StatisticsEvent.userRemoved(testUser1);
+
+        // When & Then
+        StepVerifier.create(userService.updateUserStatus(testUserId1, false, testUserId2))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(eventPublisher).publishEvent(previous);
+        verify(eventPublisher).publishEvent(StatisticsEvent.userAdded(testUser1));
+    }
+
+    @Test
+    void getUserStats_ShouldReadAggregatedCounters() {
+        // Given
+        OrganizationStats organizationStats = OrganizationStats.empty(organizationId);
+        organizationStats.add(OrganizationCounter.TOTAL_USERS, 10);
+        organizationStats.add(OrganizationCounter.ACTIVE_USERS, 8);
+        organizationStats.add(OrganizationCounter.PERSONNEL, 3);
+        organizationStats.add(OrganizationCounter.CLIENTS, 6);
+        when(statisticsService.getOrganizationStats(organizationId)).thenReturn(Mono.just(organizationStats));
+
+        // When & Then
+        StepVerifier.create(userService.getUserStats(organizationId))
+            .assertNext(stats -> {
+                assertThat(stats.getTotalUsers()).isEqualTo(10L);
+                assertThat(stats.getActiveUsers()).isEqualTo(8L);
+                assertThat(stats.getPersonnelCount()).isEqualTo(3L);
+                assertThat(stats.getClientCount()).isEqualTo(6L);
+            })
+            .verifyComplete();
+
+        verify(userRepository, never()).countByOrganizationId(any());
+    }
 }
@@ -0,0 +1,80 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRevocationReactiveServiceTest {
+
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    private UserRevocationReactiveService revocationService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new UserRevocationReactiveService(userRepository, new AppProperties());
+
+        user = new User("jane.doe@example.com", "encoded", "Jane", "Doe", UserType.RENTAL_AGENT);
+        user.setIsActive(true);
+    }
+
+    @Test
+    void isRevoked_ShouldLoadStatusOnlyOnce_WithinTtl() {
+        // Given
+        when(userRepository.findById(user.getId())).thenReturn(Mono.just(user));
+
+        // When & Then
+        StepVerifier.create(revocationService.isRevoked(user.getId()))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(revocationService.isRevoked(user.getId()))
+            .expectNext(false)
+            .verifyComplete();
+
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void isRevoked_ShouldReturnTrue_WhenUserIsUnknown() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(userRepository.findById(unknownId)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(revocationService.isRevoked(unknownId))
+            .expectNext(true)
+            .verifyComplete();
+    }
+
+    @Test
+    void revokeUser_ShouldTakeEffectImmediately() {
+        // Given
+        when(userRepository.findById(user.getId())).thenReturn(Mono.just(user));
+        revocationService.isRevoked(user.getId()).block();
+
+        // When
+        revocationService.revokeUser(user.getId());
+
+        // Then
+        StepVerifier.create(revocationService.isRevoked(user.getId()))
+            .expectNext(true)
+            .verifyComplete();
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+}
@@ -1,5 +1,6 @@
 package inc.yowyob.rental_api_reactive.application.service;
 
+import inc.yowyob.rental_api_reactive.application.event.UserPermissionsChangedEvent;
 import inc.yowyob.rental_api_reactive.application.service.UserRoleReactiveService;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.AssignRoleRequest;
 import inc.yowyob.rental_api_reactive.infrastructure.web.dto.UserRoleResponse;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -25,6 +27,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +45,9 @@ class UserRoleReactiveServiceTest {
     @Mock
     private UserRoleMapper userRoleMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserRoleReactiveService userRoleService;
 
@@ -164,6 +170,8 @@ class UserRoleReactiveServiceTest {
         // When & Then
         StepVerifier.create(userRoleService.revokeRole(userId, roleId, assignedBy))
             .verifyComplete();
+
+        verify(eventPublisher).publishEvent(new UserPermissionsChangedEvent(userId));
     }
 
     @Test
@@ -0,0 +1,165 @@
+package inc.yowyob.rental_api_reactive.application.service;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.event.UserChangedEvent;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.repository.UserReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexReactiveServiceTest {
+
+    @Mock
+    private UserReactiveRepository userRepository;
+
+    private UserSearchIndexReactiveService searchIndexService;
+
+    private UUID organizationId;
+    private User helene;
+    private User marc;
+    private User client;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexService = new UserSearchIndexReactiveService(userRepository, new AppProperties());
+        organizationId = UUID.randomUUID();
+
+        helene = user("Hélène", "Mbarga", "helene.mbarga@acme.cm", UserType.AGENCY_MANAGER, organizationId);
+        helene.setEmployeeId("EMP-0042");
+        helene.setDepartment("Opérations");
+        marc = user("Marc", "Helou", "marc@acme.cm", UserType.RENTAL_AGENT, organizationId);
+        marc.setPhone("+237 699 12 34 56");
+        client = user("Hélène", "Ngo", "helene.ngo@mail.cm", UserType.CLIENT, UUID.randomUUID());
+    }
+
+    private static User user(String firstName, String lastName, String email, UserType userType, UUID organizationId) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setUserType(userType);
+        user.setOrganizationId(organizationId);
+        user.setIsDeleted(false);
+        return user;
+    }
+
+    private void givenIndexedUsers(User... users) {
+        when(userRepository.findNonDeletedUsers()).thenReturn(Flux.just(users));
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesWithoutAccents_WithinOrganization_AndLoadIndexOnce() {
+        // Given
+        givenIndexedUsers(helene, marc, client);
+
+        // When & Then : "hel" est un début de prénom pour Hélène, de nom pour Marc Helou
+        StepVerifier.create(searchIndexService.search(organizationId, "hel", null))
+            .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(helene.getId(), marc.getId()))
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.search(organizationId, "HELENE mbar", null))
+            .expectNext(List.of(helene.getId()))
+            .verifyComplete();
+
+        verify(userRepository, times(1)).findNonDeletedUsers();
+    }
+
+    @Test
+    void search_ShouldRankWholeWordAboveFragment() {
+        // Given : "helou" est le nom de Marc, un simple fragment de celui de Paul Chelou
+        User fragment = user("Paul", "Chelou", "paul@acme.cm", UserType.RENTAL_AGENT, organizationId);
+        givenIndexedUsers(fragment, marc);
+
+        // When & Then
+        StepVerifier.create(searchIndexService.search(organizationId, "helou", null))
+            .expectNext(List.of(marc.getId(), fragment.getId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void search_ShouldMatchEmployeeIdDepartmentAndPhoneDigits() {
+        // Given
+        givenIndexedUsers(helene, marc);
+
+        // When & Then
+        StepVerifier.create(searchIndexService.search(organizationId, "emp-0042", null))
+            .expectNext(List.of(helene.getId()))
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.search(organizationId, "operations", null))
+            .expectNext(List.of(helene.getId()))
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.search(organizationId, "699123456", null))
+            .expectNext(List.of(marc.getId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void search_ShouldFilterByUserType_AndSearchEveryOrganizationWhenNoneGiven() {
+        // Given
+        givenIndexedUsers(helene, marc, client);
+
+        // When & Then
+        StepVerifier.create(searchIndexService.search(null, "helene", UserType.CLIENT))
+            .expectNext(List.of(client.getId()))
+            .verifyComplete();
+    }
+
+    @Test
+    void onUserChanged_ShouldReindexUpdatedUser_AndDropDeletedOne() {
+        // Given
+        givenIndexedUsers(helene, marc);
+        StepVerifier.create(searchIndexService.reload()).verifyComplete();
+
+        helene.setLastName("Essomba");
+        helene.setEmail("helene.essomba@acme.cm");
+        marc.setIsDeleted(true);
+        when(userRepository.findById(helene.getId())).thenReturn(Mono.just(helene));
+        when(userRepository.findById(marc.getId())).thenReturn(Mono.just(marc));
+
+        // When
+        searchIndexService.onUserChanged(new UserChangedEvent(helene.getId()));
+        searchIndexService.onUserChanged(new UserChangedEvent(marc.getId()));
+
+        // Then
+        StepVerifier.create(searchIndexService.search(organizationId, "mbarga", null))
+            .expectNext(List.of())
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.search(organizationId, "essomba", null))
+            .expectNext(List.of(helene.getId()))
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.search(organizationId, "marc", null))
+            .expectNext(List.of())
+            .verifyComplete();
+    }
+
+    @Test
+    void searchAll_ShouldIgnorePageLimit() {
+        // Given
+        AppProperties appProperties = new AppProperties();
+        appProperties.getUserSearchIndex().setMaxResults(1);
+        searchIndexService = new UserSearchIndexReactiveService(userRepository, appProperties);
+        givenIndexedUsers(helene, marc, client);
+
+        // When & Then
+        StepVerifier.create(searchIndexService.search(organizationId, "hel", null))
+            .assertNext(ids -> assertThat(ids).hasSize(1))
+            .verifyComplete();
+        StepVerifier.create(searchIndexService.searchAll(organizationId, "hel", null))
+            .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(helene.getId(), marc.getId()))
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,73 @@
+package inc.yowyob.rental_api_reactive.infrastructure.metrics;
+
+import inc.yowyob.rental_api_reactive.application.service.SubscriptionPlanCatalogReactiveService;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveMetricsAspectTest {
+
+    @Mock
+    private SubscriptionPlanCatalogReactiveService planCatalogService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionPlanCatalogReactiveService timedService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(planCatalogService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReactiveMetricsAspect(meterRegistry, new AppProperties()));
+        timedService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timeService_ShouldRecordCall_WithoutRequestTags() {
+        // Given
+        when(planCatalogService.getPlan(any())).thenReturn(Mono.just(new SubscriptionPlan()));
+
+        // When & Then
+        StepVerifier.create(timedService.getPlan(UUID.randomUUID())
+                .contextWrite(context -> context.put(RequestMetricsTags.KEY, new RequestMetricsTags("CLIENT", "Premium"))))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertThat(meterRegistry.get(ReactiveMetricsAspect.SERVICE_TIMER)
+            .tags("class", "SubscriptionPlanCatalogReactiveService", "method", "getPlan",
+                "outcome", "success", "exception", "none")
+            .timer()
+            .count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ReactiveMetricsAspect.SERVICE_TIMER).tagKeys("user.type").timers()).isEmpty();
+        assertThat(meterRegistry.find(ReactiveMetricsAspect.SERVICE_TIMER).tagKeys("plan").timers()).isEmpty();
+    }
+
+    @Test
+    void timeService_ShouldRecordExceptionType() {
+        // Given
+        when(planCatalogService.reload()).thenReturn(Mono.error(new IllegalStateException("Cassandra indisponible")));
+
+        // When & Then
+        StepVerifier.create(timedService.reload()).verifyError(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(ReactiveMetricsAspect.SERVICE_TIMER)
+            .tags("method", "reload", "outcome", "error", "exception", "IllegalStateException")
+            .timer()
+            .count()).isEqualTo(1);
+    }
+}
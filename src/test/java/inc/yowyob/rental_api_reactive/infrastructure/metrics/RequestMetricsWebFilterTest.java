@@ -0,0 +1,109 @@
+package inc.yowyob.rental_api_reactive.infrastructure.metrics;
+
+import inc.yowyob.rental_api_reactive.application.dto.QuotaSnapshot;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.application.service.QuotaReactiveService;
+import inc.yowyob.rental_api_reactive.application.service.SubscriptionPlanCatalogReactiveService;
+import inc.yowyob.rental_api_reactive.infrastructure.security.UserPrincipal;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequestMetricsWebFilterTest {
+
+    @Mock
+    private QuotaReactiveService quotaService;
+
+    @Mock
+    private SubscriptionPlanCatalogReactiveService planCatalogService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsWebFilter filter;
+    private UUID organizationId;
+    private UUID planId;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestMetricsWebFilter(quotaService, planCatalogService, meterRegistry);
+        organizationId = UUID.randomUUID();
+        planId = UUID.randomUUID();
+        principal = UserPrincipal.builder()
+            .id(UUID.randomUUID())
+            .userType(UserType.CLIENT)
+            .organizationId(organizationId)
+            .build();
+        when(quotaService.getSnapshot(organizationId))
+            .thenReturn(Mono.just(new QuotaSnapshot(organizationId, planId, null, Map.of(), Map.of())));
+    }
+
+    @Test
+    void filter_ShouldTimeRequest_WithCustomPlanCode() {
+        // Given
+        SubscriptionPlan plan = new SubscriptionPlan();
+        plan.setName("Contrat Acme 2026");
+        plan.setIsCustom(true);
+        when(planCatalogService.getPlan(planId)).thenReturn(Mono.just(plan));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users"));
+
+        // When & Then
+        StepVerifier.create(filter.filter(exchange, chainWithStatus(HttpStatus.OK))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication())))
+            .verifyComplete();
+
+        assertThat(meterRegistry.get(RequestMetricsWebFilter.REQUEST_TIMER)
+            .tags("user.type", "CLIENT", "plan", RequestMetricsTags.CUSTOM_PLAN, "outcome", "success")
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_ShouldGroupUnknownPlanNames_AndRecordClientErrors() {
+        // Given
+        SubscriptionPlan plan = new SubscriptionPlan();
+        plan.setName("Offre découverte");
+        when(planCatalogService.getPlan(planId)).thenReturn(Mono.just(plan));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users"));
+
+        // When & Then
+        StepVerifier.create(filter.filter(exchange, chainWithStatus(HttpStatus.FORBIDDEN))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication())))
+            .verifyComplete();
+
+        assertThat(meterRegistry.get(RequestMetricsWebFilter.REQUEST_TIMER)
+            .tags("user.type", "CLIENT", "plan", RequestMetricsTags.OTHER_PLAN, "outcome", "client_error")
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
+    private UsernamePasswordAuthenticationToken authentication() {
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private WebFilterChain chainWithStatus(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+}
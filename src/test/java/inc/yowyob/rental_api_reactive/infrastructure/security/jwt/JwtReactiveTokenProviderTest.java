@@ -0,0 +1,96 @@
+package inc.yowyob.rental_api_reactive.infrastructure.security.jwt;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtReactiveTokenProviderTest {
+
+    private JwtReactiveTokenProvider tokenProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtReactiveTokenProvider(new AppProperties());
+
+        user = new User("john.doe@example.com", "encoded", "John", "Doe", UserType.AGENCY_MANAGER);
+        user.setIsActive(true);
+        user.setOrganizationId(UUID.randomUUID());
+        user.setAgencyId(UUID.randomUUID());
+    }
+
+    @Test
+    void parseToken_ShouldReturnClaims_WhenTokenIsValid() {
+        String token = tokenProvider.generateToken(user).block();
+
+        StepVerifier.create(tokenProvider.parseToken(token))
+            .assertNext(claims -> {
+                assertThat(claims.getUserId()).isEqualTo(user.getId());
+                assertThat(claims.getEmail()).isEqualTo(user.getEmail());
+                assertThat(claims.getUserType()).isEqualTo(UserType.AGENCY_MANAGER.name());
+                assertThat(claims.getOrganizationId()).isEqualTo(user.getOrganizationId());
+                assertThat(claims.getAgencyId()).isEqualTo(user.getAgencyId());
+                assertThat(claims.getIsAgencyBound()).isTrue();
+                assertThat(claims.isRefreshToken()).isFalse();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void parseToken_ShouldBeEmpty_WhenTokenIsInvalid() {
+        StepVerifier.create(tokenProvider.parseToken("not-a-jwt"))
+            .verifyComplete();
+    }
+
+    @Test
+    void resolveClaims_ShouldStoreClaimsAsExchangeAttribute() {
+        String token = tokenProvider.generateToken(user).block();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/agencies")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        JwtClaims first = tokenProvider.resolveClaims(exchange).block();
+        JwtClaims second = tokenProvider.resolveClaims(exchange).block();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat((JwtClaims) exchange.getAttribute(JwtReactiveTokenProvider.CLAIMS_ATTRIBUTE)).isSameAs(first);
+    }
+
+    @Test
+    void resolveClaims_ShouldMarkExchange_WhenTokenIsInvalid() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/agencies")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid"));
+
+        StepVerifier.create(tokenProvider.resolveClaims(exchange))
+            .verifyComplete();
+
+        assertThat((Object) exchange.getAttribute(JwtReactiveTokenProvider.INVALID_TOKEN_ATTRIBUTE)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void extractTokenContext_ShouldReuseResolvedClaims() {
+        String token = tokenProvider.generateToken(user).block();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/agencies")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        StepVerifier.create(tokenProvider.extractTokenContext(exchange))
+            .assertNext(context -> {
+                assertThat(context.getUserId()).isEqualTo(user.getId());
+                assertThat(context.getAgencyId()).isEqualTo(user.getAgencyId());
+            })
+            .verifyComplete();
+    }
+}
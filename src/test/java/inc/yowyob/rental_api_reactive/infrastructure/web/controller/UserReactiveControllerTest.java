@@ -16,6 +16,8 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(UserReactiveController.class)
@@ -267,6 +269,34 @@ class UserReactiveControllerTest {
             .expectStatus().isBadRequest();
     }
 
+    @Test
+    void streamAllUsers_ShouldStreamOrganizationUsers() {
+        // Given
+        when(userService.findByOrganizationId(organizationId)).thenReturn(Flux.just(testUserResponse1, testUserResponse2));
+
+        // When & Then
+        webTestClient.get()
+            .uri("/api/v1/users/stream?organizationId={organizationId}", organizationId)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(UserResponse.class).hasSize(2);
+
+        verify(userService, never()).findAll();
+    }
+
+    @Test
+    void streamAllUsers_ShouldReturnBadRequest_WhenOrganizationIdIsMissing() {
+        // When & Then
+        webTestClient.get()
+            .uri("/api/v1/users/stream")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(userService, never()).findAll();
+    }
+
     @Test
     void checkEmailExists_ShouldReturnTrue_WhenEmailExists() {
         // Given
@@ -0,0 +1,34 @@
+package inc.yowyob.rental_api_reactive.persistence.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoHashTest {
+
+    @Test
+    void encode_ShouldMatchReferenceHash() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(57.64911, 10.40744, GeoHash.PARTITION_PRECISION)).isEqualTo("u4pr");
+    }
+
+    @Test
+    void cellsCovering_ShouldContainCellOfEveryPointInBounds() {
+        var cells = GeoHash.cellsCovering(3.9, 4.2, 9.6, 9.9, 5);
+
+        assertThat(cells).doesNotHaveDuplicates();
+        assertThat(cells).hasSize((int) GeoHash.cellCount(3.9, 4.2, 9.6, 9.9, 5));
+        assertThat(cells).contains(
+            GeoHash.encode(3.9, 9.6, 5),
+            GeoHash.encode(4.0511, 9.7679, 5),
+            GeoHash.encode(4.2, 9.9, 5));
+    }
+
+    @Test
+    void distanceKm_ShouldComputeGreatCircleDistance() {
+        // Douala - Yaoundé : environ 194 km à vol d'oiseau
+        assertThat(GeoHash.distanceKm(4.0511, 9.7679, 3.8480, 11.5021)).isCloseTo(193.0, within(5.0));
+        assertThat(GeoHash.distanceKm(4.0511, 9.7679, 4.0511, 9.7679)).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.MetricGranularity;
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.entity.AgencyLeaderboardEntry;
+import inc.yowyob.rental_api_reactive.persistence.entity.DataMigration;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgencyReactiveRepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveCassandraOperations cassandraOperations;
+
+    private AgencyReactiveRepositoryCustomImpl repository;
+    private UUID organizationId;
+
+    @BeforeEach
+    void setUp() {
+        MappingCassandraConverter converter = new MappingCassandraConverter(new CassandraMappingContext());
+        converter.afterPropertiesSet();
+        when(cassandraOperations.getConverter()).thenReturn(converter);
+
+        repository = new AgencyReactiveRepositoryCustomImpl(cassandraOperations, new DataMigrationRegistry(cassandraOperations));
+        organizationId = UUID.randomUUID();
+        lenient().when(cassandraOperations.selectOneById(DataMigrationRegistry.LOOKUP_TABLES, DataMigration.class))
+            .thenReturn(Mono.just(new DataMigration(DataMigrationRegistry.LOOKUP_TABLES, LocalDateTime.now())));
+    }
+
+    private Agency agency(String name, double monthlyRevenue, boolean active) {
+        Agency agency = new Agency(organizationId, name, "Rue 1", "Douala");
+        agency.setMonthlyRevenue(monthlyRevenue);
+        agency.setIsActive(active);
+        return agency;
+    }
+
+    private AgencyLeaderboardEntry entry(Agency agency, int rank, double monthlyRevenue) {
+        return new AgencyLeaderboardEntry(organizationId, MetricGranularity.MONTH,
+            MetricGranularity.MONTH.periodOf(LocalDateTime.now()), rank, agency.getId(), monthlyRevenue, null, null, LocalDateTime.now());
+    }
+
+    @Test
+    void findTopPerformingAgencies_ShouldSkipDeactivatedAgencies_WithoutReadingUnrankedOnes() {
+        // Given : la première du classement a été désactivée depuis son calcul
+        Agency deactivated = agency("Agence Nord", 900.0, false);
+        Agency centre = agency("Agence Centre", 500.0, true);
+        Agency port = agency("Agence Port", 300.0, true);
+        when(cassandraOperations.select(any(Query.class), eq(AgencyLeaderboardEntry.class)))
+            .thenReturn(Flux.just(entry(deactivated, 1, 900.0), entry(centre, 2, 500.0), entry(port, 3, 300.0)));
+        when(cassandraOperations.select(any(Query.class), eq(Agency.class))).thenReturn(Flux.just(deactivated, centre, port));
+
+        // When & Then
+        StepVerifier.create(repository.findTopPerformingAgencies(organizationId, 2))
+            .expectNext(centre, port)
+            .verifyComplete();
+
+        verify(cassandraOperations, never()).select(any(Query.class), eq(AgencyByOrganization.class));
+    }
+
+    @Test
+    void findTopPerformingAgencies_ShouldRankUnrankedAgenciesLast_WithZeroRevenue() {
+        // Given : la fiche de l'agence sans relevé ce mois-ci garde un revenu périmé
+        Agency ranked = agency("Agence Centre", 500.0, true);
+        Agency unranked = agency("Agence Sud", 700.0, true);
+        when(cassandraOperations.select(any(Query.class), eq(AgencyLeaderboardEntry.class)))
+            .thenReturn(Flux.just(entry(ranked, 1, 500.0)));
+        when(cassandraOperations.select(any(Query.class), eq(AgencyByOrganization.class)))
+            .thenReturn(Flux.just(AgencyByOrganization.from(ranked), AgencyByOrganization.from(unranked)));
+        when(cassandraOperations.select(any(Query.class), eq(Agency.class)))
+            .thenReturn(Flux.just(ranked), Flux.just(unranked));
+
+        // When & Then
+        StepVerifier.create(repository.findTopPerformingAgencies(organizationId, 2))
+            .expectNext(ranked, unranked)
+            .verifyComplete();
+    }
+
+    @Test
+    void findByOrganizationIdAndMinimumMonthlyRevenue_ShouldStopAtMinimum_AndIgnoreUnrankedAgencies() {
+        // Given
+        Agency centre = agency("Agence Centre", 900.0, true);
+        Agency port = agency("Agence Port", 300.0, true);
+        when(cassandraOperations.select(any(Query.class), eq(AgencyLeaderboardEntry.class)))
+            .thenReturn(Flux.just(entry(centre, 1, 900.0), entry(port, 2, 300.0)));
+        when(cassandraOperations.select(any(Query.class), eq(Agency.class))).thenReturn(Flux.just(centre));
+
+        // When & Then
+        StepVerifier.create(repository.findByOrganizationIdAndMinimumMonthlyRevenue(organizationId, 500.0))
+            .expectNext(centre)
+            .verifyComplete();
+
+        verify(cassandraOperations, never()).select(any(Query.class), eq(AgencyByOrganization.class));
+    }
+}
@@ -0,0 +1,83 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.OrganizationType;
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.infrastructure.config.AppProperties;
+import inc.yowyob.rental_api_reactive.persistence.entity.OnboardingSession;
+import inc.yowyob.rental_api_reactive.persistence.entity.Organization;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByName;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationByOwner;
+import inc.yowyob.rental_api_reactive.persistence.entity.OrganizationSubscription;
+import inc.yowyob.rental_api_reactive.persistence.entity.SubscriptionByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByEmail;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByOrganization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.WriteResult;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.cql.WriteOptions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OnboardingSessionReactiveRepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveCassandraOperations cassandraOperations;
+
+    @Mock
+    private ReactiveCassandraBatchOperations batchOperations;
+
+    private OnboardingSessionReactiveRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OnboardingSessionReactiveRepositoryCustomImpl(cassandraOperations, new AppProperties());
+    }
+
+    @Test
+    void saveCompletion_ShouldWriteEntitiesLookupsAndSessionInOneLoggedBatch() {
+        User owner = new User("jane.doe@example.com", "hash", "Jane", "Doe", UserType.ORGANIZATION_OWNER);
+        Organization organization = new Organization("Acme", OrganizationType.CAR_RENTAL, owner.getId());
+        owner.setOrganizationId(organization.getId());
+        OrganizationSubscription subscription = new OrganizationSubscription(organization.getId(), UUID.randomUUID(), BigDecimal.TEN, null);
+        OnboardingSession session = new OnboardingSession();
+        session.complete(organization.getId());
+
+        when(cassandraOperations.batchOps(BatchType.LOGGED)).thenReturn(batchOperations);
+        when(batchOperations.insert(any(Object.class))).thenReturn(batchOperations);
+        when(batchOperations.insert(anyIterable(), any(WriteOptions.class))).thenReturn(batchOperations);
+        when(batchOperations.execute()).thenReturn(Mono.just(mock(WriteResult.class)));
+
+        StepVerifier.create(repository.saveCompletion(session, organization, owner, subscription))
+            .verifyComplete();
+
+        verify(cassandraOperations, times(1)).batchOps(BatchType.LOGGED);
+        verify(batchOperations).insert(organization);
+        verify(batchOperations).insert(new OrganizationByOwner(owner.getId(), organization.getId()));
+        verify(batchOperations).insert(new OrganizationByName(organization.getName(), organization.getId()));
+        verify(batchOperations).insert(owner);
+        verify(batchOperations).insert(new UserByEmail(owner.getEmail(), owner.getId()));
+        verify(batchOperations).insert(UserByOrganization.from(owner));
+        verify(batchOperations).insert(subscription);
+        verify(batchOperations).insert(new SubscriptionByOrganization(organization.getId(), subscription.getId()));
+        verify(batchOperations).insert(eq(List.of(session)), any(WriteOptions.class));
+        verify(batchOperations, times(1)).execute();
+        verifyNoMoreInteractions(cassandraOperations);
+    }
+}
@@ -0,0 +1,102 @@
+package inc.yowyob.rental_api_reactive.persistence.repository;
+
+import inc.yowyob.rental_api_reactive.application.dto.UserType;
+import inc.yowyob.rental_api_reactive.persistence.entity.DataMigration;
+import inc.yowyob.rental_api_reactive.persistence.entity.User;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByEmail;
+import inc.yowyob.rental_api_reactive.persistence.entity.UserByOrganization;
+import inc.yowyob.rental_api_reactive.persistence.migration.DataMigrationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.WriteResult;
+import org.springframework.data.cassandra.core.cql.BatchType;
+import org.springframework.data.cassandra.core.query.Query;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserReactiveRepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveCassandraOperations cassandraOperations;
+
+    @Mock
+    private ReactiveCassandraBatchOperations batchOperations;
+
+    private UserReactiveRepositoryCustomImpl repository;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        repository = new UserReactiveRepositoryCustomImpl(cassandraOperations, new DataMigrationRegistry(cassandraOperations));
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("jane.doe@example.com");
+        user.setOrganizationId(UUID.randomUUID());
+        user.setUserType(UserType.RENTAL_AGENT);
+    }
+
+    @Test
+    void findByEmail_ShouldReadLookupTableThenUser() {
+        when(cassandraOperations.selectOneById(DataMigrationRegistry.LOOKUP_TABLES, DataMigration.class))
+            .thenReturn(Mono.just(new DataMigration(DataMigrationRegistry.LOOKUP_TABLES, LocalDateTime.now())));
+        when(cassandraOperations.selectOneById(user.getEmail(), UserByEmail.class))
+            .thenReturn(Mono.just(new UserByEmail(user.getEmail(), user.getId())));
+        when(cassandraOperations.selectOneById(user.getId(), User.class)).thenReturn(Mono.just(user));
+
+        StepVerifier.create(repository.findByEmail(user.getEmail()))
+            .expectNext(user)
+            .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_ShouldFallBackToUsersTable_WhileLookupMigrationIsPending() {
+        when(cassandraOperations.selectOneById(DataMigrationRegistry.LOOKUP_TABLES, DataMigration.class)).thenReturn(Mono.empty());
+        when(cassandraOperations.selectOneById(user.getEmail(), UserByEmail.class)).thenReturn(Mono.empty());
+        when(cassandraOperations.selectOne(any(Query.class), eq(User.class))).thenReturn(Mono.just(user));
+
+        StepVerifier.create(repository.findByEmail(user.getEmail()))
+            .expectNext(user)
+            .verifyComplete();
+
+        verify(cassandraOperations).selectOne(argThat((Query query) -> query.isAllowFiltering()), eq(User.class));
+    }
+
+    @Test
+    void save_ShouldWriteLookupsAndRemoveStaleEntriesInOneLoggedBatch() {
+        User previous = new User();
+        previous.setId(user.getId());
+        previous.setEmail("old.address@example.com");
+        previous.setOrganizationId(user.getOrganizationId());
+
+        when(cassandraOperations.selectOneById(user.getId(), User.class)).thenReturn(Mono.just(previous));
+        when(cassandraOperations.batchOps(BatchType.LOGGED)).thenReturn(batchOperations);
+        when(batchOperations.insert(any(Object.class))).thenReturn(batchOperations);
+        when(batchOperations.delete(any(Object.class))).thenReturn(batchOperations);
+        when(batchOperations.execute()).thenReturn(Mono.just(mock(WriteResult.class)));
+
+        StepVerifier.create(repository.save(user))
+            .expectNext(user)
+            .verifyComplete();
+
+        verify(batchOperations).insert(user);
+        verify(batchOperations).insert(new UserByEmail(user.getEmail(), user.getId()));
+        verify(batchOperations).insert(UserByOrganization.from(user));
+        verify(batchOperations).delete(new UserByEmail(previous.getEmail(), previous.getId()));
+        verify(batchOperations, times(1)).execute();
+    }
+}
@@ -0,0 +1,37 @@
+package inc.yowyob.rental_api_reactive.persistence.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiryBucketsTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 3, 10, 14, 25);
+
+    @Test
+    void bucketsBetween_ShouldListEveryHourUpToNow() {
+        assertThat(ExpiryBuckets.bucketsBetween(now.minusHours(2), now))
+            .containsExactly(
+                LocalDateTime.of(2025, 3, 10, 12, 0),
+                LocalDateTime.of(2025, 3, 10, 13, 0),
+                LocalDateTime.of(2025, 3, 10, 14, 0));
+    }
+
+    @Test
+    void isElapsed_ShouldBeFalseForCurrentHour() {
+        assertThat(ExpiryBuckets.isElapsed(LocalDateTime.of(2025, 3, 10, 13, 0), now)).isTrue();
+        assertThat(ExpiryBuckets.isElapsed(LocalDateTime.of(2025, 3, 10, 14, 0), now)).isFalse();
+    }
+
+    @Test
+    void ttlUntil_ShouldKeepRetention_AndRejectBeyondMaximum() {
+        Duration retention = Duration.ofHours(24);
+
+        assertThat(ExpiryBuckets.ttlUntil(now.plusHours(24), retention, now)).isEqualTo(Duration.ofHours(48));
+        assertThat(ExpiryBuckets.ttlUntil(now.minusHours(1), retention, now)).isEqualTo(retention);
+        assertThat(ExpiryBuckets.ttlUntil(now.plusYears(30), retention, now)).isNull();
+    }
+}
@@ -0,0 +1,39 @@
+package inc.yowyob.rental_api_reactive.persistence.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenRangeTest {
+
+    @Test
+    void split_ShouldCoverWholeRingWithContiguousRanges() {
+        List<TokenRange> ranges = TokenRange.split(7);
+
+        assertThat(ranges).hasSize(7);
+        assertThat(ranges.get(0).getStart()).isEqualTo(Long.MIN_VALUE);
+        assertThat(ranges.get(6).getEnd()).isEqualTo(Long.MAX_VALUE);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).getIndex()).isEqualTo(i);
+            assertThat(ranges.get(i).getStart()).isLessThan(ranges.get(i).getEnd());
+            if (i > 0) {
+                assertThat(ranges.get(i).getStart()).isEqualTo(ranges.get(i - 1).getEnd());
+            }
+        }
+    }
+
+    @Test
+    void split_ShouldProduceSingleRange() {
+        assertThat(TokenRange.split(1))
+            .containsExactly(new TokenRange(0, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void split_ShouldRejectNonPositiveCount() {
+        assertThatThrownBy(() -> TokenRange.split(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package inc.yowyob.rental_api_reactive.persistence.update;
+
+import inc.yowyob.rental_api_reactive.persistence.entity.Agency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartialUpdaterTest {
+
+    @Mock
+    private ReactiveCassandraOperations cassandraOperations;
+
+    private PartialUpdater<Agency> partialUpdater;
+    private UUID agencyId;
+
+    @BeforeEach
+    void setUp() {
+        MappingCassandraConverter converter = new MappingCassandraConverter(new CassandraMappingContext());
+        converter.afterPropertiesSet();
+        when(cassandraOperations.getConverter()).thenReturn(converter);
+
+        partialUpdater = new PartialUpdater<>(cassandraOperations, Agency.class);
+        agencyId = UUID.randomUUID();
+    }
+
+    @Test
+    void update_ShouldOnlySetChangedColumnsAndBumpVersion() {
+        when(cassandraOperations.selectOneById(agencyId, Agency.class)).thenReturn(Mono.just(agency(3L)));
+        when(cassandraOperations.update(any(Query.class), any(Update.class), eq(Agency.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(partialUpdater.update(agencyId, agency -> agency.setName("Agence Akwa")))
+            .assertNext(result -> {
+                assertThat(result.isChanged("name")).isTrue();
+                assertThat((String) result.getPreviousValue("name")).isEqualTo("Agence Centre");
+                assertThat(result.getEntity().getVersion()).isEqualTo(4L);
+            })
+            .verifyComplete();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(cassandraOperations).update(any(Query.class), update.capture(), eq(Agency.class));
+        assertThat(columns(update.getValue())).containsExactlyInAnyOrder("name", "version");
+    }
+
+    @Test
+    void update_ShouldSkipWrite_WhenNothingChanged() {
+        when(cassandraOperations.selectOneById(agencyId, Agency.class)).thenReturn(Mono.just(agency(1L)));
+
+        StepVerifier.create(partialUpdater.update(agencyId, agency -> agency.setName("Agence Centre")))
+            .assertNext(result -> assertThat(result.hasChanges()).isFalse())
+            .verifyComplete();
+
+        verify(cassandraOperations, never()).update(any(Query.class), any(Update.class), eq(Agency.class));
+    }
+
+    @Test
+    void update_ShouldReloadAndReapply_OnVersionConflict() {
+        when(cassandraOperations.selectOneById(agencyId, Agency.class))
+            .thenReturn(Mono.just(agency(1L)), Mono.just(agency(2L)));
+        when(cassandraOperations.update(any(Query.class), any(Update.class), eq(Agency.class)))
+            .thenReturn(Mono.just(false), Mono.just(true));
+
+        StepVerifier.create(partialUpdater.update(agencyId, agency -> agency.setIsActive(false)))
+            .assertNext(result -> assertThat(result.getEntity().getVersion()).isEqualTo(3L))
+            .verifyComplete();
+
+        verify(cassandraOperations, times(2)).selectOneById(agencyId, Agency.class);
+    }
+
+    @Test
+    void update_ShouldFail_WhenConflictsPersist() {
+        when(cassandraOperations.selectOneById(agencyId, Agency.class)).thenAnswer(invocation -> Mono.just(agency(1L)));
+        when(cassandraOperations.update(any(Query.class), any(Update.class), eq(Agency.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(partialUpdater.update(agencyId, agency -> agency.setIsActive(false)))
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    @Test
+    void update_ShouldCompleteEmpty_WhenEntityMissing() {
+        when(cassandraOperations.selectOneById(agencyId, Agency.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(partialUpdater.update(agencyId, agency -> agency.setIsActive(false)))
+            .verifyComplete();
+    }
+
+    private Agency agency(long version) {
+        Agency agency = new Agency();
+        agency.setId(agencyId);
+        agency.setOrganizationId(UUID.randomUUID());
+        agency.setName("Agence Centre");
+        agency.setCity("Douala");
+        agency.setIsActive(true);
+        agency.setVersion(version);
+        return agency;
+    }
+
+    private static List<String> columns(Update update) {
+        return update.getUpdateOperations().stream()
+            .map(operation -> operation.getColumnName().toCql())
+            .toList();
+    }
+}